@@ -0,0 +1,112 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.errors.OrekitException;
+import org.orekit.estimation.Context;
+import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.estimation.leastsquares.BatchLSEstimator;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.estimation.measurements.RangeMeasurementCreator;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
+
+/** Benchmark for {@link BatchLSEstimator#estimate()} with range measurements.
+ * <p>
+ * Each invocation runs a complete orbit determination, starting from an
+ * initial guess offset from the orbit used to generate the measurements.
+ * </p>
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchLSEstimatorBenchmark {
+
+    /** Estimation context. */
+    private Context context;
+
+    /** Measurements. */
+    private List<ObservedMeasurement<?>> measurements;
+
+    /** Set up the measurements.
+     * @exception OrekitException if measurements cannot be generated
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException {
+        context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final NumericalPropagatorBuilder builder = createBuilder();
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit, builder);
+        measurements = EstimationTestUtils.createMeasurements(propagator,
+                                                              new RangeMeasurementCreator(context),
+                                                              1.0, 3.0, 300.0);
+    }
+
+    /** Create a propagator builder.
+     * @return propagator builder
+     * @exception OrekitException if builder cannot be created
+     */
+    private NumericalPropagatorBuilder createBuilder() throws OrekitException {
+        return context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                     1.0e-6, 60.0, 1.0);
+    }
+
+    /** Benchmark orbit determination.
+     * @return estimated orbit
+     * @exception OrekitException if estimation fails
+     */
+    @Benchmark
+    public Orbit estimate() throws OrekitException {
+
+        // start from an offset initial guess
+        final NumericalPropagatorBuilder builder = createBuilder();
+        builder.getOrbitalParametersDrivers().getDrivers().get(0).setValue(context.initialOrbit.getA() + 1000.0);
+
+        final BatchLSEstimator estimator = new BatchLSEstimator(new LevenbergMarquardtOptimizer(), builder);
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            estimator.addMeasurement(measurement);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(10);
+        estimator.setMaxEvaluations(20);
+
+        return estimator.estimate()[0].getInitialState().getOrbit();
+
+    }
+
+}
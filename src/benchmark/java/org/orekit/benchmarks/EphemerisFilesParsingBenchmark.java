@@ -0,0 +1,152 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.data.NamedData;
+import org.orekit.data.UnixCompressFilter;
+import org.orekit.errors.OrekitException;
+import org.orekit.files.ccsds.Keyword;
+import org.orekit.files.ccsds.OEMFile;
+import org.orekit.files.ccsds.OEMParser;
+import org.orekit.files.ccsds.StreamingOemWriter;
+import org.orekit.files.sp3.SP3File;
+import org.orekit.files.sp3.SP3Parser;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CircularOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link OEMParser} and {@link SP3Parser} on large files.
+ * <p>
+ * The OEM file is generated at set up with 20000 ephemeris lines. The SP3
+ * file is a complete daily multi-GNSS product from the test resources. Both
+ * files are kept in memory so only parsing is benchmarked, not disk access.
+ * </p>
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class EphemerisFilesParsingBenchmark {
+
+    /** Number of lines in the generated OEM file. */
+    private static final int OEM_LINES = 20000;
+
+    /** Content of the OEM file. */
+    private String oem;
+
+    /** Content of the SP3 file. */
+    private byte[] sp3;
+
+    /** Set up the files.
+     * @exception OrekitException if files cannot be generated
+     * @exception IOException if files cannot be read
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException, IOException {
+
+        Utils.setDataRoot("regular-data");
+
+        // generate a large OEM file
+        final AbsoluteDate t0 = new AbsoluteDate(2004, 3, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final Propagator propagator =
+                new KeplerianPropagator(new CircularOrbit(7000000.0, 1.0e-4, 2.0e-4,
+                                                          FastMath.toRadians(98.0), FastMath.toRadians(12.0), 0.0,
+                                                          PositionAngle.MEAN, FramesFactory.getEME2000(), t0,
+                                                          Constants.EIGEN5C_EARTH_MU));
+        final Map<Keyword, String> metadata = new HashMap<>();
+        metadata.put(Keyword.OBJECT_NAME, "BENCHMARK");
+        metadata.put(Keyword.OBJECT_ID, "2004-001A");
+        final StringBuilder builder = new StringBuilder();
+        final StreamingOemWriter writer = new StreamingOemWriter(builder, TimeScalesFactory.getUTC(), metadata);
+        writer.writeHeader();
+        propagator.setMasterMode(10.0, writer.newSegment(FramesFactory.getEME2000(), new HashMap<>()));
+        propagator.propagate(t0.shiftedBy(10.0 * (OEM_LINES - 1)));
+        oem = builder.toString();
+
+        // load a large SP3 file
+        final String name = "/sp3/gbm18432.sp3.Z";
+        final NamedData compressed = new NamedData(name, () -> Utils.class.getResourceAsStream(name));
+        try (InputStream is = new UnixCompressFilter().filter(compressed).getStreamOpener().openStream();
+             ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[4096];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                os.write(buffer, 0, n);
+            }
+            sp3 = os.toByteArray();
+        }
+
+    }
+
+    /** Benchmark OEM parsing.
+     * @return parsed file
+     * @exception OrekitException if file cannot be parsed
+     */
+    @Benchmark
+    public OEMFile parseOEM() throws OrekitException {
+        final OEMParser parser = new OEMParser().
+                                 withMu(Constants.EIGEN5C_EARTH_MU).
+                                 withConventions(IERSConventions.IERS_2010);
+        return parser.parse(new BufferedReader(new StringReader(oem)), "benchmark.oem");
+    }
+
+    /** Benchmark SP3 parsing.
+     * @return parsed file
+     * @exception OrekitException if file cannot be parsed
+     * @exception IOException if file cannot be read
+     */
+    @Benchmark
+    public SP3File parseSP3() throws OrekitException, IOException {
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(new ByteArrayInputStream(sp3), StandardCharsets.UTF_8));
+        return new SP3Parser().parse(reader, "gbm18432.sp3");
+    }
+
+}
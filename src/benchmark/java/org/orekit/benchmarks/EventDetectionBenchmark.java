@@ -0,0 +1,144 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.CircularOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.ElevationDetector;
+import org.orekit.propagation.events.handlers.EventHandler.Action;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for events detection with many detectors.
+ * <p>
+ * A low Earth orbit is propagated over one day with an analytical propagator,
+ * so almost all the time is spent in {@link
+ * org.orekit.propagation.events.EventState#evaluateStep(org.orekit.propagation.sampling.OrekitStepInterpolator)
+ * EventState.evaluateStep} for a ground stations network.
+ * </p>
+ * <p>
+ * Running with and without the cache for states shared between event
+ * detectors allows to check it brings a speed-up for large networks and
+ * does not slow down propagation with a single station.
+ * </p>
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class EventDetectionBenchmark {
+
+    /** Number of ground stations. */
+    @Param({ "1", "10", "50" })
+    private int stations;
+
+    /** Size of the cache for states shared between event detectors (0 disables the cache). */
+    @Param({ "0", "1024" })
+    private int cacheSize;
+
+    /** Propagator. */
+    private Propagator propagator;
+
+    /** Propagation start. */
+    private AbsoluteDate start;
+
+    /** Number of events detected during current invocation. */
+    private int events;
+
+    /** Set up the propagator and detectors.
+     * @exception OrekitException if propagator cannot be built
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException {
+
+        Utils.setDataRoot("regular-data");
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+
+        final AbsoluteDate t0 = new AbsoluteDate(2004, 3, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final Orbit orbit = new CircularOrbit(7000000.0, 1.0e-4, 2.0e-4,
+                                              FastMath.toRadians(98.0), FastMath.toRadians(12.0), 0.0,
+                                              PositionAngle.MEAN, FramesFactory.getEME2000(), t0,
+                                              Constants.EIGEN5C_EARTH_MU);
+        final KeplerianPropagator keplerian = new KeplerianPropagator(orbit);
+        keplerian.setEventStatesCacheSize(cacheSize);
+        propagator = keplerian;
+        start      = t0;
+
+        // stations network spread over the Earth surface
+        for (int i = 0; i < stations; ++i) {
+            final double latitude  = FastMath.toRadians(-60.0 + (120.0 * i) / FastMath.max(1, stations - 1));
+            final double longitude = FastMath.toRadians((137.5 * i) % 360.0);
+            final TopocentricFrame topo = new TopocentricFrame(earth,
+                                                               new GeodeticPoint(latitude, longitude, 0.0),
+                                                               "station-" + i);
+            propagator.addEventDetector(new ElevationDetector(60.0, 1.0e-3, topo).
+                                        withConstantElevation(FastMath.toRadians(5.0)).
+                                        withHandler((s, detector, increasing) -> {
+                                            ++events;
+                                            return Action.CONTINUE;
+                                        }));
+        }
+
+    }
+
+    /** Benchmark one day propagation.
+     * <p>
+     * The propagation is always performed from the same start date, as
+     * an analytical propagator is reset to its final state after each run.
+     * </p>
+     * @return number of events detected
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    public int propagateOneDay() throws OrekitException {
+        events = 0;
+        propagator.propagate(start, start.shiftedBy(Constants.JULIAN_DAY));
+        return events;
+    }
+
+}
@@ -0,0 +1,118 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.Transform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link Frame#getTransformTo(Frame, AbsoluteDate)} between GCRF and ITRF.
+ * <p>
+ * Dates are regularly spaced by a few seconds, as in a typical propagation
+ * or measurements generation, so the transform providers caches are used
+ * as in production.
+ * </p>
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FramesBenchmark {
+
+    /** Number of dates in the cycle. */
+    private static final int DATES = 10000;
+
+    /** Time step between dates. */
+    private static final double STEP = 5.0;
+
+    /** Inertial frame. */
+    private Frame gcrf;
+
+    /** Earth frame. */
+    private Frame itrf;
+
+    /** Sampling dates. */
+    private AbsoluteDate[] dates;
+
+    /** Index of next date to use. */
+    private int index;
+
+    /** Set up the frames.
+     * @exception OrekitException if frames cannot be built
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        gcrf  = FramesFactory.getGCRF();
+        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+        dates = new AbsoluteDate[DATES];
+        final AbsoluteDate t0 = new AbsoluteDate(2004, 3, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = t0.shiftedBy(i * STEP);
+        }
+        index = 0;
+    }
+
+    /** Get next date in the cycle.
+     * @return next date
+     */
+    private AbsoluteDate nextDate() {
+        final AbsoluteDate date = dates[index];
+        index = (index + 1) % dates.length;
+        return date;
+    }
+
+    /** Benchmark GCRF to ITRF transform.
+     * @return transform
+     * @exception OrekitException if transform cannot be computed
+     */
+    @Benchmark
+    public Transform gcrfToItrf() throws OrekitException {
+        return gcrf.getTransformTo(itrf, nextDate());
+    }
+
+    /** Benchmark ITRF to GCRF transform.
+     * @return transform
+     * @exception OrekitException if transform cannot be computed
+     */
+    @Benchmark
+    public Transform itrfToGcrf() throws OrekitException {
+        return itrf.getTransformTo(gcrf, nextDate());
+    }
+
+}
@@ -0,0 +1,191 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.TideSystem;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CircularOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link HolmesFeatherstoneAttractionModel#acceleration(SpacecraftState, double[])}
+ * and for bulk evaluation of gradients.
+ * <p>
+ * The gravity field coefficients are synthetic ones following Kaula rule,
+ * as the computation cost depends only on the field degree and order, not
+ * on the coefficients values. This allows to benchmark degrees larger than
+ * the ones available in the test gravity fields.
+ * </p>
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HolmesFeatherstoneBenchmark {
+
+    /** Number of states in the cycle. */
+    private static final int STATES = 1000;
+
+    /** Degree and order of the gravity field. */
+    @Param({ "20", "70", "120" })
+    private int degree;
+
+    /** Gravity model. */
+    private HolmesFeatherstoneAttractionModel model;
+
+    /** Model parameters. */
+    private double[] parameters;
+
+    /** Spacecraft states. */
+    private SpacecraftState[] states;
+
+    /** Index of next state to use. */
+    private int index;
+
+    /** Date of the bulk evaluations. */
+    private AbsoluteDate date;
+
+    /** Positions in body frame. */
+    private Vector3D[] bodyPositions;
+
+    /** Flattened positions in body frame. */
+    private double[] flatPositions;
+
+    /** Gradients from bulk evaluation. */
+    private double[] gradients;
+
+    /** Set up the gravity field and states.
+     * @exception OrekitException if frames cannot be built
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException {
+
+        Utils.setDataRoot("regular-data");
+
+        // synthetic gravity field following Kaula rule
+        final RandomGenerator random = new Well19937a(0x5a3b6c4d7e8f9a0bl);
+        final double[][] c = new double[degree + 1][];
+        final double[][] s = new double[degree + 1][];
+        for (int n = 0; n <= degree; ++n) {
+            c[n] = new double[n + 1];
+            s[n] = new double[n + 1];
+            for (int m = 0; m <= n; ++m) {
+                final double sigma = n < 2 ? 0.0 : 1.0e-5 / (n * n);
+                c[n][m] = sigma * random.nextGaussian();
+                s[n][m] = m == 0 ? 0.0 : sigma * random.nextGaussian();
+            }
+        }
+        c[0][0] = 1.0;
+        final NormalizedSphericalHarmonicsProvider provider =
+                GravityFieldFactory.getNormalizedProvider(Constants.EIGEN5C_EARTH_EQUATORIAL_RADIUS,
+                                                          Constants.EIGEN5C_EARTH_MU,
+                                                          TideSystem.TIDE_FREE, c, s);
+        model      = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                           provider);
+        parameters = new double[] {
+            provider.getMu()
+        };
+
+        // states regularly spaced along a low Earth orbit
+        final AbsoluteDate t0 = new AbsoluteDate(2004, 3, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final CircularOrbit orbit = new CircularOrbit(7000000.0, 1.0e-4, 2.0e-4,
+                                                      FastMath.toRadians(98.0), FastMath.toRadians(12.0), 0.0,
+                                                      PositionAngle.MEAN, FramesFactory.getEME2000(), t0,
+                                                      provider.getMu());
+        states = new SpacecraftState[STATES];
+        for (int i = 0; i < states.length; ++i) {
+            states[i] = new SpacecraftState(orbit.shiftedBy(i * 10.0));
+        }
+        index = 0;
+
+        // same positions, in body frame at one date, for bulk evaluations
+        date          = t0;
+        bodyPositions = new Vector3D[STATES];
+        flatPositions = new double[3 * STATES];
+        gradients     = new double[3 * STATES];
+        for (int i = 0; i < states.length; ++i) {
+            bodyPositions[i] = states[i].getPVCoordinates(FramesFactory.getITRF(IERSConventions.IERS_2010, true)).getPosition();
+            System.arraycopy(bodyPositions[i].toArray(), 0, flatPositions, 3 * i, 3);
+        }
+
+    }
+
+    /** Benchmark acceleration.
+     * @return acceleration
+     * @exception OrekitException if acceleration cannot be computed
+     */
+    @Benchmark
+    public Vector3D acceleration() throws OrekitException {
+        final SpacecraftState state = states[index];
+        index = (index + 1) % states.length;
+        return model.acceleration(state, parameters);
+    }
+
+    /** Benchmark gradients at all positions, one point at a time.
+     * @return last gradient
+     * @exception OrekitException if gradient cannot be computed
+     */
+    @Benchmark
+    public double[] pointByPointGradients() throws OrekitException {
+        double[] gradient = null;
+        for (final Vector3D position : bodyPositions) {
+            gradient = model.gradient(date, position, parameters[0]);
+        }
+        return gradient;
+    }
+
+    /** Benchmark gradients at all positions, using bulk evaluation.
+     * @return gradients
+     * @exception OrekitException if gradients cannot be computed
+     */
+    @Benchmark
+    public double[] bulkGradients() throws OrekitException {
+        model.nonCentralPart(date, flatPositions, parameters[0], null, gradients, null, false);
+        return gradients;
+    }
+
+}
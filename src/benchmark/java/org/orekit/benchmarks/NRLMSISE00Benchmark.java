@@ -0,0 +1,195 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.drag.atmosphere.NRLMSISE00;
+import org.orekit.forces.drag.atmosphere.NRLMSISE00InputParameters;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CircularOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link NRLMSISE00} density evaluation.
+ * <p>
+ * Results are given as calls per second. The {@link #sameDate()} benchmark
+ * mimics the finite differences used by drag force for partial derivatives,
+ * with several close positions evaluated at the same date.
+ * </p>
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NRLMSISE00Benchmark {
+
+    /** Number of points in the cycle. */
+    private static final int POINTS = 1000;
+
+    /** Atmosphere model. */
+    private NRLMSISE00 atmosphere;
+
+    /** Earth frame. */
+    private Frame itrf;
+
+    /** Dates. */
+    private AbsoluteDate[] dates;
+
+    /** Positions in Earth frame. */
+    private Vector3D[] positions;
+
+    /** Index of next point to use. */
+    private int index;
+
+    /** Set up the model and points.
+     * @exception OrekitException if frames cannot be built
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException {
+
+        Utils.setDataRoot("regular-data");
+
+        itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING, itrf);
+        atmosphere = new NRLMSISE00(new ConstantActivity(), CelestialBodyFactory.getSun(), earth);
+
+        // points regularly spaced along a low Earth orbit
+        final AbsoluteDate t0 = new AbsoluteDate(2003, 6, 21, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final CircularOrbit orbit = new CircularOrbit(6778000.0, 1.0e-4, 2.0e-4,
+                                                      FastMath.toRadians(51.6), FastMath.toRadians(12.0), 0.0,
+                                                      PositionAngle.MEAN, FramesFactory.getEME2000(), t0,
+                                                      Constants.EIGEN5C_EARTH_MU);
+        dates     = new AbsoluteDate[POINTS];
+        positions = new Vector3D[POINTS];
+        for (int i = 0; i < POINTS; ++i) {
+            dates[i]     = t0.shiftedBy(i * 10.0);
+            positions[i] = orbit.shiftedBy(i * 10.0).getPVCoordinates(itrf).getPosition();
+        }
+        index = 0;
+
+    }
+
+    /** Benchmark density along the orbit.
+     * @return density
+     * @exception OrekitException if density cannot be computed
+     */
+    @Benchmark
+    public double density() throws OrekitException {
+        final int i = index;
+        index = (index + 1) % POINTS;
+        return atmosphere.getDensity(dates[i], positions[i], itrf);
+    }
+
+    /** Benchmark density at four close positions at the same date.
+     * @return sum of densities
+     * @exception OrekitException if density cannot be computed
+     */
+    @Benchmark
+    public double sameDate() throws OrekitException {
+        final int i = index;
+        index = (index + 1) % POINTS;
+        final Vector3D p = positions[i];
+        return atmosphere.getDensity(dates[i], p, itrf) +
+               atmosphere.getDensity(dates[i], new Vector3D(p.getX() + 1, p.getY(),     p.getZ()),     itrf) +
+               atmosphere.getDensity(dates[i], new Vector3D(p.getX(),     p.getY() + 1, p.getZ()),     itrf) +
+               atmosphere.getDensity(dates[i], new Vector3D(p.getX(),     p.getY(),     p.getZ() + 1), itrf);
+    }
+
+    /** Benchmark field density along the orbit.
+     * @return density
+     * @exception OrekitException if density cannot be computed
+     */
+    @Benchmark
+    public Decimal64 fieldDensity() throws OrekitException {
+        final int i = index;
+        index = (index + 1) % POINTS;
+        return atmosphere.getDensity(new FieldAbsoluteDate<>(Decimal64Field.getInstance(), dates[i]),
+                                     new FieldVector3D<>(Decimal64Field.getInstance().getOne(), positions[i]),
+                                     itrf);
+    }
+
+    /** Constant solar and magnetic activity. */
+    private static class ConstantActivity implements NRLMSISE00InputParameters {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20181016L;
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMinDate() {
+            return AbsoluteDate.PAST_INFINITY;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMaxDate() {
+            return AbsoluteDate.FUTURE_INFINITY;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getDailyFlux(final AbsoluteDate date) {
+            return 150.0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getAverageFlux(final AbsoluteDate date) {
+            return 150.0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] getAp(final AbsoluteDate date) {
+            return new double[] {
+                4.0, 100.0, 100.0, 100.0, 100.0, 100.0, 100.0
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBody;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.drag.DragForce;
+import org.orekit.forces.drag.IsotropicDrag;
+import org.orekit.forces.drag.atmosphere.HarrisPriester;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.ThirdBodyAttraction;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.radiation.IsotropicRadiationSingleCoefficient;
+import org.orekit.forces.radiation.SolarRadiationPressure;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CircularOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link NumericalPropagator} with a realistic low Earth orbit force model.
+ * <p>
+ * The force model includes a 20x20 gravity field, Sun and Moon attraction,
+ * atmospheric drag and solar radiation pressure. Each benchmark invocation
+ * propagates the orbit over one day.
+ * </p>
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class NumericalPropagatorBenchmark {
+
+    /** Propagator. */
+    private NumericalPropagator propagator;
+
+    /** Initial state. */
+    private SpacecraftState initialState;
+
+    /** Set up the propagator.
+     * @exception OrekitException if propagator cannot be built
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException {
+
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        final NormalizedSphericalHarmonicsProvider gravity = GravityFieldFactory.getNormalizedProvider(20, 20);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final CelestialBody sun  = CelestialBodyFactory.getSun();
+        final CelestialBody moon = CelestialBodyFactory.getMoon();
+
+        final AbsoluteDate t0 = new AbsoluteDate(2004, 3, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final Orbit orbit = new CircularOrbit(7000000.0, 1.0e-4, 2.0e-4,
+                                              FastMath.toRadians(98.0), FastMath.toRadians(12.0), 0.0,
+                                              PositionAngle.MEAN, FramesFactory.getEME2000(), t0,
+                                              gravity.getMu());
+        initialState = new SpacecraftState(orbit, 1000.0);
+
+        final double[][] tolerances = NumericalPropagator.tolerances(0.001, orbit, OrbitType.CARTESIAN);
+        final AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(0.001, 300.0, tolerances[0], tolerances[1]);
+        propagator = new NumericalPropagator(integrator);
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(new HolmesFeatherstoneAttractionModel(earth.getBodyFrame(), gravity));
+        propagator.addForceModel(new ThirdBodyAttraction(sun));
+        propagator.addForceModel(new ThirdBodyAttraction(moon));
+        propagator.addForceModel(new DragForce(new HarrisPriester(sun, earth), new IsotropicDrag(10.0, 2.2)));
+        propagator.addForceModel(new SolarRadiationPressure(sun, earth.getEquatorialRadius(),
+                                                            new IsotropicRadiationSingleCoefficient(10.0, 1.5)));
+
+    }
+
+    /** Benchmark one day propagation.
+     * @return final state
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    public SpacecraftState propagateOneDay() throws OrekitException {
+        propagator.setInitialState(initialState);
+        return propagator.propagate(initialState.getDate().shiftedBy(Constants.JULIAN_DAY));
+    }
+
+}
@@ -0,0 +1,130 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+/** Benchmark for {@link TLEPropagator}, both near Earth (SGP4) and deep space (SDP4).
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TLEPropagatorBenchmark {
+
+    /** Number of dates in the cycle. */
+    private static final int DATES = 1440;
+
+    /** Satellite type. */
+    @Param({ "SGP4", "SDP4" })
+    private String model;
+
+    /** Propagator. */
+    private TLEPropagator propagator;
+
+    /** Two-line elements. */
+    private TLE tle;
+
+    /** Propagation dates. */
+    private AbsoluteDate[] dates;
+
+    /** Index of next date to use. */
+    private int index;
+
+    /** Set up the propagator.
+     * @exception OrekitException if propagator cannot be built
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        if ("SGP4".equals(model)) {
+            // SPOT 5
+            tle = new TLE("1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+                          "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62");
+        } else {
+            // GPS
+            tle = new TLE("1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+                          "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153");
+        }
+        propagator = TLEPropagator.selectExtrapolator(tle);
+        dates      = new AbsoluteDate[DATES];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = tle.getDate().shiftedBy(i * 60.0);
+        }
+        index = 0;
+    }
+
+    /** Get next date in the cycle.
+     * @return next date
+     */
+    private AbsoluteDate nextDate() {
+        final AbsoluteDate date = dates[index];
+        index = (index + 1) % dates.length;
+        return date;
+    }
+
+    /** Benchmark full state propagation.
+     * @return propagated state
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    public SpacecraftState propagate() throws OrekitException {
+        return propagator.propagate(nextDate());
+    }
+
+    /** Benchmark raw position-velocity computation in TEME.
+     * @return position-velocity
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    public PVCoordinates getPVCoordinates() throws OrekitException {
+        return propagator.getPVCoordinates(nextDate());
+    }
+
+    /** Benchmark propagator selection and initialization.
+     * @return propagator
+     * @exception OrekitException if propagator cannot be built
+     */
+    @Benchmark
+    public TLEPropagator selectExtrapolator() throws OrekitException {
+        return TLEPropagator.selectExtrapolator(tle);
+    }
+
+}
@@ -0,0 +1,36 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * This package provides <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ * benchmarks for the performance-critical paths of the library.
+ * <p>
+ * The benchmarks are not part of the regular build. They are compiled and run
+ * by the {@code benchmark} Maven profile, which also enables the JMH {@code gc}
+ * profiler so allocation rates are reported next to latencies:
+ * </p>
+ * <pre>
+ *   mvn -P benchmark -DskipTests verify
+ *   mvn -P benchmark -DskipTests verify -Dorekit.jmh.include=FramesBenchmark
+ * </pre>
+ * <p>
+ * Results are written in JSON format in {@code target/jmh-result.json}, so
+ * they can be compared between releases.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+package org.orekit.benchmarks;
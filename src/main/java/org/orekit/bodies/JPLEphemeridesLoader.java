@@ -16,11 +16,14 @@
  */
 package org.orekit.bodies;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -49,7 +52,7 @@ import org.orekit.utils.Constants;
 import org.orekit.utils.FieldPVCoordinates;
 import org.orekit.utils.OrekitConfiguration;
 import org.orekit.utils.PVCoordinates;
-import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.TimeStampedCache;
 import org.orekit.utils.TimeStampedGenerator;
 
 /** Loader for JPL ephemerides binary files (DE 4xx) and similar formats (INPOP 06/08/10).
@@ -200,7 +203,7 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
     private final String supportedNames;
 
     /** Ephemeris for selected body. */
-    private final GenericTimeStampedCache<PosVelChebyshev> ephemerides;
+    private final TimeStampedCache<PosVelChebyshev> ephemerides;
 
     /** Constants defined in the file. */
     private final AtomicReference<Map<String, Double>> constants;
@@ -264,7 +267,7 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
             loadType = generateType;
         }
 
-        ephemerides = new GenericTimeStampedCache<PosVelChebyshev>(2, OrekitConfiguration.getCacheSlotsNumber(),
+        ephemerides = OrekitConfiguration.getCacheFactory().create(2, OrekitConfiguration.getCacheSlotsNumber(),
                                                                    Double.POSITIVE_INFINITY, FIFTY_DAYS,
                                                                    new EphemerisParser());
         maxChunksDuration = Double.NaN;
@@ -292,13 +295,13 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.EARTH_MOON);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
                 break;
             }
             case EARTH_MOON :
                 scale         = 1.0 / (1.0 + getLoadedEarthMoonMassRatio());
                 definingFrameAlignedWithICRF =  FramesFactory.getGCRF();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
                 break;
             case EARTH :
                 scale         = 1.0;
@@ -308,7 +311,7 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
             case MOON :
                 scale         =  1.0;
                 definingFrameAlignedWithICRF =  FramesFactory.getGCRF();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
                 break;
             default : {
                 scale = 1.0;
@@ -317,7 +320,7 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.SOLAR_SYSTEM_BARYCENTER);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createEphemerisRawPVProvider();
             }
         }
 
@@ -327,6 +330,21 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Create the raw position-velocity provider for bodies with ephemerides data.
+     * @return raw position-velocity provider, reading memory-mapped files if
+     * {@link OrekitConfiguration#isMemoryMappedEphemerides() configured} and possible
+     * @exception OrekitException if some ephemerides files cannot be mapped
+     */
+    private RawPVProvider createEphemerisRawPVProvider() throws OrekitException {
+        if (OrekitConfiguration.isMemoryMappedEphemerides()) {
+            final MappedFilesCollector collector = new MappedFilesCollector();
+            if (DataProvidersManager.getInstance().feed(supportedNames, collector) && collector.isMappable()) {
+                return new MappedRawPVProvider(collector.getFiles());
+            }
+        }
+        return new EphemerisRawPVProvider();
+    }
+
     /** Get astronomical unit.
      * @return astronomical unit in meters
      * @exception OrekitException if constants cannot be loaded
@@ -454,6 +472,39 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
         return maxChunksDuration;
     }
 
+    /** Get the index of the loaded body in the Chebyshev coefficients indices table.
+     * @return index of the loaded body in the header table
+     */
+    private int getLoadedBodyIndex() {
+        switch (loadType) {
+            case MERCURY :
+                return 0;
+            case VENUS :
+                return 1;
+            case EARTH_MOON :
+                return 2;
+            case MARS :
+                return 3;
+            case JUPITER :
+                return 4;
+            case SATURN :
+                return 5;
+            case URANUS :
+                return 6;
+            case NEPTUNE :
+                return 7;
+            case PLUTO :
+                return 8;
+            case MOON :
+                return 9;
+            case SUN :
+                return 10;
+            default :
+                // this should never happen
+                throw new OrekitInternalError(null);
+        }
+    }
+
     /** Parse the first header record.
      * @param record first header record
      * @param name name of the file (or zip entry)
@@ -1066,6 +1117,163 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Local collector for memory-mapped ephemerides files. */
+    private class MappedFilesCollector implements DataLoader {
+
+        /** Mapped files, in data providers order. */
+        private final List<MappedJPLEphemeridesFile> files;
+
+        /** Indicator for all files being mappable. */
+        private boolean mappable;
+
+        /** Simple constructor.
+         */
+        MappedFilesCollector() {
+            files    = new ArrayList<MappedJPLEphemeridesFile>();
+            mappable = true;
+        }
+
+        /** Get the mapped files.
+         * @return mapped files, in data providers order
+         */
+        public List<MappedJPLEphemeridesFile> getFiles() {
+            return files;
+        }
+
+        /** Check if all files could be mapped.
+         * @return true if all files could be mapped
+         */
+        public boolean isMappable() {
+            return mappable && !files.isEmpty();
+        }
+
+        /** {@inheritDoc} */
+        public boolean stillAcceptsData() {
+            // we have to look at all available ephemerides files as there may be data overlaps
+            return mappable;
+        }
+
+        /** {@inheritDoc} */
+        public void loadData(final InputStream input, final String name)
+            throws OrekitException, IOException {
+
+            // only plain files, which are not transformed by filters, can be mapped
+            final File file = new File(name);
+            if (!file.isFile()) {
+                mappable = false;
+                return;
+            }
+            final byte[] streamPrefix = new byte[MappedJPLEphemeridesFile.getHeaderPrefixSize()];
+            final byte[] filePrefix   = new byte[streamPrefix.length];
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                if (!readInRecord(input, streamPrefix, 0) || raf.length() < filePrefix.length) {
+                    mappable = false;
+                    return;
+                }
+                raf.readFully(filePrefix);
+            }
+            if (!Arrays.equals(streamPrefix, filePrefix)) {
+                mappable = false;
+                return;
+            }
+
+            final MappedJPLEphemeridesFile mapped = MappedJPLEphemeridesFile.getInstance(file);
+            if (constants.get() == null) {
+                constants.compareAndSet(null, mapped.getConstants());
+            }
+
+            // check astronomical unit consistency
+            final double au = 1000 * mapped.getConstants().get(CONSTANT_AU);
+            if ((au < 1.4e11) || (au > 1.6e11)) {
+                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+            }
+            if (FastMath.abs(getLoadedAstronomicalUnit() - au) >= 10.0) {
+                throw new OrekitException(OrekitMessages.INCONSISTENT_ASTRONOMICAL_UNIT_IN_FILES,
+                                          getLoadedAstronomicalUnit(), au);
+            }
+
+            // check Earth-Moon mass ratio consistency
+            final double emRat = mapped.getConstants().get(CONSTANT_EMRAT);
+            if ((emRat < 80) || (emRat > 82)) {
+                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+            }
+            if (FastMath.abs(getLoadedEarthMoonMassRatio() - emRat) >= 1.0e-5) {
+                throw new OrekitException(OrekitMessages.INCONSISTENT_EARTH_MOON_RATIO_IN_FILES,
+                                          getLoadedEarthMoonMassRatio(), emRat);
+            }
+
+            chunksDuration = mapped.getChunksDuration(getLoadedBodyIndex());
+            if (Double.isNaN(maxChunksDuration)) {
+                maxChunksDuration = chunksDuration;
+            } else {
+                maxChunksDuration = FastMath.max(maxChunksDuration, chunksDuration);
+            }
+
+            files.add(mapped);
+
+        }
+
+    }
+
+    /** Raw position-velocity provider using memory-mapped ephemerides files. */
+    private class MappedRawPVProvider implements RawPVProvider {
+
+        /** Mapped files, in data providers order. */
+        private final MappedJPLEphemeridesFile[] files;
+
+        /** Index of the loaded body in the header table. */
+        private final int body;
+
+        /** Earliest date covered by the files. */
+        private final AbsoluteDate earliest;
+
+        /** Latest date covered by the files. */
+        private final AbsoluteDate latest;
+
+        /** Simple constructor.
+         * @param files mapped files, in data providers order
+         */
+        MappedRawPVProvider(final List<MappedJPLEphemeridesFile> files) {
+            this.files = files.toArray(new MappedJPLEphemeridesFile[files.size()]);
+            this.body  = getLoadedBodyIndex();
+            AbsoluteDate min = AbsoluteDate.FUTURE_INFINITY;
+            AbsoluteDate max = AbsoluteDate.PAST_INFINITY;
+            for (final MappedJPLEphemeridesFile file : files) {
+                min = (file.getFirstDate().compareTo(min) < 0) ? file.getFirstDate() : min;
+                max = (file.getLastDate().compareTo(max)  > 0) ? file.getLastDate()  : max;
+            }
+            this.earliest = min;
+            this.latest   = max;
+        }
+
+        /** Get the Chebyshev polynomials covering a date.
+         * @param date date at which the polynomials are desired
+         * @return Chebyshev polynomials covering the date
+         * @exception OrekitException if no files cover the date
+         */
+        private PosVelChebyshev getChebyshev(final AbsoluteDate date) throws OrekitException {
+            // the first file in data providers order wins in case of overlaps
+            for (final MappedJPLEphemeridesFile file : files) {
+                if (file.covers(date)) {
+                    return file.getChebyshev(body, date);
+                }
+            }
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, earliest, latest);
+        }
+
+        /** {@inheritDoc} */
+        public PVCoordinates getRawPV(final AbsoluteDate date) throws OrekitException {
+            return getChebyshev(date).getPositionVelocityAcceleration(date);
+        }
+
+        /** {@inheritDoc} */
+        public <T extends RealFieldElement<T>> FieldPVCoordinates<T> getRawPV(final FieldAbsoluteDate<T> date)
+            throws OrekitException {
+            return getChebyshev(date.toAbsoluteDate()).getPositionVelocityAcceleration(date);
+        }
+
+    }
+
     /** Raw position-velocity provider providing always zero. */
     private static class ZeroRawPVProvider implements RawPVProvider {
 
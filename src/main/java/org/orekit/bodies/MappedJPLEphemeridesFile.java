@@ -0,0 +1,505 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.bodies;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.TimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+
+/** Memory-mapped JPL DE or IMCCE INPOP binary ephemerides file.
+ * <p>
+ * The file is mapped in memory once and for all using {@link
+ * FileChannel#map(FileChannel.MapMode, long, long)}. Data records all have the
+ * same size and cover the same time span, so the record containing a
+ * date is found by a direct offset computation, without reading the
+ * preceding records. Chebyshev coefficients are read directly from the mapped
+ * buffer when a {@link PosVelChebyshev} is built.
+ * </p>
+ * <p>
+ * Instances are immutable once built and only use absolute reads in the mapped
+ * buffers, so they can be shared by all celestial bodies and all threads. They
+ * are retrieved using {@link #getInstance(File)}, which maps each file only once.
+ * </p>
+ * @see JPLEphemeridesLoader
+ * @author agent
+ * @since 9.3
+ */
+final class MappedJPLEphemeridesFile {
+
+    /** Number of header records at file start. */
+    private static final int HEADER_RECORDS = 2;
+
+    /** DE number used by INPOP files. */
+    private static final int INPOP_DE_NUMBER = 100;
+
+    /** Maximal number of constants in headers. */
+    private static final int CONSTANTS_MAX_NUMBER           = 400;
+
+    /** Offset of the ephemeris type in first header record. */
+    private static final int HEADER_EPHEMERIS_TYPE_OFFSET   = 2840;
+
+    /** Offset of the record size (for INPOP files) in first header record. */
+    private static final int HEADER_RECORD_SIZE_OFFSET      = 2856;
+
+    /** Offset of the astronomical unit in first header record. */
+    private static final int HEADER_ASTRONOMICAL_UNIT_OFFSET = 2680;
+
+    /** Offset of the Earth-Moon mass ratio in first header record. */
+    private static final int HEADER_EM_RATIO_OFFSET         = 2688;
+
+    /** Offset of Chebishev coefficients indices in first header record. */
+    private static final int HEADER_CHEBISHEV_INDICES_OFFSET = 2696;
+
+    /** Offset of libration coefficients indices in first header record. */
+    private static final int HEADER_LIBRATION_INDICES_OFFSET = 2844;
+
+    /** Offset of chunks duration in first header record. */
+    private static final int HEADER_CHUNK_DURATION_OFFSET    = 2668;
+
+    /** Offset of the constants names in first header record. */
+    private static final int HEADER_CONSTANTS_NAMES_OFFSET  = 252;
+
+    /** Offset of the start epoch in a data record. */
+    private static final int DATA_START_RANGE_OFFSET        = 0;
+
+    /** Offset of the end epoch in a data record. */
+    private static final int DATE_END_RANGE_OFFSET          = 8;
+
+    /** Number of bodies with Chebyshev coefficients in data records. */
+    private static final int NB_BODIES = 11;
+
+    /** The constant name for the astronomical unit. */
+    private static final String CONSTANT_AU = "AU";
+
+    /** The constant name for the earth-moon mass ratio. */
+    private static final String CONSTANT_EMRAT = "EMRAT";
+
+    /** Already mapped files, indexed by canonical path.
+     * <p>
+     * Files are softly referenced, so mappings no longer used by any
+     * celestial body can be released when memory is needed.
+     * </p>
+     */
+    private static final Map<String, SoftReference<MappedJPLEphemeridesFile>> MAPPED_FILES =
+            new ConcurrentHashMap<>();
+
+    /** Name of the file. */
+    private final String name;
+
+    /** Last modification time of the file when it was mapped. */
+    private final long lastModified;
+
+    /** Length of the file when it was mapped. */
+    private final long length;
+
+    /** Mapped segments, each one containing an integer number of records. */
+    private final ByteBuffer[] segments;
+
+    /** Number of records in each segment. */
+    private final int recordsPerSegment;
+
+    /** Size of one record, in bytes. */
+    private final int recordSize;
+
+    /** Number of data records (excluding header records). */
+    private final int nbRecords;
+
+    /** Constants read from the header records. */
+    private final Map<String, Double> constants;
+
+    /** Index of the first coefficient, number of coefficients and number of chunks for each body. */
+    private final int[][] pointers;
+
+    /** Number of components for each coefficient (3 for position only, 6 with velocity). */
+    private final int components;
+
+    /** Unit of the position coefficients, in meters. */
+    private final double positionUnit;
+
+    /** Time scale of the date coordinates. */
+    private final TimeScale timeScale;
+
+    /** Duration of one data record, in days. */
+    private final double recordDays;
+
+    /** Start of the first data record. */
+    private final AbsoluteDate firstDate;
+
+    /** End of the last data record. */
+    private final AbsoluteDate lastDate;
+
+    /** Map a file.
+     * @param file file to map
+     * @exception OrekitException if the file is not a JPL ephemerides binary file
+     * @exception IOException if the file cannot be read
+     */
+    private MappedJPLEphemeridesFile(final File file)
+        throws OrekitException, IOException {
+
+        this.name         = file.getPath();
+        this.lastModified = file.lastModified();
+        this.length       = file.length();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+
+            // map the beginning of the file to parse the header
+            final long fileSize = channel.size();
+            if (fileSize < getHeaderPrefixSize()) {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_READ_JPL_HEADER, name);
+            }
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, getHeaderPrefixSize());
+            header.order(detectByteOrder(header));
+
+            final int deNum = header.getInt(HEADER_EPHEMERIS_TYPE_OFFSET);
+            recordSize = (deNum == INPOP_DE_NUMBER) ?
+                         header.getInt(HEADER_RECORD_SIZE_OFFSET) << 3 :
+                         computeRecordSize(header);
+            if (recordSize <= 0 || fileSize < HEADER_RECORDS * (long) recordSize) {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_READ_JPL_HEADER, name);
+            }
+            nbRecords = (int) (fileSize / recordSize) - HEADER_RECORDS;
+
+            // map the whole file, splitting it in segments containing complete records
+            // as a single mapping is limited to 2GB
+            recordsPerSegment = Integer.MAX_VALUE / recordSize;
+            final long totalRecords = nbRecords + HEADER_RECORDS;
+            segments = new ByteBuffer[(int) ((totalRecords + recordsPerSegment - 1) / recordsPerSegment)];
+            for (int i = 0; i < segments.length; ++i) {
+                final long start = i * (long) recordsPerSegment * recordSize;
+                final long size  = FastMath.min(recordsPerSegment, totalRecords - i * (long) recordsPerSegment) * recordSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, size).order(header.order());
+            }
+
+        }
+
+        // parse the constants, using first record for names and second record for values
+        final ByteBuffer first = segments[0];
+        final Map<String, Double> map = new HashMap<String, Double>();
+        final byte[] nameBytes = new byte[6];
+        for (int i = 0; i < CONSTANTS_MAX_NUMBER; ++i) {
+            for (int j = 0; j < nameBytes.length; ++j) {
+                nameBytes[j] = first.get(HEADER_CONSTANTS_NAMES_OFFSET + 6 * i + j);
+            }
+            final String constantName = new String(nameBytes, StandardCharsets.US_ASCII).trim();
+            if (constantName.length() == 0) {
+                // no more constants to read
+                break;
+            }
+            map.put(constantName, first.getDouble(recordSize + 8 * i));
+        }
+        if (!map.containsKey(CONSTANT_AU)) {
+            map.put(CONSTANT_AU, first.getDouble(HEADER_ASTRONOMICAL_UNIT_OFFSET));
+        }
+        if (!map.containsKey(CONSTANT_EMRAT)) {
+            map.put(CONSTANT_EMRAT, first.getDouble(HEADER_EM_RATIO_OFFSET));
+        }
+        constants = Collections.unmodifiableMap(map);
+
+        // as default, 3 polynomial coefficients for the Cartesian coordinates
+        // (x, y, z) are contained in the file, positions are in kilometers
+        // and times are in TDB
+        int          nbComponents = 3;
+        double       unit         = 1000.0;
+        TimeScale    scale        = TimeScalesFactory.getTDB();
+        if (first.getInt(HEADER_EPHEMERIS_TYPE_OFFSET) == INPOP_DE_NUMBER) {
+            final Double format = constants.get("FORMAT");
+            if (format != null && (int) FastMath.IEEEremainder(format, 10) != 1) {
+                nbComponents = 6;
+            }
+            final Double unite = constants.get("UNITE");
+            if (unite != null && unite.intValue() == 0) {
+                unit = 1000.0 * constants.get(CONSTANT_AU);
+            }
+            final Double timesc = constants.get("TIMESC");
+            if (timesc != null && timesc.intValue() == 1) {
+                scale = TimeScalesFactory.getTCB();
+            }
+        }
+        components   = nbComponents;
+        positionUnit = unit;
+        timeScale    = scale;
+
+        // indices of the Chebyshev coefficients for each body
+        boolean ok = nbRecords > 0;
+        pointers = new int[NB_BODIES][3];
+        for (int i = 0; i < NB_BODIES; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                pointers[i][j] = first.getInt(HEADER_CHEBISHEV_INDICES_OFFSET + 12 * i + 4 * j);
+                ok = ok && pointers[i][j] >= 0;
+            }
+        }
+
+        recordDays = first.getDouble(HEADER_CHUNK_DURATION_OFFSET);
+        ok = ok && (recordDays > 0) && (recordDays < 100);
+        if (!ok) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+
+        firstDate = extractDate(0, DATA_START_RANGE_OFFSET);
+        lastDate  = extractDate(nbRecords - 1, DATE_END_RANGE_OFFSET);
+
+    }
+
+    /** Get the shared mapped instance for a file.
+     * <p>
+     * Each file is mapped only once, the same instance is returned to all
+     * callers as long as the file is not modified and the instance is still
+     * in use. If the file has been modified since it was mapped, it is
+     * mapped again.
+     * </p>
+     * @param file file to map
+     * @return mapped file
+     * @exception OrekitException if the file is not a JPL ephemerides binary file
+     * @exception IOException if the file cannot be read
+     */
+    public static MappedJPLEphemeridesFile getInstance(final File file)
+        throws OrekitException, IOException {
+
+        // forget files whose mapping has already been released
+        MAPPED_FILES.values().removeIf(reference -> reference.get() == null);
+
+        final String key = file.getCanonicalPath();
+        final MappedJPLEphemeridesFile[] mapped = new MappedJPLEphemeridesFile[1];
+        try {
+            MAPPED_FILES.compute(key, (k, reference) -> {
+                final MappedJPLEphemeridesFile existing = (reference == null) ? null : reference.get();
+                if (existing != null && existing.isUpToDate(file)) {
+                    mapped[0] = existing;
+                    return reference;
+                }
+                // the file has never been mapped, its mapping has been released
+                // or it has been modified since it was mapped
+                try {
+                    mapped[0] = new MappedJPLEphemeridesFile(file);
+                } catch (OrekitException oe) {
+                    throw new OrekitExceptionWrapper(oe);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+                return new SoftReference<>(mapped[0]);
+            });
+        } catch (OrekitExceptionWrapper oew) {
+            throw oew.getException();
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+
+        return mapped[0];
+
+    }
+
+    /** Check if the instance still corresponds to the file content.
+     * @param file file to check
+     * @return true if the file has not been modified since it was mapped
+     */
+    private boolean isUpToDate(final File file) {
+        return lastModified == file.lastModified() && length == file.length();
+    }
+
+    /** Get the name of the file.
+     * @return name of the file
+     */
+    public String getName() {
+        return name;
+    }
+
+    /** Get the number of bytes at file start to read for detecting the record size.
+     * @return number of bytes at file start to read for detecting the record size
+     */
+    public static int getHeaderPrefixSize() {
+        return HEADER_RECORD_SIZE_OFFSET + 4;
+    }
+
+    /** Get the constants read from the header records.
+     * @return unmodifiable map of constants
+     */
+    public Map<String, Double> getConstants() {
+        return constants;
+    }
+
+    /** Get the start of the first data record.
+     * @return start of the first data record
+     */
+    public AbsoluteDate getFirstDate() {
+        return firstDate;
+    }
+
+    /** Get the end of the last data record.
+     * @return end of the last data record
+     */
+    public AbsoluteDate getLastDate() {
+        return lastDate;
+    }
+
+    /** Check if a date is covered by the file.
+     * @param date date to check
+     * @return true if date is covered by the file
+     */
+    public boolean covers(final AbsoluteDate date) {
+        return date.durationFrom(firstDate) >= -0.001 && date.durationFrom(lastDate) <= 0.001;
+    }
+
+    /** Get the duration of the Chebyshev chunks for one body.
+     * @param body index of the body in the header table
+     * @return duration of the Chebyshev chunks in seconds
+     */
+    public double getChunksDuration(final int body) {
+        return Constants.JULIAN_DAY * (recordDays / pointers[body][2]);
+    }
+
+    /** Get the Chebyshev polynomials covering a date.
+     * @param body index of the body in the header table
+     * (0 for Mercury, 1 for Venus, 2 for Earth-Moon barycenter, 3 for Mars,
+     * 4 for Jupiter, 5 for Saturn, 6 for Uranus, 7 for Neptune, 8 for Pluto,
+     * 9 for the Moon, 10 for the Sun)
+     * @param date date to consider (should be {@link #covers(AbsoluteDate) covered} by the file)
+     * @return Chebyshev polynomials covering the date
+     */
+    public PosVelChebyshev getChebyshev(final int body, final AbsoluteDate date) {
+
+        // direct computation of the record index, all records covering the same time span
+        final double dt = date.offsetFrom(firstDate, timeScale) / Constants.JULIAN_DAY;
+        int record = FastMath.max(0, FastMath.min(nbRecords - 1, (int) FastMath.floor(dt / recordDays)));
+
+        // safety net against rounding errors at records boundaries
+        AbsoluteDate rangeStart = extractDate(record, DATA_START_RANGE_OFFSET);
+        while (record > 0 && date.compareTo(rangeStart) < 0) {
+            rangeStart = extractDate(--record, DATA_START_RANGE_OFFSET);
+        }
+        while (record < nbRecords - 1 && date.compareTo(extractDate(record, DATE_END_RANGE_OFFSET)) >= 0) {
+            rangeStart = extractDate(++record, DATA_START_RANGE_OFFSET);
+        }
+
+        // select the chunk within the record
+        final int    first    = pointers[body][0];
+        final int    nbCoeffs = pointers[body][1];
+        final int    nbChunks = pointers[body][2];
+        final double duration = getChunksDuration(body);
+        final int    chunk    = FastMath.max(0, FastMath.min(nbChunks - 1,
+                                                             (int) FastMath.floor(date.offsetFrom(rangeStart, timeScale) /
+                                                                                  duration)));
+        final AbsoluteDate chunkStart = (chunk == 0) ? rangeStart : rangeStart.shiftedBy(chunk * duration);
+
+        // extract Chebyshev coefficients for the selected body
+        // and convert them from kilometers to meters
+        final ByteBuffer segment = segments[(record + HEADER_RECORDS) / recordsPerSegment];
+        final int        offset  = ((record + HEADER_RECORDS) % recordsPerSegment) * recordSize;
+        final double[] xCoeffs = new double[nbCoeffs];
+        final double[] yCoeffs = new double[nbCoeffs];
+        final double[] zCoeffs = new double[nbCoeffs];
+        for (int k = 0; k < nbCoeffs; ++k) {
+            // only use the position components,
+            // if there are also velocity components contained in the file, ignore them
+            final int index = first + components * chunk * nbCoeffs + k - 1;
+            xCoeffs[k] = positionUnit * segment.getDouble(offset + 8 * index);
+            yCoeffs[k] = positionUnit * segment.getDouble(offset + 8 * (index +  nbCoeffs));
+            zCoeffs[k] = positionUnit * segment.getDouble(offset + 8 * (index + 2 * nbCoeffs));
+        }
+
+        return new PosVelChebyshev(chunkStart, timeScale, duration, xCoeffs, yCoeffs, zCoeffs);
+
+    }
+
+    /** Detect the byte order of the file.
+     * @param header buffer containing the header
+     * @return byte order of the file
+     */
+    private static ByteOrder detectByteOrder(final ByteBuffer header) {
+        // the DE number is stored as unsigned int, if it appears larger than
+        // half the range of an integer, the file is in little-endian format
+        final long deNum = header.order(ByteOrder.BIG_ENDIAN).getInt(HEADER_EPHEMERIS_TYPE_OFFSET) & 0xffffffffL;
+        return (deNum > (1 << 15)) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
+    /** Calculate the record size of a JPL ephemerides file.
+     * @param header buffer containing the header
+     * @return the record size for this file
+     * @throws OrekitException if the file contains unexpected data
+     */
+    private int computeRecordSize(final ByteBuffer header)
+        throws OrekitException {
+
+        int size = 0;
+        boolean ok = true;
+
+        // JPL files always have 3 position components,
+        // the coeffPtr array has the dimensions [12][3], the last one being nutations with only 2 components
+        for (int j = 0; j < 12; j++) {
+            final int nCompCur  = (j == 11) ? 2 : 3;
+            final int idx       = HEADER_CHEBISHEV_INDICES_OFFSET + j * 12;
+            final int coeffPtr1 = header.getInt(idx + 4);
+            final int coeffPtr2 = header.getInt(idx + 8);
+            ok = ok && (coeffPtr1 >= 0 || coeffPtr2 >= 0);
+            size += coeffPtr1 * coeffPtr2 * nCompCur;
+        }
+
+        // the libration ptr array has the dimension [3]
+        final int libratPtr1 = header.getInt(HEADER_LIBRATION_INDICES_OFFSET + 4);
+        final int libratPtr2 = header.getInt(HEADER_LIBRATION_INDICES_OFFSET + 8);
+        ok = ok && (libratPtr1 >= 0 || libratPtr2 >= 0);
+        size += libratPtr1 * libratPtr2 * 3 + 2;
+        size <<= 3;
+
+        if (!ok || size <= 0) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+
+        return size;
+
+    }
+
+    /** Extract a date from a data record.
+     * @param record index of the data record (excluding header records)
+     * @param offset offset of the date within the record
+     * @return extracted date
+     */
+    private AbsoluteDate extractDate(final int record, final int offset) {
+        final ByteBuffer segment = segments[(record + HEADER_RECORDS) / recordsPerSegment];
+        final double t = segment.getDouble(((record + HEADER_RECORDS) % recordsPerSegment) * recordSize + offset);
+        int    jDay    = (int) FastMath.floor(t);
+        double seconds = (t + 0.5 - jDay) * Constants.JULIAN_DAY;
+        if (seconds >= Constants.JULIAN_DAY) {
+            ++jDay;
+            seconds -= Constants.JULIAN_DAY;
+        }
+        return new AbsoluteDate(new DateComponents(DateComponents.JULIAN_EPOCH, jDay),
+                                new TimeComponents(seconds), timeScale);
+    }
+
+}
@@ -0,0 +1,370 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.bodies;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.TimeStampedFieldPVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Celestial body decorator using precomputed ephemeris tables.
+ * <p>
+ * This class samples the position-velocity of an underlying celestial body
+ * (typically Sun, Moon or planets from {@link CelestialBodyFactory}) on a regular
+ * grid in one inertial frame, over a time span chosen by the user. Position-velocity
+ * at any date in the span is then evaluated by cubic Hermite interpolation between
+ * the two surrounding grid points, using only primitive arrays. This avoids the
+ * Chebyshev evaluations and frames transforms of the underlying body, which are
+ * otherwise performed at each integrator stage by force models like {@link
+ * org.orekit.forces.gravity.ThirdBodyAttraction ThirdBodyAttraction} or {@link
+ * org.orekit.forces.radiation.SolarRadiationPressure SolarRadiationPressure}.
+ * </p>
+ * <p>
+ * At construction, the interpolated position-velocity is compared with the underlying
+ * body in each grid interval, at the points where the cubic Hermite errors are largest.
+ * The largest errors found are available as {@link #getMaxPositionError()} and {@link
+ * #getMaxVelocityError()}. They are estimates computed at these sample points only, not
+ * strict bounds on the interpolation error over the whole span. As an order of magnitude,
+ * a 10 minutes step gives errors well below one millimeter for the Moon in EME2000.
+ * </p>
+ * <p>
+ * Requests in another frame are transformed from the table frame, and requests
+ * outside of the tabulated span are delegated to the underlying body. The table
+ * frame should therefore be the frame in which propagation is performed.
+ * </p>
+ * <p>
+ * Instances are immutable, so they can be shared across propagators and threads.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+public class TabulatedCelestialBody implements CelestialBody {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20181016L;
+
+    /** Underlying body. */
+    private final CelestialBody body;
+
+    /** Frame in which positions-velocities are tabulated. */
+    private final Frame frame;
+
+    /** Start of the tabulated span. */
+    private final AbsoluteDate start;
+
+    /** End of the tabulated span. */
+    private final AbsoluteDate end;
+
+    /** Grid step (s). */
+    private final double step;
+
+    /** Number of grid points. */
+    private final int n;
+
+    /** Positions at grid points (x, y, z for each point). */
+    private final double[] positions;
+
+    /** Velocities at grid points (x, y, z for each point). */
+    private final double[] velocities;
+
+    /** Largest position error (m). */
+    private final double maxPositionError;
+
+    /** Largest velocity error (m/s). */
+    private final double maxVelocityError;
+
+    /** Simple constructor.
+     * <p>
+     * The grid covers at least the span from {@code start} to {@code end}, it
+     * may extend slightly after {@code end} so that the step is exactly respected.
+     * </p>
+     * @param body underlying body
+     * @param frame pseudo-inertial frame in which positions-velocities are tabulated
+     * @param start start of the tabulated span
+     * @param end end of the tabulated span
+     * @param step grid step (s)
+     * @exception OrekitException if underlying body cannot be evaluated on the span
+     */
+    public TabulatedCelestialBody(final CelestialBody body, final Frame frame,
+                                  final AbsoluteDate start, final AbsoluteDate end,
+                                  final double step)
+        throws OrekitException {
+
+        if (!frame.isPseudoInertial()) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME,
+                                                     frame.getName());
+        }
+        if (!(step > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0);
+        }
+        final double duration = end.durationFrom(start);
+        if (!(duration > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     duration, 0);
+        }
+
+        this.body       = body;
+        this.frame      = frame;
+        this.start      = start;
+        this.step       = step;
+        this.n          = 1 + (int) FastMath.ceil(duration / step);
+        this.end        = start.shiftedBy((n - 1) * step);
+        this.positions  = new double[3 * n];
+        this.velocities = new double[3 * n];
+
+        // sample the underlying body
+        for (int i = 0; i < n; ++i) {
+            final TimeStampedPVCoordinates pv = body.getPVCoordinates(start.shiftedBy(i * step), frame);
+            store(pv.getPosition(), positions,  i);
+            store(pv.getVelocity(), velocities, i);
+        }
+
+        // estimate interpolation errors where they are largest: the cubic Hermite
+        // position error behaves as x² (1 - x)², which is largest at mid-point, and
+        // velocity error behaves as its derivative, which is largest at (3 ± √3) / 6
+        final double[] xV = new double[] {
+            (3 - FastMath.sqrt(3)) / 6, (3 + FastMath.sqrt(3)) / 6
+        };
+        double maxDP = 0;
+        double maxDV = 0;
+        final double[] interpolated = new double[9];
+        for (int i = 0; i < n - 1; ++i) {
+            final TimeStampedPVCoordinates pvMid = body.getPVCoordinates(start.shiftedBy((i + 0.5) * step), frame);
+            interpolate(i, 0.5, interpolated);
+            maxDP = FastMath.max(maxDP, Vector3D.distance(pvMid.getPosition(),
+                                                          new Vector3D(interpolated[0], interpolated[1], interpolated[2])));
+            for (final double x : xV) {
+                final TimeStampedPVCoordinates pv = body.getPVCoordinates(start.shiftedBy((i + x) * step), frame);
+                interpolate(i, x, interpolated);
+                maxDV = FastMath.max(maxDV, Vector3D.distance(pv.getVelocity(),
+                                                              new Vector3D(interpolated[3], interpolated[4], interpolated[5])));
+            }
+        }
+        this.maxPositionError = maxDP;
+        this.maxVelocityError = maxDV;
+
+    }
+
+    /** Store a vector in a flat array.
+     * @param v vector to store
+     * @param array flat array
+     * @param i index of the grid point
+     */
+    private static void store(final Vector3D v, final double[] array, final int i) {
+        array[3 * i]     = v.getX();
+        array[3 * i + 1] = v.getY();
+        array[3 * i + 2] = v.getZ();
+    }
+
+    /** Interpolate position, velocity and acceleration.
+     * @param i index of the grid interval
+     * @param x normalized time within the interval (0 at grid point i, 1 at grid point i + 1)
+     * @param pva placeholder for position, velocity and acceleration (9 elements)
+     */
+    private void interpolate(final int i, final double x, final double[] pva) {
+
+        // cubic Hermite basis functions and their derivatives with respect to x
+        final double x2    = x * x;
+        final double x3    = x2 * x;
+        final double h00   = 2 * x3 - 3 * x2 + 1;
+        final double h10   = x3 - 2 * x2 + x;
+        final double h01   = 3 * x2 - 2 * x3;
+        final double h11   = x3 - x2;
+        final double dh00  = 6 * (x2 - x);
+        final double dh10  = 3 * x2 - 4 * x + 1;
+        final double dh11  = 3 * x2 - 2 * x;
+        final double d2h00 = 12 * x - 6;
+        final double d2h10 = 6 * x - 4;
+        final double d2h11 = 6 * x - 2;
+
+        final double inv  = 1.0 / step;
+        final double inv2 = inv * inv;
+        final int    k0   = 3 * i;
+        final int    k1   = k0 + 3;
+        for (int j = 0; j < 3; ++j) {
+            final double p0 = positions[k0 + j];
+            final double p1 = positions[k1 + j];
+            final double v0 = velocities[k0 + j];
+            final double v1 = velocities[k1 + j];
+            // dh01 = -dh00 and d2h01 = -d2h00
+            pva[j]     = h00 * p0 + h01 * p1 + step * (h10 * v0 + h11 * v1);
+            pva[j + 3] = dh00  * (p0 - p1) * inv  + dh10 * v0 + dh11 * v1;
+            pva[j + 6] = d2h00 * (p0 - p1) * inv2 + (d2h10 * v0 + d2h11 * v1) * inv;
+        }
+
+    }
+
+    /** Get the underlying body.
+     * @return underlying body
+     */
+    public CelestialBody getUnderlyingBody() {
+        return body;
+    }
+
+    /** Get the frame in which positions-velocities are tabulated.
+     * @return frame in which positions-velocities are tabulated
+     */
+    public Frame getTabulationFrame() {
+        return frame;
+    }
+
+    /** Get the start of the tabulated span.
+     * @return start of the tabulated span
+     */
+    public AbsoluteDate getStart() {
+        return start;
+    }
+
+    /** Get the end of the tabulated span.
+     * @return end of the tabulated span
+     */
+    public AbsoluteDate getEnd() {
+        return end;
+    }
+
+    /** Get the grid step.
+     * @return grid step (s)
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /** Get the largest position interpolation error found at construction.
+     * <p>
+     * This is the largest error at the checked sample points, not a strict bound.
+     * </p>
+     * @return largest position error (m)
+     */
+    public double getMaxPositionError() {
+        return maxPositionError;
+    }
+
+    /** Get the largest velocity interpolation error found at construction.
+     * <p>
+     * This is the largest error at the checked sample points, not a strict bound.
+     * </p>
+     * @return largest velocity error (m/s)
+     */
+    public double getMaxVelocityError() {
+        return maxVelocityError;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame outputFrame)
+        throws OrekitException {
+
+        final double dt = date.durationFrom(start);
+        if (dt < 0 || dt > (n - 1) * step) {
+            // out of tabulated span, delegate to underlying body
+            return body.getPVCoordinates(date, outputFrame);
+        }
+
+        final int      i   = FastMath.min(n - 2, (int) FastMath.floor(dt / step));
+        final double[] pva = new double[9];
+        interpolate(i, dt / step - i, pva);
+        final TimeStampedPVCoordinates pv =
+                        new TimeStampedPVCoordinates(date,
+                                                     new Vector3D(pva[0], pva[1], pva[2]),
+                                                     new Vector3D(pva[3], pva[4], pva[5]),
+                                                     new Vector3D(pva[6], pva[7], pva[8]));
+
+        return outputFrame == frame ? pv : frame.getTransformTo(outputFrame, date).transformPVCoordinates(pv);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> TimeStampedFieldPVCoordinates<T> getPVCoordinates(final FieldAbsoluteDate<T> date,
+                                                                                             final Frame outputFrame)
+        throws OrekitException {
+
+        final T dt = date.durationFrom(start);
+        if (dt.getReal() < 0 || dt.getReal() > (n - 1) * step) {
+            // out of tabulated span, delegate to underlying body
+            return body.getPVCoordinates(date, outputFrame);
+        }
+
+        // cubic Hermite basis functions and their derivatives with respect to x
+        final int i     = FastMath.min(n - 2, (int) FastMath.floor(dt.getReal() / step));
+        final T   x     = dt.divide(step).subtract(i);
+        final T   x2    = x.multiply(x);
+        final T   x3    = x2.multiply(x);
+        final T   h00   = x3.multiply(2).subtract(x2.multiply(3)).add(1);
+        final T   h10   = x3.subtract(x2.multiply(2)).add(x);
+        final T   h01   = x2.multiply(3).subtract(x3.multiply(2));
+        final T   h11   = x3.subtract(x2);
+        final T   dh00  = x2.subtract(x).multiply(6);
+        final T   dh10  = x2.multiply(3).subtract(x.multiply(4)).add(1);
+        final T   dh11  = x2.multiply(3).subtract(x.multiply(2));
+        final T   d2h00 = x.multiply(12).subtract(6);
+        final T   d2h10 = x.multiply(6).subtract(4);
+        final T   d2h11 = x.multiply(6).subtract(2);
+
+        final Vector3D p0 = new Vector3D(positions[3 * i],      positions[3 * i + 1],  positions[3 * i + 2]);
+        final Vector3D p1 = new Vector3D(positions[3 * i + 3],  positions[3 * i + 4],  positions[3 * i + 5]);
+        final Vector3D v0 = new Vector3D(velocities[3 * i],     velocities[3 * i + 1], velocities[3 * i + 2]);
+        final Vector3D v1 = new Vector3D(velocities[3 * i + 3], velocities[3 * i + 4], velocities[3 * i + 5]);
+        final Vector3D dp = p0.subtract(p1);
+
+        final FieldVector3D<T> p = new FieldVector3D<>(h00, p0, h01, p1,
+                                                       h10.multiply(step), v0, h11.multiply(step), v1);
+        final FieldVector3D<T> v = new FieldVector3D<>(dh00.divide(step), dp, dh10, v0, dh11, v1);
+        final FieldVector3D<T> a = new FieldVector3D<>(d2h00.divide(step * step), dp,
+                                                       d2h10.divide(step), v0, d2h11.divide(step), v1);
+        final TimeStampedFieldPVCoordinates<T> pv = new TimeStampedFieldPVCoordinates<>(date, p, v, a);
+
+        return outputFrame == frame ?
+               pv : frame.getTransformTo(outputFrame, date).transformPVCoordinates(pv);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getInertiallyOrientedFrame() throws OrekitException {
+        return body.getInertiallyOrientedFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getBodyOrientedFrame() throws OrekitException {
+        return body.getBodyOrientedFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return body.getName();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getGM() {
+        return body.getGM();
+    }
+
+}
@@ -0,0 +1,72 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.orekit.errors.OrekitException;
+
+/** Interface for data loaders that can store parsed data in a compiled binary form.
+ * <p>
+ * When a {@link CompiledDataCache compiled data cache} is {@link
+ * DataProvidersManager#setCompiledDataCache(CompiledDataCache) configured},
+ * the data loaded by loaders implementing this interface are stored in
+ * compiled form the first time they are parsed, and simply read back from
+ * this compiled form afterwards, as long as the source data does not change.
+ * </p>
+ * <p>
+ * The compiled form must represent exactly the data extracted from one source
+ * by one call to {@link #loadData(java.io.InputStream, String) loadData}, and
+ * {@link #loadCompiled(DataInputStream, String) loadCompiled} must update the
+ * loader state exactly as {@link #loadData(java.io.InputStream, String) loadData}
+ * would have done.
+ * </p>
+ * @see CompiledDataCache
+ * @author agent
+ * @since 9.3
+ */
+public interface CompilableDataLoader extends DataLoader {
+
+    /** Get the identifier of the compiled format.
+     * <p>
+     * The identifier is used as part of the key of compiled data. It must
+     * change whenever the layout of the compiled data changes, and it must
+     * include all the loader settings that change the parsing result (for
+     * example a maximal degree for gravity fields).
+     * </p>
+     * @return identifier of the compiled format
+     */
+    String getCompiledFormat();
+
+    /** Write the data parsed by the last call to {@link
+     * #loadData(java.io.InputStream, String) loadData} in compiled form.
+     * @param output output stream where to write data
+     * @exception IOException if data cannot be written
+     */
+    void writeCompiled(DataOutputStream output) throws IOException;
+
+    /** Load data from compiled form.
+     * @param input input stream containing data written by {@link #writeCompiled(DataOutputStream)}
+     * @param name name of the source file (or zip entry)
+     * @exception IOException if data can't be read
+     * @exception OrekitException if some loader specific error occurs
+     */
+    void loadCompiled(DataInputStream input, String name) throws IOException, OrekitException;
+
+}
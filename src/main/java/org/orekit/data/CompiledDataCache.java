@@ -0,0 +1,265 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.zip.CRC32;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitInternalError;
+import org.orekit.errors.OrekitMessages;
+
+/** On-disk cache for data parsed by {@link CompilableDataLoader compilable loaders}.
+ * <p>
+ * Each source (file or zip entry) is identified by a SHA-256 checksum computed
+ * on both the {@link CompilableDataLoader#getCompiledFormat() compiled format}
+ * identifier and the source content. The first time a source is loaded, it
+ * is parsed by the loader and the parsed data are written in a compact binary
+ * form in a file named after the checksum. The next times the same source is
+ * loaded, the compiled data are read back instead of parsing the source again.
+ * If the source changes, its checksum changes too, so the stale compiled data
+ * are automatically ignored.
+ * </p>
+ * <p>
+ * Compiled files are written to a temporary file first and then atomically
+ * moved to their final name, so several processes can share the same cache
+ * directory. Compiled files include their own checksum, truncated or corrupted
+ * files are ignored and silently replaced. Failure to write compiled data is
+ * not an error, the parsed data are used directly in this case.
+ * </p>
+ * <p>
+ * Note that the source content still has to be read to compute its checksum,
+ * the savings come from avoiding parsing text files.
+ * </p>
+ * @see DataProvidersManager#setCompiledDataCache(CompiledDataCache)
+ * @see CompilableDataLoader
+ * @author agent
+ * @since 9.3
+ */
+public class CompiledDataCache {
+
+    /** Magic number at the start of compiled files. */
+    private static final int MAGIC = 0x4f524b43;
+
+    /** Version of the compiled files container. */
+    private static final int VERSION = 1;
+
+    /** Size of the compiled files header (magic, version and payload length). */
+    private static final int HEADER_SIZE = 12;
+
+    /** Size of the compiled files trailer (payload CRC). */
+    private static final int TRAILER_SIZE = 8;
+
+    /** Suffix for compiled files. */
+    private static final String SUFFIX = ".bin";
+
+    /** Suffix for temporary files. */
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /** Size of the buffer used to read sources. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Hexadecimal digits. */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** Directory where compiled files are stored. */
+    private final File directory;
+
+    /** Simple constructor.
+     * <p>
+     * The directory is created on the fly the first time compiled data are written.
+     * </p>
+     * @param directory directory where compiled files are stored
+     * @exception OrekitException if the path exists and is not a directory
+     */
+    public CompiledDataCache(final File directory) throws OrekitException {
+        if (directory.exists() && !directory.isDirectory()) {
+            throw new OrekitException(OrekitMessages.NOT_A_DIRECTORY, directory.getAbsolutePath());
+        }
+        this.directory = directory;
+    }
+
+    /** Get the directory where compiled files are stored.
+     * @return directory where compiled files are stored
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /** Load data from a source, using compiled data if available.
+     * @param input source data input stream
+     * @param name name of the source file (or zip entry)
+     * @param loader loader to use
+     * @exception IOException if data can't be read
+     * @exception ParseException if data can't be parsed
+     * @exception OrekitException if some data is missing
+     * or if some loader specific error occurs
+     */
+    public void load(final InputStream input, final String name, final CompilableDataLoader loader)
+        throws IOException, ParseException, OrekitException {
+
+        // identify the source
+        final byte[] source = readFully(input);
+        final String key    = computeKey(loader.getCompiledFormat(), source);
+        final File compiled = new File(directory, key + SUFFIX);
+
+        // use already compiled data if available
+        final byte[] payload = readCompiled(compiled);
+        if (payload != null) {
+            loader.loadCompiled(new DataInputStream(new ByteArrayInputStream(payload)), name);
+            return;
+        }
+
+        // parse source and compile the parsed data
+        loader.loadData(new ByteArrayInputStream(source), name);
+        writeCompiled(compiled, key, loader);
+
+    }
+
+    /** Read a complete stream.
+     * @param input input stream
+     * @return stream content
+     * @exception IOException if stream cannot be read
+     */
+    private static byte[] readFully(final InputStream input) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        for (int n = input.read(buffer); n >= 0; n = input.read(buffer)) {
+            output.write(buffer, 0, n);
+        }
+        return output.toByteArray();
+    }
+
+    /** Compute the key identifying a source.
+     * @param format identifier of the compiled format
+     * @param source source content
+     * @return key identifying the source
+     */
+    private static String computeKey(final String format, final byte[] source) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(format.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(source);
+            final byte[] hash = digest.digest();
+            final char[] hex  = new char[2 * hash.length];
+            for (int i = 0; i < hash.length; ++i) {
+                hex[2 * i]     = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+                hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException nsae) {
+            // this should never happen as SHA-256 support is mandatory in all JVM
+            throw new OrekitInternalError(nsae);
+        }
+    }
+
+    /** Read compiled data.
+     * @param compiled compiled file
+     * @return compiled payload, or null if the file does not exist or is invalid
+     */
+    private static byte[] readCompiled(final File compiled) {
+
+        if (!compiled.isFile()) {
+            return null;
+        }
+
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(compiled.toPath()));
+            if (buffer.remaining() < HEADER_SIZE + TRAILER_SIZE ||
+                buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            final int length = buffer.getInt();
+            if (length < 0 || buffer.remaining() != length + TRAILER_SIZE) {
+                return null;
+            }
+            final byte[] payload = new byte[length];
+            buffer.get(payload);
+            final CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (buffer.getLong() == crc.getValue()) ? payload : null;
+        } catch (IOException ioe) {
+            // the compiled file cannot be read, we will parse the source again
+            return null;
+        }
+
+    }
+
+    /** Write compiled data.
+     * @param compiled compiled file
+     * @param key key identifying the source
+     * @param loader loader containing parsed data
+     */
+    private void writeCompiled(final File compiled, final String key, final CompilableDataLoader loader) {
+
+        Path temporary = null;
+        try {
+
+            // compile the parsed data
+            final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            try (DataOutputStream dos = new DataOutputStream(payload)) {
+                loader.writeCompiled(dos);
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(payload.toByteArray());
+
+            // write a temporary file
+            Files.createDirectories(directory.toPath());
+            temporary = Files.createTempFile(directory.toPath(), key, TEMPORARY_SUFFIX);
+            try (DataOutputStream dos = new DataOutputStream(Files.newOutputStream(temporary))) {
+                dos.writeInt(MAGIC);
+                dos.writeInt(VERSION);
+                dos.writeInt(payload.size());
+                payload.writeTo(dos);
+                dos.writeLong(crc.getValue());
+            }
+
+            // publish the compiled file atomically
+            try {
+                Files.move(temporary, compiled.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(temporary, compiled.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            temporary = null;
+
+        } catch (IOException ioe) {
+            // the cache is only an optimization, failing to write it is not an error
+        } finally {
+            if (temporary != null) {
+                temporary.toFile().delete();
+            }
+        }
+
+    }
+
+}
@@ -28,7 +28,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 
 /** Singleton class managing all supported {@link DataProvider data providers}.
@@ -89,6 +91,16 @@ public class DataProvidersManager {
     /** Loaded data. */
     private final Set<String> loaded;
 
+    /** Cache for compiled data (null if compiled data are not used).
+     * @since 9.3
+     */
+    private CompiledDataCache compiledDataCache;
+
+    /** Number of threads used for crawling directories and archives.
+     * @since 9.3
+     */
+    private int crawlingPoolSize;
+
     /** Build an instance with default configuration.
      * <p>
      * This is a singleton, so the constructor is private.
@@ -98,6 +110,8 @@ public class DataProvidersManager {
         providers = new ArrayList<DataProvider>();
         filters   = new ArrayList<>();
         loaded    = new LinkedHashSet<String>();
+        compiledDataCache = null;
+        crawlingPoolSize  = 1;
 
         // set up predefined filters
         addFilter(new GzipFilter());
@@ -234,6 +248,63 @@ public class DataProvidersManager {
         }
     }
 
+    /** Set the cache for compiled data.
+     * <p>
+     * When a cache is set, data loaded by {@link CompilableDataLoader compilable
+     * loaders} are stored in compiled form the first time they are parsed and
+     * read back from this compiled form afterwards. This speeds up loading for
+     * text data files like UTC-TAI history, Earth Orientation Parameters or
+     * gravity fields. By default, no cache is used.
+     * </p>
+     * @param cache cache for compiled data (null to disable compiled data)
+     * @see #getCompiledDataCache()
+     * @since 9.3
+     */
+    public void setCompiledDataCache(final CompiledDataCache cache) {
+        this.compiledDataCache = cache;
+    }
+
+    /** Get the cache for compiled data.
+     * @return cache for compiled data (null if compiled data are not used)
+     * @see #setCompiledDataCache(CompiledDataCache)
+     * @since 9.3
+     */
+    public CompiledDataCache getCompiledDataCache() {
+        return compiledDataCache;
+    }
+
+    /** Set the number of threads used for crawling directories and archives.
+     * <p>
+     * When the pool size is larger than 1, {@link DirectoryCrawler} and
+     * {@link ZipJarCrawler} read and decompress the data files matching
+     * the supported names in parallel. Regular loaders are still fed in
+     * the calling thread, one file at a time and in the same deterministic
+     * order as sequential crawling. Loaders implementing {@link ThreadSafeDataLoader}
+     * are fed directly from the worker threads, in no particular order.
+     * Parallel crawling uses more memory, as the content of pending files is
+     * held in memory until the loader consumes it. By default, the pool size
+     * is 1, i.e. crawling is sequential.
+     * </p>
+     * @param poolSize number of threads used for crawling (1 for sequential crawling)
+     * @see #getCrawlingPoolSize()
+     * @since 9.3
+     */
+    public void setCrawlingPoolSize(final int poolSize) {
+        if (poolSize < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, poolSize, 1);
+        }
+        this.crawlingPoolSize = poolSize;
+    }
+
+    /** Get the number of threads used for crawling directories and archives.
+     * @return number of threads used for crawling (1 for sequential crawling)
+     * @see #setCrawlingPoolSize(int)
+     * @since 9.3
+     */
+    public int getCrawlingPoolSize() {
+        return crawlingPoolSize;
+    }
+
     /** Apply all the relevant data filters, taking care of layers.
      * <p>
      * If several filters can be applied, they will all be applied
@@ -308,14 +379,18 @@ public class DataProvidersManager {
      * @see #clearLoadedDataNames()
      */
     public Set<String> getLoadedDataNames() {
-        return Collections.unmodifiableSet(loaded);
+        synchronized (loaded) {
+            return Collections.unmodifiableSet(new LinkedHashSet<String>(loaded));
+        }
     }
 
     /** Clear the set of data file names that have been loaded.
      * @see #getLoadedDataNames()
      */
     public void clearLoadedDataNames() {
-        loaded.clear();
+        synchronized (loaded) {
+            loaded.clear();
+        }
     }
 
     /** Feed a data file loader by browsing all data providers.
@@ -351,7 +426,9 @@ public class DataProvidersManager {
         }
 
         // monitor the data that the loader will load
-        final DataLoader monitoredLoader = new MonitoringWrapper(loader);
+        final DataLoader monitoredLoader = (loader instanceof ThreadSafeDataLoader) ?
+                                           new ThreadSafeMonitoringWrapper(loader) :
+                                           new MonitoringWrapper(loader);
 
         // crawl the data collection
         OrekitException delayedException = null;
@@ -400,16 +477,35 @@ public class DataProvidersManager {
         public void loadData(final InputStream input, final String name)
             throws IOException, ParseException, OrekitException {
 
-            // delegate to monitored loader
-            loader.loadData(input, name);
+            // delegate to monitored loader, using compiled data if possible
+            final CompiledDataCache cache = compiledDataCache;
+            if (cache != null && loader instanceof CompilableDataLoader) {
+                cache.load(input, name, (CompilableDataLoader) loader);
+            } else {
+                loader.loadData(input, name);
+            }
 
             // monitor the fact new data has been loaded
-            loaded.add(name);
+            synchronized (loaded) {
+                loaded.add(name);
+            }
 
         }
 
     }
 
+    /** Data loading monitoring wrapper class for thread-safe loaders. */
+    private class ThreadSafeMonitoringWrapper extends MonitoringWrapper implements ThreadSafeDataLoader {
+
+        /** Simple constructor.
+         * @param loader loader to monitor
+         */
+        ThreadSafeMonitoringWrapper(final DataLoader loader) {
+            super(loader);
+        }
+
+    }
+
     /** Holder for the manager singleton.
      * <p>
      * We use the Initialization on demand holder idiom to store
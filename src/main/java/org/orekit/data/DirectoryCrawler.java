@@ -71,7 +71,18 @@ public class DirectoryCrawler implements DataProvider {
     public boolean feed(final Pattern supported, final DataLoader visitor)
         throws OrekitException {
         try {
+
+            final int poolSize = DataProvidersManager.getInstance().getCrawlingPoolSize();
+            if (poolSize > 1) {
+                // read and filter the files in parallel
+                try (ParallelFeeder feeder = new ParallelFeeder(visitor, poolSize)) {
+                    feed(supported, feeder, root);
+                    return feeder.finish();
+                }
+            }
+
             return feed(supported, visitor, root);
+
         } catch (IOException ioe) {
             throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
         } catch (ParseException pe) {
@@ -79,6 +90,63 @@ public class DirectoryCrawler implements DataProvider {
         }
     }
 
+    /** Feed a parallel feeder by browsing a directory hierarchy.
+     * @param supported pattern for file names supported by the visitor
+     * @param feeder parallel feeder to use
+     * @param directory current directory
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     */
+    private void feed(final Pattern supported, final ParallelFeeder feeder, final File directory)
+        throws IOException, ParseException {
+
+        // search in current directory, using the same order as sequential crawling
+        final File[] list = sortedFiles(directory);
+
+        for (final File file : list) {
+            if (feeder.stillAcceptsData()) {
+                if (file.isDirectory()) {
+
+                    // recurse in the sub-directory
+                    feed(supported, feeder, file);
+
+                } else if (ZIP_ARCHIVE_PATTERN.matcher(file.getName()).matches()) {
+
+                    // browse inside the zip/jar file
+                    new ZipJarCrawler(file).feed(supported, feeder);
+
+                } else {
+
+                    // apply all registered filters
+                    NamedData data = new NamedData(file.getName(), () -> new FileInputStream(file));
+                    data = DataProvidersManager.getInstance().applyAllFilters(data);
+
+                    if (supported.matcher(data.getName()).matches()) {
+                        // the file will be read by the feeder workers
+                        feeder.submit(data, file.getPath());
+                    }
+
+                }
+            }
+        }
+
+    }
+
+    /** Get the sorted list of files in a directory.
+     * @param directory directory to list
+     * @return sorted list of files
+     */
+    private File[] sortedFiles(final File directory) {
+        final File[] list = directory.listFiles();
+        Arrays.sort(list, new Comparator<File>() {
+            @Override
+            public int compare(final File o1, final File o2) {
+                return o1.compareTo(o2);
+            }
+        });
+        return list;
+    }
+
     /** Feed a data file loader by browsing a directory hierarchy.
      * @param supported pattern for file names supported by the visitor
      * @param visitor data file visitor to feed
@@ -93,13 +161,7 @@ public class DirectoryCrawler implements DataProvider {
         throws OrekitException, IOException, ParseException {
 
         // search in current directory
-        final File[] list = directory.listFiles();
-        Arrays.sort(list, new Comparator<File>() {
-            @Override
-            public int compare(final File o1, final File o2) {
-                return o1.compareTo(o2);
-            }
-        });
+        final File[] list = sortedFiles(directory);
 
         OrekitException delayedException = null;
         boolean loaded = false;
@@ -0,0 +1,250 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.orekit.errors.OrekitException;
+
+/** Helper feeding a data loader with data read in parallel.
+ * <p>
+ * Crawlers {@link #submit(NamedData, String) submit} the data they find
+ * in sequential crawling order. For regular loaders, the data are read
+ * (and decompressed by the filters) by a pool of worker threads, and
+ * delivered to the loader in the caller thread, in submission order,
+ * so the loader sees exactly the same sequence of calls as with sequential
+ * crawling. For {@link ThreadSafeDataLoader thread-safe loaders}, the
+ * worker threads also call the loader directly.
+ * </p>
+ * <p>
+ * As in sequential crawling, errors from individual data are delayed and
+ * only reported if nothing at all could be loaded.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+final class ParallelFeeder implements AutoCloseable {
+
+    /** Size of the buffer used to read data. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Maximum number of pending data per worker thread. */
+    private static final int PENDING_PER_THREAD = 2;
+
+    /** Loader to feed. */
+    private final DataLoader loader;
+
+    /** Indicator for loaders that can be fed concurrently. */
+    private final boolean concurrentLoading;
+
+    /** Workers pool. */
+    private final ExecutorService executor;
+
+    /** Maximum number of pending data. */
+    private final int maxPending;
+
+    /** Pending data, in submission order. */
+    private final Deque<Pending> pending;
+
+    /** Indicator for loaded data. */
+    private boolean loaded;
+
+    /** Last error encountered. */
+    private OrekitException delayedException;
+
+    /** Simple constructor.
+     * @param loader loader to feed
+     * @param poolSize number of worker threads
+     */
+    ParallelFeeder(final DataLoader loader, final int poolSize) {
+        this.loader            = loader;
+        this.concurrentLoading = loader instanceof ThreadSafeDataLoader;
+        this.executor          = Executors.newFixedThreadPool(poolSize);
+        this.maxPending        = PENDING_PER_THREAD * poolSize;
+        this.pending           = new ArrayDeque<Pending>();
+        this.loaded            = false;
+        this.delayedException  = null;
+    }
+
+    /** Check if the loader still accepts data.
+     * @return true if the loader still accepts data
+     */
+    public boolean stillAcceptsData() {
+        return loader.stillAcceptsData();
+    }
+
+    /** Submit data for loading.
+     * <p>
+     * If too many data are already pending, the oldest ones are delivered
+     * before this method returns.
+     * </p>
+     * @param data filtered data
+     * @param name name to use for loading (file path or zip entry name)
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     */
+    public void submit(final NamedData data, final String name)
+        throws IOException, ParseException {
+
+        if (concurrentLoading) {
+            pending.addLast(new Pending(name, executor.submit(() -> {
+                if (loader.stillAcceptsData()) {
+                    try (InputStream input = data.getStreamOpener().openStream()) {
+                        loader.loadData(input, name);
+                        return Boolean.TRUE;
+                    }
+                }
+                return Boolean.FALSE;
+            })));
+        } else {
+            pending.addLast(new Pending(name, executor.submit(() -> {
+                try (InputStream input = data.getStreamOpener().openStream()) {
+                    return readFully(input);
+                }
+            })));
+        }
+
+        while (pending.size() > maxPending) {
+            deliverOldest();
+        }
+
+    }
+
+    /** Deliver all pending data.
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     */
+    public void flush() throws IOException, ParseException {
+        while (!pending.isEmpty()) {
+            deliverOldest();
+        }
+    }
+
+    /** Deliver all pending data and get the loading status.
+     * @return true if something has been loaded
+     * @exception OrekitException if nothing has been loaded and some error occurred
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     */
+    public boolean finish() throws OrekitException, IOException, ParseException {
+        flush();
+        if (!loaded && delayedException != null) {
+            throw delayedException;
+        }
+        return loaded;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        for (final Pending p : pending) {
+            p.future.cancel(true);
+        }
+        pending.clear();
+        executor.shutdownNow();
+    }
+
+    /** Deliver the oldest pending data.
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     */
+    private void deliverOldest() throws IOException, ParseException {
+
+        final Pending oldest = pending.removeFirst();
+        try {
+            if (concurrentLoading) {
+                loaded = ((Boolean) oldest.future.get()) || loaded;
+            } else if (loader.stillAcceptsData()) {
+                final byte[] content = (byte[]) oldest.future.get();
+                loader.loadData(new ByteArrayInputStream(content), oldest.name);
+                loaded = true;
+            } else {
+                // the data will never be used
+                oldest.future.cancel(true);
+            }
+        } catch (OrekitException oe) {
+            delayedException = oe;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException iioe = new InterruptedIOException(oldest.name);
+            iioe.initCause(ie);
+            throw iioe;
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof OrekitException) {
+                delayedException = (OrekitException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ParseException) {
+                throw (ParseException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IOException(cause);
+            }
+        }
+
+    }
+
+    /** Read a complete stream.
+     * @param input input stream
+     * @return stream content
+     * @exception IOException if stream cannot be read
+     */
+    static byte[] readFully(final InputStream input) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        for (int n = input.read(buffer); n >= 0; n = input.read(buffer)) {
+            output.write(buffer, 0, n);
+        }
+        return output.toByteArray();
+    }
+
+    /** Container for pending data. */
+    private static class Pending {
+
+        /** Name to use for loading. */
+        private final String name;
+
+        /** Future result (either data content or loading status). */
+        private final Future<?> future;
+
+        /** Simple constructor.
+         * @param name name to use for loading
+         * @param future future result
+         */
+        Pending(final String name, final Future<?> future) {
+            this.name   = name;
+            this.future = future;
+        }
+
+    }
+
+}
@@ -17,9 +17,12 @@
 package org.orekit.data;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.text.ParseException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -509,6 +512,48 @@ public class PoissonSeriesParser {
             throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, name);
         }
 
+        try {
+
+            final SeriesLoader loader = new SeriesLoader();
+            final CompiledDataCache cache = DataProvidersManager.getInstance().getCompiledDataCache();
+            if (cache == null) {
+                loader.loadData(stream, name);
+            } else {
+                cache.load(stream, name, loader);
+            }
+
+            // build the series
+            return new PoissonSeries(new PolynomialNutation(loader.polynomial), loader.series);
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        } catch (ParseException pe) {
+            throw new OrekitException(pe, new DummyLocalizable(pe.getMessage()));
+        }
+
+    }
+
+    /** Get the identifier of the compiled format for the current parser settings.
+     * @return identifier of the compiled format
+     */
+    private String getCompiledFormat() {
+        return "poisson-series-1/" +
+               ((polynomialParser == null) ? "no-polynomial" : polynomialParser.getSettings()) + "/" +
+               Arrays.toString(fieldsPatterns) + "/" + optional + "/" + gamma + "/" +
+               firstDoodson + "/" + doodson + "/" + firstDelaunay + "/" + firstPlanetary + "/" +
+               Arrays.toString(sinCosColumns) + "/" + Arrays.toString(sinCosFactors);
+    }
+
+    /** Parse a stream.
+     * @param stream stream containing the IERS table
+     * @param name name of the resource file (for error messages only)
+     * @param loader loader where to store the parsed data
+     * @exception IOException if data cannot be read
+     * @exception OrekitException if the table cannot be parsed
+     */
+    private void parseSeries(final InputStream stream, final String name, final SeriesLoader loader)
+        throws IOException, OrekitException {
+
         // the degrees section header should read something like:
         // j = 0  Nb of terms = 1306
         // or something like:
@@ -527,187 +572,178 @@ public class PoissonSeriesParser {
         }
         final Pattern regularLinePattern = Pattern.compile(builder.toString());
 
-        try {
+        // setup the reader
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+        int lineNumber    =  0;
+        int expectedIndex = -1;
+        int nTerms        = -1;
+        int count         =  0;
+        int degree        =  0;
+
+        // prepare the container for the parsed data
+        double[] polynomial;
+        if (polynomialParser == null) {
+            // we don't expect any polynomial, we directly set the zero polynomial
+            polynomial = new double[0];
+        } else {
+            // the dedicated parser will fill in the polynomial later
+            polynomial = null;
+        }
+        final Map<Long, SeriesTerm> series = new HashMap<Long, SeriesTerm>();
 
-            // setup the reader
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
-            int lineNumber    =  0;
-            int expectedIndex = -1;
-            int nTerms        = -1;
-            int count         =  0;
-            int degree        =  0;
-
-            // prepare the container for the parsed data
-            PolynomialNutation polynomial;
-            if (polynomialParser == null) {
-                // we don't expect any polynomial, we directly set the zero polynomial
-                polynomial = new PolynomialNutation(new double[0]);
-            } else {
-                // the dedicated parser will fill in the polynomial later
-                polynomial = null;
-            }
-            final Map<Long, SeriesTerm> series = new HashMap<Long, SeriesTerm>();
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
 
-            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            // replace unicode minus sign ('−') by regular hyphen ('-') for parsing
+            // such unicode characters occur in tables that are copy-pasted from PDF files
+            line = line.replace('\u2212', '-');
+            ++lineNumber;
 
-                // replace unicode minus sign ('−') by regular hyphen ('-') for parsing
-                // such unicode characters occur in tables that are copy-pasted from PDF files
-                line = line.replace('\u2212', '-');
-                ++lineNumber;
+            final Matcher regularMatcher = regularLinePattern.matcher(line);
+            if (regularMatcher.matches()) {
+                // we have found a regular data line
 
-                final Matcher regularMatcher = regularLinePattern.matcher(line);
-                if (regularMatcher.matches()) {
-                    // we have found a regular data line
+                if (expectedIndex > 0) {
+                    // we are in a file were terms are numbered, we check the index
+                    if (Integer.parseInt(regularMatcher.group(1)) != expectedIndex) {
+                        throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                                  lineNumber, name, regularMatcher.group());
+                    }
+                }
 
-                    if (expectedIndex > 0) {
-                        // we are in a file were terms are numbered, we check the index
-                        if (Integer.parseInt(regularMatcher.group(1)) != expectedIndex) {
-                            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                                      lineNumber, name, regularMatcher.group());
-                        }
+                // get the Doodson multipliers as well as the Doodson number
+                final int cTau     = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson));
+                final int cS       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 1));
+                final int cH       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 2));
+                final int cP       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 3));
+                final int cNprime  = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 4));
+                final int cPs      = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 5));
+                final int nDoodson = (doodson      < 0) ? 0 : Integer.parseInt(regularMatcher.group(doodson).replaceAll("[.,]", ""));
+
+                // get the tide multiplier
+                int cGamma   = (gamma < 0) ? 0 : Integer.parseInt(regularMatcher.group(gamma));
+
+                // get the Delaunay multipliers
+                int cL       = Integer.parseInt(regularMatcher.group(firstDelaunay));
+                int cLPrime  = Integer.parseInt(regularMatcher.group(firstDelaunay + 1));
+                int cF       = Integer.parseInt(regularMatcher.group(firstDelaunay + 2));
+                int cD       = Integer.parseInt(regularMatcher.group(firstDelaunay + 3));
+                int cOmega   = Integer.parseInt(regularMatcher.group(firstDelaunay + 4));
+
+                // get the planetary multipliers
+                final int cMe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary));
+                final int cVe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 1));
+                final int cE       = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 2));
+                final int cMa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 3));
+                final int cJu      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 4));
+                final int cSa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 5));
+                final int cUr      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 6));
+                final int cNe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 7));
+                final int cPa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 8));
+
+                if (nDoodson > 0) {
+
+                    // set up the traditional parameters corresponding to the Doodson arguments
+                    cGamma  = cTau;
+                    cL      = -cL;
+                    cLPrime = -cLPrime;
+                    cF      = -cF;
+                    cD      = -cD;
+                    cOmega  = -cOmega;
+
+                    // check Doodson number, Doodson multipliers and Delaunay multipliers consistency
+                    if (nDoodson != doodsonToDoodsonNumber(cTau, cS, cH, cP, cNprime, cPs) ||
+                        nDoodson != delaunayToDoodsonNumber(cGamma, cL, cLPrime, cF, cD, cOmega)) {
+                        throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                                  lineNumber, name, regularMatcher.group());
                     }
 
-                    // get the Doodson multipliers as well as the Doodson number
-                    final int cTau     = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson));
-                    final int cS       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 1));
-                    final int cH       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 2));
-                    final int cP       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 3));
-                    final int cNprime  = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 4));
-                    final int cPs      = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 5));
-                    final int nDoodson = (doodson      < 0) ? 0 : Integer.parseInt(regularMatcher.group(doodson).replaceAll("[.,]", ""));
-
-                    // get the tide multiplier
-                    int cGamma   = (gamma < 0) ? 0 : Integer.parseInt(regularMatcher.group(gamma));
-
-                    // get the Delaunay multipliers
-                    int cL       = Integer.parseInt(regularMatcher.group(firstDelaunay));
-                    int cLPrime  = Integer.parseInt(regularMatcher.group(firstDelaunay + 1));
-                    int cF       = Integer.parseInt(regularMatcher.group(firstDelaunay + 2));
-                    int cD       = Integer.parseInt(regularMatcher.group(firstDelaunay + 3));
-                    int cOmega   = Integer.parseInt(regularMatcher.group(firstDelaunay + 4));
-
-                    // get the planetary multipliers
-                    final int cMe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary));
-                    final int cVe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 1));
-                    final int cE       = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 2));
-                    final int cMa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 3));
-                    final int cJu      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 4));
-                    final int cSa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 5));
-                    final int cUr      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 6));
-                    final int cNe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 7));
-                    final int cPa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 8));
-
-                    if (nDoodson > 0) {
-
-                        // set up the traditional parameters corresponding to the Doodson arguments
-                        cGamma  = cTau;
-                        cL      = -cL;
-                        cLPrime = -cLPrime;
-                        cF      = -cF;
-                        cD      = -cD;
-                        cOmega  = -cOmega;
-
-                        // check Doodson number, Doodson multipliers and Delaunay multipliers consistency
-                        if (nDoodson != doodsonToDoodsonNumber(cTau, cS, cH, cP, cNprime, cPs) ||
-                            nDoodson != delaunayToDoodsonNumber(cGamma, cL, cLPrime, cF, cD, cOmega)) {
-                            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                                      lineNumber, name, regularMatcher.group());
-                        }
+                }
 
-                    }
+                final long key = NutationCodec.encode(cGamma, cL, cLPrime, cF, cD, cOmega,
+                                                      cMe, cVe, cE, cMa, cJu, cSa, cUr, cNe, cPa);
 
-                    final long key = NutationCodec.encode(cGamma, cL, cLPrime, cF, cD, cOmega,
-                                                          cMe, cVe, cE, cMa, cJu, cSa, cUr, cNe, cPa);
-
-                    // retrieved the term, or build it if it's the first time it is encountered in the file
-                    final SeriesTerm term;
-                    if (series.containsKey(key)) {
-                        // the term was already known, from another degree
-                        term = series.get(key);
-                    } else {
-                        // the term is a new one
-                        term = SeriesTerm.buildTerm(cGamma, cL, cLPrime, cF, cD, cOmega,
-                                                    cMe, cVe, cE, cMa, cJu, cSa, cUr, cNe, cPa);
-                    }
+                // retrieved the term, or build it if it's the first time it is encountered in the file
+                final SeriesTerm term;
+                if (series.containsKey(key)) {
+                    // the term was already known, from another degree
+                    term = series.get(key);
+                } else {
+                    // the term is a new one
+                    term = SeriesTerm.buildTerm(cGamma, cL, cLPrime, cF, cD, cOmega,
+                                                cMe, cVe, cE, cMa, cJu, cSa, cUr, cNe, cPa);
+                }
 
-                    boolean nonZero = false;
-                    for (int d = 0; d < sinCosColumns.length / 2; ++d) {
-                        final double sinCoeff =
-                                parseCoefficient(regularMatcher, sinCosColumns[2 * d],     sinCosFactors[2 * d]);
-                        final double cosCoeff =
-                                parseCoefficient(regularMatcher, sinCosColumns[2 * d + 1], sinCosFactors[2 * d + 1]);
-                        if (!Precision.equals(sinCoeff, 0.0, 0) || !Precision.equals(cosCoeff, 0.0, 0)) {
-                            nonZero = true;
-                            term.add(0, degree + d, sinCoeff, cosCoeff);
-                            ++count;
-                        }
-                    }
-                    if (nonZero) {
-                        series.put(key, term);
+                boolean nonZero = false;
+                for (int d = 0; d < sinCosColumns.length / 2; ++d) {
+                    final double sinCoeff =
+                            parseCoefficient(regularMatcher, sinCosColumns[2 * d],     sinCosFactors[2 * d]);
+                    final double cosCoeff =
+                            parseCoefficient(regularMatcher, sinCosColumns[2 * d + 1], sinCosFactors[2 * d + 1]);
+                    if (!Precision.equals(sinCoeff, 0.0, 0) || !Precision.equals(cosCoeff, 0.0, 0)) {
+                        nonZero = true;
+                        term.add(0, degree + d, sinCoeff, cosCoeff);
+                        ++count;
                     }
+                }
+                if (nonZero) {
+                    series.put(key, term);
+                }
+
+                if (expectedIndex > 0) {
+                    // we are in a file were terms are numbered
+                    // we must update the expected value for next term
+                    ++expectedIndex;
+                }
 
-                    if (expectedIndex > 0) {
-                        // we are in a file were terms are numbered
-                        // we must update the expected value for next term
-                        ++expectedIndex;
+            } else {
+
+                final Matcher headerMatcher = degreeSectionHeaderPattern.matcher(line);
+                if (headerMatcher.matches()) {
+
+                    // we have found a degree section header
+                    final int nextDegree = Integer.parseInt(headerMatcher.group(1));
+                    if ((nextDegree != degree + 1) && (degree != 0 || nextDegree != 0)) {
+                        throw new OrekitException(OrekitMessages.MISSING_SERIE_J_IN_FILE,
+                                                  degree + 1, name, lineNumber);
                     }
 
-                } else {
+                    if (nextDegree == 0) {
+                        // in IERS files split in sections, all terms are numbered
+                        // we can check the indices
+                        expectedIndex = 1;
+                    }
 
-                    final Matcher headerMatcher = degreeSectionHeaderPattern.matcher(line);
-                    if (headerMatcher.matches()) {
-
-                        // we have found a degree section header
-                        final int nextDegree = Integer.parseInt(headerMatcher.group(1));
-                        if ((nextDegree != degree + 1) && (degree != 0 || nextDegree != 0)) {
-                            throw new OrekitException(OrekitMessages.MISSING_SERIE_J_IN_FILE,
-                                                      degree + 1, name, lineNumber);
-                        }
-
-                        if (nextDegree == 0) {
-                            // in IERS files split in sections, all terms are numbered
-                            // we can check the indices
-                            expectedIndex = 1;
-                        }
-
-                        if (nextDegree > 0 && count != nTerms) {
-                            // the previous degree does not have the expected number of terms
-                            throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, name);
-                        }
-
-                        // remember the number of terms the upcoming sublist should have
-                        nTerms =  Integer.parseInt(headerMatcher.group(2));
-                        count  = 0;
-                        degree = nextDegree;
-
-                    } else if (polynomial == null) {
-                        // look for the polynomial part
-                        final double[] coefficients = polynomialParser.parse(line);
-                        if (coefficients != null) {
-                            polynomial = new PolynomialNutation(coefficients);
-                        }
+                    if (nextDegree > 0 && count != nTerms) {
+                        // the previous degree does not have the expected number of terms
+                        throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, name);
                     }
 
-                }
+                    // remember the number of terms the upcoming sublist should have
+                    nTerms =  Integer.parseInt(headerMatcher.group(2));
+                    count  = 0;
+                    degree = nextDegree;
 
-            }
+                } else if (polynomial == null) {
+                    // look for the polynomial part
+                    polynomial = polynomialParser.parse(line);
+                }
 
-            if (polynomial == null || series.isEmpty()) {
-                throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, name);
             }
 
-            if (nTerms > 0 && count != nTerms) {
-                // the last degree does not have the expected number of terms
-                throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, name);
-            }
+        }
 
-            // build the series
-            return new PoissonSeries(polynomial, series);
+        if (polynomial == null || series.isEmpty()) {
+            throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, name);
+        }
 
-        } catch (IOException ioe) {
-            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        if (nTerms > 0 && count != nTerms) {
+            // the last degree does not have the expected number of terms
+            throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, name);
         }
 
+        loader.polynomial = polynomial;
+        loader.series     = series;
+
     }
 
     /** Parse a scaled coefficient.
@@ -766,4 +802,76 @@ public class PoissonSeriesParser {
 
     }
 
+    /** Loader storing the parsed data, with support for compiled form. */
+    private class SeriesLoader implements CompilableDataLoader {
+
+        /** Coefficients of the polynomial part. */
+        private double[] polynomial;
+
+        /** Non-polynomial part. */
+        private Map<Long, SeriesTerm> series;
+
+        /** {@inheritDoc} */
+        public boolean stillAcceptsData() {
+            return series == null;
+        }
+
+        /** {@inheritDoc} */
+        public void loadData(final InputStream input, final String name)
+            throws IOException, OrekitException {
+            parseSeries(input, name, this);
+        }
+
+        /** {@inheritDoc} */
+        public String getCompiledFormat() {
+            return PoissonSeriesParser.this.getCompiledFormat();
+        }
+
+        /** {@inheritDoc} */
+        public void writeCompiled(final DataOutputStream output) throws IOException {
+            output.writeInt(polynomial.length);
+            for (final double c : polynomial) {
+                output.writeDouble(c);
+            }
+            output.writeInt(series.size());
+            for (final Map.Entry<Long, SeriesTerm> entry : series.entrySet()) {
+                final SeriesTerm term = entry.getValue();
+                output.writeLong(entry.getKey());
+                output.writeInt(term.getDegree(0));
+                for (int d = 0; d <= term.getDegree(0); ++d) {
+                    output.writeDouble(term.getSinCoeff(0, d));
+                    output.writeDouble(term.getCosCoeff(0, d));
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        public void loadCompiled(final DataInputStream input, final String name)
+            throws IOException {
+
+            polynomial = new double[input.readInt()];
+            for (int i = 0; i < polynomial.length; ++i) {
+                polynomial[i] = input.readDouble();
+            }
+
+            // terms are inserted in the same order they are written,
+            // so iteration order (and hence summation order) is preserved
+            series = new HashMap<Long, SeriesTerm>();
+            final int n = input.readInt();
+            for (int i = 0; i < n; ++i) {
+                final long  key = input.readLong();
+                final int[] m   = NutationCodec.decode(key);
+                final SeriesTerm term = SeriesTerm.buildTerm(m[0], m[1], m[2], m[3], m[4], m[5], m[6], m[7],
+                                                             m[8], m[9], m[10], m[11], m[12], m[13], m[14]);
+                final int degree = input.readInt();
+                for (int d = 0; d <= degree; ++d) {
+                    term.add(0, d, input.readDouble(), input.readDouble());
+                }
+                series.put(key, term);
+            }
+
+        }
+
+    }
+
 }
@@ -215,6 +215,14 @@ public class PolynomialParser {
 
     }
 
+    /** Get the settings of the parser.
+     * @return a string representing the parser settings
+     * @since 9.3
+     */
+    String getSettings() {
+        return pattern.pattern() + "/" + defaultUnit;
+    }
+
     /** Merge two lists of markers.
      * @param markers1 first list
      * @param markers2 second list
@@ -0,0 +1,36 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+/** Marker interface for data loaders that can be fed concurrently.
+ * <p>
+ * When {@link DataProvidersManager#setCrawlingPoolSize(int) parallel crawling}
+ * is enabled, regular loaders still have their {@link #loadData(java.io.InputStream,
+ * String) loadData} method called from the thread that triggered the loading,
+ * one data file at a time and in the same order as sequential crawling, only
+ * reading and decompression being performed in parallel. Loaders implementing
+ * this interface declare that both {@link #stillAcceptsData()} and {@link
+ * #loadData(java.io.InputStream, String) loadData} can be called concurrently
+ * from several threads, in no particular order, so parsing is also performed
+ * in parallel.
+ * </p>
+ * @see DataProvidersManager#setCrawlingPoolSize(int)
+ * @author agent
+ * @since 9.3
+ */
+public interface ThreadSafeDataLoader extends DataLoader {
+}
@@ -16,6 +16,7 @@
  */
 package org.orekit.data;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
@@ -140,23 +141,18 @@ public class ZipJarCrawler implements DataProvider {
 
         try {
 
-            // open the raw data stream
-            Archive archive = null;
-            try {
-                if (file != null) {
-                    archive = new Archive(new FileInputStream(file));
-                } else if (resource != null) {
-                    archive = new Archive(classLoader.getResourceAsStream(resource));
-                } else {
-                    archive = new Archive(url.openConnection().getInputStream());
+            final int poolSize = DataProvidersManager.getInstance().getCrawlingPoolSize();
+            if (poolSize > 1) {
+                // read and filter the archive entries in parallel
+                try (ParallelFeeder feeder = new ParallelFeeder(visitor, poolSize)) {
+                    feed(supported, feeder);
+                    return feeder.finish();
                 }
+            }
 
+            // open the raw data stream
+            try (Archive archive = openArchive()) {
                 return feed(name, supported, visitor, archive);
-
-            } finally {
-                if (archive != null) {
-                    archive.close();
-                }
             }
 
         } catch (IOException ioe) {
@@ -167,6 +163,95 @@ public class ZipJarCrawler implements DataProvider {
 
     }
 
+    /** Feed a parallel feeder by browsing the entries in the zip/jar.
+     * <p>
+     * The entries are extracted sequentially, but filtering them (for example
+     * decompressing gzip-compressed entries) is done by the feeder worker threads.
+     * </p>
+     * @param supported pattern for file names supported by the visitor
+     * @param feeder parallel feeder to use
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     * @since 9.3
+     */
+    void feed(final Pattern supported, final ParallelFeeder feeder)
+        throws IOException, ParseException {
+        try (Archive archive = openArchive()) {
+            feed(name, supported, feeder, archive);
+        }
+    }
+
+    /** Open the archive.
+     * @return opened archive
+     * @exception IOException if archive cannot be opened
+     */
+    private Archive openArchive() throws IOException {
+        if (file != null) {
+            return new Archive(new FileInputStream(file));
+        } else if (resource != null) {
+            return new Archive(classLoader.getResourceAsStream(resource));
+        } else {
+            return new Archive(url.openConnection().getInputStream());
+        }
+    }
+
+    /** Feed a parallel feeder by browsing the entries in a zip/jar.
+     * @param prefix prefix to use for name
+     * @param supported pattern for file names supported by the visitor
+     * @param feeder parallel feeder to use
+     * @param archive archive to read
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     */
+    private void feed(final String prefix, final Pattern supported,
+                      final ParallelFeeder feeder, final Archive archive)
+        throws IOException, ParseException {
+
+        // loop over all entries
+        for (final Archive.EntryStream entry : archive) {
+
+            if (feeder.stillAcceptsData() && !entry.isDirectory()) {
+
+                final String fullName = prefix + "!" + entry.getName();
+
+                if (ZIP_ARCHIVE_PATTERN.matcher(entry.getName()).matches()) {
+
+                    // recurse inside the archive entry
+                    feed(fullName, supported, feeder, new Archive(entry));
+
+                } else {
+
+                    // remove leading directories
+                    String entryName = entry.getName();
+                    final int lastSlash = entryName.lastIndexOf('/');
+                    if (lastSlash >= 0) {
+                        entryName = entryName.substring(lastSlash + 1);
+                    }
+
+                    // apply all registered filters, only checking the name
+                    NamedData data = new NamedData(entryName, () -> entry);
+                    data = DataProvidersManager.getInstance().applyAllFilters(data);
+
+                    if (supported.matcher(data.getName()).matches()) {
+                        // the entry must be extracted now, before the archive moves to next entry,
+                        // but filtering it again on the extracted content is deferred to the workers
+                        final byte[] raw = ParallelFeeder.readFully(entry);
+                        final NamedData extracted =
+                                DataProvidersManager.getInstance().
+                                applyAllFilters(new NamedData(entryName, () -> new ByteArrayInputStream(raw)));
+                        feeder.submit(extracted, fullName);
+                    }
+
+                }
+
+            }
+
+            entry.close();
+
+        }
+
+    }
+
     /** Feed a data file loader by browsing the entries in a zip/jar.
      * @param prefix prefix to use for name
      * @param supported pattern for file names supported by the visitor
@@ -342,6 +427,13 @@ public class ZipJarCrawler implements DataProvider {
                 return zip.read();
             }
 
+            /** {@inheritDoc} */
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                // delegate read to global input stream
+                return zip.read(b, off, len);
+            }
+
             /** {@inheritDoc} */
             @Override
             public void close() throws IOException {
@@ -218,7 +218,8 @@ public enum OrekitMessages implements Localizable {
     DIMENSION_INCONSISTENT_WITH_PARAMETERS("dimension {0} is inconsistent with parameters list: {1}"),
     NOT_A_SUPPORTED_UNIX_COMPRESSED_FILE("file {0} is not a supported Unix-compressed file"),
     UNEXPECTED_END_OF_FILE("unexpected end of file {0}"),
-    CORRUPTED_FILE("file {0} is corrupted");
+    CORRUPTED_FILE("file {0} is corrupted"),
+    TABULATED_ITRF_ACCURACY_EXCEEDED("tabulation error of frame {0} reaches {1} mas at {2}, exceeding the {3} mas accuracy budget");
 
 
     // CHECKSTYLE: resume JavadocVariable check
@@ -22,10 +22,12 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.linear.ArrayRealVector;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.linear.RealVector;
 import org.hipparchus.optim.ConvergenceChecker;
@@ -56,6 +58,15 @@ import org.orekit.utils.ParameterDriversList.DelegatingDriver;
  */
 public class BatchLSEstimator {
 
+    /** Threshold to identify matrix singularity when solving normal equations. */
+    private static final double SINGULARITY_THRESHOLD = 1.0e-11;
+
+    /** Damping factor applied after a successful Levenberg-Marquardt step. */
+    private static final double DAMPING_DECREASE = 0.1;
+
+    /** Damping factor applied after a failed Levenberg-Marquardt step. */
+    private static final double DAMPING_INCREASE = 10.0;
+
     /** Builders for propagators. */
     private final NumericalPropagatorBuilder[] builders;
 
@@ -89,6 +100,21 @@ public class BatchLSEstimator {
     /** Counter for the iterations. */
     private Incrementor iterationsCounter;
 
+    /** Executor service for concurrent measurements estimation (null for sequential estimation). */
+    private ExecutorService measurementsExecutor;
+
+    /** Indicator for normal equations accumulation. */
+    private boolean accumulateNormalEquations;
+
+    /** Initial damping for normal equations solving (0 for Gauss-Newton). */
+    private double initialDamping;
+
+    /** Maximum number of iterations. */
+    private int maxIterations;
+
+    /** Maximum number of evaluations. */
+    private int maxEvaluations;
+
     /** Simple constructor.
      * <p>
      * If multiple {@link PropagatorBuilder propagator builders} are set up,
@@ -121,6 +147,11 @@ public class BatchLSEstimator {
         this.observer                       = null;
         this.estimations                    = null;
         this.orbits                         = new Orbit[builders.length];
+        this.measurementsExecutor           = null;
+        this.accumulateNormalEquations      = false;
+        this.initialDamping                 = 0.0;
+        this.maxIterations                  = Integer.MAX_VALUE;
+        this.maxEvaluations                 = Integer.MAX_VALUE;
 
         // our model computes value and Jacobian in one call,
         // so we don't use the lazy evaluation feature
@@ -161,6 +192,7 @@ public class BatchLSEstimator {
      */
     public void setMaxIterations(final int maxIterations) {
         lsBuilder.maxIterations(maxIterations);
+        this.maxIterations = maxIterations;
     }
 
     /** Set the maximum number of model evaluations.
@@ -185,6 +217,78 @@ public class BatchLSEstimator {
      */
     public void setMaxEvaluations(final int maxEvaluations) {
         lsBuilder.maxEvaluations(maxEvaluations);
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /** Set the executor service for concurrent measurements estimation.
+     * <p>
+     * By default (or if the executor is set to null), measurements are estimated
+     * one at a time on the propagation thread, as soon as the propagator reaches
+     * their date. If an executor is set, the states needed by each measurement
+     * are still picked up on the propagation thread, but the estimation itself
+     * (light time computation, ground stations displacements, modifiers...)
+     * is submitted to the executor, so it runs concurrently with both the
+     * propagation and the other measurements estimations. Once propagation is
+     * over, residuals and Jacobian rows are assembled in chronological order,
+     * so the results are exactly the same as with sequential estimation.
+     * </p>
+     * <p>
+     * This mode is interesting when a large number of measurements must be
+     * estimated, as measurements estimation then dominates the evaluation time.
+     * It requires the measurements and their {@link
+     * org.orekit.estimation.measurements.EstimationModifier modifiers} to be
+     * thread-safe during estimation, which is the case for all measurements
+     * and modifiers provided by Orekit. As the states picked up are kept until
+     * the corresponding estimations are completed, memory consumption is higher
+     * than with sequential estimation.
+     * </p>
+     * <p>
+     * The executor is <em>not</em> shut down by the estimator, it remains under
+     * caller responsibility.
+     * </p>
+     * @param measurementsExecutor executor service for measurements estimation
+     * (null for sequential estimation on the propagation thread)
+     * @since 9.3
+     */
+    public void setMeasurementsExecutor(final ExecutorService measurementsExecutor) {
+        this.measurementsExecutor = measurementsExecutor;
+    }
+
+    /** Set the normal equations accumulation mode.
+     * <p>
+     * By default, the full weighted Jacobian (observations × parameters) is computed
+     * at each evaluation and the problem is solved by the {@link LeastSquaresOptimizer
+     * optimizer} set at construction. When many parameters are estimated (several
+     * satellites, stations biases, empirical accelerations...) and many measurements
+     * are processed, this dense matrix becomes huge, although it is mostly zero as each
+     * measurement depends only on a few parameters.
+     * </p>
+     * <p>
+     * In normal equations accumulation mode, the full Jacobian is never built. The
+     * normal equations Jᵀ.J and Jᵀ.r are accumulated one measurement at a time,
+     * only considering the parameters the measurement depends on, so memory is
+     * proportional to the square of the number of parameters instead of the product
+     * of number of observations and number of parameters. The problem is then solved
+     * by an internal Levenberg-Marquardt solver working directly on normal equations,
+     * and the optimizer set at construction is <em>not</em> used. The steps δ are
+     * computed by solving (Jᵀ.J + λ diag(Jᵀ.J)) δ = Jᵀ.r. If the initial damping λ
+     * is set to 0, all steps are pure Gauss-Newton steps. If it is strictly positive,
+     * steps that increase the cost are rejected and the damping is increased by a
+     * factor 10, whereas accepted steps reduce it by a factor 10.
+     * </p>
+     * <p>
+     * In this mode, the {@link #getOptimum() optimum} and the evaluations passed to
+     * {@link BatchLSObserver observers} provide everything except the {@link
+     * org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation#getJacobian()
+     * Jacobian} itself, which is not available.
+     * </p>
+     * @param accumulate if true, normal equations are accumulated
+     * @param damping initial damping (0 for Gauss-Newton steps)
+     * @since 9.3
+     */
+    public void setNormalEquationsAccumulation(final boolean accumulate, final double damping) {
+        this.accumulateNormalEquations = accumulate;
+        this.initialDamping            = damping;
     }
 
     /** Get the orbital parameters supported by this estimator.
@@ -395,13 +499,35 @@ public class BatchLSEstimator {
             }
         };
         final Model model = new Model(builders, measurements, estimatedMeasurementsParameters,
-                                      modelObserver);
-        lsBuilder.model(model);
+                                      modelObserver, accumulateNormalEquations);
+        model.setMeasurementsExecutor(measurementsExecutor);
 
-        // add a validator for orbital parameters
-        lsBuilder.parameterValidator(new Validator(estimatedOrbitalParameters,
-                                                   estimatedPropagatorParameters,
-                                                   estimatedMeasurementsParameters));
+        // create a validator for orbital parameters
+        final Validator validator = new Validator(estimatedOrbitalParameters,
+                                                  estimatedPropagatorParameters,
+                                                  estimatedMeasurementsParameters);
+
+        if (accumulateNormalEquations) {
+            try {
+
+                // solve the problem using normal equations
+                optimum = solveNormalEquations(model, new ArrayRealVector(start, false), validator,
+                                               estimatedOrbitalParameters,
+                                               estimatedPropagatorParameters,
+                                               estimatedMeasurementsParameters);
+
+                // create a new configured propagator with all estimated parameters
+                return model.createPropagators(optimum.getPoint());
+
+            } catch (MathRuntimeException mrte) {
+                throw new OrekitException(mrte);
+            } catch (OrekitExceptionWrapper oew) {
+                throw oew.getException();
+            }
+        }
+
+        lsBuilder.model(model);
+        lsBuilder.parameterValidator(validator);
 
         lsBuilder.checker(new ConvergenceChecker<LeastSquaresProblem.Evaluation>() {
             /** {@inheritDoc} */
@@ -437,6 +563,102 @@ public class BatchLSEstimator {
 
     }
 
+    /** Solve the least squares problem using accumulated normal equations.
+     * @param model model accumulating normal equations
+     * @param start start point
+     * @param validator validator for estimated parameters
+     * @param estimatedOrbitalParameters estimated orbital parameters
+     * @param estimatedPropagatorParameters estimated propagator parameters
+     * @param estimatedMeasurementsParameters estimated measurements parameters
+     * @return optimum found
+     * @exception OrekitException if observer cannot be notified
+     * @since 9.3
+     */
+    private Optimum solveNormalEquations(final Model model, final RealVector start, final Validator validator,
+                                         final ParameterDriversList estimatedOrbitalParameters,
+                                         final ParameterDriversList estimatedPropagatorParameters,
+                                         final ParameterDriversList estimatedMeasurementsParameters)
+        throws OrekitException {
+
+        evaluationsCounter = new Incrementor(maxEvaluations);
+        iterationsCounter  = new Incrementor(maxIterations);
+        model.setEvaluationsCounter(evaluationsCounter);
+        model.setIterationsCounter(iterationsCounter);
+
+        double damping = initialDamping;
+        iterationsCounter.increment();
+        NormalEquationsEvaluation current = evaluate(model, start,
+                                                     estimatedOrbitalParameters,
+                                                     estimatedPropagatorParameters,
+                                                     estimatedMeasurementsParameters);
+        while (true) {
+
+            // compute a trial point
+            final RealVector step       = current.computeStep(damping, SINGULARITY_THRESHOLD);
+            final RealVector trialPoint = validator.validate(current.getPoint().add(step));
+            final NormalEquationsEvaluation trial = evaluate(model, trialPoint,
+                                                             estimatedOrbitalParameters,
+                                                             estimatedPropagatorParameters,
+                                                             estimatedMeasurementsParameters);
+
+            if (damping <= 0 || trial.getCost() <= current.getCost()) {
+                // accept the step
+                final double lInf = trial.getPoint().getLInfDistance(current.getPoint());
+                current = trial;
+                if (lInf <= parametersConvergenceThreshold) {
+                    return current;
+                }
+                damping *= DAMPING_DECREASE;
+                iterationsCounter.increment();
+            } else {
+                // reject the step, and try again closer to steepest descent
+                damping *= DAMPING_INCREASE;
+            }
+
+        }
+
+    }
+
+    /** Evaluate the model and accumulate normal equations.
+     * @param model model accumulating normal equations
+     * @param point evaluation point
+     * @param estimatedOrbitalParameters estimated orbital parameters
+     * @param estimatedPropagatorParameters estimated propagator parameters
+     * @param estimatedMeasurementsParameters estimated measurements parameters
+     * @return evaluation
+     * @exception OrekitException if observer cannot be notified
+     * @since 9.3
+     */
+    private NormalEquationsEvaluation evaluate(final Model model, final RealVector point,
+                                               final ParameterDriversList estimatedOrbitalParameters,
+                                               final ParameterDriversList estimatedPropagatorParameters,
+                                               final ParameterDriversList estimatedMeasurementsParameters)
+        throws OrekitException {
+
+        // perform the evaluation
+        evaluationsCounter.increment();
+        final RealVector value = model.value(point).getFirst();
+        final NormalEquationsEvaluation evaluation =
+                        new NormalEquationsEvaluation(point, value, model.getNormalEquations(),
+                                                      evaluationsCounter.getCount(),
+                                                      iterationsCounter.getCount());
+
+        // notify the observer
+        if (observer != null) {
+            observer.evaluationPerformed(iterationsCounter.getCount(),
+                                         evaluationsCounter.getCount(),
+                                         orbits,
+                                         estimatedOrbitalParameters,
+                                         estimatedPropagatorParameters,
+                                         estimatedMeasurementsParameters,
+                                         new Provider(),
+                                         evaluation);
+        }
+
+        return evaluation;
+
+    }
+
     /** Get the last estimations performed.
      * @return last estimations performed
      */
@@ -16,8 +16,14 @@
  */
 package org.orekit.estimation.leastsquares;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.estimation.measurements.EstimatedMeasurement;
@@ -29,6 +35,14 @@ import org.orekit.time.AbsoluteDate;
 
 /** {@link org.orekit.propagation.sampling.OrekitStepHandler Step handler} picking up
  * {@link ObservedMeasurement measurements}.
+ * <p>
+ * If an executor service is provided, the interpolated states are picked up
+ * on the propagation thread, but the measurements themselves are estimated
+ * concurrently by tasks submitted to the executor. The estimated measurements
+ * are then fetched to the model in chronological order by {@link
+ * #completeEstimations()}, so the model value and Jacobian are the same as
+ * in the sequential case.
+ * </p>
  * @author Luc Maisonobe
  * @since 8.0
  */
@@ -46,13 +60,37 @@ class MeasurementHandler implements MultiSatStepHandler {
     /** Index of the next measurement component in the model. */
     private int index;
 
+    /** Executor service for measurements estimation (null for estimation on the propagation thread). */
+    private final ExecutorService executor;
+
+    /** Pending concurrent estimations, in chronological order. */
+    private final List<Future<EstimatedMeasurement<?>>> pending;
+
+    /** Model indices of the pending concurrent estimations. */
+    private final List<Integer> pendingIndices;
+
     /** Simple constructor.
      * @param model least squares model
      * @param precompensated underlying measurements
      */
     MeasurementHandler(final Model model, final List<PreCompensation> precompensated) {
+        this(model, precompensated, null);
+    }
+
+    /** Constructor with concurrent measurements estimation.
+     * @param model least squares model
+     * @param precompensated underlying measurements
+     * @param executor executor service for measurements estimation
+     * (null for estimation on the propagation thread)
+     * @since 9.3
+     */
+    MeasurementHandler(final Model model, final List<PreCompensation> precompensated,
+                       final ExecutorService executor) {
         this.model          = model;
         this.precompensated = precompensated;
+        this.executor       = executor;
+        this.pending        = new ArrayList<>();
+        this.pendingIndices = new ArrayList<>();
     }
 
     /**
@@ -62,6 +100,8 @@ class MeasurementHandler implements MultiSatStepHandler {
     public void init(final List<SpacecraftState> initialStates, final AbsoluteDate target) {
         number = 0;
         index  = 0;
+        pending.clear();
+        pendingIndices.clear();
     }
 
     /** {@inheritDoc} */
@@ -97,12 +137,23 @@ class MeasurementHandler implements MultiSatStepHandler {
             for (int i = 0; i < states.length; ++i) {
                 states[i] = interpolators.get(i).getInterpolatedState(next.getDate());
             }
-            final EstimatedMeasurement<?> estimated = observed.estimate(model.getIterationsCount(),
-                                                                        model.getEvaluationsCount(),
-                                                                        states);
-
-            // fetch the evaluated measurement to the estimator
-            model.fetchEvaluatedMeasurement(index, estimated);
+            final int iteration  = model.getIterationsCount();
+            final int evaluation = model.getEvaluationsCount();
+            if (executor == null) {
+
+                final EstimatedMeasurement<?> estimated = observed.estimate(iteration, evaluation, states);
+
+                // fetch the evaluated measurement to the estimator
+                model.fetchEvaluatedMeasurement(index, estimated);
+
+            } else {
+                // the interpolated states have been picked up, the estimation
+                // itself does not need the interpolators anymore
+                final Callable<EstimatedMeasurement<?>> task =
+                                () -> observed.estimate(iteration, evaluation, states);
+                pending.add(executor.submit(task));
+                pendingIndices.add(index);
+            }
 
             // prepare handling of next measurement
             ++number;
@@ -112,4 +163,45 @@ class MeasurementHandler implements MultiSatStepHandler {
 
     }
 
+    /** Wait for pending concurrent estimations and fetch them to the model.
+     * <p>
+     * The estimated measurements are fetched in chronological order, regardless
+     * of the order in which the concurrent tasks completed.
+     * </p>
+     * @exception OrekitException if some measurement could not be estimated
+     * or if Jacobians cannot be computed
+     * @since 9.3
+     */
+    void completeEstimations() throws OrekitException {
+        try {
+            for (int i = 0; i < pending.size(); ++i) {
+                model.fetchEvaluatedMeasurement(pendingIndices.get(i), pending.get(i).get());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            cancelEstimations();
+            if (e.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) e.getCause();
+            } else {
+                throw new OrekitException(e, LocalizedCoreFormats.SIMPLE_MESSAGE, e.getLocalizedMessage());
+            }
+        } catch (OrekitException oe) {
+            cancelEstimations();
+            throw oe;
+        }
+        pending.clear();
+        pendingIndices.clear();
+    }
+
+    /** Cancel pending concurrent estimations.
+     * @since 9.3
+     */
+    void cancelEstimations() {
+        for (final Future<EstimatedMeasurement<?>> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+        pendingIndices.clear();
+    }
+
 }
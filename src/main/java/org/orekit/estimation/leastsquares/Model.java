@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.ArrayRealVector;
@@ -45,7 +46,6 @@ import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
 import org.orekit.propagation.numerical.JacobiansMapper;
 import org.orekit.propagation.numerical.NumericalPropagator;
 import org.orekit.propagation.numerical.PartialDerivativesEquations;
-import org.orekit.propagation.sampling.MultiSatStepHandler;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.ChronologicalComparator;
 import org.orekit.utils.ParameterDriver;
@@ -111,9 +111,18 @@ class Model implements MultivariateJacobianFunction {
     /** Model function value. */
     private RealVector value;
 
-    /** Model function Jacobian. */
+    /** Model function Jacobian (null if normal equations are accumulated). */
     private RealMatrix jacobian;
 
+    /** Normal equations (null if the full Jacobian is computed). */
+    private final NormalEquations normalEquations;
+
+    /** Number of estimated parameters. */
+    private final int nbParameters;
+
+    /** Executor service for concurrent measurements estimation (null for sequential estimation). */
+    private ExecutorService measurementsExecutor;
+
     /** Simple constructor.
      * @param builders builders to use for propagation
      * @param measurements measurements
@@ -125,6 +134,29 @@ class Model implements MultivariateJacobianFunction {
           final List<ObservedMeasurement<?>> measurements, final ParameterDriversList estimatedMeasurementsParameters,
           final ModelObserver observer)
         throws OrekitException {
+        this(builders, measurements, estimatedMeasurementsParameters, observer, false);
+    }
+
+    /** Constructor with normal equations accumulation.
+     * <p>
+     * If normal equations are accumulated, the dense (observations × parameters)
+     * Jacobian is not allocated at all. The Jacobian returned by {@link #value(RealVector)}
+     * is then null and the weighted Jacobian rows are accumulated on the fly in the
+     * {@link #getNormalEquations() normal equations}.
+     * </p>
+     * @param builders builders to use for propagation
+     * @param measurements measurements
+     * @param estimatedMeasurementsParameters estimated measurements parameters
+     * @param observer observer to be notified at model calls
+     * @param accumulateNormalEquations if true, normal equations are accumulated
+     * instead of the full Jacobian being computed
+     * @exception OrekitException if some propagator parameter cannot be set properly
+     * @since 9.3
+     */
+    Model(final NumericalPropagatorBuilder[] builders,
+          final List<ObservedMeasurement<?>> measurements, final ParameterDriversList estimatedMeasurementsParameters,
+          final ModelObserver observer, final boolean accumulateNormalEquations)
+        throws OrekitException {
 
         this.builders                        = builders;
         this.measurements                    = measurements;
@@ -134,6 +166,7 @@ class Model implements MultivariateJacobianFunction {
         this.evaluations                     = new IdentityHashMap<>(measurements.size());
         this.observer                        = observer;
         this.mappers                         = new JacobiansMapper[builders.length];
+        this.measurementsExecutor            = null;
 
         // allocate vector and matrix
         int rows = 0;
@@ -182,8 +215,15 @@ class Model implements MultivariateJacobianFunction {
         }
 
         // Initialize point and value
-        value    = new ArrayRealVector(rows);
-        jacobian = MatrixUtils.createRealMatrix(rows, columns);
+        nbParameters = columns;
+        value        = new ArrayRealVector(rows);
+        if (accumulateNormalEquations) {
+            jacobian        = null;
+            normalEquations = new NormalEquations(columns);
+        } else {
+            jacobian        = MatrixUtils.createRealMatrix(rows, columns);
+            normalEquations = null;
+        }
 
         // Decide whether the propagation will be done forward or backward.
         // Minimize the duration between first measurement treated and orbit determination date
@@ -219,6 +259,24 @@ class Model implements MultivariateJacobianFunction {
         this.iterationsCounter = iterationsCounter;
     }
 
+    /** Set the executor service for concurrent measurements estimation.
+     * @param measurementsExecutor executor service for measurements estimation
+     * (null for sequential estimation on the propagation thread)
+     * @since 9.3
+     */
+    void setMeasurementsExecutor(final ExecutorService measurementsExecutor) {
+        this.measurementsExecutor = measurementsExecutor;
+    }
+
+    /** Get the normal equations accumulated during last evaluation.
+     * @return normal equations accumulated during last evaluation,
+     * or null if the full Jacobian is computed
+     * @since 9.3
+     */
+    NormalEquations getNormalEquations() {
+        return normalEquations;
+    }
+
     /** Return the forward propagation flag.
      * @return the forward propagation flag
      */
@@ -239,27 +297,40 @@ class Model implements MultivariateJacobianFunction {
                 mappers[i] = configureDerivatives(propagators[i]);
                 orbits[i]  = propagators[i].getInitialState().getOrbit();
             }
+            final MeasurementHandler handler = configureMeasurements(point);
             final PropagatorsParallelizer parallelizer =
-                            new PropagatorsParallelizer(Arrays.asList(propagators), configureMeasurements(point));
+                            new PropagatorsParallelizer(Arrays.asList(propagators), handler);
 
             // Reset value and Jacobian
             evaluations.clear();
             value.set(0.0);
-            for (int i = 0; i < jacobian.getRowDimension(); ++i) {
-                for (int j = 0; j < jacobian.getColumnDimension(); ++j) {
-                    jacobian.setEntry(i, j, 0.0);
+            if (normalEquations == null) {
+                for (int i = 0; i < jacobian.getRowDimension(); ++i) {
+                    for (int j = 0; j < jacobian.getColumnDimension(); ++j) {
+                        jacobian.setEntry(i, j, 0.0);
+                    }
                 }
+            } else {
+                normalEquations.clear();
             }
 
             // Run the propagation, gathering residuals on the fly
-            if (forwardPropagation) {
-                // Propagate forward from firstDate
-                parallelizer.propagate(firstDate.shiftedBy(-1.0), lastDate.shiftedBy(+1.0));
-            } else {
-                // Propagate backward from lastDate
-                parallelizer.propagate(lastDate.shiftedBy(+1.0), firstDate.shiftedBy(-1.0));
+            try {
+                if (forwardPropagation) {
+                    // Propagate forward from firstDate
+                    parallelizer.propagate(firstDate.shiftedBy(-1.0), lastDate.shiftedBy(+1.0));
+                } else {
+                    // Propagate backward from lastDate
+                    parallelizer.propagate(lastDate.shiftedBy(+1.0), firstDate.shiftedBy(-1.0));
+                }
+            } catch (OrekitException | RuntimeException e) {
+                handler.cancelEstimations();
+                throw e;
             }
 
+            // Gather the residuals of measurements estimated concurrently, if any
+            handler.completeEstimations();
+
             observer.modelCalled(orbits, evaluations);
 
             return new Pair<RealVector, RealMatrix>(value, jacobian);
@@ -361,7 +432,7 @@ class Model implements MultivariateJacobianFunction {
      * @return multi-satellites handler to handle measurements
      * @exception OrekitException if measurements parameters cannot be set with the current point
      */
-    private MultiSatStepHandler configureMeasurements(final RealVector point)
+    private MeasurementHandler configureMeasurements(final RealVector point)
         throws OrekitException {
 
         // Set up the measurement parameters
@@ -388,7 +459,7 @@ class Model implements MultivariateJacobianFunction {
             Collections.reverse(precompensated);
         }
 
-        return new MeasurementHandler(this, precompensated);
+        return new MeasurementHandler(this, precompensated, measurementsExecutor);
 
     }
 
@@ -439,6 +510,9 @@ class Model implements MultivariateJacobianFunction {
             value.setEntry(index + i, weight[i] * (evaluated[i] - observed[i]) / sigma[i]);
         }
 
+        // weighted Jacobian rows for this measurement
+        final double[][] rows = new double[evaluated.length][nbParameters];
+
         for (int k = 0; k < evaluationStates.length; ++k) {
 
             final int p = observedMeasurement.getPropagatorsIndices().get(k);
@@ -463,8 +537,7 @@ class Model implements MultivariateJacobianFunction {
                 for (int j = 0; j < dMdY0.getColumnDimension(); ++j) {
                     final ParameterDriver driver = builders[p].getOrbitalParametersDrivers().getDrivers().get(j);
                     if (driver.isSelected()) {
-                        jacobian.setEntry(index + i, jOrb++,
-                                          weight[i] * dMdY0.getEntry(i, j) / sigma[i] * driver.getScale());
+                        rows[i][jOrb++] = weight[i] * dMdY0.getEntry(i, j) / sigma[i] * driver.getScale();
                     }
                 }
             }
@@ -480,8 +553,8 @@ class Model implements MultivariateJacobianFunction {
                 for (int i = 0; i < dMdPp.getRowDimension(); ++i) {
                     for (int j = 0; j < nbParams; ++j) {
                         final ParameterDriver delegating = selectedPropagationDrivers.getDrivers().get(j);
-                        jacobian.addToEntry(index + i, propagationParameterColumns.get(delegating.getName()),
-                                            weight[i] * dMdPp.getEntry(i, j) / sigma[i] * delegating.getScale());
+                        rows[i][propagationParameterColumns.get(delegating.getName())] +=
+                                        weight[i] * dMdPp.getEntry(i, j) / sigma[i] * delegating.getScale();
                     }
                 }
             }
@@ -493,12 +566,24 @@ class Model implements MultivariateJacobianFunction {
             if (driver.isSelected()) {
                 final double[] aMPm = evaluation.getParameterDerivatives(driver);
                 for (int i = 0; i < aMPm.length; ++i) {
-                    jacobian.setEntry(index + i, measurementParameterColumns.get(driver.getName()),
-                                      weight[i] * aMPm[i] / sigma[i] * driver.getScale());
+                    rows[i][measurementParameterColumns.get(driver.getName())] =
+                                    weight[i] * aMPm[i] / sigma[i] * driver.getScale();
                 }
             }
         }
 
+        if (normalEquations == null) {
+            // store the rows in the full Jacobian
+            for (int i = 0; i < rows.length; ++i) {
+                jacobian.setRow(index + i, rows[i]);
+            }
+        } else {
+            // accumulate the rows in the normal equations
+            for (int i = 0; i < rows.length; ++i) {
+                normalEquations.addRow(rows[i], value.getEntry(index + i));
+            }
+        }
+
     }
 
 }
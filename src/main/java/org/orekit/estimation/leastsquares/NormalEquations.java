@@ -0,0 +1,140 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import java.util.Arrays;
+
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+
+/** Incremental accumulator for least squares normal equations.
+ * <p>
+ * This class accumulates Jᵀ.J and Jᵀ.v one weighted Jacobian row at a time,
+ * where v is the weighted residual. Only the non-zero elements of each row
+ * are used, so the cost of adding a row is proportional to the square of the
+ * number of parameters the measurement actually depends on, and the memory
+ * needed is independent of the number of measurements.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+class NormalEquations {
+
+    /** Number of parameters. */
+    private final int parameters;
+
+    /** Upper triangular part of Jᵀ.J. */
+    private final double[][] jTj;
+
+    /** Jᵀ.v. */
+    private final double[] jTv;
+
+    /** Sum of squared weighted residuals. */
+    private double chiSquare;
+
+    /** Indices of the non-zero elements in the current row. */
+    private final int[] nonZero;
+
+    /** Simple constructor.
+     * @param parameters number of parameters
+     */
+    NormalEquations(final int parameters) {
+        this.parameters = parameters;
+        this.jTj        = new double[parameters][parameters];
+        this.jTv        = new double[parameters];
+        this.nonZero    = new int[parameters];
+        this.chiSquare  = 0.0;
+    }
+
+    /** Reset the accumulator.
+     */
+    public void clear() {
+        for (final double[] row : jTj) {
+            Arrays.fill(row, 0.0);
+        }
+        Arrays.fill(jTv, 0.0);
+        chiSquare = 0.0;
+    }
+
+    /** Add one row of the weighted Jacobian.
+     * @param row weighted Jacobian row (must have one element per parameter)
+     * @param residual weighted residual corresponding to the row
+     */
+    public void addRow(final double[] row, final double residual) {
+
+        // identify the non-zero elements
+        int n = 0;
+        for (int j = 0; j < parameters; ++j) {
+            if (row[j] != 0.0) {
+                nonZero[n++] = j;
+            }
+        }
+
+        // rank one update, restricted to non-zero elements
+        for (int k = 0; k < n; ++k) {
+            final int    jk = nonZero[k];
+            final double rk = row[jk];
+            jTv[jk] += rk * residual;
+            final double[] jTjk = jTj[jk];
+            for (int l = k; l < n; ++l) {
+                final int jl = nonZero[l];
+                jTjk[jl] += rk * row[jl];
+            }
+        }
+
+        chiSquare += residual * residual;
+
+    }
+
+    /** Get the number of parameters.
+     * @return number of parameters
+     */
+    public int getParameters() {
+        return parameters;
+    }
+
+    /** Get a copy of the Jᵀ.J normal matrix.
+     * @return copy of the (symmetric) normal matrix
+     */
+    public RealMatrix getJTJ() {
+        final RealMatrix m = MatrixUtils.createRealMatrix(parameters, parameters);
+        for (int k = 0; k < parameters; ++k) {
+            for (int l = k; l < parameters; ++l) {
+                m.setEntry(k, l, jTj[k][l]);
+                m.setEntry(l, k, jTj[k][l]);
+            }
+        }
+        return m;
+    }
+
+    /** Get a copy of the Jᵀ.v vector.
+     * @return copy of the Jᵀ.v vector
+     */
+    public RealVector getJTV() {
+        return new ArrayRealVector(jTv);
+    }
+
+    /** Get the sum of squared weighted residuals.
+     * @return sum of squared weighted residuals
+     */
+    public double getChiSquare() {
+        return chiSquare;
+    }
+
+}
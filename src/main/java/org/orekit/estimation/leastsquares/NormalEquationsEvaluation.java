@@ -0,0 +1,180 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.QRDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresOptimizer.Optimum;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalStateException;
+
+/** Least squares evaluation based on accumulated normal equations.
+ * <p>
+ * As {@link Optimum} extends {@link
+ * org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation
+ * Evaluation}, this class is used both for intermediate evaluations and for the
+ * final optimum.
+ * </p>
+ * <p>
+ * The full Jacobian is not available with normal equations, so {@link #getJacobian()}
+ * throws an exception. All other elements (covariances, residuals, RMS, χ²...)
+ * are available.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+class NormalEquationsEvaluation implements Optimum {
+
+    /** Evaluation point. */
+    private final RealVector point;
+
+    /** Residuals (i.e. target minus weighted model value). */
+    private final RealVector residuals;
+
+    /** Jᵀ.J normal matrix. */
+    private final RealMatrix jTj;
+
+    /** Jᵀ.v, where v is the weighted model value minus target. */
+    private final RealVector jTv;
+
+    /** Sum of squared weighted residuals. */
+    private final double chiSquare;
+
+    /** Number of evaluations performed when this evaluation was created. */
+    private final int evaluations;
+
+    /** Number of iterations performed when this evaluation was created. */
+    private final int iterations;
+
+    /** Simple constructor.
+     * @param point evaluation point
+     * @param value weighted model value (i.e. weighted residuals with respect to a zero target)
+     * @param normalEquations accumulated normal equations
+     * @param evaluations number of evaluations performed when this evaluation was created
+     * @param iterations number of iterations performed when this evaluation was created
+     */
+    NormalEquationsEvaluation(final RealVector point, final RealVector value,
+                              final NormalEquations normalEquations,
+                              final int evaluations, final int iterations) {
+        this.point       = point.copy();
+        this.residuals   = value.mapMultiply(-1.0);
+        this.jTj         = normalEquations.getJTJ();
+        this.jTv         = normalEquations.getJTV();
+        this.chiSquare   = normalEquations.getChiSquare();
+        this.evaluations = evaluations;
+        this.iterations  = iterations;
+    }
+
+    /** Compute the Levenberg-Marquardt step.
+     * <p>
+     * The step δ is the solution of (Jᵀ.J + λ diag(Jᵀ.J)) δ = -Jᵀ.v,
+     * so a zero damping λ corresponds to a Gauss-Newton step.
+     * </p>
+     * @param damping damping parameter λ
+     * @param threshold threshold to identify matrix singularity
+     * @return step to apply to the current point
+     */
+    public RealVector computeStep(final double damping, final double threshold) {
+        final RealMatrix a = jTj.copy();
+        if (damping > 0) {
+            for (int k = 0; k < a.getRowDimension(); ++k) {
+                a.addToEntry(k, k, damping * a.getEntry(k, k));
+            }
+        }
+        return new QRDecomposition(a, threshold).getSolver().solve(jTv.mapMultiply(-1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix getCovariances(final double threshold) {
+        return new QRDecomposition(jTj, threshold).getSolver().getInverse();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector getSigma(final double covarianceSingularityThreshold) {
+        final RealMatrix cov = getCovariances(covarianceSingularityThreshold);
+        final RealVector sig = new ArrayRealVector(cov.getColumnDimension());
+        for (int i = 0; i < sig.getDimension(); ++i) {
+            sig.setEntry(i, FastMath.sqrt(cov.getEntry(i, i)));
+        }
+        return sig;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getRMS() {
+        return FastMath.sqrt(chiSquare / residuals.getDimension());
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The full Jacobian is not available with normal equations,
+     * so this method always throws an exception.
+     * </p>
+     */
+    @Override
+    public RealMatrix getJacobian() {
+        throw new OrekitIllegalStateException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getCost() {
+        return FastMath.sqrt(chiSquare);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector getResiduals() {
+        return residuals;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector getPoint() {
+        return point;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getChiSquare() {
+        return chiSquare;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getReducedChiSquare(final int numberOfFittedParameters) {
+        return chiSquare / (residuals.getDimension() - numberOfFittedParameters + 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getIterations() {
+        return iterations;
+    }
+
+}
@@ -0,0 +1,99 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** {@link OEMHandler} building an ephemeris for one object while the OEM is streamed.
+ * <p>
+ * Only the ephemerides blocks belonging to the selected object are retained, all
+ * other blocks and all covariance matrices are ignored. This allows to build
+ * a {@link BoundedPropagator} for one object from a huge multi-objects OEM file
+ * without storing the data lines of the other objects.
+ * </p>
+ * @see OEMParser#parse(java.io.BufferedReader, String, int, OEMHandler)
+ * @author agent
+ * @since 9.3
+ */
+public class OEMEphemerisBuilder implements OEMHandler {
+
+    /** Identifier of the object to retain. */
+    private final String objectID;
+
+    /** Retained blocks. */
+    private final List<OEMFile.EphemeridesBlock> blocks;
+
+    /** Simple constructor.
+     * @param objectID identifier of the object to retain
+     * (as per {@link ODMMetaData#getObjectID()})
+     */
+    public OEMEphemerisBuilder(final String objectID) {
+        this.objectID = objectID;
+        this.blocks   = new ArrayList<OEMFile.EphemeridesBlock>();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void startSegment(final OEMFile.EphemeridesBlock block) {
+        if (objectID.equals(block.getMetaData().getObjectID())) {
+            blocks.add(block);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleEphemeridesDataLines(final OEMFile.EphemeridesBlock block,
+                                           final List<TimeStampedPVCoordinates> dataLines) {
+        if (!blocks.isEmpty() && blocks.get(blocks.size() - 1) == block) {
+            block.getEphemeridesDataLines().addAll(dataLines);
+        }
+    }
+
+    /** Get the identifier of the retained object.
+     * @return identifier of the retained object
+     */
+    public String getObjectID() {
+        return objectID;
+    }
+
+    /** Get the retained ephemerides blocks.
+     * @return retained ephemerides blocks, in file order
+     */
+    public List<OEMFile.EphemeridesBlock> getSegments() {
+        return Collections.unmodifiableList(blocks);
+    }
+
+    /** Get a propagator for the retained object.
+     * @return propagator combining all retained ephemerides blocks
+     * @exception OrekitException if the object was not found in the file,
+     * or if frame or time scale cannot be built
+     */
+    public BoundedPropagator getPropagator() throws OrekitException {
+        if (blocks.isEmpty()) {
+            throw new OrekitException(OrekitMessages.VALUE_NOT_FOUND, objectID, "OEM");
+        }
+        return new OEMFile.OemSatelliteEphemeris(objectID, blocks.get(0).getMu(), blocks).getPropagator();
+    }
+
+}
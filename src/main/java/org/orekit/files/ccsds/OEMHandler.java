@@ -0,0 +1,100 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.util.List;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Handler for OEM data parsed in streaming mode.
+ * <p>
+ * When an OEM file is {@link OEMParser#parse(java.io.BufferedReader, String, int, OEMHandler)
+ * parsed in streaming mode}, the ephemerides data lines and the covariance matrices
+ * are not stored in the {@link OEMFile.EphemeridesBlock ephemerides blocks}, they are
+ * passed to an implementation of this interface as soon as they are parsed. The
+ * ephemerides data lines are passed in chunks of bounded size, so the memory used
+ * does not depend on the file size.
+ * </p>
+ * <p>
+ * For each ephemerides block, the methods are called in the following order:
+ * {@link #startSegment(OEMFile.EphemeridesBlock) startSegment} once the meta-data
+ * have been parsed, then {@link #handleEphemeridesDataLines(OEMFile.EphemeridesBlock,
+ * List) handleEphemeridesDataLines} for each chunk of data lines and {@link
+ * #handleCovarianceMatrix(OEMFile.EphemeridesBlock, OEMFile.CovarianceMatrix)
+ * handleCovarianceMatrix} for each covariance matrix, and finally {@link
+ * #endSegment(OEMFile.EphemeridesBlock) endSegment}.
+ * </p>
+ * @see OEMParser#parse(java.io.BufferedReader, String, int, OEMHandler)
+ * @see OEMEphemerisBuilder
+ * @author agent
+ * @since 9.3
+ */
+public interface OEMHandler {
+
+    /** Start a new ephemerides block.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param block ephemerides block, with meta-data already set
+     * @exception OrekitException if handler cannot process the block
+     */
+    default void startSegment(OEMFile.EphemeridesBlock block)
+        throws OrekitException {
+        // nothing by default
+    }
+
+    /** Handle a chunk of ephemerides data lines.
+     * <p>
+     * The list is reused by the parser for the next chunks, so implementations
+     * that need to keep the data lines must copy them.
+     * </p>
+     * @param block ephemerides block the data lines belong to
+     * @param dataLines chunk of ephemerides data lines, in file order
+     * @exception OrekitException if handler cannot process the data lines
+     */
+    void handleEphemeridesDataLines(OEMFile.EphemeridesBlock block,
+                                    List<TimeStampedPVCoordinates> dataLines)
+        throws OrekitException;
+
+    /** Handle a covariance matrix.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param block ephemerides block the covariance matrix belongs to
+     * @param matrix covariance matrix
+     * @exception OrekitException if handler cannot process the covariance matrix
+     */
+    default void handleCovarianceMatrix(OEMFile.EphemeridesBlock block,
+                                        OEMFile.CovarianceMatrix matrix)
+        throws OrekitException {
+        // nothing by default
+    }
+
+    /** End an ephemerides block.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     * @param block ephemerides block
+     * @exception OrekitException if handler cannot process the block
+     */
+    default void endSegment(OEMFile.EphemeridesBlock block)
+        throws OrekitException {
+        // nothing by default
+    }
+
+}
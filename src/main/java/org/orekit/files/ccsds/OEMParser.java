@@ -20,15 +20,19 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 
 import org.hipparchus.exception.DummyLocalizable;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.files.general.EphemerisFileParser;
 import org.orekit.frames.Frame;
@@ -148,11 +152,90 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
     @Override
     public OEMFile parse(final BufferedReader reader, final String fileName)
             throws OrekitException {
+        return parseInternal(reader, fileName, null, 0);
+    }
+
+    /** Parse a CCSDS Orbit Ephemeris Message in streaming mode.
+     * <p>
+     * In streaming mode, the ephemerides data lines and covariance matrices are
+     * not stored in the returned file, they are passed to the handler as soon as
+     * they are parsed, ephemerides data lines being passed by chunks of at most
+     * {@code chunkSize} elements. The memory used is therefore independent of the
+     * number of lines in the file. The returned file contains the header and the
+     * meta-data of all ephemerides blocks, but no ephemerides data lines and no
+     * covariance matrices.
+     * </p>
+     * @param stream stream containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param chunkSize maximum number of ephemerides data lines passed in one call to
+     * {@link OEMHandler#handleEphemeridesDataLines(OEMFile.EphemeridesBlock, List)}
+     * @param handler handler for ephemerides data lines and covariance matrices
+     * (must not be null)
+     * @return parsed header and meta-data
+     * @exception OrekitException if the message cannot be parsed or handler triggers one
+     * @since 9.3
+     */
+    public OEMFile parse(final InputStream stream, final String fileName,
+                         final int chunkSize, final OEMHandler handler)
+        throws OrekitException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return parse(reader, fileName, chunkSize, handler);
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+    }
+
+    /** Parse a CCSDS Orbit Ephemeris Message in streaming mode.
+     * <p>
+     * In streaming mode, the ephemerides data lines and covariance matrices are
+     * not stored in the returned file, they are passed to the handler as soon as
+     * they are parsed, ephemerides data lines being passed by chunks of at most
+     * {@code chunkSize} elements. The memory used is therefore independent of the
+     * number of lines in the file. The returned file contains the header and the
+     * meta-data of all ephemerides blocks, but no ephemerides data lines and no
+     * covariance matrices.
+     * </p>
+     * @param reader reader containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param chunkSize maximum number of ephemerides data lines passed in one call to
+     * {@link OEMHandler#handleEphemeridesDataLines(OEMFile.EphemeridesBlock, List)}
+     * @param handler handler for ephemerides data lines and covariance matrices
+     * (must not be null)
+     * @return parsed header and meta-data
+     * @exception OrekitException if the message cannot be parsed or handler triggers one
+     * @since 9.3
+     */
+    public OEMFile parse(final BufferedReader reader, final String fileName,
+                         final int chunkSize, final OEMHandler handler)
+        throws OrekitException {
+        if (chunkSize < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     chunkSize, 1);
+        }
+        if (handler == null) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NULL_NOT_ALLOWED);
+        }
+        return parseInternal(reader, fileName, handler, chunkSize);
+    }
+
+    /** Parse a CCSDS Orbit Ephemeris Message, either in regular or in streaming mode.
+     * @param reader reader containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param handler handler for ephemerides data lines and covariance matrices
+     * (null for regular mode, where everything is stored in the returned file)
+     * @param chunkSize maximum number of ephemerides data lines passed to the handler
+     * (ignored in regular mode)
+     * @return parsed file
+     * @exception OrekitException if the message cannot be parsed or handler triggers one
+     */
+    private OEMFile parseInternal(final BufferedReader reader, final String fileName,
+                                  final OEMHandler handler, final int chunkSize)
+        throws OrekitException {
 
         try {
 
             // initialize internal data structures
-            final ParseInfo pi = new ParseInfo();
+            final ParseInfo pi = new ParseInfo(handler, chunkSize);
             pi.fileName = fileName;
             final OEMFile file = pi.file;
 
@@ -176,6 +259,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         break;
 
                     case META_START:
+                        if (pi.lastEphemeridesBlock != null) {
+                            endSegment(pi);
+                        }
                         file.addEphemeridesBlock();
                         pi.lastEphemeridesBlock = file.getEphemeridesBlocks().get(file.getEphemeridesBlocks().size() - 1);
                         pi.lastEphemeridesBlock.getMetaData().setLaunchYear(getLaunchYear());
@@ -211,6 +297,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
 
                     case META_STOP:
                         file.setMuUsed();
+                        if (pi.handler != null) {
+                            pi.handler.startSegment(pi.lastEphemeridesBlock);
+                        }
                         parseEphemeridesDataLines(reader, pi);
                         break;
 
@@ -234,6 +323,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         }
                 }
             }
+            if (pi.lastEphemeridesBlock != null) {
+                endSegment(pi);
+            }
             file.checkTimeSystems();
             return file;
         } catch (IOException ioe) {
@@ -283,7 +375,7 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         } else {
                             epDataLine = new TimeStampedPVCoordinates(date, position, velocity);
                         }
-                        pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
+                        addEphemeridesDataLine(pi, epDataLine);
                         pi.lastEphemeridesBlock.updateHasAcceleration(hasAcceleration);
                     } catch (NumberFormatException nfe) {
                         throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
@@ -356,7 +448,12 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                 if (i == 5) {
                     final OEMFile.CovarianceMatrix cm =
                             new OEMFile.CovarianceMatrix(pi.epoch, pi.covRefLofType, pi.covRefFrame, pi.lastMatrix);
-                    pi.lastEphemeridesBlock.getCovarianceMatrices().add(cm);
+                    if (pi.handler == null) {
+                        pi.lastEphemeridesBlock.getCovarianceMatrices().add(cm);
+                    } else {
+                        flushEphemeridesDataLines(pi);
+                        pi.handler.handleCovarianceMatrix(pi.lastEphemeridesBlock, cm);
+                    }
                 }
                 i++;
                 if (sc != null) {
@@ -390,6 +487,47 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         }
     }
 
+    /** Add an ephemerides data line.
+     * @param pi the parser info
+     * @param dataLine ephemerides data line to add
+     * @exception OrekitException if handler triggers one
+     */
+    private void addEphemeridesDataLine(final ParseInfo pi, final TimeStampedPVCoordinates dataLine)
+        throws OrekitException {
+        if (pi.handler == null) {
+            pi.lastEphemeridesBlock.getEphemeridesDataLines().add(dataLine);
+        } else {
+            pi.chunk.add(dataLine);
+            if (pi.chunk.size() >= pi.chunkSize) {
+                flushEphemeridesDataLines(pi);
+            }
+        }
+    }
+
+    /** Pass the pending ephemerides data lines to the handler.
+     * @param pi the parser info
+     * @exception OrekitException if handler triggers one
+     */
+    private void flushEphemeridesDataLines(final ParseInfo pi)
+        throws OrekitException {
+        if (pi.handler != null && !pi.chunk.isEmpty()) {
+            pi.handler.handleEphemeridesDataLines(pi.lastEphemeridesBlock, pi.chunkView);
+            pi.chunk.clear();
+        }
+    }
+
+    /** End the current ephemerides block.
+     * @param pi the parser info
+     * @exception OrekitException if handler triggers one
+     */
+    private void endSegment(final ParseInfo pi)
+        throws OrekitException {
+        if (pi.handler != null) {
+            flushEphemeridesDataLines(pi);
+            pi.handler.endSegment(pi.lastEphemeridesBlock);
+        }
+    }
+
     /** Private class used to stock OEM parsing info.
      * @author sports
      */
@@ -424,11 +562,30 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         /** Stored comments. */
         private List<String> commentTmp;
 
-        /** Create a new {@link ParseInfo} object. */
-        protected ParseInfo() {
+        /** Handler for streaming mode (null in regular mode). */
+        private final OEMHandler handler;
+
+        /** Maximum number of ephemerides data lines in one chunk. */
+        private final int chunkSize;
+
+        /** Pending ephemerides data lines in streaming mode. */
+        private final List<TimeStampedPVCoordinates> chunk;
+
+        /** Unmodifiable view of the pending ephemerides data lines. */
+        private final List<TimeStampedPVCoordinates> chunkView;
+
+        /** Create a new {@link ParseInfo} object.
+         * @param handler handler for streaming mode (null in regular mode)
+         * @param chunkSize maximum number of ephemerides data lines in one chunk
+         */
+        protected ParseInfo(final OEMHandler handler, final int chunkSize) {
             lineNumber = 0;
             file = new OEMFile();
             commentTmp = new ArrayList<String>();
+            this.handler   = handler;
+            this.chunkSize = chunkSize;
+            this.chunk     = new ArrayList<TimeStampedPVCoordinates>();
+            this.chunkView = Collections.unmodifiableList(chunk);
         }
     }
 }
@@ -22,9 +22,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.files.general.EphemerisFile;
 import org.orekit.frames.Frame;
 import org.orekit.propagation.BoundedPropagator;
@@ -165,6 +169,9 @@ public class SP3File implements EphemerisFile {
     /** A map containing satellite information. */
     private Map<String, SP3Ephemeris> satellites;
 
+    /** Decoder for coordinates loaded on demand (null if all coordinates are loaded at parse time). */
+    private CoordinatesDecoder decoder;
+
     /**
      * Create a new SP3 file object.
      *
@@ -181,6 +188,30 @@ public class SP3File implements EphemerisFile {
         this.frameBuilder = frameBuilder;
         // must be linked has map to preserve order of satellites in the file.
         satellites = new LinkedHashMap<>();
+        decoder    = null;
+    }
+
+    /**
+     * Set the decoder for coordinates loaded on demand.
+     *
+     * @param decoder decoder for coordinates loaded on demand
+     * @since 9.3
+     */
+    void setDecoder(final CoordinatesDecoder decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Check if the file has been parsed in indexed mode.
+     *
+     * <p> In indexed mode, the coordinates of each satellite are decoded only
+     * when they are first needed, see {@link SP3Parser#parseIndexed(String, String)}.
+     *
+     * @return true if the file has been parsed in indexed mode
+     * @since 9.3
+     */
+    public boolean isIndexed() {
+        return decoder != null;
     }
 
     /**
@@ -457,6 +488,98 @@ public class SP3File implements EphemerisFile {
         return satellites.containsKey(satId);
     }
 
+    /**
+     * Get the ephemeris of one satellite restricted to a time range.
+     *
+     * <p> The returned ephemeris contains the coordinates at all epochs in the
+     * range, plus half the number of {@link SP3Ephemeris#getInterpolationSamples()
+     * interpolation samples} on each side (as long as the file contains them), so
+     * the propagator built from it can be used throughout the range. In {@link
+     * #isIndexed() indexed mode}, only these coordinates are decoded from the file.
+     *
+     * @param satId satellite identifier
+     * @param start start of the time range
+     * @param stop end of the time range
+     * @return ephemeris of the satellite restricted to the time range
+     * @throws OrekitException if the satellite is not in the file or if the
+     * coordinates cannot be decoded
+     * @since 9.3
+     */
+    public SP3Ephemeris getEphemeris(final String satId,
+                                     final AbsoluteDate start, final AbsoluteDate stop)
+        throws OrekitException {
+
+        final SP3Ephemeris full = satellites.get(satId);
+        if (full == null) {
+            throw new OrekitException(OrekitMessages.CANNOT_FIND_SATELLITE_IN_SYSTEM, satId, getType());
+        }
+
+        final int margin = (interpolationSamples + 1) / 2;
+        final List<SP3Coordinate> selected;
+        if (decoder == null) {
+            final List<SP3Coordinate> all = full.coordinates;
+            final int first = FastMath.max(0, floorIndex(i -> all.get(i).getDate(), all.size(), start) - margin);
+            final int last  = FastMath.min(all.size() - 1, ceilingIndex(i -> all.get(i).getDate(), all.size(), stop) + margin);
+            selected = new ArrayList<>(all.subList(first, FastMath.max(first, last + 1)));
+        } else {
+            final int n     = decoder.getNbEpochs();
+            final int first = FastMath.max(0, floorIndex(decoder::getEpochDate, n, start) - margin);
+            final int last  = FastMath.min(n - 1, ceilingIndex(decoder::getEpochDate, n, stop) + margin);
+            selected = decoder.decode(satId, first, last);
+        }
+
+        return new SP3Ephemeris(satId, full.getAccuracy(), selected);
+
+    }
+
+    /**
+     * Find the index of the last date before or at a specified date.
+     *
+     * @param dates provider for sorted dates
+     * @param n number of dates
+     * @param date specified date
+     * @return index of the last date before or at the specified date (0 if
+     * all dates are after the specified date)
+     */
+    private static int floorIndex(final IntFunction<AbsoluteDate> dates, final int n,
+                                  final AbsoluteDate date) {
+        int low  = 0;
+        int high = n - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) / 2;
+            if (dates.apply(mid).compareTo(date) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Find the index of the first date after or at a specified date.
+     *
+     * @param dates provider for sorted dates
+     * @param n number of dates
+     * @param date specified date
+     * @return index of the first date after or at the specified date (n - 1 if
+     * all dates are before the specified date)
+     */
+    private static int ceilingIndex(final IntFunction<AbsoluteDate> dates, final int n,
+                                    final AbsoluteDate date) {
+        int low  = 0;
+        int high = n - 1;
+        while (low < high) {
+            final int mid = (low + high) / 2;
+            if (dates.apply(mid).compareTo(date) >= 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return high;
+    }
+
     /**
      * Adds a new P/V coordinate for a given satellite.
      *
@@ -476,6 +599,8 @@ public class SP3File implements EphemerisFile {
         private final List<SP3Coordinate> coordinates;
         /** Accuracy in m. */
         private double accuracy;
+        /** Indicator for coordinates already decoded (only used in indexed mode). */
+        private boolean decoded;
 
         /**
          * Create an ephemeris for a single satellite.
@@ -485,6 +610,39 @@ public class SP3File implements EphemerisFile {
         SP3Ephemeris(final String id) {
             this.id = id;
             this.coordinates = new ArrayList<>();
+            this.decoded = false;
+        }
+
+        /**
+         * Create an ephemeris for a single satellite with already decoded coordinates.
+         *
+         * @param id of the satellite.
+         * @param accuracy in m.
+         * @param coordinates coordinates of the satellite.
+         * @since 9.3
+         */
+        SP3Ephemeris(final String id, final double accuracy, final List<SP3Coordinate> coordinates) {
+            this.id = id;
+            this.coordinates = coordinates;
+            this.accuracy = accuracy;
+            this.decoded = true;
+        }
+
+        /**
+         * Get the coordinates, decoding them first if needed.
+         *
+         * @return coordinates of the satellite.
+         */
+        private synchronized List<SP3Coordinate> getDecodedCoordinates() {
+            if (decoder != null && !decoded) {
+                try {
+                    coordinates.addAll(decoder.decode(id, 0, decoder.getNbEpochs() - 1));
+                    decoded = true;
+                } catch (OrekitException oe) {
+                    throw new OrekitExceptionWrapper(oe);
+                }
+            }
+            return coordinates;
         }
 
         @Override
@@ -534,7 +692,7 @@ public class SP3File implements EphemerisFile {
 
         @Override
         public List<SP3Coordinate> getCoordinates() {
-            return Collections.unmodifiableList(this.coordinates);
+            return Collections.unmodifiableList(getDecodedCoordinates());
         }
 
         /** Returns a list containing only {@code this}. */
@@ -545,12 +703,13 @@ public class SP3File implements EphemerisFile {
 
         @Override
         public AbsoluteDate getStart() {
-            return coordinates.get(0).getDate();
+            return getDecodedCoordinates().get(0).getDate();
         }
 
         @Override
         public AbsoluteDate getStop() {
-            return coordinates.get(coordinates.size() - 1).getDate();
+            final List<SP3Coordinate> decodedCoordinates = getDecodedCoordinates();
+            return decodedCoordinates.get(decodedCoordinates.size() - 1).getDate();
         }
 
         @Override
@@ -581,6 +740,39 @@ public class SP3File implements EphemerisFile {
 
     }
 
+    /** Decoder for coordinates loaded on demand.
+     * @since 9.3
+     */
+    interface CoordinatesDecoder {
+
+        /**
+         * Get the number of epochs in the file.
+         *
+         * @return number of epochs in the file
+         */
+        int getNbEpochs();
+
+        /**
+         * Get the date of an epoch.
+         *
+         * @param i index of the epoch
+         * @return date of the epoch
+         */
+        AbsoluteDate getEpochDate(int i);
+
+        /**
+         * Decode the coordinates of one satellite.
+         *
+         * @param satId satellite identifier
+         * @param first index of the first epoch to decode
+         * @param last index of the last epoch to decode
+         * @return decoded coordinates
+         * @throws OrekitException if the coordinates cannot be decoded
+         */
+        List<SP3Coordinate> decode(String satId, int first, int last) throws OrekitException;
+
+    }
+
     /** A single record of position clock and possibly derivatives in an SP3 file. */
     public static class SP3Coordinate extends TimeStampedPVCoordinates {
 
@@ -0,0 +1,208 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.sp3;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/** Index of the epochs blocks in an SP3 file.
+ * <p>
+ * The index records the byte offset and line number of each epoch header
+ * line in the file, as well as the epoch date (as an offset with respect to
+ * the file reference epoch). It allows to decode the coordinates of one
+ * satellite in one time range without reading the whole file. The index
+ * can be persisted as a sidecar file, which is considered valid only as
+ * long as the size and last modification time of the SP3 file do not change.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+final class SP3Index {
+
+    /** Magic number for sidecar files. */
+    private static final int MAGIC = 0x53503349;
+
+    /** Sidecar file format version. */
+    private static final int VERSION = 1;
+
+    /** Size of the indexed file. */
+    private final long fileSize;
+
+    /** Last modification time of the indexed file (ms). */
+    private final long lastModified;
+
+    /** Number of indexed epochs. */
+    private int nbEpochs;
+
+    /** Byte offsets of epochs lines, with an additional last element pointing to the EOF line. */
+    private long[] offsets;
+
+    /** Line numbers of epochs lines (counting from 1), with an additional last element for the EOF line. */
+    private int[] lineNumbers;
+
+    /** Epochs dates, as offsets from the file reference epoch (s). */
+    private double[] dates;
+
+    /** Simple constructor.
+     * @param fileSize size of the indexed file
+     * @param lastModified last modification time of the indexed file (ms)
+     */
+    SP3Index(final long fileSize, final long lastModified) {
+        this.fileSize     = fileSize;
+        this.lastModified = lastModified;
+        this.nbEpochs     = 0;
+        this.offsets      = new long[16];
+        this.lineNumbers  = new int[16];
+        this.dates        = new double[16];
+    }
+
+    /** Add an epoch.
+     * @param offset byte offset of the epoch line
+     * @param lineNumber line number of the epoch line
+     * @param date epoch date, as an offset from the file reference epoch (s)
+     */
+    public void addEpoch(final long offset, final int lineNumber, final double date) {
+        ensureCapacity(nbEpochs + 2);
+        offsets[nbEpochs]     = offset;
+        lineNumbers[nbEpochs] = lineNumber;
+        dates[nbEpochs]       = date;
+        ++nbEpochs;
+    }
+
+    /** Set the position of the EOF line.
+     * @param offset byte offset of the EOF line
+     * @param lineNumber line number of the EOF line
+     */
+    public void setEnd(final long offset, final int lineNumber) {
+        ensureCapacity(nbEpochs + 1);
+        offsets[nbEpochs]     = offset;
+        lineNumbers[nbEpochs] = lineNumber;
+    }
+
+    /** Ensure arrays capacity.
+     * @param capacity minimum capacity
+     */
+    private void ensureCapacity(final int capacity) {
+        if (offsets.length < capacity) {
+            final int newCapacity = 2 * capacity;
+            offsets     = Arrays.copyOf(offsets,     newCapacity);
+            lineNumbers = Arrays.copyOf(lineNumbers, newCapacity);
+            dates       = Arrays.copyOf(dates,       newCapacity);
+        }
+    }
+
+    /** Get the number of indexed epochs.
+     * @return number of indexed epochs
+     */
+    public int getNbEpochs() {
+        return nbEpochs;
+    }
+
+    /** Get the byte offset of an epoch line.
+     * @param i index of the epoch (if equal to {@link #getNbEpochs()},
+     * the offset of the EOF line is returned)
+     * @return byte offset of the epoch line
+     */
+    public long getOffset(final int i) {
+        return offsets[i];
+    }
+
+    /** Get the line number of an epoch line.
+     * @param i index of the epoch (if equal to {@link #getNbEpochs()},
+     * the line number of the EOF line is returned)
+     * @return line number of the epoch line
+     */
+    public int getLineNumber(final int i) {
+        return lineNumbers[i];
+    }
+
+    /** Get the date of an epoch.
+     * @param i index of the epoch
+     * @return epoch date, as an offset from the file reference epoch (s)
+     */
+    public double getDate(final int i) {
+        return dates[i];
+    }
+
+    /** Write the index as a sidecar file.
+     * <p>
+     * The file is first written under a temporary name and then moved
+     * to its final name, so concurrent readers never see partial files.
+     * </p>
+     * @param sidecar path of the sidecar file
+     * @exception IOException if the sidecar file cannot be written
+     */
+    public void write(final Path sidecar) throws IOException {
+        final Path tmp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(lastModified);
+            out.writeInt(nbEpochs);
+            for (int i = 0; i < nbEpochs; ++i) {
+                out.writeLong(offsets[i]);
+                out.writeInt(lineNumbers[i]);
+                out.writeDouble(dates[i]);
+            }
+            out.writeLong(offsets[nbEpochs]);
+            out.writeInt(lineNumbers[nbEpochs]);
+        }
+        Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Read an index from a sidecar file.
+     * @param sidecar path of the sidecar file
+     * @param expectedSize expected size of the indexed file
+     * @param expectedLastModified expected last modification time of the indexed file (ms)
+     * @return index read, or null if the sidecar file does not exist, is
+     * not a valid index or does not match the indexed file
+     */
+    public static SP3Index read(final Path sidecar, final long expectedSize, final long expectedLastModified) {
+
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION ||
+                in.readLong() != expectedSize || in.readLong() != expectedLastModified) {
+                // the sidecar file is stale or corrupted
+                return null;
+            }
+            final SP3Index index = new SP3Index(expectedSize, expectedLastModified);
+            final int n = in.readInt();
+            for (int i = 0; i < n; ++i) {
+                index.addEpoch(in.readLong(), in.readInt(), in.readDouble());
+            }
+            index.setEnd(in.readLong(), in.readInt());
+            return index;
+        } catch (IOException ioe) {
+            // the sidecar file is corrupted, it will be rebuilt
+            return null;
+        }
+
+    }
+
+}
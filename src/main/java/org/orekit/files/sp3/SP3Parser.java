@@ -17,19 +17,29 @@
 package org.orekit.files.sp3;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
 import java.util.Scanner;
 import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitExceptionWrapper;
@@ -155,24 +165,11 @@ public class SP3Parser implements EphemerisFileParser {
         final ParseInfo pi = new ParseInfo();
 
         int lineNumber = 0;
-        Stream<LineParser> candidateParsers = Stream.of(LineParser.HEADER_VERSION);
+        List<LineParser> candidateParsers = Collections.singletonList(LineParser.HEADER_VERSION);
         for (String line = reader.readLine(); line != null; line = reader.readLine()) {
             ++lineNumber;
-            final String l = line;
-            final Optional<LineParser> selected = candidateParsers.filter(p -> p.canHandle(l)).findFirst();
-            if (selected.isPresent()) {
-                try {
-                    selected.get().parse(line, pi);
-                } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
-                    throw new OrekitException(e,
-                                              OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                              lineNumber, fileName, line);
-                }
-                candidateParsers = selected.get().allowedNext();
-            } else {
-                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                          lineNumber, fileName, line);
-            }
+            final LineParser selected = parseLine(candidateParsers, line, lineNumber, fileName, pi);
+            candidateParsers = selected.getAllowedNext();
             if (pi.done) {
                 if (pi.nbEpochs != pi.file.getNumberOfEpochs()) {
                     throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
@@ -187,6 +184,189 @@ public class SP3Parser implements EphemerisFileParser {
 
     }
 
+    /**
+     * Parse a SP3 file in indexed mode, without sidecar index file.
+     *
+     * @param fileName name of the SP3 file (must be an uncompressed file)
+     * @return a parsed SP3 file, with coordinates decoded on demand
+     * @throws OrekitException if the ephemeris file cannot be parsed.
+     * @throws IOException     if the file cannot be read.
+     * @see #parseIndexed(String, String)
+     * @since 9.3
+     */
+    public SP3File parseIndexed(final String fileName) throws OrekitException, IOException {
+        return parseIndexed(fileName, null);
+    }
+
+    /**
+     * Parse a SP3 file in indexed mode.
+     *
+     * <p> In indexed mode, only the header and the epochs lines are parsed
+     * when this method is called, and the byte offsets of the epochs blocks
+     * are recorded in an index. The coordinates of each satellite are decoded
+     * from the file only when they are needed, i.e. when {@link
+     * SP3File.SP3Ephemeris#getCoordinates()} (or a method relying on it, like
+     * {@link SP3File.SP3Ephemeris#getPropagator()}) is called for this satellite.
+     * {@link SP3File#getEphemeris(String, AbsoluteDate, AbsoluteDate)} allows
+     * to decode only the coordinates in a time range. This reduces both parsing
+     * time and memory consumption when only a few satellites or a short time
+     * range are needed. As coordinates are decoded by reading the file again,
+     * the file must not be changed while the returned {@link SP3File} is in use.
+     *
+     * <p> If {@code indexName} is not null, the index is persisted in this
+     * sidecar file, so next calls can reuse it instead of reading the whole
+     * file again. The sidecar file is rebuilt automatically if the size or
+     * the last modification time of the SP3 file do not match the ones
+     * recorded in the index.
+     *
+     * <p> The epochs consistency is checked when the index is built, but the
+     * positions and velocities lines are only checked when they are decoded.
+     *
+     * @param fileName name of the SP3 file (must be an uncompressed file)
+     * @param indexName name of the sidecar index file (may be null)
+     * @return a parsed SP3 file, with coordinates decoded on demand
+     * @throws OrekitException if the ephemeris file cannot be parsed.
+     * @throws IOException     if the file cannot be read, or if the
+     *                         sidecar index file cannot be written.
+     * @see #parse(String)
+     * @since 9.3
+     */
+    public SP3File parseIndexed(final String fileName, final String indexName)
+        throws OrekitException, IOException {
+
+        final Path path         = Paths.get(fileName);
+        final long size         = Files.size(path);
+        final long lastModified = Files.getLastModifiedTime(path).toMillis();
+        final Path sidecar      = (indexName == null) ? null : Paths.get(indexName);
+
+        final ParseInfo pi = new ParseInfo();
+        SP3Index index = (sidecar == null) ? null : SP3Index.read(sidecar, size, lastModified);
+        try (LineReader reader = new LineReader(Files.newInputStream(path))) {
+            if (index == null) {
+                // scan the whole file to build the index
+                index = new SP3Index(size, lastModified);
+                buildIndex(reader, fileName, pi, index);
+                if (sidecar != null) {
+                    index.write(sidecar);
+                }
+            } else {
+                // parse only the header, the index provides the rest
+                parseHeader(reader, fileName, pi, index.getOffset(0));
+            }
+        }
+
+        pi.file.setDecoder(new IndexedDecoder(path, fileName, index, pi.file.getEpoch(),
+                                              pi.hasVelocityEntries, pi.timeScale));
+        return pi.file;
+
+    }
+
+    /**
+     * Parse the header and build the index of epochs.
+     *
+     * @param reader line reader positioned at file start
+     * @param fileName name of the file (for error messages)
+     * @param pi holder for transient data
+     * @param index index to fill up
+     * @throws OrekitException if the file cannot be parsed
+     * @throws IOException if the file cannot be read
+     */
+    private void buildIndex(final LineReader reader, final String fileName,
+                            final ParseInfo pi, final SP3Index index)
+        throws OrekitException, IOException {
+
+        int lineNumber = 0;
+        boolean inData = false;
+        List<LineParser> candidateParsers = Collections.singletonList(LineParser.HEADER_VERSION);
+        while (!pi.done) {
+
+            final long position = reader.getPosition();
+            final int  first    = reader.peek();
+            if (first < 0) {
+                // we never reached the EOF marker
+                throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
+            }
+            ++lineNumber;
+
+            if (inData && (first == 'P' || first == 'V')) {
+                // positions and velocities are decoded on demand, just skip them
+                reader.skipLine();
+            } else {
+                final LineParser selected =
+                        parseLine(candidateParsers, reader.readLine(), lineNumber, fileName, pi);
+                if (selected == LineParser.DATA_EPOCH) {
+                    index.addEpoch(position, lineNumber, pi.latestEpoch.durationFrom(pi.file.getEpoch()));
+                    inData = true;
+                } else if (selected == LineParser.EOF) {
+                    index.setEnd(position, lineNumber);
+                }
+                candidateParsers = inData ? LineParser.INDEXED_DATA : selected.getAllowedNext();
+            }
+
+        }
+
+        if (pi.nbEpochs != pi.file.getNumberOfEpochs()) {
+            throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
+                                      pi.nbEpochs, fileName, pi.file.getNumberOfEpochs());
+        }
+
+    }
+
+    /**
+     * Parse the header only.
+     *
+     * @param reader line reader positioned at file start
+     * @param fileName name of the file (for error messages)
+     * @param pi holder for transient data
+     * @param end byte offset of the first epoch line
+     * @throws OrekitException if the file cannot be parsed
+     * @throws IOException if the file cannot be read
+     */
+    private void parseHeader(final LineReader reader, final String fileName,
+                             final ParseInfo pi, final long end)
+        throws OrekitException, IOException {
+        int lineNumber = 0;
+        List<LineParser> candidateParsers = Collections.singletonList(LineParser.HEADER_VERSION);
+        while (reader.getPosition() < end) {
+            final String line = reader.readLine();
+            if (line == null) {
+                throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
+            }
+            ++lineNumber;
+            candidateParsers = parseLine(candidateParsers, line, lineNumber, fileName, pi).getAllowedNext();
+        }
+    }
+
+    /**
+     * Parse one line.
+     *
+     * @param candidateParsers parsers allowed for this line
+     * @param line line to parse
+     * @param lineNumber line number
+     * @param fileName name of the file (for error messages)
+     * @param pi holder for transient data
+     * @return parser selected for the line
+     * @throws OrekitException if the line cannot be parsed
+     */
+    private static LineParser parseLine(final List<LineParser> candidateParsers, final String line,
+                                        final int lineNumber, final String fileName, final ParseInfo pi)
+        throws OrekitException {
+        for (final LineParser candidate : candidateParsers) {
+            if (candidate.canHandle(line)) {
+                try {
+                    candidate.parse(line, pi);
+                } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
+                    throw new OrekitException(e,
+                                              OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              lineNumber, fileName, line);
+                }
+                return candidate;
+            }
+        }
+        throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                  lineNumber, fileName, line);
+    }
+
     /** Returns the {@link SP3FileType} that corresponds to a given string in a SP3 file.
      * @param fileType file type as string
      * @return file type as enum
@@ -271,6 +451,239 @@ public class SP3Parser implements EphemerisFileParser {
         }
     }
 
+    /** Decoder for coordinates in indexed mode. */
+    private class IndexedDecoder implements SP3File.CoordinatesDecoder {
+
+        /** Path of the SP3 file. */
+        private final Path path;
+
+        /** Name of the file (for error messages). */
+        private final String fileName;
+
+        /** Index of the epochs. */
+        private final SP3Index index;
+
+        /** Reference epoch of the index dates. */
+        private final AbsoluteDate reference;
+
+        /** Indicates if the SP3 file has velocity entries. */
+        private final boolean hasVelocityEntries;
+
+        /** The timescale used in the SP3 file. */
+        private final TimeScale timeScale;
+
+        /** Simple constructor.
+         * @param path path of the SP3 file
+         * @param fileName name of the file (for error messages)
+         * @param index index of the epochs
+         * @param reference reference epoch of the index dates
+         * @param hasVelocityEntries indicates if the SP3 file has velocity entries
+         * @param timeScale the timescale used in the SP3 file
+         */
+        IndexedDecoder(final Path path, final String fileName, final SP3Index index,
+                       final AbsoluteDate reference, final boolean hasVelocityEntries,
+                       final TimeScale timeScale) {
+            this.path               = path;
+            this.fileName           = fileName;
+            this.index              = index;
+            this.reference          = reference;
+            this.hasVelocityEntries = hasVelocityEntries;
+            this.timeScale          = timeScale;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getNbEpochs() {
+            return index.getNbEpochs();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getEpochDate(final int i) {
+            return reference.shiftedBy(index.getDate(i));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<SP3Coordinate> decode(final String satId, final int first, final int last)
+            throws OrekitException {
+
+            // set up a file containing only the selected satellite
+            final ParseInfo pi = new ParseInfo();
+            pi.file.addSatellite(satId);
+            pi.hasVelocityEntries = hasVelocityEntries;
+            pi.timeScale          = timeScale;
+            if (first > last) {
+                return new ArrayList<>();
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+                // read only the epochs blocks in the range
+                final long start = index.getOffset(first);
+                channel.position(start);
+                final LineReader reader = new LineReader(Channels.newInputStream(channel));
+                final long end = index.getOffset(last + 1) - start;
+                int lineNumber = index.getLineNumber(first) - 1;
+                while (reader.getPosition() < end) {
+                    ++lineNumber;
+                    final int c = reader.peek();
+                    if ((c == 'P' || c == 'V') && reader.peekSatellite(satId)) {
+                        parseLine(c == 'P' ? LineParser.DATA_POSITION_ONLY : LineParser.DATA_VELOCITY_ONLY,
+                                  reader.readLine(), lineNumber, fileName, pi);
+                    } else if (c == '*') {
+                        parseLine(LineParser.DATA_EPOCH_ONLY, reader.readLine(), lineNumber, fileName, pi);
+                    } else {
+                        reader.skipLine();
+                    }
+                }
+
+            } catch (IOException ioe) {
+                throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+            }
+
+            return pi.file.getSatellites().get(satId).getCoordinates();
+
+        }
+
+    }
+
+    /** Line reader for ASCII files, keeping track of byte offsets. */
+    private static class LineReader implements Closeable {
+
+        /** Size of the buffer. */
+        private static final int BUFFER_SIZE = 65536;
+
+        /** Underlying stream. */
+        private final InputStream stream;
+
+        /** Buffer. */
+        private final byte[] buffer;
+
+        /** Number of bytes in the buffer. */
+        private int limit;
+
+        /** Index of next byte to read in the buffer. */
+        private int current;
+
+        /** Byte offset of the buffer start in the stream. */
+        private long bufferStart;
+
+        /** Simple constructor.
+         * @param stream underlying stream
+         */
+        LineReader(final InputStream stream) {
+            this.stream      = stream;
+            this.buffer      = new byte[BUFFER_SIZE];
+            this.limit       = 0;
+            this.current     = 0;
+            this.bufferStart = 0;
+        }
+
+        /** Get the byte offset of the next line.
+         * @return byte offset of the next line
+         */
+        public long getPosition() {
+            return bufferStart + current;
+        }
+
+        /** Ensure at least one byte is available in the buffer.
+         * @return false if end of stream has been reached
+         * @exception IOException if stream cannot be read
+         */
+        private boolean fill() throws IOException {
+            if (current < limit) {
+                return true;
+            }
+            bufferStart += limit;
+            current      = 0;
+            limit        = 0;
+            final int n  = stream.read(buffer);
+            if (n <= 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        }
+
+        /** Get the first character of the next line, without consuming it.
+         * @return first character of the next line, or -1 at end of stream
+         * @exception IOException if stream cannot be read
+         */
+        public int peek() throws IOException {
+            return fill() ? buffer[current] : -1;
+        }
+
+        /** Check if the next data line refers to a satellite, without consuming it.
+         * @param satId satellite identifier
+         * @return true if the next line is a data line for the specified satellite
+         * @exception IOException if stream cannot be read
+         */
+        public boolean peekSatellite(final String satId) throws IOException {
+            if (limit - current < 4) {
+                // the satellite identifier may be split across buffers
+                compact();
+            }
+            if (limit - current < 4) {
+                return false;
+            }
+            return new String(buffer, current + 1, 3, StandardCharsets.US_ASCII).trim().equals(satId);
+        }
+
+        /** Move remaining bytes at buffer start and try to fill the rest of the buffer.
+         * @exception IOException if stream cannot be read
+         */
+        private void compact() throws IOException {
+            final int remaining = limit - current;
+            System.arraycopy(buffer, current, buffer, 0, remaining);
+            bufferStart += current;
+            current      = 0;
+            limit        = remaining;
+            final int n  = stream.read(buffer, limit, buffer.length - limit);
+            if (n > 0) {
+                limit += n;
+            }
+        }
+
+        /** Read a line.
+         * @return line read (without end of line characters), or null at end of stream
+         * @exception IOException if stream cannot be read
+         */
+        public String readLine() throws IOException {
+            if (!fill()) {
+                return null;
+            }
+            final StringBuilder builder = new StringBuilder();
+            while (fill()) {
+                final byte b = buffer[current++];
+                if (b == '\n') {
+                    break;
+                } else if (b != '\r') {
+                    builder.append((char) b);
+                }
+            }
+            return builder.toString();
+        }
+
+        /** Skip a line.
+         * @exception IOException if stream cannot be read
+         */
+        public void skipLine() throws IOException {
+            while (fill()) {
+                if (buffer[current++] == '\n') {
+                    return;
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+
+    }
+
     /** Parsers for specific lines. */
     private enum LineParser {
 
@@ -749,9 +1162,26 @@ public class SP3Parser implements EphemerisFileParser {
 
         };
 
+        /** Parsers allowed in data section in indexed mode, when positions and velocities are skipped. */
+        private static final List<LineParser> INDEXED_DATA =
+                Collections.unmodifiableList(Arrays.asList(DATA_EPOCH, DATA_POSITION_CORRELATION,
+                                                           DATA_VELOCITY_CORRELATION, EOF));
+
+        /** Singleton list for epochs parser. */
+        private static final List<LineParser> DATA_EPOCH_ONLY = Collections.singletonList(DATA_EPOCH);
+
+        /** Singleton list for positions parser. */
+        private static final List<LineParser> DATA_POSITION_ONLY = Collections.singletonList(DATA_POSITION);
+
+        /** Singleton list for velocities parser. */
+        private static final List<LineParser> DATA_VELOCITY_ONLY = Collections.singletonList(DATA_VELOCITY);
+
         /** Pattern for identifying line. */
         private final Pattern pattern;
 
+        /** Cached allowed parsers for next line. */
+        private List<LineParser> allowedNextCache;
+
         /** Simple constructor.
          * @param lineRegexp regular expression for identifying line
          */
@@ -771,6 +1201,21 @@ public class SP3Parser implements EphemerisFileParser {
          */
         public abstract Stream<LineParser> allowedNext();
 
+        /** Get the allowed parsers for next line.
+         * <p>
+         * This method caches the result of {@link #allowedNext()}, in order
+         * to avoid building a new stream for each line.
+         * </p>
+         * @return allowed parsers for next line
+         * @since 9.3
+         */
+        public List<LineParser> getAllowedNext() {
+            if (allowedNextCache == null) {
+                allowedNextCache = Collections.unmodifiableList(allowedNext().collect(Collectors.toList()));
+            }
+            return allowedNextCache;
+        }
+
         /** Check if parser can handle line.
          * @param line line to parse
          * @return true if parser can handle the specified line
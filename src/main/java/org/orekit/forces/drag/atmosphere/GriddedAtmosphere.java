@@ -0,0 +1,444 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.drag.atmosphere;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.BodyShape;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Atmosphere decorator caching densities of an underlying model on a grid.
+ * <p>
+ * Models like {@link NRLMSISE00}, {@link DTM2000} or {@link JB2008} are costly
+ * to evaluate and are called at each integrator stage. This wrapper trades a
+ * small accuracy loss for speed by interpolating densities in a grid built lazily
+ * from the underlying model. Time is split in buckets, and within each bucket the
+ * grid spans altitude, geodetic latitude and local solar time (i.e. hour angle of
+ * the spacecraft with respect to the Sun). All nodes of one bucket are computed by
+ * the underlying model at the bucket middle date, so solar activity and geomagnetic
+ * inputs are held fixed within each bucket, while the diurnal bulge follows the Sun.
+ * Nodes are evaluated only when an interpolation first needs them, so a spacecraft
+ * only pays for the part of the grid its trajectory crosses.
+ * </p>
+ * <p>
+ * Interpolation is performed on the logarithm of the density, using Lagrange
+ * polynomials of the configured order on each axis. Local solar time is periodic,
+ * latitude and altitude interpolation points are kept inside the grid. Requests
+ * outside of the altitude range are delegated to the underlying model. As an order
+ * of magnitude, with 3 hours buckets, 5 km altitude step, 5° latitude step, 1 hour
+ * local solar time step and order 3, density errors remain at the percent level,
+ * which is below the uncertainty of the models themselves. The error depends on the
+ * underlying model and on the solar activity variations, it should be checked against
+ * the underlying model for each use case.
+ * </p>
+ * <p>
+ * Memory is bounded by the maximum number of buckets, the least recently used bucket
+ * being evicted when a new one is needed. Instances can be shared between threads.
+ * </p>
+ * <p>
+ * The field version of {@link #getDensity(FieldAbsoluteDate, FieldVector3D, Frame)
+ * getDensity} is delegated to the underlying model, so derivatives are not affected
+ * by the grid.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+public class GriddedAtmosphere implements Atmosphere {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20181016L;
+
+    /** Underlying atmosphere model. */
+    private final Atmosphere atmosphere;
+
+    /** Body shape. */
+    private final BodyShape shape;
+
+    /** Sun. */
+    private final PVCoordinatesProvider sun;
+
+    /** Minimum altitude of the grid (m). */
+    private final double minAltitude;
+
+    /** Maximum altitude of the grid (m). */
+    private final double maxAltitude;
+
+    /** Altitude step (m). */
+    private final double altitudeStep;
+
+    /** Latitude step (rad). */
+    private final double latitudeStep;
+
+    /** Hour angle step (rad). */
+    private final double hourAngleStep;
+
+    /** Buckets duration (s). */
+    private final double bucketDuration;
+
+    /** Interpolation order. */
+    private final int order;
+
+    /** Maximum number of buckets. */
+    private final int maxBuckets;
+
+    /** Number of altitude nodes. */
+    private final int nAltitude;
+
+    /** Number of latitude nodes. */
+    private final int nLatitude;
+
+    /** Number of hour angle nodes. */
+    private final int nHourAngle;
+
+    /** Buckets, indexed by number of bucket durations since J2000.0. */
+    private final transient Map<Long, Bucket> buckets;
+
+    /** Number of underlying model evaluations at grid nodes. */
+    private final transient AtomicLong evaluatedNodes;
+
+    /** Simple constructor.
+     * <p>
+     * Latitude and hour angle steps are slightly reduced if needed so they
+     * divide exactly the latitude range and the full circle.
+     * </p>
+     * @param atmosphere underlying atmosphere model
+     * @param shape body shape, used to compute altitude and latitude
+     * @param sun Sun, used to compute local solar time
+     * @param minAltitude minimum altitude of the grid (m)
+     * @param maxAltitude maximum altitude of the grid (m)
+     * @param altitudeStep altitude step (m)
+     * @param latitudeStep latitude step (rad)
+     * @param hourAngleStep local solar time step, as an hour angle (rad)
+     * @param bucketDuration duration of time buckets during which the underlying
+     * model inputs are held fixed (s)
+     * @param order interpolation order on each axis (1 for linear interpolation)
+     * @param maxBuckets maximum number of buckets kept in memory
+     */
+    public GriddedAtmosphere(final Atmosphere atmosphere, final BodyShape shape,
+                             final PVCoordinatesProvider sun,
+                             final double minAltitude, final double maxAltitude,
+                             final double altitudeStep, final double latitudeStep,
+                             final double hourAngleStep, final double bucketDuration,
+                             final int order, final int maxBuckets) {
+
+        checkPositive(altitudeStep);
+        checkPositive(latitudeStep);
+        checkPositive(hourAngleStep);
+        checkPositive(bucketDuration);
+        if (order < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, order, 1);
+        }
+        if (maxBuckets < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxBuckets, 1);
+        }
+
+        this.atmosphere     = atmosphere;
+        this.shape          = shape;
+        this.sun            = sun;
+        this.minAltitude    = minAltitude;
+        this.altitudeStep   = altitudeStep;
+        this.bucketDuration = bucketDuration;
+        this.order          = order;
+        this.maxBuckets     = maxBuckets;
+
+        this.nAltitude      = 1 + (int) FastMath.ceil((maxAltitude - minAltitude) / altitudeStep);
+        this.maxAltitude    = minAltitude + (nAltitude - 1) * altitudeStep;
+        this.nLatitude      = 1 + (int) FastMath.ceil(FastMath.PI / latitudeStep);
+        this.latitudeStep   = FastMath.PI / (nLatitude - 1);
+        this.nHourAngle     = (int) FastMath.ceil(MathUtils.TWO_PI / hourAngleStep);
+        this.hourAngleStep  = MathUtils.TWO_PI / nHourAngle;
+        final int minNodes  = FastMath.min(nAltitude, FastMath.min(nLatitude, nHourAngle));
+        if (minNodes <= order) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     minNodes, order + 1);
+        }
+
+        this.buckets        = new LinkedHashMap<Long, Bucket>(maxBuckets, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20181016L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Bucket> eldest) {
+                return size() > GriddedAtmosphere.this.maxBuckets;
+            }
+
+        };
+        this.evaluatedNodes = new AtomicLong();
+
+    }
+
+    /** Check a step is strictly positive.
+     * @param step step to check
+     */
+    private static void checkPositive(final double step) {
+        if (!(step > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0);
+        }
+    }
+
+    /** Get the underlying atmosphere model.
+     * @return underlying atmosphere model
+     */
+    public Atmosphere getUnderlyingAtmosphere() {
+        return atmosphere;
+    }
+
+    /** Get the minimum altitude of the grid.
+     * @return minimum altitude of the grid (m)
+     */
+    public double getMinAltitude() {
+        return minAltitude;
+    }
+
+    /** Get the maximum altitude of the grid.
+     * @return maximum altitude of the grid (m)
+     */
+    public double getMaxAltitude() {
+        return maxAltitude;
+    }
+
+    /** Get the number of underlying model evaluations at grid nodes.
+     * @return number of underlying model evaluations at grid nodes
+     */
+    public long getEvaluatedNodes() {
+        return evaluatedNodes.get();
+    }
+
+    /** Clear all cached buckets.
+     */
+    public void clearCache() {
+        synchronized (buckets) {
+            buckets.clear();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return atmosphere.getFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame)
+        throws OrekitException {
+
+        final GeodeticPoint gp = shape.transform(position, frame, date);
+        if (gp.getAltitude() < minAltitude || gp.getAltitude() > maxAltitude) {
+            // outside of grid
+            return atmosphere.getDensity(date, position, frame);
+        }
+
+        final Bucket bucket = getBucket(date);
+        final double hourAngle = MathUtils.normalizeAngle(gp.getLongitude() - bucket.getSunLongitude(date),
+                                                          FastMath.PI);
+
+        // interpolation points and weights along each axis
+        final int      n         = order + 1;
+        final double[] wAlt      = new double[n];
+        final double[] wLat      = new double[n];
+        final double[] wHA       = new double[n];
+        final int      iAlt      = weights((gp.getAltitude() - minAltitude) / altitudeStep, nAltitude, false, wAlt);
+        final int      iLat      = weights((gp.getLatitude() + 0.5 * FastMath.PI) / latitudeStep, nLatitude, false, wLat);
+        final int      iHA       = weights(hourAngle / hourAngleStep, nHourAngle, true, wHA);
+
+        double logRho = 0;
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                final double wij = wAlt[i] * wLat[j];
+                for (int k = 0; k < n; ++k) {
+                    logRho += wij * wHA[k] * bucket.getNode(iAlt + i, iLat + j, (iHA + k) % nHourAngle);
+                }
+            }
+        }
+
+        return FastMath.exp(logRho);
+
+    }
+
+    /** Compute Lagrange interpolation weights along one axis.
+     * @param u normalized coordinate (in grid steps from first node)
+     * @param nodes number of nodes along the axis
+     * @param periodic if true, the axis is periodic
+     * @param w placeholder for the weights
+     * @return index of the first interpolation node (on periodic axes, the
+     * following nodes indices must be wrapped)
+     */
+    private int weights(final double u, final int nodes, final boolean periodic, final double[] w) {
+
+        int i0 = (int) FastMath.floor(u - 0.5 * (order - 1));
+        if (!periodic) {
+            i0 = FastMath.max(0, FastMath.min(nodes - 1 - order, i0));
+        }
+
+        // coordinate relative to first interpolation node
+        final double x = u - i0;
+
+        for (int j = 0; j <= order; ++j) {
+            double wj = 1;
+            for (int k = 0; k <= order; ++k) {
+                if (k != j) {
+                    wj *= (x - k) / (j - k);
+                }
+            }
+            w[j] = wj;
+        }
+
+        // wrap periodic index
+        return periodic ? (i0 + nodes) % nodes : i0;
+
+    }
+
+    /** Get the bucket containing a date.
+     * @param date date
+     * @return bucket containing the date
+     * @exception OrekitException if Sun position cannot be computed
+     */
+    private Bucket getBucket(final AbsoluteDate date) throws OrekitException {
+        final long index = (long) FastMath.floor(date.durationFrom(AbsoluteDate.J2000_EPOCH) / bucketDuration);
+        synchronized (buckets) {
+            Bucket bucket = buckets.get(index);
+            if (bucket == null) {
+                bucket = new Bucket(AbsoluteDate.J2000_EPOCH.shiftedBy((index + 0.5) * bucketDuration));
+                buckets.put(index, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * This method is delegated to the underlying model.
+     * </p>
+     */
+    @Override
+    public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                        final FieldVector3D<T> position,
+                                                        final Frame frame)
+        throws OrekitException {
+        return atmosphere.getDensity(date, position, frame);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D getVelocity(final AbsoluteDate date, final Vector3D position, final Frame frame)
+        throws OrekitException {
+        return atmosphere.getVelocity(date, position, frame);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> FieldVector3D<T> getVelocity(final FieldAbsoluteDate<T> date,
+                                                                        final FieldVector3D<T> position,
+                                                                        final Frame frame)
+        throws OrekitException {
+        return atmosphere.getVelocity(date, position, frame);
+    }
+
+    /** Replace the instance with a fresh one with empty cache upon deserialization.
+     * @return fresh instance with empty cache
+     */
+    private Object readResolve() {
+        return new GriddedAtmosphere(atmosphere, shape, sun,
+                                     minAltitude, maxAltitude, altitudeStep, latitudeStep,
+                                     hourAngleStep, bucketDuration, order, maxBuckets);
+    }
+
+    /** Grid for one time bucket. */
+    private class Bucket {
+
+        /** Reference date at which the underlying model is evaluated. */
+        private final AbsoluteDate date;
+
+        /** Sun longitude in body frame at reference date. */
+        private final double sunLongitude;
+
+        /** Sun longitude rate in body frame. */
+        private final double sunLongitudeRate;
+
+        /** Logarithm of density at nodes (NaN for nodes not evaluated yet). */
+        private final double[] logRho;
+
+        /** Simple constructor.
+         * @param date reference date at which the underlying model is evaluated
+         * @exception OrekitException if Sun position cannot be computed
+         */
+        Bucket(final AbsoluteDate date) throws OrekitException {
+            final PVCoordinates pv = sun.getPVCoordinates(date, shape.getBodyFrame());
+            final double x  = pv.getPosition().getX();
+            final double y  = pv.getPosition().getY();
+            this.date             = date;
+            this.sunLongitude     = FastMath.atan2(y, x);
+            this.sunLongitudeRate = (x * pv.getVelocity().getY() - y * pv.getVelocity().getX()) /
+                                    (x * x + y * y);
+            this.logRho           = new double[nAltitude * nLatitude * nHourAngle];
+            Arrays.fill(logRho, Double.NaN);
+        }
+
+        /** Get Sun longitude.
+         * @param t date, which should be in the bucket
+         * @return Sun longitude in body frame at date
+         */
+        double getSunLongitude(final AbsoluteDate t) {
+            return sunLongitude + sunLongitudeRate * t.durationFrom(date);
+        }
+
+        /** Get the logarithm of density at one node, evaluating it if needed.
+         * @param iAlt altitude index
+         * @param iLat latitude index
+         * @param iHA hour angle index
+         * @return logarithm of density at node
+         * @exception OrekitException if underlying model cannot be evaluated
+         */
+        synchronized double getNode(final int iAlt, final int iLat, final int iHA)
+            throws OrekitException {
+            final int index = (iAlt * nLatitude + iLat) * nHourAngle + iHA;
+            double value = logRho[index];
+            if (Double.isNaN(value)) {
+                final GeodeticPoint node =
+                                new GeodeticPoint(iLat * latitudeStep - 0.5 * FastMath.PI,
+                                                  sunLongitude + iHA * hourAngleStep,
+                                                  minAltitude + iAlt * altitudeStep);
+                value = FastMath.log(atmosphere.getDensity(date, shape.transform(node), shape.getBodyFrame()));
+                logRho[index] = value;
+                evaluatedNodes.incrementAndGet();
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -17,6 +17,8 @@
 package org.orekit.forces.drag.atmosphere;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
@@ -993,6 +995,17 @@ public class NRLMSISE00 implements Atmosphere {
         }
     };
 
+    /** Thermal diffusion coefficients for species. */
+    private static final double[] ALPHA = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
+
+    /** Altitude limits for net density computation for species. */
+    private static final double[] ALTL  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
+
+    /** Per-thread cache for day of year dependent terms.
+     * @since 9.3
+     */
+    private static final ThreadLocal<DayTerms> DAY_TERMS = ThreadLocal.withInitial(DayTerms::new);
+
     /**  NRLMSISE-00 data: MIDDLE ATMOSPHERE AVERAGES pavgm[10]. */
     private static final double[] PAVGM = {
         2.61000e+02, 2.64000e+02, 2.29000e+02, 2.17000e+02, 2.17000e+02,
@@ -1016,6 +1029,11 @@ public class NRLMSISE00 implements Atmosphere {
     /** Switches for cross effects. */
     private final int[] swc;
 
+    /** Per-thread workspaces for the primitive double computation.
+     * @since 9.3
+     */
+    private final transient ThreadLocal<Output> workspaces;
+
     /** Constructor.
      * <p>
      * The model is constructed with all switches set to 1.
@@ -1060,6 +1078,17 @@ public class NRLMSISE00 implements Atmosphere {
         this.earth       = earth;
         this.sw          = sw;
         this.swc         = swc;
+        // the workspaces do not reference the model instance, so they do not prevent
+        // it from being garbage collected when it is not used anymore
+        this.workspaces  = ThreadLocal.withInitial(() -> new Output(sw, swc));
+    }
+
+    /** Replace the instance with a fresh one with empty workspaces upon deserialization.
+     * @return fresh instance with empty workspaces
+     * @since 9.3
+     */
+    private Object readResolve() {
+        return new NRLMSISE00(inputParams, sun, earth, sw, swc);
     }
 
     /** Change a switch.
@@ -1139,9 +1168,10 @@ public class NRLMSISE00 implements Atmosphere {
         // compute local solar time
         final double lst = localSolarTime(date, position, frame);
 
-        // get solar activity data and compute
-        final Output out = new Output(doy, sec, lat, lon, lst, inputParams.getAverageFlux(date),
-                                      inputParams.getDailyFlux(date), inputParams.getAp(date));
+        // get solar activity data and compute, reusing the thread workspace
+        final Output out = workspaces.get();
+        out.reset(doy, sec, lat, lon, lst, inputParams.getAverageFlux(date),
+                  inputParams.getDailyFlux(date), inputParams.getAp(date));
         out.gtd7d(alt);
 
         // return the local density
@@ -1261,28 +1291,34 @@ public class NRLMSISE00 implements Atmosphere {
      * The 120 km gradient is left at global average value for altitudes below 72 km.
      * </p>
      */
-    private class Output {
+    private static class Output {
+
+        /** Switches for main effects. */
+        private final int[] sw;
+
+        /** Switches for cross effects. */
+        private final int[] swc;
 
         /** Day of year (from 1 to 365 or 366). */
-        private final int doy;
+        private int doy;
 
         /** Seconds in day (UT scale). */
-        private final double sec;
+        private double sec;
 
         /** Geodetic latitude (°). */
-        private final double lat;
+        private double lat;
 
         /** Geodetic longitude (°). */
-        private final double lon;
+        private double lon;
 
         /** Local apparent solar time (hours). */
-        private final double hl;
+        private double hl;
 
         /** 81 day average of F10.7 flux (centered on day). */
-        private final double f107a;
+        private double f107a;
 
         /** Daily F10.7 flux for previous day. */
-        private final double f107;
+        private double f107;
 
         /** Array containing:
         *  <ul>
@@ -1297,10 +1333,10 @@ public class NRLMSISE00 implements Atmosphere {
         private final double[] ap;
 
         /** Gravity at latitude (cm/s2). */
-        private final double glat;
+        private double glat;
 
         /** Effective Earth radius at latitude (km). */
-        private final double rlat;
+        private double rlat;
 
         /** N2 mixed density at alt. */
         private double dm28;
@@ -1309,17 +1345,17 @@ public class NRLMSISE00 implements Atmosphere {
         private final double[][] plg;
 
         /** Cosinus of local solar time. */
-        private final double ctloc;
+        private double ctloc;
         /** Sinus of local solar time. */
-        private final double stloc;
+        private double stloc;
         /** Square of ctloc. */
-        private final double c2tloc;
+        private double c2tloc;
         /** Square of stloc. */
-        private final double s2tloc;
+        private double s2tloc;
         /** Cube of ctloc. */
-        private final double c3tloc;
+        private double c3tloc;
         /** Cube of stloc. */
-        private final double s3tloc;
+        private double s3tloc;
 
         /** Magnetic activity based on daily ap. */
         private double apdf;
@@ -1351,7 +1387,96 @@ public class NRLMSISE00 implements Atmosphere {
         /** Temperatures. */
         private final double[] temperatures;
 
+        /** Latitude for which Legendre polynomials were computed (°). */
+        private double plgLat;
+
+        /** Local solar time for which harmonics were computed (hours). */
+        private double tlocHl;
+
+        /** Cache for day of year dependent terms. */
+        private final DayTerms dayTerms;
+
+        /** Scratch array for globe7 and glob7s terms. */
+        private final double[] terms;
+
+        /** Scratch array for spline nodes abscissas on ZN1 scale. */
+        private final double[] xs1;
+
+        /** Scratch array for spline nodes ordinates on ZN1 scale. */
+        private final double[] ys1;
+
+        /** Scratch array for spline second derivatives on ZN1 scale. */
+        private final double[] y2s1;
+
+        /** Scratch array for spline nodes abscissas on ZN2 scale. */
+        private final double[] xs2;
+
+        /** Scratch array for spline nodes ordinates on ZN2 scale. */
+        private final double[] ys2;
+
+        /** Scratch array for spline second derivatives on ZN2 scale. */
+        private final double[] y2s2;
+
+        /** Scratch array for spline nodes abscissas on ZN3 scale. */
+        private final double[] xs3;
+
+        /** Scratch array for spline nodes ordinates on ZN3 scale. */
+        private final double[] ys3;
+
+        /** Scratch array for spline second derivatives on ZN3 scale. */
+        private final double[] y2s3;
+
+        /** Scratch array for spline decomposition. */
+        private final double[] splineU;
+
+        /** Create a workspace with all buffers allocated.
+         * <p>
+         * The {@link #reset(int, double, double, double, double, double, double, double[])
+         * reset} method must be called before any computation.
+         * </p>
+         * @param sw switches for main effects
+         * @param swc switches for cross effects
+         * @since 9.3
+         */
+        Output(final int[] sw, final int[] swc) {
+
+            this.sw        = sw;
+            this.swc       = swc;
+
+            this.ap        = new double[7];
+            this.plg       = new double[4][8];
+
+            this.meso_tn1  = new double[ZN1.length];
+            this.meso_tn2  = new double[ZN2.length];
+            this.meso_tn3  = new double[ZN3.length];
+            this.meso_tgn1 = new double[2];
+            this.meso_tgn2 = new double[2];
+            this.meso_tgn3 = new double[2];
+
+            this.densities    = new double[9];
+            this.temperatures = new double[2];
+
+            this.plgLat    = Double.NaN;
+            this.tlocHl    = Double.NaN;
+            this.dayTerms  = DAY_TERMS.get();
+            this.terms     = new double[14];
+            this.xs1       = new double[ZN1.length];
+            this.ys1       = new double[ZN1.length];
+            this.y2s1      = new double[ZN1.length];
+            this.xs2       = new double[ZN2.length];
+            this.ys2       = new double[ZN2.length];
+            this.y2s2      = new double[ZN2.length];
+            this.xs3       = new double[ZN3.length];
+            this.ys3       = new double[ZN3.length];
+            this.y2s3      = new double[ZN3.length];
+            this.splineU   = new double[FastMath.max(ZN1.length, FastMath.max(ZN2.length, ZN3.length))];
+
+        }
+
+
         /** Simple constructor.
+         *  @param sw switches for main effects
+         *  @param swc switches for cross effects
          *  @param doy day of year (from 1 to 365 or 366)
          *  @param sec seconds in day (UT scale)
          *  @param lat geodetic latitude (°)
@@ -1370,88 +1495,118 @@ public class NRLMSISE00 implements Atmosphere {
          *  <li>6: average of eight 3 hr ap indices from 36 to 57 hrs prior to current time</li>
          *  </ul>
          */
-        Output(final int doy, final double sec,
+        Output(final int[] sw, final int[] swc, final int doy, final double sec,
                final double lat, final double lon, final double hl,
                final double f107a, final double f107, final double[] ap) {
+            this(sw, swc);
+            reset(doy, sec, lat, lon, hl, f107a, f107, ap);
+        }
 
-            this.doy   = doy;
-            this.sec   = sec;
-            this.lat   = lat;
-            this.lon   = lon;
-            this.hl    = hl;
-            this.f107a = f107a;
-            this.f107  = f107;
-            this.ap    = ap.clone();
-
-            this.plg       = new double[4][8];
-
-            this.meso_tn1  = new double[ZN1.length];
-            this.meso_tn2  = new double[ZN2.length];
-            this.meso_tn3  = new double[ZN3.length];
-            this.meso_tgn1 = new double[2];
-            this.meso_tgn2 = new double[2];
-            this.meso_tgn3 = new double[2];
-
-            densities       = new double[9];
-            temperatures    = new double[2];
-
-            // Calculates latitude variable gravity and effective radius
-            final double xlat = (sw[2] == 0) ? LAT_REF : lat;
-            final double c2   = FastMath.cos(2 * DEG_TO_RAD * xlat);
-            glat = G_REF * (1. - .0026373 * c2);
-            rlat = 2. * glat / (3.085462e-6 + 2.27e-9 * c2) * 1.e-5;
-
-            // Convert latitude into radians
-            final double latr = DEG_TO_RAD * lat;
-
-            // Calculate legendre polynomials
-            final double c = FastMath.sin(latr);
-            final double s = FastMath.cos(latr);
-
-            plg[0][1] = c;
-            plg[0][2] = ( 3.0 * c * plg[0][1] - 1.0) / 2.0;
-            plg[0][3] = ( 5.0 * c * plg[0][2] - 2.0 * plg[0][1]) / 3.0;
-            plg[0][4] = ( 7.0 * c * plg[0][3] - 3.0 * plg[0][2]) / 4.0;
-            plg[0][5] = ( 9.0 * c * plg[0][4] - 4.0 * plg[0][3]) / 5.0;
-            plg[0][6] = (11.0 * c * plg[0][5] - 5.0 * plg[0][4]) / 6.0;
-
-            plg[1][1] = s;
-            plg[1][2] =   3.0 * c * plg[1][1];
-            plg[1][3] = ( 5.0 * c * plg[1][2] - 3.0 * plg[1][1]) / 2.0;
-            plg[1][4] = ( 7.0 * c * plg[1][3] - 4.0 * plg[1][2]) / 3.0;
-            plg[1][5] = ( 9.0 * c * plg[1][4] - 5.0 * plg[1][3]) / 4.0;
-            plg[1][6] = (11.0 * c * plg[1][5] - 6.0 * plg[1][4]) / 5.0;
-
-            plg[2][2] = 3.0 * s * plg[1][1];
-            plg[2][3] =   5.0 * c * plg[2][2];
-            plg[2][4] = ( 7.0 * c * plg[2][3] - 5.0 * plg[2][2]) / 2.0;
-            plg[2][5] = ( 9.0 * c * plg[2][4] - 6.0 * plg[2][3]) / 3.0;
-            plg[2][6] = (11.0 * c * plg[2][5] - 7.0 * plg[2][4]) / 4.0;
-            plg[2][7] = (13.0 * c * plg[2][6] - 8.0 * plg[2][5]) / 5.0;
-
-            plg[3][3] = 5.0 * s * plg[2][2];
-            plg[3][4] =   7.0 * c * plg[3][3];
-            plg[3][5] = ( 9.0 * c * plg[3][4] - 7.0 * plg[3][3]) / 2.0;
-            plg[3][6] = (11.0 * c * plg[3][5] - 8.0 * plg[3][4]) / 3.0;
+        /** Reset the workspace for a new computation.
+         * <p>
+         * Legendre polynomials and local time harmonics are recomputed only
+         * if latitude or local solar time changed since the previous call.
+         * </p>
+         *  @param newDoy day of year (from 1 to 365 or 366)
+         *  @param newSec seconds in day (UT scale)
+         *  @param newLat geodetic latitude (°)
+         *  @param newLon geodetic longitude (°)
+         *  @param newHl local apparent solar time (hours)
+         *  @param newF107a 81 day average of F10.7 flux (centered on day)
+         *  @param newF107 daily F10.7 flux for previous day
+         *  @param newAp array containing magnetic indices (see constructor)
+         * @since 9.3
+         */
+        void reset(final int newDoy, final double newSec,
+                   final double newLat, final double newLon, final double newHl,
+                   final double newF107a, final double newF107, final double[] newAp) {
+
+            this.doy   = newDoy;
+            this.sec   = newSec;
+            this.lat   = newLat;
+            this.lon   = newLon;
+            this.hl    = newHl;
+            this.f107a = newF107a;
+            this.f107  = newF107;
+            System.arraycopy(newAp, 0, this.ap, 0, ap.length);
+
+            this.dm28 = 0;
+            this.apdf = 0;
+            this.apt  = 0;
+            Arrays.fill(meso_tn1,  0.0);
+            Arrays.fill(meso_tn2,  0.0);
+            Arrays.fill(meso_tn3,  0.0);
+            Arrays.fill(meso_tgn1, 0.0);
+            Arrays.fill(meso_tgn2, 0.0);
+            Arrays.fill(meso_tgn3, 0.0);
+            Arrays.fill(densities,    0.0);
+            Arrays.fill(temperatures, 0.0);
+
+            if (lat != plgLat) {
+                plgLat = lat;
+
+                // Calculates latitude variable gravity and effective radius
+                final double xlat = (sw[2] == 0) ? LAT_REF : lat;
+                final double c2   = FastMath.cos(2 * DEG_TO_RAD * xlat);
+                glat = G_REF * (1. - .0026373 * c2);
+                rlat = 2. * glat / (3.085462e-6 + 2.27e-9 * c2) * 1.e-5;
+
+                // Convert latitude into radians
+                final double latr = DEG_TO_RAD * lat;
+
+                // Calculate legendre polynomials
+                final double c = FastMath.sin(latr);
+                final double s = FastMath.cos(latr);
+
+                plg[0][1] = c;
+                plg[0][2] = ( 3.0 * c * plg[0][1] - 1.0) / 2.0;
+                plg[0][3] = ( 5.0 * c * plg[0][2] - 2.0 * plg[0][1]) / 3.0;
+                plg[0][4] = ( 7.0 * c * plg[0][3] - 3.0 * plg[0][2]) / 4.0;
+                plg[0][5] = ( 9.0 * c * plg[0][4] - 4.0 * plg[0][3]) / 5.0;
+                plg[0][6] = (11.0 * c * plg[0][5] - 5.0 * plg[0][4]) / 6.0;
+
+                plg[1][1] = s;
+                plg[1][2] =   3.0 * c * plg[1][1];
+                plg[1][3] = ( 5.0 * c * plg[1][2] - 3.0 * plg[1][1]) / 2.0;
+                plg[1][4] = ( 7.0 * c * plg[1][3] - 4.0 * plg[1][2]) / 3.0;
+                plg[1][5] = ( 9.0 * c * plg[1][4] - 5.0 * plg[1][3]) / 4.0;
+                plg[1][6] = (11.0 * c * plg[1][5] - 6.0 * plg[1][4]) / 5.0;
+
+                plg[2][2] = 3.0 * s * plg[1][1];
+                plg[2][3] =   5.0 * c * plg[2][2];
+                plg[2][4] = ( 7.0 * c * plg[2][3] - 5.0 * plg[2][2]) / 2.0;
+                plg[2][5] = ( 9.0 * c * plg[2][4] - 6.0 * plg[2][3]) / 3.0;
+                plg[2][6] = (11.0 * c * plg[2][5] - 7.0 * plg[2][4]) / 4.0;
+                plg[2][7] = (13.0 * c * plg[2][6] - 8.0 * plg[2][5]) / 5.0;
+
+                plg[3][3] = 5.0 * s * plg[2][2];
+                plg[3][4] =   7.0 * c * plg[3][3];
+                plg[3][5] = ( 9.0 * c * plg[3][4] - 7.0 * plg[3][3]) / 2.0;
+                plg[3][6] = (11.0 * c * plg[3][5] - 8.0 * plg[3][4]) / 3.0;
+            }
 
-            // Calculate additional data
-            if (!(sw[7] == 0 && sw[8] == 0 && sw[14] == 0)) {
-                final double tloc = HOUR_TO_RAD * hl;
-                final double tlx2 = tloc + tloc;
-                final double tlx3 = tloc + tlx2;
-                stloc  = FastMath.sin(tloc);
-                ctloc  = FastMath.cos(tloc);
-                s2tloc = FastMath.sin(tlx2);
-                c2tloc = FastMath.cos(tlx2);
-                s3tloc = FastMath.sin(tlx3);
-                c3tloc = FastMath.cos(tlx3);
-            } else {
-                stloc  = 0;
-                ctloc  = 0;
-                s2tloc = 0;
-                c2tloc = 0;
-                s3tloc = 0;
-                c3tloc = 0;
+            if (hl != tlocHl) {
+                tlocHl = hl;
+
+                // Calculate additional data
+                if (!(sw[7] == 0 && sw[8] == 0 && sw[14] == 0)) {
+                    final double tloc = HOUR_TO_RAD * hl;
+                    final double tlx2 = tloc + tloc;
+                    final double tlx3 = tloc + tlx2;
+                    stloc  = FastMath.sin(tloc);
+                    ctloc  = FastMath.cos(tloc);
+                    s2tloc = FastMath.sin(tlx2);
+                    c2tloc = FastMath.cos(tlx2);
+                    s3tloc = FastMath.sin(tlx3);
+                    c3tloc = FastMath.cos(tlx3);
+                } else {
+                    stloc  = 0;
+                    ctloc  = 0;
+                    s2tloc = 0;
+                    c2tloc = 0;
+                    s3tloc = 0;
+                    c3tloc = 0;
+                }
             }
 
         }
@@ -1482,10 +1637,6 @@ public class NRLMSISE00 implements Atmosphere {
          */
         void gts7(final double alt) {
 
-            // Thermal diffusion coefficients for species
-            final double[] alpha = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
-            // Altitude limits for net density computation for species
-            final double[] altl  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
             // N2 mixed density
             final double xmm = PDM[2][4];
 
@@ -1535,7 +1686,7 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final double db28 = PDM[2][0] * FastMath.exp(g28) * PD[2][0];
             /* Diffusive density at Alt */
-            double diffusiveDensity = densu(alt, db28, tinf, tlb, N2_MASS, alpha[2], PTM[5], s);
+            double diffusiveDensity = densu(alt, db28, tinf, tlb, N2_MASS, ALPHA[2], PTM[5], s);
             setDensity(MOLECULAR_NITROGEN, diffusiveDensity);
             // Variation of turbopause height
             final double zhf = PDL[1][24] * (1.0 + sw[5] * PDL[0][24] *
@@ -1545,10 +1696,10 @@ public class NRLMSISE00 implements Atmosphere {
             final double zh28  = PDM[2][2] * zhf;
             final double zhm28 = PDM[2][3] * PDL[1][5];
             /* Mixed density at Zlb */
-            final double b28 = densu(zh28, db28, tinf, tlb, N2_MASS - xmm, alpha[2] - 1.0, PTM[5], s);
-            if (sw[15] != 0 && alt <= altl[2]) {
+            final double b28 = densu(zh28, db28, tinf, tlb, N2_MASS - xmm, ALPHA[2] - 1.0, PTM[5], s);
+            if (sw[15] != 0 && alt <= ALTL[2]) {
                 /*  Mixed density at Alt */
-                dm28 = densu(alt, b28, tinf, tlb, xmm, alpha[2], PTM[5], s);
+                dm28 = densu(alt, b28, tinf, tlb, xmm, ALPHA[2], PTM[5], s);
                 /*  Net density at Alt */
                 setDensity(MOLECULAR_NITROGEN, dnet(diffusiveDensity, dm28, zhm28, xmm, N2_MASS));
             }
@@ -1559,13 +1710,13 @@ public class NRLMSISE00 implements Atmosphere {
             /*  Diffusive density at Zlb */
             final double db04 = PDM[0][0] * FastMath.exp(g4) * PD[0][0];
             /*  Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db04, tinf, tlb, HE_MASS, alpha[0], PTM[5], s);
+            diffusiveDensity = densu(alt, db04, tinf, tlb, HE_MASS, ALPHA[0], PTM[5], s);
             setDensity(HELIUM, diffusiveDensity);
-            if (sw[15] != 0 && alt < altl[0]) {
+            if (sw[15] != 0 && alt < ALTL[0]) {
                 /*  Turbopause */
                 final double zh04 = PDM[0][2];
                 /*  Mixed density at Zlb */
-                final double b04 = densu(zh04, db04, tinf, tlb, HE_MASS - xmm, alpha[0] - 1., PTM[5], s);
+                final double b04 = densu(zh04, db04, tinf, tlb, HE_MASS - xmm, ALPHA[0] - 1., PTM[5], s);
                 /*  Mixed density at Alt */
                 final double dm04 = densu(alt, b04, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm04 = zhm28;
@@ -1585,13 +1736,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final double db16 = PDM[1][0] * FastMath.exp(g16) * PD[1][0];
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db16, tinf, tlb, O_MASS, alpha[1], PTM[5], s);
+            diffusiveDensity = densu(alt, db16, tinf, tlb, O_MASS, ALPHA[1], PTM[5], s);
             setDensity(ATOMIC_OXYGEN, diffusiveDensity);
-            if (sw[15] != 0 && alt < altl[1]) {
+            if (sw[15] != 0 && alt < ALTL[1]) {
                 /* Turbopause */
                 final double zh16 = PDM[1][2];
                 /* Mixed density at Zlb */
-                final double b16 = densu(zh16, db16, tinf, tlb, O_MASS - xmm, alpha[1] - 1.0, PTM[5], s);
+                final double b16 = densu(zh16, db16, tinf, tlb, O_MASS - xmm, ALPHA[1] - 1.0, PTM[5], s);
                 /* Mixed density at Alt */
                 final double dm16 = densu(alt, b16, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm16 = zhm28;
@@ -1616,14 +1767,14 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final double db32 = PDM[3][0] * FastMath.exp(g32) * PD[4][0];
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db32, tinf, tlb, O2_MASS, alpha[3], PTM[5], s);
+            diffusiveDensity = densu(alt, db32, tinf, tlb, O2_MASS, ALPHA[3], PTM[5], s);
             setDensity(MOLECULAR_OXYGEN, diffusiveDensity);
             if (sw[15] != 0) {
-                if (alt <= altl[3]) {
+                if (alt <= ALTL[3]) {
                     /* Turbopause */
                     final double zh32 = PDM[3][2];
                     /* Mixed density at Zlb */
-                    final double b32 = densu(zh32, db32, tinf, tlb, O2_MASS - xmm, alpha[3] - 1., PTM[5], s);
+                    final double b32 = densu(zh32, db32, tinf, tlb, O2_MASS - xmm, ALPHA[3] - 1., PTM[5], s);
                     /* Mixed density at Alt */
                     final double dm32 = densu(alt, b32, tinf, tlb, xmm, 0., PTM[5], s);
                     final double zhm32 = zhm28;
@@ -1650,13 +1801,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final double db40 = PDM[4][0] * FastMath.exp(g40) * PD[5][0];
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db40, tinf, tlb, AR_MASS, alpha[4], PTM[5], s);
+            diffusiveDensity = densu(alt, db40, tinf, tlb, AR_MASS, ALPHA[4], PTM[5], s);
             setDensity(ARGON, diffusiveDensity);
-            if (sw[15] != 0 && alt <= altl[4]) {
+            if (sw[15] != 0 && alt <= ALTL[4]) {
                 /* Turbopause */
                 final double zh40 = PDM[4][2];
                 /* Mixed density at Zlb */
-                final double b40 = densu(zh40, db40, tinf, tlb, AR_MASS - xmm, alpha[4] - 1., PTM[5], s);
+                final double b40 = densu(zh40, db40, tinf, tlb, AR_MASS - xmm, ALPHA[4] - 1., PTM[5], s);
                 /* Mixed density at Alt */
                 final double dm40 = densu(alt, b40, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm40 = zhm28;
@@ -1676,13 +1827,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final double db01 = PDM[5][0] * FastMath.exp(g1) * PD[6][0];
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db01, tinf, tlb, H_MASS, alpha[6], PTM[5], s);
+            diffusiveDensity = densu(alt, db01, tinf, tlb, H_MASS, ALPHA[6], PTM[5], s);
             setDensity(HYDROGEN, diffusiveDensity);
-            if (sw[15] != 0 && alt <= altl[6]) {
+            if (sw[15] != 0 && alt <= ALTL[6]) {
                 /* Turbopause */
                 final double zh01 = PDM[5][2];
                 /* Mixed density at Zlb */
-                final double b01 = densu(zh01, db01, tinf, tlb, H_MASS - xmm, alpha[6] - 1., PTM[5], s);
+                final double b01 = densu(zh01, db01, tinf, tlb, H_MASS - xmm, ALPHA[6] - 1., PTM[5], s);
                 /* Mixed density at Alt */
                 final double dm01 = densu(alt, b01, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm01 = zhm28;
@@ -1707,13 +1858,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final double db14 = PDM[6][0] * FastMath.exp(g14) * PD[7][0];
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db14, tinf, tlb, N_MASS, alpha[7], PTM[5], s);
+            diffusiveDensity = densu(alt, db14, tinf, tlb, N_MASS, ALPHA[7], PTM[5], s);
             setDensity(ATOMIC_NITROGEN, diffusiveDensity);
-            if (sw[15] != 0 && alt <= altl[7]) {
+            if (sw[15] != 0 && alt <= ALTL[7]) {
                 /* Turbopause */
                 final double zh14 = PDM[6][2];
                 /* Mixed density at Zlb */
-                final double b14 = densu(zh14, db14, tinf, tlb, N_MASS - xmm, alpha[7] - 1., PTM[5], s);
+                final double b14 = densu(zh14, db14, tinf, tlb, N_MASS - xmm, ALPHA[7] - 1., PTM[5], s);
                 /* Mixed density at Alt */
                 final double dm14 = densu(alt, b14, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm14 = zhm28;
@@ -1736,7 +1887,7 @@ public class NRLMSISE00 implements Atmosphere {
             final double g16h  = sw[21] * globe7(PD[8]);
             final double db16h = PDM[7][0] * FastMath.exp(g16h) * PD[8][0];
             final double tho   = PDM[7][9] * PDL[0][6];
-            diffusiveDensity = densu(alt, db16h, tho, tho, O_MASS, alpha[8], PTM[5], s);
+            diffusiveDensity = densu(alt, db16h, tho, tho, O_MASS, ALPHA[8], PTM[5], s);
             final double zsht = PDM[7][5];
             final double zmho = PDM[7][4];
             final double zsho = scalh(zmho, O_MASS, tho);
@@ -1957,41 +2108,42 @@ public class NRLMSISE00 implements Atmosphere {
          */
         private double globe7(final double[] p) {
 
-            final double[] t = new double[14];
-            final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
-            final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
-            final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
-            final double cd39 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[38]));
+            Arrays.fill(terms, 0.0);
+            final double[] cd = dayTerms.get(doy, p);
+            final double cd32 = cd[0];
+            final double cd18 = cd[1];
+            final double cd14 = cd[2];
+            final double cd39 = cd[3];
 
             // F10.7 effect
             final double df  = f107  - f107a;
             final double dfa = f107a - FLUX_REF;
-            t[0] = p[19] * df * (1.0 + p[59] * dfa) + p[20] * df * df + p[21] * dfa + p[29] * dfa * dfa;
+            terms[0] = p[19] * df * (1.0 + p[59] * dfa) + p[20] * df * df + p[21] * dfa + p[29] * dfa * dfa;
 
             final double f1 = 1.0 + (p[47] * dfa + p[19] * df + p[20] * df * df) * swc[1];
             final double f2 = 1.0 + (p[49] * dfa + p[19] * df + p[20] * df * df) * swc[1];
 
             // Time independent
-            t[1] = (p[1]  * plg[0][2] + p[2] * plg[0][4] + p[22] * plg[0][6]) +
+            terms[1] = (p[1]  * plg[0][2] + p[2] * plg[0][4] + p[22] * plg[0][6]) +
                    (p[14] * plg[0][2]) * dfa * swc[1] + p[26] * plg[0][1];
 
             // Symmetrical annual
-            t[2] = p[18] * cd32;
+            terms[2] = p[18] * cd32;
 
             // Symmetrical semiannual
-            t[3] = (p[15] + p[16] * plg[0][2]) * cd18;
+            terms[3] = (p[15] + p[16] * plg[0][2]) * cd18;
 
             // Asymmetrical annual
-            t[4] = f1 * (p[9] * plg[0][1] + p[10] * plg[0][3]) * cd14;
+            terms[4] = f1 * (p[9] * plg[0][1] + p[10] * plg[0][3]) * cd14;
 
             // Asymmetrical semiannual
-            t[5] = p[37] * plg[0][1] * cd39;
+            terms[5] = p[37] * plg[0][1] * cd39;
 
             // Diurnal
             if (sw[7] != 0) {
                 final double t71 = (p[11] * plg[1][2]) * cd14 * swc[5];
                 final double t72 = (p[12] * plg[1][2]) * cd14 * swc[5];
-                t[6] = f2 * ((p[3] * plg[1][1] + p[4] * plg[1][3] + p[27] * plg[1][5] + t71) * ctloc +
+                terms[6] = f2 * ((p[3] * plg[1][1] + p[4] * plg[1][3] + p[27] * plg[1][5] + t71) * ctloc +
                              (p[6] * plg[1][1] + p[7] * plg[1][3] + p[28] * plg[1][5] + t72) * stloc);
             }
 
@@ -1999,13 +2151,13 @@ public class NRLMSISE00 implements Atmosphere {
             if (sw[8] != 0) {
                 final double t81 = (p[23] * plg[2][3] + p[35] * plg[2][5]) * cd14 * swc[5];
                 final double t82 = (p[33] * plg[2][3] + p[36] * plg[2][5]) * cd14 * swc[5];
-                t[7] = f2 * ((p[5] * plg[2][2] + p[41] * plg[2][4] + t81) * c2tloc +
+                terms[7] = f2 * ((p[5] * plg[2][2] + p[41] * plg[2][4] + t81) * c2tloc +
                              (p[8] * plg[2][2] + p[42] * plg[2][4] + t82) * s2tloc);
             }
 
             // Terdiurnal
             if (sw[14] != 0) {
-                t[13] = f2 * ((p[39] * plg[3][3] + (p[93] * plg[3][4] + p[46] * plg[3][6]) * cd14 * swc[5]) * s3tloc +
+                terms[13] = f2 * ((p[39] * plg[3][3] + (p[93] * plg[3][4] + p[46] * plg[3][6]) * cd14 * swc[5]) * s3tloc +
                               (p[40] * plg[3][3] + (p[94] * plg[3][4] + p[48] * plg[3][6]) * cd14 * swc[5]) * c3tloc);
             }
 
@@ -2016,7 +2168,7 @@ public class NRLMSISE00 implements Atmosphere {
                                                      (1.0 + p[138] * (LAT_REF - FastMath.abs(lat))));
                     final double p24 = FastMath.max(p[24], 1.0e-4);
                     apt = sg0(FastMath.min(exp1, 0.99999), p24, p[25]);
-                    t[8] = apt * (p[50] + p[96] * plg[0][2] + p[54] * plg[0][4] +
+                    terms[8] = apt * (p[50] + p[96] * plg[0][2] + p[54] * plg[0][4] +
                                   (p[125] * plg[0][1] + p[126] * plg[0][3] + p[127] * plg[0][5]) * cd14 * swc[5] +
                                   (p[128] * plg[1][1] + p[129] * plg[1][3] + p[130] * plg[1][5]) * swc[7] *
                                   FastMath.cos(HOUR_TO_RAD * (hl - p[131])));
@@ -2027,7 +2179,7 @@ public class NRLMSISE00 implements Atmosphere {
                 final double p45 = p[44];
                 apdf = apd + (p45 - 1.0) * (apd + (FastMath.exp(-p44 * apd) - 1.0) / p44);
                 if (sw[9] != 0) {
-                    t[8] = apdf * (p[32] + p[45] * plg[0][2] + p[34] * plg[0][4] +
+                    terms[8] = apdf * (p[32] + p[45] * plg[0][2] + p[34] * plg[0][4] +
                                    (p[100] * plg[0][1] + p[101] * plg[0][3] + p[102] * plg[0][5]) * cd14 * swc[5] +
                                    (p[121] * plg[1][1] + p[122] * plg[1][3] + p[123] * plg[1][5]) * swc[7] *
                                    FastMath.cos(HOUR_TO_RAD * (hl - p[124])));
@@ -2038,7 +2190,7 @@ public class NRLMSISE00 implements Atmosphere {
                 final double lonr = DEG_TO_RAD * lon;
                 // Longitudinal
                 if (sw[11] != 0) {
-                    t[10] = (1.0 + p[80] * dfa * swc[1]) *
+                    terms[10] = (1.0 + p[80] * dfa * swc[1]) *
                             ((p[64]  * plg[1][2] + p[65]  * plg[1][4] + p[66]  * plg[1][6] +
                               p[103] * plg[1][1] + p[104] * plg[1][3] + p[105] * plg[1][5] +
                              (p[109] * plg[1][1] + p[110] * plg[1][3] + p[111] * plg[1][5]) * swc[5] * cd14) *
@@ -2051,11 +2203,11 @@ public class NRLMSISE00 implements Atmosphere {
 
                 // ut and mixed ut, longitude
                 if (sw[12] != 0) {
-                    t[11] = (1.0 + p[95]  * plg[0][1]) * (1.0 + p[81] * dfa * swc[1]) *
+                    terms[11] = (1.0 + p[95]  * plg[0][1]) * (1.0 + p[81] * dfa * swc[1]) *
                             (1.0 + p[119] * plg[0][1] * swc[5] * cd14) *
                             (p[68] * plg[0][1] + p[69] * plg[0][3] + p[70] * plg[0][5]) *
                             FastMath.cos(SEC_TO_RAD * (sec - p[71]));
-                    t[11] += swc[11] * (1.0 + p[137] * dfa * swc[1]) *
+                    terms[11] += swc[11] * (1.0 + p[137] * dfa * swc[1]) *
                             (p[76] * plg[2][3] + p[77] * plg[2][5] + p[78] * plg[2][7]) *
                             FastMath.cos(SEC_TO_RAD * (sec - p[79]) + 2.0 * lonr);
                 }
@@ -2064,7 +2216,7 @@ public class NRLMSISE00 implements Atmosphere {
                 if (sw[13] != 0) {
                     if (sw[9] == -1) {
                         if (p[51] != 0.) {
-                            t[12] = apt * swc[11] * (1. + p[132] * plg[0][1]) *
+                            terms[12] = apt * swc[11] * (1. + p[132] * plg[0][1]) *
                                     (p[52] * plg[1][2] + p[98] * plg[1][4] + p[67] * plg[1][6]) *
                                     FastMath.cos(DEG_TO_RAD * (lon - p[97])) +
                                     apt * swc[11] * swc[5] * cd14 *
@@ -2075,7 +2227,7 @@ public class NRLMSISE00 implements Atmosphere {
                                     FastMath.cos(SEC_TO_RAD * (sec - p[58]));
                         }
                     } else {
-                        t[12] = apdf * swc[11] * (1.0 + p[120] * plg[0][1]) *
+                        terms[12] = apdf * swc[11] * (1.0 + p[120] * plg[0][1]) *
                                 ((p[60] * plg[1][2] + p[61] * plg[1][4] + p[62] * plg[1][6]) *
                                 FastMath.cos(DEG_TO_RAD * (lon - p[63]))) +
                                 apdf * swc[11] * swc[5] * cd14 *
@@ -2091,7 +2243,7 @@ public class NRLMSISE00 implements Atmosphere {
             // Sum all effects (params not used: 82, 89, 99, 139-149)
             double tinf = p[30];
             for (int i = 0; i < 14; i++) {
-                tinf += FastMath.abs(sw[i + 1]) * t[i];
+                tinf += FastMath.abs(sw[i + 1]) * terms[i];
             }
 
             // Return G(L)
@@ -2105,36 +2257,37 @@ public class NRLMSISE00 implements Atmosphere {
          */
         private double glob7s(final double[] p) {
 
-            final double[] t = new double[14];
-            final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
-            final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
-            final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
-            final double cd39 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[38]));
+            Arrays.fill(terms, 0.0);
+            final double[] cd = dayTerms.get(doy, p);
+            final double cd32 = cd[0];
+            final double cd18 = cd[1];
+            final double cd14 = cd[2];
+            final double cd39 = cd[3];
 
             // F10.7 effect
-            t[0] = p[21] * (f107a - FLUX_REF);
+            terms[0] = p[21] * (f107a - FLUX_REF);
 
             // Time independent
-            t[1] = p[1]  * plg[0][2] + p[2]  * plg[0][4] + p[22] * plg[0][6] +
+            terms[1] = p[1]  * plg[0][2] + p[2]  * plg[0][4] + p[22] * plg[0][6] +
                    p[26] * plg[0][1] + p[14] * plg[0][3] + p[59] * plg[0][5];
 
             // Symmetrical annual
-            t[2] = (p[18] + p[47] * plg[0][2] + p[29] * plg[0][4]) * cd32;
+            terms[2] = (p[18] + p[47] * plg[0][2] + p[29] * plg[0][4]) * cd32;
 
             // Symmetrical semiannual
-            t[3] = (p[15] + p[16] * plg[0][2] + p[30] * plg[0][4]) * cd18;
+            terms[3] = (p[15] + p[16] * plg[0][2] + p[30] * plg[0][4]) * cd18;
 
             // Asymmetrical annual
-            t[4] = (p[9] * plg[0][1] + p[10] * plg[0][3] + p[20] * plg[0][5]) * cd14;
+            terms[4] = (p[9] * plg[0][1] + p[10] * plg[0][3] + p[20] * plg[0][5]) * cd14;
 
             // Asymmetrical semiannual
-            t[5] = (p[37] * plg[0][1]) * cd39;
+            terms[5] = (p[37] * plg[0][1]) * cd39;
 
             // Diurnal
             if (sw[7] != 0) {
                 final double t71 = p[11] * plg[1][2] * cd14 * swc[5];
                 final double t72 = p[12] * plg[1][2] * cd14 * swc[5];
-                t[6] = (p[3] * plg[1][1] + p[4] * plg[1][3] + t71) * ctloc +
+                terms[6] = (p[3] * plg[1][1] + p[4] * plg[1][3] + t71) * ctloc +
                        (p[6] * plg[1][1] + p[7] * plg[1][3] + t72) * stloc;
             }
 
@@ -2142,29 +2295,29 @@ public class NRLMSISE00 implements Atmosphere {
             if (sw[8] != 0) {
                 final double t81 = (p[23] * plg[2][3] + p[35] * plg[2][5]) * cd14 * swc[5];
                 final double t82 = (p[33] * plg[2][3] + p[36] * plg[2][5]) * cd14 * swc[5];
-                t[7] = (p[5] * plg[2][2] + p[41] * plg[2][4] + t81) * c2tloc +
+                terms[7] = (p[5] * plg[2][2] + p[41] * plg[2][4] + t81) * c2tloc +
                        (p[8] * plg[2][2] + p[42] * plg[2][4] + t82) * s2tloc;
             }
 
             // Terdiurnal
             if (sw[14] != 0) {
-                t[13] = p[39] * plg[3][3] * s3tloc + p[40] * plg[3][3] * c3tloc;
+                terms[13] = p[39] * plg[3][3] * s3tloc + p[40] * plg[3][3] * c3tloc;
             }
 
             // Magnetic activity
             if (sw[9] == 1) {
-                t[8] = apdf * (p[32] + p[45] * plg[0][2] * swc[2]);
+                terms[8] = apdf * (p[32] + p[45] * plg[0][2] * swc[2]);
             } else if (sw[9] == -1) {
-                t[8] = apt  * (p[50] + p[96] * plg[0][2] * swc[2]);
+                terms[8] = apt  * (p[50] + p[96] * plg[0][2] * swc[2]);
             }
 
             // Longitudinal
             if (!(sw[10] == 0 || sw[11] == 0)) {
                 final double lonr = DEG_TO_RAD * lon;
-                t[10] = (1.0 + plg[0][1] * (p[80] * swc[5] * FastMath.cos(DAY_TO_RAD * (doy - p[81])) +
-                                            p[85] * swc[6] * FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[86]))) +
-                               p[83] * swc[3] * FastMath.cos(DAY_TO_RAD * (doy - p[84])) +
-                               p[87] * swc[4] * FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[88]))) *
+                terms[10] = (1.0 + plg[0][1] * (p[80] * swc[5] * cd[4] +
+                                            p[85] * swc[6] * cd[5]) +
+                               p[83] * swc[3] * cd[6] +
+                               p[87] * swc[4] * cd[7]) *
                         ((p[64] * plg[1][2] + p[65] * plg[1][4] + p[66] * plg[1][6] +
                           p[74] * plg[1][1] + p[75] * plg[1][3] + p[76] * plg[1][5]) * FastMath.cos(lonr) +
                          (p[90] * plg[1][2] + p[91] * plg[1][4] + p[92] * plg[1][6] +
@@ -2174,7 +2327,7 @@ public class NRLMSISE00 implements Atmosphere {
             // Sum all effects
             double gl = 0;
             for (int i = 0; i < 14; i++) {
-                gl += FastMath.abs(sw[i + 1]) * t[i];
+                gl += FastMath.abs(sw[i + 1]) * terms[i];
             }
 
             // Return G(L)
@@ -2372,23 +2525,26 @@ public class NRLMSISE00 implements Atmosphere {
          * @param y array of ordinates in ascending order by x
          * @param yp1 derivative at x[0] (2nd derivatives null if > 1E30)
          * @param ypn derivative at x[n-1] (2nd derivatives null if > 1E30)
-         * @return array of second derivatives
+         * @param y2 placeholder for the second derivatives
+         * @return array of second derivatives (i.e. y2 itself)
          */
-        private double[] spline(final double[] x, final double[] y, final double yp1, final double ypn) {
+        private double[] spline(final double[] x, final double[] y, final double yp1, final double ypn,
+                                final double[] y2) {
             final int n = x.length;
-            final double[] y2 = new double[n];
-            final double[] u  = new double[n];
 
             if (yp1 < 1e+30) {
                 y2[0] = -0.5;
-                u[0]  = (3.0 / (x[1] - x[0])) * ((y[1] - y[0]) / (x[1] - x[0]) - yp1);
+                splineU[0] = (3.0 / (x[1] - x[0])) * ((y[1] - y[0]) / (x[1] - x[0]) - yp1);
+            } else {
+                y2[0] = 0.0;
+                splineU[0] = 0.0;
             }
             for (int i = 1; i < n - 1; i++) {
                 final double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
                 final double p = sig * y2[i - 1] + 2.0;
                 y2[i] = (sig - 1.0) / p;
-                u[i] = (6.0 * ((y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1])) /
-                        (x[i + 1] - x[i - 1]) - sig * u[i - 1]) / p;
+                splineU[i] = (6.0 * ((y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1])) /
+                        (x[i + 1] - x[i - 1]) - sig * splineU[i - 1]) / p;
             }
 
             double qn = 0;
@@ -2398,9 +2554,9 @@ public class NRLMSISE00 implements Atmosphere {
                 un = (3.0 / (x[n - 1] - x[n - 2])) * (ypn - (y[n - 1] - y[n - 2]) / (x[n - 1] - x[n - 2]));
             }
 
-            y2[n - 1] = (un - qn * u[n - 2]) / (qn * y2[n - 2] + 1.0);
+            y2[n - 1] = (un - qn * splineU[n - 2]) / (qn * y2[n - 2] + 1.0);
             for (int k = n - 2; k >= 0; k--) {
-                y2[k] = y2[k] * y2[k + 1] + u[k];
+                y2[k] = y2[k] * y2[k + 1] + splineU[k];
             }
 
             return y2;
@@ -2428,8 +2584,8 @@ public class NRLMSISE00 implements Atmosphere {
             double zgdif = zeta(z2, z1);
 
             /* set up spline nodes */
-            double[] xs = new double[mn];
-            double[] ys = new double[mn];
+            double[] xs = xs2;
+            double[] ys = ys2;
             for (int k = 0; k < mn; k++) {
                 xs[k] = zeta(ZN2[k], z1) / zgdif;
                 ys[k] = 1.0 / meso_tn2[k];
@@ -2439,7 +2595,7 @@ public class NRLMSISE00 implements Atmosphere {
             double yd2 = -meso_tgn2[1] / (t2 * t2) * zgdif * qSM * qSM;
 
             /* calculate spline coefficients */
-            double[] y2out = spline(xs, ys, yd1, yd2);
+            double[] y2out = spline(xs, ys, yd1, yd2, y2s2);
             double x = zg / zgdif;
             double y = splint(xs, ys, y2out, x);
 
@@ -2474,8 +2630,8 @@ public class NRLMSISE00 implements Atmosphere {
             zgdif = zeta(z2, z1);
 
             /* set up spline nodes */
-            xs = new double[mn];
-            ys = new double[mn];
+            xs = xs3;
+            ys = ys3;
             for (int k = 0; k < mn; k++) {
                 xs[k] = zeta(ZN3[k], z1) / zgdif;
                 ys[k] = 1.0 / meso_tn3[k];
@@ -2485,7 +2641,7 @@ public class NRLMSISE00 implements Atmosphere {
             yd2 = -meso_tgn3[1] / (t2 * t2) * zgdif * qTS * qTS;
 
             /* calculate spline coefficients */
-            y2out = spline(xs, ys, yd1, yd2);
+            y2out = spline(xs, ys, yd1, yd2, y2s3);
             x = zg / zgdif;
             y = splint(xs, ys, y2out, x);
 
@@ -2534,10 +2690,10 @@ public class NRLMSISE00 implements Atmosphere {
             double tz = tt;
 
             final int mn = ZN1.length;
-            final double[] xs = new double[mn];
-            final double[] ys = new double[mn];
+            final double[] xs = xs1;
+            final double[] ys = ys1;
             double x = 0.;
-            double[] y2out =  new double[mn];
+            double[] y2out = y2s1;
             double zgdif = 0.;
             if (alt < ZN1[0]) {
                 /* calculate temperature below ZA
@@ -2563,7 +2719,7 @@ public class NRLMSISE00 implements Atmosphere {
                 final double yd1 = -meso_tgn1[0] / (t1 * t1) * zgdif;
                 final double yd2 = -meso_tgn1[1] / (t2 * t2) * zgdif * q * q;
                 /* calculate spline coefficients */
-                y2out = spline(xs, ys, yd1, yd2);
+                y2out = spline(xs, ys, yd1, yd2, y2s1);
                 x = zg / zgdif;
                 final double y = splint(xs, ys, y2out, x);
                 /* temperature at altitude */
@@ -2746,6 +2902,9 @@ public class NRLMSISE00 implements Atmosphere {
         /** Temperatures. */
         private final T[] temperatures;
 
+        /** Cache for day of year dependent terms. */
+        private final DayTerms dayTerms;
+
         /** Simple constructor.
          *  @param doy day of year (from 1 to 365 or 366)
          *  @param sec seconds in day (UT scale)
@@ -2771,6 +2930,7 @@ public class NRLMSISE00 implements Atmosphere {
 
             this.field = sec.getField();
             this.zero = field.getZero();
+            this.dayTerms = DAY_TERMS.get();
 
             this.doy   = doy;
             this.sec   = sec;
@@ -2880,10 +3040,6 @@ public class NRLMSISE00 implements Atmosphere {
          */
         void gts7(final T alt) {
 
-            // Thermal diffusion coefficients for species
-            final double[] alpha = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
-            // Altitude limits for net density computation for species
-            final double[] altl  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
             // N2 mixed density
             final double xmm = PDM[2][4];
 
@@ -2933,7 +3089,7 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final T db28 = g28.exp().multiply(PDM[2][0] * PD[2][0]);
             /* Diffusive density at Alt */
-            T diffusiveDensity = densu(alt, db28, tinf, tlb, N2_MASS, alpha[2], PTM[5], s);
+            T diffusiveDensity = densu(alt, db28, tinf, tlb, N2_MASS, ALPHA[2], PTM[5], s);
             setDensity(MOLECULAR_NITROGEN, diffusiveDensity);
             // Variation of turbopause height
             final T zhf = lat.multiply(DEG_TO_RAD).sin().
@@ -2944,10 +3100,10 @@ public class NRLMSISE00 implements Atmosphere {
             final T zh28  = zhf.multiply(PDM[2][2]);
             final double zhm28 = PDM[2][3] * PDL[1][5];
             /* Mixed density at Zlb */
-            final T b28 = densu(zh28, db28, tinf, tlb, N2_MASS - xmm, alpha[2] - 1.0, PTM[5], s);
-            if (sw[15] != 0 && alt.getReal() <= altl[2]) {
+            final T b28 = densu(zh28, db28, tinf, tlb, N2_MASS - xmm, ALPHA[2] - 1.0, PTM[5], s);
+            if (sw[15] != 0 && alt.getReal() <= ALTL[2]) {
                 /*  Mixed density at Alt */
-                dm28 = densu(alt, b28, tinf, tlb, xmm, alpha[2], PTM[5], s);
+                dm28 = densu(alt, b28, tinf, tlb, xmm, ALPHA[2], PTM[5], s);
                 /*  Net density at Alt */
                 setDensity(MOLECULAR_NITROGEN, dnet(diffusiveDensity, dm28, zhm28, xmm, N2_MASS));
             } else {
@@ -2960,13 +3116,13 @@ public class NRLMSISE00 implements Atmosphere {
             /*  Diffusive density at Zlb */
             final T db04 = g4.exp().multiply(PDM[0][0] * PD[0][0]);
             /*  Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db04, tinf, tlb, HE_MASS, alpha[0], PTM[5], s);
+            diffusiveDensity = densu(alt, db04, tinf, tlb, HE_MASS, ALPHA[0], PTM[5], s);
             setDensity(HELIUM, diffusiveDensity);
-            if (sw[15] != 0 && alt.getReal() < altl[0]) {
+            if (sw[15] != 0 && alt.getReal() < ALTL[0]) {
                 /*  Turbopause */
                 final double zh04 = PDM[0][2];
                 /*  Mixed density at Zlb */
-                final T b04 = densu(zero.add(zh04), db04, tinf, tlb, HE_MASS - xmm, alpha[0] - 1., PTM[5], s);
+                final T b04 = densu(zero.add(zh04), db04, tinf, tlb, HE_MASS - xmm, ALPHA[0] - 1., PTM[5], s);
                 /*  Mixed density at Alt */
                 final T dm04 = densu(alt, b04, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm04 = zhm28;
@@ -2986,13 +3142,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final T db16 = g16.exp().multiply(PDM[1][0] * PD[1][0]);
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db16, tinf, tlb, O_MASS, alpha[1], PTM[5], s);
+            diffusiveDensity = densu(alt, db16, tinf, tlb, O_MASS, ALPHA[1], PTM[5], s);
             setDensity(ATOMIC_OXYGEN, diffusiveDensity);
-            if (sw[15] != 0 && alt.getReal() < altl[1]) {
+            if (sw[15] != 0 && alt.getReal() < ALTL[1]) {
                 /* Turbopause */
                 final double zh16 = PDM[1][2];
                 /* Mixed density at Zlb */
-                final T b16 = densu(zero.add(zh16), db16, tinf, tlb, O_MASS - xmm, alpha[1] - 1.0, PTM[5], s);
+                final T b16 = densu(zero.add(zh16), db16, tinf, tlb, O_MASS - xmm, ALPHA[1] - 1.0, PTM[5], s);
                 /* Mixed density at Alt */
                 final T dm16 = densu(alt, b16, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm16 = zhm28;
@@ -3017,14 +3173,14 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final T db32 = g32.exp().multiply(PDM[3][0] * PD[4][0]);
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db32, tinf, tlb, O2_MASS, alpha[3], PTM[5], s);
+            diffusiveDensity = densu(alt, db32, tinf, tlb, O2_MASS, ALPHA[3], PTM[5], s);
             setDensity(MOLECULAR_OXYGEN, diffusiveDensity);
             if (sw[15] != 0) {
-                if (alt.getReal() <= altl[3]) {
+                if (alt.getReal() <= ALTL[3]) {
                     /* Turbopause */
                     final double zh32 = PDM[3][2];
                     /* Mixed density at Zlb */
-                    final T b32 = densu(zero.add(zh32), db32, tinf, tlb, O2_MASS - xmm, alpha[3] - 1., PTM[5], s);
+                    final T b32 = densu(zero.add(zh32), db32, tinf, tlb, O2_MASS - xmm, ALPHA[3] - 1., PTM[5], s);
                     /* Mixed density at Alt */
                     final T dm32 = densu(alt, b32, tinf, tlb, xmm, 0., PTM[5], s);
                     final double zhm32 = zhm28;
@@ -3051,13 +3207,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final T db40 = g40.exp().multiply(PDM[4][0] * PD[5][0]);
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db40, tinf, tlb, AR_MASS, alpha[4], PTM[5], s);
+            diffusiveDensity = densu(alt, db40, tinf, tlb, AR_MASS, ALPHA[4], PTM[5], s);
             setDensity(ARGON, diffusiveDensity);
-            if (sw[15] != 0 && alt.getReal() <= altl[4]) {
+            if (sw[15] != 0 && alt.getReal() <= ALTL[4]) {
                 /* Turbopause */
                 final double zh40 = PDM[4][2];
                 /* Mixed density at Zlb */
-                final T b40 = densu(zero.add(zh40), db40, tinf, tlb, AR_MASS - xmm, alpha[4] - 1., PTM[5], s);
+                final T b40 = densu(zero.add(zh40), db40, tinf, tlb, AR_MASS - xmm, ALPHA[4] - 1., PTM[5], s);
                 /* Mixed density at Alt */
                 final T dm40 = densu(alt, b40, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm40 = zhm28;
@@ -3077,13 +3233,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final T db01 = g1.exp().multiply(PDM[5][0] * PD[6][0]);
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db01, tinf, tlb, H_MASS, alpha[6], PTM[5], s);
+            diffusiveDensity = densu(alt, db01, tinf, tlb, H_MASS, ALPHA[6], PTM[5], s);
             setDensity(HYDROGEN, diffusiveDensity);
-            if (sw[15] != 0 && alt.getReal() <= altl[6]) {
+            if (sw[15] != 0 && alt.getReal() <= ALTL[6]) {
                 /* Turbopause */
                 final double zh01 = PDM[5][2];
                 /* Mixed density at Zlb */
-                final T b01 = densu(zero.add(zh01), db01, tinf, tlb, H_MASS - xmm, alpha[6] - 1., PTM[5], s);
+                final T b01 = densu(zero.add(zh01), db01, tinf, tlb, H_MASS - xmm, ALPHA[6] - 1., PTM[5], s);
                 /* Mixed density at Alt */
                 final T dm01 = densu(alt, b01, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm01 = zhm28;
@@ -3108,13 +3264,13 @@ public class NRLMSISE00 implements Atmosphere {
             /* Diffusive density at Zlb */
             final T db14 = g14.exp().multiply(PDM[6][0] * PD[7][0]);
             /* Diffusive density at Alt */
-            diffusiveDensity = densu(alt, db14, tinf, tlb, N_MASS, alpha[7], PTM[5], s);
+            diffusiveDensity = densu(alt, db14, tinf, tlb, N_MASS, ALPHA[7], PTM[5], s);
             setDensity(ATOMIC_NITROGEN, diffusiveDensity);
-            if (sw[15] != 0 && alt.getReal() <= altl[7]) {
+            if (sw[15] != 0 && alt.getReal() <= ALTL[7]) {
                 /* Turbopause */
                 final double zh14 = PDM[6][2];
                 /* Mixed density at Zlb */
-                final T b14 = densu(zero.add(zh14), db14, tinf, tlb, N_MASS - xmm, alpha[7] - 1., PTM[5], s);
+                final T b14 = densu(zero.add(zh14), db14, tinf, tlb, N_MASS - xmm, ALPHA[7] - 1., PTM[5], s);
                 /* Mixed density at Alt */
                 final T dm14 = densu(alt, b14, tinf, tlb, xmm, 0., PTM[5], s);
                 final double zhm14 = zhm28;
@@ -3137,7 +3293,7 @@ public class NRLMSISE00 implements Atmosphere {
             final T g16h = globe7(PD[8]).multiply(sw[21]);
             final T db16h = g16h.exp().multiply(PDM[7][0] * PD[8][0]);
             final double tho   = PDM[7][9] * PDL[0][6];
-            diffusiveDensity = densu(alt, db16h, zero.add(tho), zero.add(tho), O_MASS, alpha[8], PTM[5], s);
+            diffusiveDensity = densu(alt, db16h, zero.add(tho), zero.add(tho), O_MASS, ALPHA[8], PTM[5], s);
             final double zsht = PDM[7][5];
             final double zmho = PDM[7][4];
             final T zsho = scalh(zmho, O_MASS, tho);
@@ -3363,10 +3519,11 @@ public class NRLMSISE00 implements Atmosphere {
         private T globe7(final double[] p) {
 
             final T[] t = MathArrays.buildArray(field, 14);
-            final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
-            final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
-            final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
-            final double cd39 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[38]));
+            final double[] cd = dayTerms.get(doy, p);
+            final double cd32 = cd[0];
+            final double cd18 = cd[1];
+            final double cd14 = cd[2];
+            final double cd39 = cd[3];
 
             // F10.7 effect
             final double df  = f107  - f107a;
@@ -3522,10 +3679,11 @@ public class NRLMSISE00 implements Atmosphere {
         private T glob7s(final double[] p) {
 
             final T[] t = MathArrays.buildArray(field, 14);
-            final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
-            final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
-            final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
-            final double cd39 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[38]));
+            final double[] cd = dayTerms.get(doy, p);
+            final double cd32 = cd[0];
+            final double cd18 = cd[1];
+            final double cd14 = cd[2];
+            final double cd39 = cd[3];
 
             // F10.7 effect
             t[0] = zero.add(p[21] * (f107a - FLUX_REF));
@@ -3581,11 +3739,11 @@ public class NRLMSISE00 implements Atmosphere {
             // Longitudinal
             if (!(sw[10] == 0 || sw[11] == 0)) {
                 final T lonr = lon.multiply(DEG_TO_RAD);
-                t[10] = plg[0][1].multiply(p[80] * swc[5] * FastMath.cos(DAY_TO_RAD * (doy - p[81])) +
-                                           p[85] * swc[6] * FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[86]))).
+                t[10] = plg[0][1].multiply(p[80] * swc[5] * cd[4] +
+                                           p[85] * swc[6] * cd[5]).
                        add(1.0 +
-                           p[83] * swc[3] * FastMath.cos(DAY_TO_RAD * (doy - p[84])) +
-                           p[87] * swc[4] * FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[88]))).
+                           p[83] * swc[3] * cd[6] +
+                           p[87] * swc[4] * cd[7]).
                        multiply(    plg[1][2].multiply(p[64]).
                                 add(plg[1][4].multiply(p[65])).
                                 add(plg[1][6].multiply(p[66])).
@@ -4071,4 +4229,56 @@ public class NRLMSISE00 implements Atmosphere {
 
     }
 
+    /** Cache for terms depending only on day of year.
+     * <p>
+     * These terms depend on day of year and on the model parameters
+     * arrays, which are constants. They are therefore reused across all
+     * calls performed during the same day, for all model instances.
+     * </p>
+     * @since 9.3
+     */
+    private static class DayTerms {
+
+        /** Day of year for which terms are cached. */
+        private int doy;
+
+        /** Cached terms, indexed by parameters array identity. */
+        private final Map<double[], double[]> cache;
+
+        /** Simple constructor.
+         */
+        DayTerms() {
+            this.doy   = -1;
+            this.cache = new IdentityHashMap<>();
+        }
+
+        /** Get the day of year dependent terms for a parameters array.
+         * @param dayOfYear day of year (from 1 to 365 or 366)
+         * @param p parameters array
+         * @return day of year dependent terms
+         */
+        double[] get(final int dayOfYear, final double[] p) {
+            if (dayOfYear != doy) {
+                cache.clear();
+                doy = dayOfYear;
+            }
+            double[] terms = cache.get(p);
+            if (terms == null) {
+                terms = new double[] {
+                    FastMath.cos(DAY_TO_RAD * (doy - p[31])),
+                    FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17])),
+                    FastMath.cos(DAY_TO_RAD * (doy - p[13])),
+                    FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[38])),
+                    FastMath.cos(DAY_TO_RAD * (doy - p[81])),
+                    FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[86])),
+                    FastMath.cos(DAY_TO_RAD * (doy - p[84])),
+                    FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[88]))
+                };
+                cache.put(p, terms);
+            }
+            return terms;
+        }
+
+    }
+
 }
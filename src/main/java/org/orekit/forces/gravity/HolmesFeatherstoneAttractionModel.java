@@ -17,11 +17,14 @@
 package org.orekit.forces.gravity;
 
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.SphericalCoordinates;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -30,6 +33,7 @@ import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.forces.AbstractForceModel;
 import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
@@ -90,6 +94,9 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
      */
     private static final double MU_SCALE = FastMath.scalb(1.0, 32);
 
+    /** Number of points evaluated together in bulk evaluations. */
+    private static final int BLOCK_SIZE = 32;
+
     /** Driver for gravitational parameter. */
     private final ParameterDriver gmParameterDriver;
 
@@ -111,6 +118,16 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
     /** Scaled sectorial Pbar<sub>m,m</sub>/u<sup>m</sup> &times; 2<sup>-SCALING</sup>. */
     private final double[] sectorial;
 
+    /** Scratch arrays, confined to each thread using the model.
+     * @since 9.3
+     */
+    private final ThreadLocal<Workspace> workspaces;
+
+    /** Scratch arrays for bulk evaluations, confined to each thread using the model.
+     * @since 9.3
+     */
+    private final ThreadLocal<BlockWorkspace> blockWorkspaces;
+
     /** Creates a new instance.
      * @param centralBodyFrame rotating body frame
      * @param provider provider for spherical harmonics
@@ -162,6 +179,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
             sectorial[m] = FastMath.sqrt((2 * m + 1) / (2.0 * m)) * sectorial[m - 1];
         }
 
+        // scratch arrays are allocated once per thread and reused across calls
+        final int order = provider.getMaxOrder();
+        workspaces      = ThreadLocal.withInitial(() -> new Workspace(degree, order));
+        blockWorkspaces = ThreadLocal.withInitial(() -> new BlockWorkspace(degree, order));
+
     }
 
     /** {@inheritDoc} */
@@ -209,10 +231,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2 = new double[degree + 1];
-        double[] pnm0Plus1 = new double[degree + 1];
-        double[] pnm0      = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace workspace = workspaces.get().reset();
+        double[] pnm0Plus2 = workspace.pnm0Plus2;
+        double[] pnm0Plus1 = workspace.pnm0Plus1;
+        double[] pnm0      = workspace.pnm0;
 
         // compute polar coordinates
         final double x   = position.getX();
@@ -229,10 +252,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = computeDistancePowers(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = computeCosSin(position.getX() / rho, position.getY() / rho,
+                                                      workspace.cosSinLambda);
 
         // outer summation over order
         int    index = 0;
@@ -289,11 +313,12 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        final double[] pnm1 = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace workspace = workspaces.get().reset();
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        final double[] pnm1 = workspace.pnm1;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -311,15 +336,16 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = computeDistancePowers(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = computeCosSin(position.getX() / rho, position.getY() / rho,
+                                                      workspace.cosSinLambda);
 
         // outer summation over order
         int    index = 0;
         double value = 0;
-        final double[] gradient = new double[3];
+        final double[] gradient = workspace.gradient;
         for (int m = degree; m >= 0; --m) {
 
             // compute tesseral terms with derivatives
@@ -535,6 +561,481 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
     }
 
+    /** Compute the non-central part of the gravity field and its derivatives at many positions.
+     * <p>
+     * This method is intended for evaluating the field on large sets of points at the
+     * same date, for example for grid products. The spherical harmonics coefficients are
+     * retrieved only once from the provider, and points are processed by blocks with
+     * loops over points innermost.
+     * </p>
+     * <p>
+     * The values (resp. gradients, Hessians) computed are the same as those computed by
+     * {@link #nonCentralPart(AbsoluteDate, Vector3D, double)} (resp. {@link
+     * #gradient(AbsoluteDate, Vector3D, double)}, the Hessian used for state derivatives),
+     * up to floating point roundoff.
+     * </p>
+     * @param date current date
+     * @param positions positions at which gravity field is desired in body frame, with
+     * coordinates of point i at indices 3i, 3i+1 and 3i+2
+     * @param mu central attraction coefficient to use
+     * @param values array where values of the non-central part of the gravity field should
+     * be stored (one element per point), may be null if values are not needed
+     * @param gradients array where gradients of the non-central part of the gravity field
+     * should be stored (three elements per point), may be null if gradients are not needed
+     * @param hessians array where Hessians of the non-central part of the gravity field
+     * should be stored (nine elements per point, row major), may be null if Hessians are
+     * not needed
+     * @param parallel if true, blocks of points are processed in parallel, using the
+     * common fork-join pool
+     * @exception OrekitException if coefficients cannot be retrieved at specified date
+     * @exception OrekitIllegalArgumentException if values, gradients and hessians are
+     * all null, if positions length is not a multiple of 3 or if an output array is too small
+     * @since 9.3
+     */
+    public void nonCentralPart(final AbsoluteDate date, final double[] positions, final double mu,
+                               final double[] values, final double[] gradients, final double[] hessians,
+                               final boolean parallel)
+        throws OrekitException {
+
+        // check arguments
+        if (values == null && gradients == null && hessians == null) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NULL_NOT_ALLOWED);
+        }
+        if (positions.length % 3 != 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     positions.length, 3 * (positions.length / 3 + 1));
+        }
+        final int nbPoints = positions.length / 3;
+        checkDimension(values,    nbPoints);
+        checkDimension(gradients, 3 * nbPoints);
+        checkDimension(hessians,  9 * nbPoints);
+
+        // fetch the coefficients once, in the order they will be used
+        final int degree = provider.getMaxDegree();
+        final int order  = provider.getMaxOrder();
+        final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
+        final double[] cnm = new double[(order + 1) * (degree + 1)];
+        final double[] snm = new double[cnm.length];
+        int k = 0;
+        for (int m = FastMath.min(degree, order); m >= 0; --m) {
+            for (int n = FastMath.max(2, m); n <= degree; ++n) {
+                cnm[k] = harmonics.getNormalizedCnm(n, m);
+                snm[k] = harmonics.getNormalizedSnm(n, m);
+                ++k;
+            }
+        }
+
+        // process points by blocks
+        final int nbBlocks = (nbPoints + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final IntStream blocks = IntStream.range(0, nbBlocks);
+        (parallel ? blocks.parallel() : blocks).forEach(b -> {
+            final int start = b * BLOCK_SIZE;
+            computeBlock(cnm, snm, positions, start, FastMath.min(BLOCK_SIZE, nbPoints - start),
+                         mu, values, gradients, hessians);
+        });
+
+    }
+
+    /** Check an output array dimension.
+     * @param array array to check (may be null)
+     * @param required required number of elements
+     */
+    private static void checkDimension(final double[] array, final int required) {
+        if (array != null && array.length < required) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     array.length, required);
+        }
+    }
+
+    /** Compute the non-central part of the gravity field and its derivatives for one block of points.
+     * @param cnm normalized cosine coefficients, in usage order
+     * @param snm normalized sine coefficients, in usage order
+     * @param positions positions at which gravity field is desired in body frame
+     * @param start index of the first point of the block
+     * @param size number of points in the block
+     * @param mu central attraction coefficient to use
+     * @param values array where values should be stored (may be null)
+     * @param gradients array where gradients should be stored (may be null)
+     * @param hessians array where Hessians should be stored (may be null)
+     */
+    private void computeBlock(final double[] cnm, final double[] snm, final double[] positions,
+                              final int start, final int size, final double mu,
+                              final double[] values, final double[] gradients, final double[] hessians) {
+
+        final int     degree       = provider.getMaxDegree();
+        final int     order        = provider.getMaxOrder();
+        final boolean needGradient = gradients != null || hessians != null;
+        final boolean needHessian  = hessians != null;
+        final BlockWorkspace w     = blockWorkspaces.get().reset();
+
+        // compute polar coordinates
+        for (int k = 0; k < size; ++k) {
+            final double x    = positions[3 * (start + k)];
+            final double y    = positions[3 * (start + k) + 1];
+            final double z    = positions[3 * (start + k) + 2];
+            final double x2   = x * x;
+            final double y2   = y * y;
+            final double z2   = z * z;
+            final double r2   = x2 + y2 + z2;
+            final double rho2 = x2 + y2;
+            w.r[k]    = FastMath.sqrt(r2);
+            w.rho[k]  = FastMath.sqrt(rho2);
+            w.t[k]    = z / w.r[k];
+            w.u[k]    = w.rho[k] / w.r[k];
+            w.u2[k]   = w.u[k] * w.u[k];
+            w.tOu[k]  = z / w.rho[k];
+        }
+
+        // compute distance powers
+        final double ae = provider.getAe();
+        for (int k = 0; k < size; ++k) {
+            w.aOrN[0][k] = 1;
+            w.aOrN[1][k] = ae / w.r[k];
+        }
+        for (int n = 2; n <= degree; ++n) {
+            final double[] aOrNP = w.aOrN[n / 2];
+            final double[] aOrNQ = w.aOrN[n - n / 2];
+            final double[] aOrNN = w.aOrN[n];
+            for (int k = 0; k < size; ++k) {
+                aOrNN[k] = aOrNP[k] * aOrNQ[k];
+            }
+        }
+
+        // compute longitude cosines/sines
+        for (int k = 0; k < size; ++k) {
+            w.cosLambda[0][k] = 1;
+            w.sinLambda[0][k] = 0;
+        }
+        if (order > 0) {
+            for (int k = 0; k < size; ++k) {
+                w.cosLambda[1][k] = positions[3 * (start + k)]     / w.rho[k];
+                w.sinLambda[1][k] = positions[3 * (start + k) + 1] / w.rho[k];
+            }
+            for (int m = 2; m <= order; ++m) {
+                final int p = m / 2;
+                final int q = m - p;
+                for (int k = 0; k < size; ++k) {
+                    w.cosLambda[m][k] = w.cosLambda[p][k] * w.cosLambda[q][k] - w.sinLambda[p][k] * w.sinLambda[q][k];
+                    w.sinLambda[m][k] = w.sinLambda[p][k] * w.cosLambda[q][k] + w.cosLambda[p][k] * w.sinLambda[q][k];
+                }
+            }
+        }
+
+        // outer summation over order
+        double[][] pnm0Plus2 = w.pnm0Plus2;
+        double[][] pnm0Plus1 = w.pnm0Plus1;
+        double[][] pnm0      = w.pnm0;
+        double[][] pnm1Plus1 = w.pnm1Plus1;
+        double[][] pnm1      = w.pnm1;
+        final double[][] pnm2 = w.pnm2;
+        int index      = 0;
+        int coeffIndex = 0;
+        for (int m = degree; m >= 0; --m) {
+
+            // compute tesseral terms (equations 27 and 30 of the paper)
+            final int nStart = FastMath.max(2, m);
+            int n = nStart;
+            if (n == m) {
+                Arrays.fill(pnm0[n], 0, size, sectorial[n]);
+                if (needGradient) {
+                    for (int k = 0; k < size; ++k) {
+                        pnm1[n][k] = m * w.tOu[k] * pnm0[n][k];
+                    }
+                    if (needHessian) {
+                        for (int k = 0; k < size; ++k) {
+                            pnm2[n][k] = m * (w.tOu[k] * pnm1[n][k] - pnm0[n][k] / w.u2[k]);
+                        }
+                    }
+                }
+                ++n;
+            }
+            for (; n <= degree; ++n) {
+                final double   g       = gnmOj[index];
+                final double   h       = hnmOj[index];
+                final double[] p0      = pnm0[n];
+                final double[] p0Plus1 = pnm0Plus1[n];
+                final double[] p0Plus2 = pnm0Plus2[n];
+                for (int k = 0; k < size; ++k) {
+                    p0[k] = g * w.t[k] * p0Plus1[k] - h * w.u2[k] * p0Plus2[k];
+                }
+                if (needGradient) {
+                    final double   e  = enm[index];
+                    final double[] p1 = pnm1[n];
+                    for (int k = 0; k < size; ++k) {
+                        p1[k] = m * w.tOu[k] * p0[k] - e * w.u[k] * p0Plus1[k];
+                    }
+                    if (needHessian) {
+                        final double[] p1Plus1 = pnm1Plus1[n];
+                        final double[] p2      = pnm2[n];
+                        for (int k = 0; k < size; ++k) {
+                            p2[k] = m * (w.tOu[k] * p1[k] - p0[k] / w.u2[k]) - e * w.u[k] * p1Plus1[k];
+                        }
+                    }
+                }
+                ++index;
+            }
+
+            if (m <= order) {
+                // compute contribution of current order to field (equation 5 of the paper)
+                w.resetSums(size);
+                for (n = nStart; n <= degree; ++n) {
+                    final double   c    = cnm[coeffIndex];
+                    final double   s    = snm[coeffIndex];
+                    final double[] aOrN = w.aOrN[n];
+                    final double[] p0   = pnm0[n];
+                    if (!needGradient) {
+                        for (int k = 0; k < size; ++k) {
+                            w.sumS[k] += p0[k] * aOrN[k] * s;
+                            w.sumC[k] += p0[k] * aOrN[k] * c;
+                        }
+                    } else {
+                        final double[] p1 = pnm1[n];
+                        for (int k = 0; k < size; ++k) {
+                            final double qSnm = aOrN[k] * s;
+                            final double qCnm = aOrN[k] * c;
+                            final double nOr  = n / w.r[k];
+                            final double s0   = p0[k] * qSnm;
+                            final double c0   = p0[k] * qCnm;
+                            final double s1   = p1[k] * qSnm;
+                            final double c1   = p1[k] * qCnm;
+                            w.sumS[k]      += s0;
+                            w.sumC[k]      += c0;
+                            w.dSumSdR[k]   -= nOr * s0;
+                            w.dSumCdR[k]   -= nOr * c0;
+                            w.dSumSdT[k]   += s1;
+                            w.dSumCdT[k]   += c1;
+                            if (needHessian) {
+                                final double nnP1Or2 = nOr * (n + 1) / w.r[k];
+                                final double s2      = pnm2[n][k] * qSnm;
+                                final double c2      = pnm2[n][k] * qCnm;
+                                w.d2SumSdRdR[k] += nnP1Or2 * s0;
+                                w.d2SumSdRdT[k] -= nOr * s1;
+                                w.d2SumSdTdT[k] += s2;
+                                w.d2SumCdRdR[k] += nnP1Or2 * c0;
+                                w.d2SumCdRdT[k] -= nOr * c1;
+                                w.d2SumCdTdT[k] += c2;
+                            }
+                        }
+                    }
+                    ++coeffIndex;
+                }
+
+                // contribution to outer summation over order
+                final double[] cML = w.cosLambda[m];
+                final double[] sML = w.sinLambda[m];
+                for (int k = 0; k < size; ++k) {
+                    final double u = w.u[k];
+                    w.value[k] = w.value[k] * u + sML[k] * w.sumS[k] + cML[k] * w.sumC[k];
+                }
+                if (needGradient) {
+                    for (int k = 0; k < size; ++k) {
+                        final double u = w.u[k];
+                        w.gradient[0][k] = w.gradient[0][k] * u + sML[k] * w.dSumSdR[k] + cML[k] * w.dSumCdR[k];
+                        w.gradient[1][k] = w.gradient[1][k] * u + m * (cML[k] * w.sumS[k] - sML[k] * w.sumC[k]);
+                        w.gradient[2][k] = w.gradient[2][k] * u + sML[k] * w.dSumSdT[k] + cML[k] * w.dSumCdT[k];
+                    }
+                }
+                if (needHessian) {
+                    for (int k = 0; k < size; ++k) {
+                        final double u = w.u[k];
+                        w.hessian[0][k] = w.hessian[0][k] * u + sML[k] * w.d2SumSdRdR[k] + cML[k] * w.d2SumCdRdR[k];
+                        w.hessian[1][k] = w.hessian[1][k] * u + m * (cML[k] * w.dSumSdR[k] - sML[k] * w.dSumCdR[k]);
+                        w.hessian[2][k] = w.hessian[2][k] * u + sML[k] * w.d2SumSdRdT[k] + cML[k] * w.d2SumCdRdT[k];
+                        w.hessian[3][k] = w.hessian[3][k] * u - m * m * (sML[k] * w.sumS[k] + cML[k] * w.sumC[k]);
+                        w.hessian[4][k] = w.hessian[4][k] * u + m * (cML[k] * w.dSumSdT[k] - sML[k] * w.dSumCdT[k]);
+                        w.hessian[5][k] = w.hessian[5][k] * u + sML[k] * w.d2SumSdTdT[k] + cML[k] * w.d2SumCdTdT[k];
+                    }
+                }
+
+            }
+
+            // rotate the recursion arrays
+            final double[][] tmp0 = pnm0Plus2;
+            pnm0Plus2 = pnm0Plus1;
+            pnm0Plus1 = pnm0;
+            pnm0      = tmp0;
+            final double[][] tmp1 = pnm1Plus1;
+            pnm1Plus1 = pnm1;
+            pnm1      = tmp1;
+
+        }
+
+        // scale back, apply the global mu/r factor and convert to Cartesian coordinates
+        for (int k = 0; k < size; ++k) {
+            final int    i     = start + k;
+            final double r     = w.r[k];
+            final double value = FastMath.scalb(w.value[k], SCALING);
+            if (!needGradient) {
+                values[i] = mu * value / r;
+            } else {
+                final double muOr = mu / r;
+                final double v    = value * muOr;
+                final double[] g  = w.sGradient;
+                g[0] = muOr * FastMath.scalb(w.gradient[0][k], SCALING) - v / r;
+                g[1] = muOr * FastMath.scalb(w.gradient[1][k], SCALING);
+                g[2] = muOr * FastMath.scalb(w.gradient[2][k], SCALING);
+                if (values != null) {
+                    values[i] = v;
+                }
+                if (gradients != null) {
+                    toCartesianGradient(positions[3 * i], positions[3 * i + 1], positions[3 * i + 2],
+                                        g, gradients, 3 * i);
+                }
+                if (needHessian) {
+                    final double[][] h = w.sHessian;
+                    h[0][0] = muOr * FastMath.scalb(w.hessian[0][k], SCALING) - 2 * g[0] / r;
+                    h[1][0] = muOr * FastMath.scalb(w.hessian[1][k], SCALING) -     g[1] / r;
+                    h[2][0] = muOr * FastMath.scalb(w.hessian[2][k], SCALING) -     g[2] / r;
+                    h[1][1] = muOr * FastMath.scalb(w.hessian[3][k], SCALING);
+                    h[2][1] = muOr * FastMath.scalb(w.hessian[4][k], SCALING);
+                    h[2][2] = muOr * FastMath.scalb(w.hessian[5][k], SCALING);
+                    toCartesianHessian(positions[3 * i], positions[3 * i + 1], positions[3 * i + 2],
+                                       g, h, hessians, 9 * i);
+                }
+            }
+        }
+
+    }
+
+    /** Convert a gradient from spherical to Cartesian coordinates.
+     * @param x abscissa of the point in body frame
+     * @param y ordinate of the point in body frame
+     * @param z height of the point in body frame
+     * @param sGradient gradient in spherical coordinates, using the conventions of {@link SphericalCoordinates}
+     * @param cGradient array where Cartesian gradient should be stored
+     * @param offset index of the first component in Cartesian gradient array
+     */
+    private static void toCartesianGradient(final double x, final double y, final double z,
+                                            final double[] sGradient, final double[] cGradient, final int offset) {
+
+        // Jacobian of the spherical coordinates with respect to Cartesian coordinates
+        final double rho2 = x * x + y * y;
+        final double rho  = FastMath.sqrt(rho2);
+        final double r2   = rho2 + z * z;
+        final double r    = FastMath.sqrt(r2);
+        final double j00  = x / r;
+        final double j01  = y / r;
+        final double j02  = z / r;
+        final double j10  = -y / rho2;
+        final double j11  =  x / rho2;
+        final double j20  = x * z / (rho * r2);
+        final double j21  = y * z / (rho * r2);
+        final double j22  = -rho / r2;
+
+        cGradient[offset]     = sGradient[0] * j00 + sGradient[1] * j10 + sGradient[2] * j20;
+        cGradient[offset + 1] = sGradient[0] * j01 + sGradient[1] * j11 + sGradient[2] * j21;
+        cGradient[offset + 2] = sGradient[0] * j02 + sGradient[2] * j22;
+
+    }
+
+    /** Convert a Hessian from spherical to Cartesian coordinates.
+     * <p>
+     * This method performs the same computation as {@link
+     * SphericalCoordinates#toCartesianHessian(double[][], double[])}, without
+     * allocating any intermediate object.
+     * </p>
+     * @param x abscissa of the point in body frame
+     * @param y ordinate of the point in body frame
+     * @param z height of the point in body frame
+     * @param sGradient gradient in spherical coordinates, using the conventions of {@link SphericalCoordinates}
+     * @param sHessian Hessian in spherical coordinates (only the lower triangular part is used)
+     * @param cHessian array where Cartesian Hessian should be stored (row major)
+     * @param offset index of the first component in Cartesian Hessian array
+     */
+    private static void toCartesianHessian(final double x, final double y, final double z,
+                                           final double[] sGradient, final double[][] sHessian,
+                                           final double[] cHessian, final int offset) {
+
+        // Jacobian of the spherical coordinates with respect to Cartesian coordinates
+        final double x2   = x * x;
+        final double y2   = y * y;
+        final double z2   = z * z;
+        final double rho2 = x2 + y2;
+        final double rho  = FastMath.sqrt(rho2);
+        final double r2   = rho2 + z2;
+        final double r    = FastMath.sqrt(r2);
+        final double j00  = x / r;
+        final double j01  = y / r;
+        final double j02  = z / r;
+        final double j10  = -y / rho2;
+        final double j11  =  x / rho2;
+        final double j20  = x * z / (rho * r2);
+        final double j21  = y * z / (rho * r2);
+        final double j22  = -rho / r2;
+
+        // H_f(r, θ, φ) J, using only the lower triangular part of H_f(r, θ, φ)
+        final double h00  = sHessian[0][0];
+        final double h10  = sHessian[1][0];
+        final double h20  = sHessian[2][0];
+        final double h11  = sHessian[1][1];
+        final double h21  = sHessian[2][1];
+        final double h22  = sHessian[2][2];
+        final double hj00 = h00 * j00 + h10 * j10 + h20 * j20;
+        final double hj01 = h00 * j01 + h10 * j11 + h20 * j21;
+        final double hj02 = h00 * j02 + h20 * j22;
+        final double hj10 = h10 * j00 + h11 * j10 + h21 * j20;
+        final double hj11 = h10 * j01 + h11 * j11 + h21 * j21;
+        final double hj20 = h20 * j00 + h21 * j10 + h22 * j20;
+        final double hj21 = h20 * j01 + h21 * j11 + h22 * j21;
+        final double hj22 = h20 * j02 + h22 * j22;
+
+        // second derivatives of r
+        final double xOr3 = x / (r * r2);
+        final double yOr3 = y / (r * r2);
+        final double zOr3 = z / (r * r2);
+        final double r00  = y * yOr3 + z * zOr3;
+        final double r10  = -x * yOr3;
+        final double r20  = -x * zOr3;
+        final double r11  = x * xOr3 + z * zOr3;
+        final double r21  = -y * zOr3;
+        final double r22  = x * xOr3 + y * yOr3;
+
+        // second derivatives of θ
+        final double xOrho2 = x / rho2;
+        final double yOrho2 = y / rho2;
+        final double t00    = 2 * xOrho2 * yOrho2;
+        final double t10    = yOrho2 * yOrho2 - xOrho2 * xOrho2;
+        final double t11    = -t00;
+
+        // second derivatives of φ
+        final double rhor2  = rho * r2;
+        final double rho2r2 = rho * rhor2;
+        final double rhor4  = rhor2 * r2;
+        final double rho3r4 = rhor4 * rho2;
+        final double k      = 3 * rho2 + z2;
+        final double p00    = z * (rho2r2 - x2 * k) / rho3r4;
+        final double p10    = -x * y * z * k / rho3r4;
+        final double p20    = x * (rho2 - z2) / rhor4;
+        final double p11    = z * (rho2r2 - y2 * k) / rho3r4;
+        final double p21    = y * (rho2 - z2) / rhor4;
+        final double p22    = 2 * rho * zOr3 / r;
+
+        // J^T H_f(r, θ, φ) J plus gradient contribution
+        final double c00 = j00 * hj00 + j10 * hj10 + j20 * hj20 +
+                           sGradient[0] * r00 + sGradient[1] * t00 + sGradient[2] * p00;
+        final double c10 = j01 * hj00 + j11 * hj10 + j21 * hj20 +
+                           sGradient[0] * r10 + sGradient[1] * t10 + sGradient[2] * p10;
+        final double c20 = j02 * hj00 + j22 * hj20 +
+                           sGradient[0] * r20 + sGradient[2] * p20;
+        final double c11 = j01 * hj01 + j11 * hj11 + j21 * hj21 +
+                           sGradient[0] * r11 + sGradient[1] * t11 + sGradient[2] * p11;
+        final double c21 = j02 * hj01 + j22 * hj21 +
+                           sGradient[0] * r21 + sGradient[2] * p21;
+        final double c22 = j02 * hj02 + j22 * hj22 +
+                           sGradient[0] * r22 + sGradient[2] * p22;
+
+        cHessian[offset]     = c00;
+        cHessian[offset + 1] = c10;
+        cHessian[offset + 2] = c20;
+        cHessian[offset + 3] = c10;
+        cHessian[offset + 4] = c11;
+        cHessian[offset + 5] = c21;
+        cHessian[offset + 6] = c20;
+        cHessian[offset + 7] = c21;
+        cHessian[offset + 8] = c22;
+
+    }
+
     /** Compute both the gradient and the hessian of the non-central part of the gravity field.
      * @param date current date
      * @param position position at which gravity field is desired in body frame
@@ -549,13 +1050,14 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        double[] pnm1Plus1  = new double[degree + 1];
-        double[] pnm1       = new double[degree + 1];
-        final double[] pnm2 = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace workspace = workspaces.get().reset();
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        double[] pnm1Plus1  = workspace.pnm1Plus1;
+        double[] pnm1       = workspace.pnm1;
+        final double[] pnm2 = workspace.pnm2;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -573,16 +1075,17 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = computeDistancePowers(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = computeCosSin(position.getX() / rho, position.getY() / rho,
+                                                      workspace.cosSinLambda);
 
         // outer summation over order
         int    index = 0;
         double value = 0;
-        final double[]   gradient = new double[3];
-        final double[][] hessian  = new double[3][3];
+        final double[]   gradient = workspace.gradient;
+        final double[][] hessian  = workspace.hessian;
         for (int m = degree; m >= 0; --m) {
 
             // compute tesseral terms
@@ -725,14 +1228,239 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
     }
 
+    /** Scratch arrays for one thread.
+     * <p>
+     * The arrays are reset at the start of each computation, so results
+     * are exactly the same as with freshly allocated arrays.
+     * </p>
+     * @since 9.3
+     */
+    private static class Workspace {
+
+        /** Column for scaled P<sub>n,m+2</sub>/u<sup>m+2</sup>. */
+        private final double[] pnm0Plus2;
+
+        /** Column for scaled P<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm0Plus1;
+
+        /** Column for scaled P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm0;
+
+        /** Column for scaled dP<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm1Plus1;
+
+        /** Column for scaled dP<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm1;
+
+        /** Column for scaled d²P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm2;
+
+        /** Distance powers (a/r)<sup>n</sup>. */
+        private final double[] aOrN;
+
+        /** Longitude cosines and sines. */
+        private final double[][] cosSinLambda;
+
+        /** Gradient in spherical coordinates. */
+        private final double[] gradient;
+
+        /** Hessian in spherical coordinates. */
+        private final double[][] hessian;
+
+        /** Simple constructor.
+         * @param degree max degree
+         * @param order max order
+         */
+        Workspace(final int degree, final int order) {
+            pnm0Plus2    = new double[degree + 1];
+            pnm0Plus1    = new double[degree + 1];
+            pnm0         = new double[degree + 1];
+            pnm1Plus1    = new double[degree + 1];
+            pnm1         = new double[degree + 1];
+            pnm2         = new double[degree + 1];
+            aOrN         = new double[degree + 1];
+            cosSinLambda = new double[2][order + 1];
+            gradient     = new double[3];
+            hessian      = new double[3][3];
+        }
+
+        /** Reset the arrays that are not completely overwritten by computation.
+         * @return the instance itself
+         */
+        Workspace reset() {
+            Arrays.fill(pnm0Plus2, 0.0);
+            Arrays.fill(pnm0Plus1, 0.0);
+            Arrays.fill(pnm0,      0.0);
+            Arrays.fill(pnm1Plus1, 0.0);
+            Arrays.fill(pnm1,      0.0);
+            Arrays.fill(pnm2,      0.0);
+            Arrays.fill(gradient,  0.0);
+            for (final double[] row : hessian) {
+                Arrays.fill(row, 0.0);
+            }
+            return this;
+        }
+
+    }
+
+    /** Scratch arrays for evaluating one block of points in one thread.
+     * <p>
+     * Arrays are organized with the point index as the last (innermost) index.
+     * </p>
+     * @since 9.3
+     */
+    private static class BlockWorkspace {
+
+        /** Radius. */
+        private final double[] r;
+
+        /** Distance to polar axis. */
+        private final double[] rho;
+
+        /** cos(θ), where θ is the polar angle. */
+        private final double[] t;
+
+        /** sin(θ), where θ is the polar angle. */
+        private final double[] u;
+
+        /** u². */
+        private final double[] u2;
+
+        /** t/u. */
+        private final double[] tOu;
+
+        /** Distance powers (a/r)<sup>n</sup>. */
+        private final double[][] aOrN;
+
+        /** Longitude cosines. */
+        private final double[][] cosLambda;
+
+        /** Longitude sines. */
+        private final double[][] sinLambda;
+
+        /** Columns for scaled P<sub>n,m+2</sub>/u<sup>m+2</sup>. */
+        private final double[][] pnm0Plus2;
+
+        /** Columns for scaled P<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[][] pnm0Plus1;
+
+        /** Columns for scaled P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[][] pnm0;
+
+        /** Columns for scaled dP<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[][] pnm1Plus1;
+
+        /** Columns for scaled dP<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[][] pnm1;
+
+        /** Columns for scaled d²P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[][] pnm2;
+
+        // CHECKSTYLE: stop JavadocVariable check
+        // inner summations over degree, named as in gradientHessian
+        private final double[] sumS;
+        private final double[] sumC;
+        private final double[] dSumSdR;
+        private final double[] dSumCdR;
+        private final double[] dSumSdT;
+        private final double[] dSumCdT;
+        private final double[] d2SumSdRdR;
+        private final double[] d2SumSdRdT;
+        private final double[] d2SumSdTdT;
+        private final double[] d2SumCdRdR;
+        private final double[] d2SumCdRdT;
+        private final double[] d2SumCdTdT;
+        // CHECKSTYLE: resume JavadocVariable check
+
+        /** Value in spherical coordinates. */
+        private final double[] value;
+
+        /** Gradient in spherical coordinates. */
+        private final double[][] gradient;
+
+        /** Lower triangular part of Hessian in spherical coordinates. */
+        private final double[][] hessian;
+
+        /** Scaled back gradient in spherical coordinates for the current point. */
+        private final double[] sGradient;
+
+        /** Scaled back Hessian in spherical coordinates for the current point. */
+        private final double[][] sHessian;
+
+        /** Simple constructor.
+         * @param degree max degree
+         * @param order max order
+         */
+        BlockWorkspace(final int degree, final int order) {
+            r          = new double[BLOCK_SIZE];
+            rho        = new double[BLOCK_SIZE];
+            t          = new double[BLOCK_SIZE];
+            u          = new double[BLOCK_SIZE];
+            u2         = new double[BLOCK_SIZE];
+            tOu        = new double[BLOCK_SIZE];
+            aOrN       = new double[degree + 1][BLOCK_SIZE];
+            cosLambda  = new double[order + 1][BLOCK_SIZE];
+            sinLambda  = new double[order + 1][BLOCK_SIZE];
+            pnm0Plus2  = new double[degree + 1][BLOCK_SIZE];
+            pnm0Plus1  = new double[degree + 1][BLOCK_SIZE];
+            pnm0       = new double[degree + 1][BLOCK_SIZE];
+            pnm1Plus1  = new double[degree + 1][BLOCK_SIZE];
+            pnm1       = new double[degree + 1][BLOCK_SIZE];
+            pnm2       = new double[degree + 1][BLOCK_SIZE];
+            sumS       = new double[BLOCK_SIZE];
+            sumC       = new double[BLOCK_SIZE];
+            dSumSdR    = new double[BLOCK_SIZE];
+            dSumCdR    = new double[BLOCK_SIZE];
+            dSumSdT    = new double[BLOCK_SIZE];
+            dSumCdT    = new double[BLOCK_SIZE];
+            d2SumSdRdR = new double[BLOCK_SIZE];
+            d2SumSdRdT = new double[BLOCK_SIZE];
+            d2SumSdTdT = new double[BLOCK_SIZE];
+            d2SumCdRdR = new double[BLOCK_SIZE];
+            d2SumCdRdT = new double[BLOCK_SIZE];
+            d2SumCdTdT = new double[BLOCK_SIZE];
+            value      = new double[BLOCK_SIZE];
+            gradient   = new double[3][BLOCK_SIZE];
+            hessian    = new double[6][BLOCK_SIZE];
+            sGradient  = new double[3];
+            sHessian   = new double[3][3];
+        }
+
+        /** Reset the recursion columns and the outer summations.
+         * @return the instance itself
+         */
+        BlockWorkspace reset() {
+            for (final double[][] columns : Arrays.asList(pnm0Plus2, pnm0Plus1, pnm0, pnm1Plus1, pnm1, pnm2,
+                                                          gradient, hessian)) {
+                for (final double[] column : columns) {
+                    Arrays.fill(column, 0.0);
+                }
+            }
+            Arrays.fill(value, 0.0);
+            return this;
+        }
+
+        /** Reset the inner summations.
+         * @param size number of points in the block
+         */
+        void resetSums(final int size) {
+            for (final double[] sum : Arrays.asList(sumS, sumC, dSumSdR, dSumCdR, dSumSdT, dSumCdT,
+                                                    d2SumSdRdR, d2SumSdRdT, d2SumSdTdT,
+                                                    d2SumCdRdR, d2SumCdRdT, d2SumCdTdT)) {
+                Arrays.fill(sum, 0, size, 0.0);
+            }
+        }
+
+    }
+
     /** Compute a/r powers array.
      * @param aOr a/r
-     * @return array containing (a/r)<sup>n</sup>
+     * @param aOrN array to fill, must have provider max degree + 1 elements
+     * @return array containing (a/r)<sup>n</sup> (i.e. aOrN itself)
      */
-    private double[] createDistancePowersArray(final double aOr) {
+    private double[] computeDistancePowers(final double aOr, final double[] aOrN) {
 
         // initialize array
-        final double[] aOrN = new double[provider.getMaxDegree() + 1];
         aOrN[0] = 1;
         aOrN[1] = aOr;
 
@@ -772,13 +1500,13 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
     /** Compute longitude cosines and sines.
      * @param cosLambda cos(λ)
      * @param sinLambda sin(λ)
+     * @param cosSin array to fill, must have 2 rows of provider max order + 1 elements
      * @return array containing cos(m &times; λ) in row 0
-     * and sin(m &times; λ) in row 1
+     * and sin(m &times; λ) in row 1 (i.e. cosSin itself)
      */
-    private double[][] createCosSinArrays(final double cosLambda, final double sinLambda) {
+    private double[][] computeCosSin(final double cosLambda, final double sinLambda, final double[][] cosSin) {
 
         // initialize arrays
-        final double[][] cosSin = new double[2][provider.getMaxOrder() + 1];
         cosSin[0][0] = 1;
         cosSin[1][0] = 0;
         if (provider.getMaxOrder() > 0) {
@@ -17,6 +17,8 @@
 package org.orekit.forces.gravity.potential;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -27,6 +29,7 @@ import java.util.Locale;
 
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
+import org.orekit.data.CompilableDataLoader;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.utils.Constants;
@@ -39,7 +42,7 @@ import org.orekit.utils.Constants;
  * @see GravityFieldFactory
  * @author Fabien Maussion
  */
-public class EGMFormatReader extends PotentialCoefficientsReader {
+public class EGMFormatReader extends PotentialCoefficientsReader implements CompilableDataLoader {
 
     /** Flag for using WGS84 values for equatorial radius and central attraction coefficient. */
     private final boolean useWgs84Coefficients;
@@ -87,12 +90,7 @@ public class EGMFormatReader extends PotentialCoefficientsReader {
             setMu(Constants.EGM96_EARTH_MU);
         }
 
-        final String lowerCaseName = name.toLowerCase(Locale.US);
-        if (lowerCaseName.contains("2008") || lowerCaseName.contains("zerotide")) {
-            setTideSystem(TideSystem.ZERO_TIDE);
-        } else {
-            setTideSystem(TideSystem.TIDE_FREE);
-        }
+        setTideSystem(getTideSystemFromName(name));
 
         final BufferedReader r = new BufferedReader(new InputStreamReader(input, "UTF-8"));
         final List<List<Double>> c = new ArrayList<List<Double>>();
@@ -144,6 +142,40 @@ public class EGMFormatReader extends PotentialCoefficientsReader {
 
     }
 
+    /** {@inheritDoc} */
+    public String getCompiledFormat() {
+        return "EGM-1/" + getMaxParseDegree() + "/" + getMaxParseOrder() + "/" +
+               missingCoefficientsAllowed() + "/" + useWgs84Coefficients;
+    }
+
+    /** {@inheritDoc} */
+    public void writeCompiled(final DataOutputStream output) throws IOException {
+        writeCompiledCoefficients(output);
+    }
+
+    /** {@inheritDoc} */
+    public void loadCompiled(final DataInputStream input, final String name)
+        throws IOException {
+        setReadComplete(false);
+        loadCompiledCoefficients(input);
+        // the tide system depends on the file name, not on the file content
+        setTideSystem(getTideSystemFromName(name));
+        setReadComplete(true);
+    }
+
+    /** Get the tide system corresponding to a file name.
+     * @param name name of the file (or zip entry)
+     * @return tide system corresponding to the file name
+     */
+    private TideSystem getTideSystemFromName(final String name) {
+        final String lowerCaseName = name.toLowerCase(Locale.US);
+        if (lowerCaseName.contains("2008") || lowerCaseName.contains("zerotide")) {
+            return TideSystem.ZERO_TIDE;
+        } else {
+            return TideSystem.TIDE_FREE;
+        }
+    }
+
     /** Get a provider for read spherical harmonics coefficients.
      * <p>
      * EGM fields don't include time-dependent parts, so this method returns
@@ -17,6 +17,8 @@
 package org.orekit.forces.gravity.potential;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -28,6 +30,7 @@ import java.util.Map;
 
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
+import org.orekit.data.CompilableDataLoader;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.errors.OrekitParseException;
@@ -82,7 +85,7 @@ import org.orekit.utils.Constants;
  * @see GravityFieldFactory
  * @author Luc Maisonobe
  */
-public class ICGEMFormatReader extends PotentialCoefficientsReader {
+public class ICGEMFormatReader extends PotentialCoefficientsReader implements CompilableDataLoader {
 
     /** Product type. */
     private static final String PRODUCT_TYPE            = "product_type";
@@ -362,6 +365,78 @@ public class ICGEMFormatReader extends PotentialCoefficientsReader {
 
     }
 
+    /** {@inheritDoc} */
+    public String getCompiledFormat() {
+        return "ICGEM-1/" + getMaxParseDegree() + "/" + getMaxParseOrder() + "/" + missingCoefficientsAllowed();
+    }
+
+    /** {@inheritDoc} */
+    public void writeCompiled(final DataOutputStream output) throws IOException {
+
+        // constant part
+        writeCompiledCoefficients(output);
+        output.writeBoolean(normalized);
+
+        // time-dependent parts
+        output.writeBoolean(referenceDate != null);
+        if (referenceDate != null) {
+            output.writeInt(referenceDate.getYear());
+            output.writeInt(referenceDate.getMonth());
+            output.writeInt(referenceDate.getDay());
+        }
+        writeCompiledArray(output, toArray(cTrend));
+        writeCompiledArray(output, toArray(sTrend));
+        output.writeInt(cCos.size());
+        for (final Map.Entry<Double, List<List<Double>>> entry : cCos.entrySet()) {
+            final Double period = entry.getKey();
+            output.writeDouble(period);
+            writeCompiledArray(output, toArray(cCos.get(period)));
+            writeCompiledArray(output, toArray(cSin.get(period)));
+            writeCompiledArray(output, toArray(sCos.get(period)));
+            writeCompiledArray(output, toArray(sSin.get(period)));
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    public void loadCompiled(final DataInputStream input, final String name)
+        throws IOException {
+
+        // reset the indicator before loading any data
+        setReadComplete(false);
+        cCos.clear();
+        cSin.clear();
+        sCos.clear();
+        sSin.clear();
+
+        // constant part
+        loadCompiledCoefficients(input);
+        tideSystem = getTideSystem();
+        normalized = input.readBoolean();
+
+        // time-dependent parts
+        referenceDate = input.readBoolean() ?
+                        new DateComponents(input.readInt(), input.readInt(), input.readInt()) :
+                        null;
+        toListOfLists(readCompiledArray(input), cTrend);
+        toListOfLists(readCompiledArray(input), sTrend);
+        final int nbPeriods = input.readInt();
+        for (int k = 0; k < nbPeriods; ++k) {
+            final Double period = input.readDouble();
+            cCos.put(period, new ArrayList<List<Double>>());
+            cSin.put(period, new ArrayList<List<Double>>());
+            sCos.put(period, new ArrayList<List<Double>>());
+            sSin.put(period, new ArrayList<List<Double>>());
+            toListOfLists(readCompiledArray(input), cCos.get(period));
+            toListOfLists(readCompiledArray(input), cSin.get(period));
+            toListOfLists(readCompiledArray(input), sCos.get(period));
+            toListOfLists(readCompiledArray(input), sSin.get(period));
+        }
+
+        setReadComplete(true);
+
+    }
+
     /** Get a provider for read spherical harmonics coefficients.
      * <p>
      * ICGEM fields do include time-dependent parts which are taken into account
@@ -16,6 +16,8 @@
  */
 package org.orekit.forces.gravity.potential;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.ParseException;
@@ -302,6 +304,86 @@ public abstract class PotentialCoefficientsReader implements DataLoader {
         return rawC[rawC.length - 1].length - 1;
     }
 
+    /** Write the coefficients set by the last call to {@link
+     * #setRawCoefficients(boolean, double[][], double[][], String)} in compiled form.
+     * <p>
+     * This method is intended to be used by readers implementing
+     * {@link org.orekit.data.CompilableDataLoader}, it writes the
+     * central body constants, the tide system and the raw coefficients.
+     * </p>
+     * @param output output stream where to write data
+     * @exception IOException if data cannot be written
+     * @see #loadCompiledCoefficients(DataInputStream)
+     * @since 9.3
+     */
+    protected void writeCompiledCoefficients(final DataOutputStream output)
+        throws IOException {
+        output.writeDouble(ae);
+        output.writeDouble(mu);
+        output.writeUTF(tideSystem.name());
+        output.writeBoolean(normalized);
+        writeCompiledArray(output, rawC);
+        writeCompiledArray(output, rawS);
+    }
+
+    /** Load the coefficients from compiled form.
+     * <p>
+     * The read complete indicator is not changed by this method.
+     * </p>
+     * @param input input stream containing data written by {@link
+     * #writeCompiledCoefficients(DataOutputStream)}
+     * @exception IOException if data cannot be read
+     * @since 9.3
+     */
+    protected void loadCompiledCoefficients(final DataInputStream input)
+        throws IOException {
+        try {
+            ae         = input.readDouble();
+            mu         = input.readDouble();
+            tideSystem = TideSystem.valueOf(input.readUTF());
+            normalized = input.readBoolean();
+            rawC       = readCompiledArray(input);
+            rawS       = readCompiledArray(input);
+        } catch (IllegalArgumentException iae) {
+            throw new IOException(iae);
+        }
+    }
+
+    /** Write a (possibly irregular) coefficients array in compiled form.
+     * @param output output stream where to write data
+     * @param array array to write
+     * @exception IOException if data cannot be written
+     * @since 9.3
+     */
+    protected static void writeCompiledArray(final DataOutputStream output, final double[][] array)
+        throws IOException {
+        output.writeInt(array.length);
+        for (final double[] row : array) {
+            output.writeInt(row.length);
+            for (final double value : row) {
+                output.writeDouble(value);
+            }
+        }
+    }
+
+    /** Read a (possibly irregular) coefficients array from compiled form.
+     * @param input input stream from where to read data
+     * @return read array
+     * @exception IOException if data cannot be read
+     * @since 9.3
+     */
+    protected static double[][] readCompiledArray(final DataInputStream input)
+        throws IOException {
+        final double[][] array = new double[input.readInt()][];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = new double[input.readInt()];
+            for (int j = 0; j < array[i].length; ++j) {
+                array[i][j] = input.readDouble();
+            }
+        }
+        return array;
+    }
+
     /** {@inheritDoc} */
     public abstract void loadData(InputStream input, String name)
         throws IOException, ParseException, OrekitException;
@@ -429,6 +511,22 @@ public abstract class PotentialCoefficientsReader implements DataLoader {
         return array;
     }
 
+    /** Convert an array into a list of lists.
+     * @param array array of coefficients
+     * @param list list of lists of coefficients to fill up (will be cleared first)
+     * @since 9.3
+     */
+    protected void toListOfLists(final double[][] array, final List<List<Double>> list) {
+        list.clear();
+        for (final double[] row : array) {
+            final List<Double> listN = new ArrayList<Double>(row.length);
+            for (final double value : row) {
+                listN.add(value);
+            }
+            list.add(listN);
+        }
+    }
+
     /** Parse a coefficient.
      * @param field text field to parse
      * @param list list where to put the coefficient
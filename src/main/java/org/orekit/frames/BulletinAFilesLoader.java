@@ -17,6 +17,8 @@
 package org.orekit.frames;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -30,7 +32,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.hipparchus.util.FastMath;
-import org.orekit.data.DataLoader;
+import org.orekit.data.CompilableDataLoader;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
@@ -366,7 +368,16 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
     }
 
     /** Internal class performing the parsing. */
-    private static class Parser implements DataLoader {
+    private static class Parser implements CompilableDataLoader {
+
+        /** Row type for X, Y, UT1-UTC in compiled data. */
+        private static final int XYDT_ROW = 0;
+
+        /** Row type for Non-Rotating Origin pole offsets in compiled data. */
+        private static final int NRO_POLE_OFFSETS_ROW = 1;
+
+        /** Row type for equinox-based pole offsets in compiled data. */
+        private static final int EQUINOX_POLE_OFFSETS_ROW = 2;
 
         /** Map for xp, yp, dut1 fields read in different sections. */
         private final Map<Integer, double[]> eopFieldsMap;
@@ -374,6 +385,9 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
         /** Map for pole offsets fields read in different sections. */
         private final Map<Integer, double[]> poleOffsetsFieldsMap;
 
+        /** Rows parsed in current file, in parsing order. */
+        private final List<double[]> fileRows;
+
         /** Configuration for ITRF versions. */
         private final ITRFVersionLoader itrfVersionLoader;
 
@@ -405,6 +419,7 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
             throws OrekitException {
             this.eopFieldsMap         = new HashMap<Integer, double[]>();
             this.poleOffsetsFieldsMap = new HashMap<Integer, double[]>();
+            this.fileRows             = new ArrayList<double[]>();
             this.itrfVersionLoader    = new ITRFVersionLoader(ITRFVersionLoader.SUPPORTED_NAMES);
             this.lineNumber           = 0;
             this.mjdMin               = Integer.MAX_VALUE;
@@ -428,6 +443,7 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
             final BufferedReader reader = new BufferedReader(new InputStreamReader(input, "UTF-8"));
             lineNumber =  0;
             firstMJD   = -1;
+            fileRows.clear();
 
             // loop over sections
             final List<Section> remaining = new ArrayList<Section>();
@@ -472,6 +488,46 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
 
         }
 
+        /** {@inheritDoc} */
+        public String getCompiledFormat() {
+            return "bulletinA-1";
+        }
+
+        /** {@inheritDoc} */
+        public void writeCompiled(final DataOutputStream output) throws IOException {
+            output.writeInt(fileRows.size());
+            for (final double[] row : fileRows) {
+                output.writeByte((int) row[0]);
+                output.writeInt((int) row[1]);
+                for (int i = 2; i < row.length; ++i) {
+                    output.writeDouble(row[i]);
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        public void loadCompiled(final DataInputStream input, final String name)
+            throws IOException {
+
+            this.configuration = null;
+            this.fileName      = name;
+            firstMJD = -1;
+            fileRows.clear();
+
+            // replay the rows in the same order they were parsed
+            final int n = input.readInt();
+            for (int i = 0; i < n; ++i) {
+                final int type = input.readByte();
+                final int mjd  = input.readInt();
+                if (type == XYDT_ROW) {
+                    updateXYDT(mjd, input.readDouble(), input.readDouble(), input.readDouble());
+                } else {
+                    updatePoleOffsets(mjd, type == NRO_POLE_OFFSETS_ROW, input.readDouble(), input.readDouble());
+                }
+            }
+
+        }
+
         /** Fill EOP history obtained after reading several files.
          * @param history history to fill up
          * @exception OrekitException if UTC time scale cannot be retrieved
@@ -612,31 +668,10 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
                         throw new OrekitException(OrekitMessages.INCONSISTENT_DATES_IN_IERS_FILE,
                                                   name, year, month, day, mjd);
                     }
-                    mjdMin = FastMath.min(mjdMin, mjd);
-                    mjdMax = FastMath.max(mjdMax, mjd);
-                    if (firstMJD < 0) {
-                        // store the first mjd parsed
-                        firstMJD = mjd;
-                    }
-
-                    // get the entry at the same date if it was already parsed
-                    final double[] eop;
-                    if (eopFieldsMap.containsKey(mjd)) {
-                        eop = eopFieldsMap.get(mjd);
-                    } else {
-                        eop = new double[4];
-                        eopFieldsMap.put(mjd, eop);
-                    }
-
-                    if (eop[0] <= firstMJD) {
-                        // either it is the first time we parse this date (eop[0] = 0),
-                        // or the new parsed data is from a more recent file
-                        // in both case, we should update the array
-                        eop[0] = firstMJD;
-                        eop[1] = Double.parseDouble(fields[4]);
-                        eop[2] = Double.parseDouble(fields[5]);
-                        eop[3] = Double.parseDouble(fields[6]);
-                    }
+                    updateXYDT(mjd,
+                               Double.parseDouble(fields[4]),
+                               Double.parseDouble(fields[5]),
+                               Double.parseDouble(fields[6]));
 
                 } else if (inValuesPart) {
                     // we leave values part
@@ -671,32 +706,9 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
                     inValuesPart = true;
 
                     // this is a data line, build an entry from the extracted fields
-                    final int mjd = Integer.parseInt(fields[0]);
-                    mjdMin = FastMath.min(mjdMin, mjd);
-                    mjdMax = FastMath.max(mjdMax, mjd);
-
-                    // get the entry at the same date if it was already parsed
-                    final double[] pole;
-                    if (poleOffsetsFieldsMap.containsKey(mjd)) {
-                        pole = poleOffsetsFieldsMap.get(mjd);
-                    } else {
-                        pole = new double[5];
-                        poleOffsetsFieldsMap.put(mjd, pole);
-                    }
-
-                    if (pole[0] <= firstMJD) {
-                        // either it is the first time we parse this date (pole[0] = 0),
-                        // or the new parsed data is from a more recent file
-                        // in both case, we should update the array
-                        pole[0] = firstMJD;
-                        if (isNonRotatingOrigin) {
-                            pole[1] = Double.parseDouble(fields[1]);
-                            pole[2] = Double.parseDouble(fields[2]);
-                        } else {
-                            pole[3] = Double.parseDouble(fields[1]);
-                            pole[4] = Double.parseDouble(fields[2]);
-                        }
-                    }
+                    updatePoleOffsets(Integer.parseInt(fields[0]), isNonRotatingOrigin,
+                                      Double.parseDouble(fields[1]),
+                                      Double.parseDouble(fields[2]));
 
                 } else if (inValuesPart) {
                     // we leave values part
@@ -709,6 +721,87 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
 
         }
 
+        /** Update X, Y, UT1-UTC for one date.
+         * @param mjd date
+         * @param x X component of pole motion (arcseconds)
+         * @param y Y component of pole motion (arcseconds)
+         * @param dt UT1-UTC (s)
+         */
+        private void updateXYDT(final int mjd, final double x, final double y, final double dt) {
+
+            fileRows.add(new double[] {
+                XYDT_ROW, mjd, x, y, dt
+            });
+
+            mjdMin = FastMath.min(mjdMin, mjd);
+            mjdMax = FastMath.max(mjdMax, mjd);
+            if (firstMJD < 0) {
+                // store the first mjd parsed
+                firstMJD = mjd;
+            }
+
+            // get the entry at the same date if it was already parsed
+            final double[] eop;
+            if (eopFieldsMap.containsKey(mjd)) {
+                eop = eopFieldsMap.get(mjd);
+            } else {
+                eop = new double[4];
+                eopFieldsMap.put(mjd, eop);
+            }
+
+            if (eop[0] <= firstMJD) {
+                // either it is the first time we parse this date (eop[0] = 0),
+                // or the new parsed data is from a more recent file
+                // in both case, we should update the array
+                eop[0] = firstMJD;
+                eop[1] = x;
+                eop[2] = y;
+                eop[3] = dt;
+            }
+
+        }
+
+        /** Update pole offsets for one date.
+         * @param mjd date
+         * @param isNonRotatingOrigin if true, the offsets are Non-Rotating Origin nutation corrections
+         * @param offset0 first offset (milliarcseconds)
+         * @param offset1 second offset (milliarcseconds)
+         */
+        private void updatePoleOffsets(final int mjd, final boolean isNonRotatingOrigin,
+                                       final double offset0, final double offset1) {
+
+            fileRows.add(new double[] {
+                isNonRotatingOrigin ? NRO_POLE_OFFSETS_ROW : EQUINOX_POLE_OFFSETS_ROW, mjd, offset0, offset1
+            });
+
+            mjdMin = FastMath.min(mjdMin, mjd);
+            mjdMax = FastMath.max(mjdMax, mjd);
+
+            // get the entry at the same date if it was already parsed
+            final double[] pole;
+            if (poleOffsetsFieldsMap.containsKey(mjd)) {
+                pole = poleOffsetsFieldsMap.get(mjd);
+            } else {
+                pole = new double[5];
+                poleOffsetsFieldsMap.put(mjd, pole);
+            }
+
+            if (pole[0] <= firstMJD) {
+                // either it is the first time we parse this date (pole[0] = 0),
+                // or the new parsed data is from a more recent file
+                // in both case, we should update the array
+                pole[0] = firstMJD;
+                if (isNonRotatingOrigin) {
+                    pole[1] = offset0;
+                    pole[2] = offset1;
+                } else {
+                    pole[3] = offset0;
+                    pole[4] = offset1;
+                }
+            }
+
+        }
+
     }
 
 }
@@ -17,6 +17,8 @@
 package org.orekit.frames;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -29,14 +31,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.hipparchus.util.FastMath;
-import org.orekit.data.DataLoader;
+import org.orekit.data.CompilableDataLoader;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
-import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
 import org.orekit.time.Month;
-import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 
@@ -240,7 +240,7 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
     }
 
     /** Internal class performing the parsing. */
-    private static class Parser implements DataLoader {
+    private static class Parser implements CompilableDataLoader {
 
         /** Converter for nutation corrections. */
         private final IERSConventions.NutationCorrectionConverter converter;
@@ -248,15 +248,15 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
         /** Configuration for ITRF versions. */
         private final ITRFVersionLoader itrfVersionLoader;
 
-        /** ITRF version configuration. */
-        private ITRFVersionLoader.ITRFVersionConfiguration configuration;
-
         /** History entries. */
         private final List<EOPEntry> history;
 
         /** Map for fields read in different sections. */
         private final Map<Integer, double[]> fieldsMap;
 
+        /** Raw rows from current file. */
+        private final EOPRawRows rows;
+
         /** Current line number. */
         private int lineNumber;
 
@@ -279,6 +279,7 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
             this.itrfVersionLoader = new ITRFVersionLoader(ITRFVersionLoader.SUPPORTED_NAMES);
             this.history           = new ArrayList<EOPEntry>();
             this.fieldsMap         = new HashMap<Integer, double[]>();
+            this.rows              = new EOPRawRows();
             this.lineNumber        = 0;
             this.mjdMin            = Integer.MAX_VALUE;
             this.mjdMax            = Integer.MIN_VALUE;
@@ -293,13 +294,12 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
         public void loadData(final InputStream input, final String name)
             throws OrekitException, IOException {
 
-            configuration = null;
-
             // set up a reader for line-oriented bulletin B files
             final BufferedReader reader = new BufferedReader(new InputStreamReader(input, "UTF-8"));
 
             // reset parse info to start new file (do not clear history!)
             fieldsMap.clear();
+            rows.clear();
             lineNumber = 0;
             mjdMin     = Integer.MAX_VALUE;
             mjdMax     = Integer.MIN_VALUE;
@@ -314,8 +314,8 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                 loadMJDBoundsOldFormat(reader, name);
 
                 final Matcher section2Matcher = seekToLine(SECTION_2_HEADER_OLD, reader, name);
-                final boolean isNonRotatingOrigin = section2Matcher.group(1).startsWith("dX");
-                loadEOPOldFormat(isNonRotatingOrigin, reader, name);
+                rows.setNonRotatingOrigin(section2Matcher.group(1).startsWith("dX"));
+                loadEOPOldFormat(reader, name);
 
             } else {
 
@@ -328,28 +328,38 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                 // extract LOD data from section 3
                 loadLODNewFormat(reader, name);
 
-                // set up the EOP entries
+                // set up the raw rows, new format always uses Non-Rotating Origin
+                rows.setNonRotatingOrigin(true);
                 for (Map.Entry<Integer, double[]> entry : fieldsMap.entrySet()) {
                     final int mjd = entry.getKey();
                     final double[] array = entry.getValue();
                     if (Double.isNaN(array[0] + array[1] + array[2] + array[3] + array[4] + array[5])) {
                         throw notifyUnexpectedErrorEncountered(name);
                     }
-                    final AbsoluteDate mjdDate =
-                            new AbsoluteDate(new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, mjd),
-                                             TimeScalesFactory.getUTC());
-                    final double[] equinox = converter.toEquinox(mjdDate, array[4], array[5]);
-                    if (configuration == null || !configuration.isValid(mjd)) {
-                        // get a configuration for current name and date range
-                        configuration = itrfVersionLoader.getConfiguration(name, mjd);
-                    }
-                    history.add(new EOPEntry(mjd, array[0], array[1], array[2], array[3],
-                                             equinox[0], equinox[1], array[4], array[5],
-                                             configuration.getVersion()));
+                    rows.add(mjd, array[0], array[1], array[2], array[3], array[4], array[5]);
                 }
 
             }
 
+            rows.addEntries(converter, itrfVersionLoader, name, history);
+
+        }
+
+        /** {@inheritDoc} */
+        public String getCompiledFormat() {
+            return "bulletinB-1";
+        }
+
+        /** {@inheritDoc} */
+        public void writeCompiled(final DataOutputStream output) throws IOException {
+            rows.writeCompiled(output);
+        }
+
+        /** {@inheritDoc} */
+        public void loadCompiled(final DataInputStream input, final String name)
+            throws IOException, OrekitException {
+            rows.readCompiled(input);
+            rows.addEntries(converter, itrfVersionLoader, name, history);
         }
 
         /** Read until a line matching a pattern is found.
@@ -416,14 +426,12 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
         }
 
         /** Read EOP data from section 2 in the old bulletin B format.
-         * @param isNonRotatingOrigin if true, the file contain Non-Rotating Origin nutation corrections
          * @param reader reader from where file content is obtained
          * @param name name of the file (or zip entry)
          * @exception IOException if data can't be read
          * @exception OrekitException if some data is missing or if some loader specific error occurs
          */
-        private void loadEOPOldFormat(final boolean isNonRotatingOrigin,
-                                      final BufferedReader reader, final String name)
+        private void loadEOPOldFormat(final BufferedReader reader, final String name)
             throws OrekitException, IOException {
 
             // read the data lines in the final values part inside section 2
@@ -439,30 +447,9 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                     final double dtu1  = Double.parseDouble(matcher.group(4));
                     final double lod   = Double.parseDouble(matcher.group(5)) * MILLI_SECONDS_TO_SECONDS;
                     if (mjd >= mjdMin) {
-                        final AbsoluteDate mjdDate =
-                                new AbsoluteDate(new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, mjd),
-                                                 TimeScalesFactory.getUTC());
-                        final double[] equinox;
-                        final double[] nro;
-                        if (isNonRotatingOrigin) {
-                            nro = new double[] {
-                                Double.parseDouble(matcher.group(6)) * MILLI_ARC_SECONDS_TO_RADIANS,
-                                Double.parseDouble(matcher.group(7)) * MILLI_ARC_SECONDS_TO_RADIANS
-                            };
-                            equinox = converter.toEquinox(mjdDate, nro[0], nro[1]);
-                        } else {
-                            equinox = new double[] {
-                                Double.parseDouble(matcher.group(6)) * MILLI_ARC_SECONDS_TO_RADIANS,
-                                Double.parseDouble(matcher.group(7)) * MILLI_ARC_SECONDS_TO_RADIANS
-                            };
-                            nro = converter.toNonRotating(mjdDate, equinox[0], equinox[1]);
-                        }
-                        if (configuration == null || !configuration.isValid(mjd)) {
-                            // get a configuration for current name and date range
-                            configuration = itrfVersionLoader.getConfiguration(name, mjd);
-                        }
-                        history.add(new EOPEntry(mjd, dtu1, lod, x, y, equinox[0], equinox[1], nro[0], nro[1],
-                                                 configuration.getVersion()));
+                        final double nut0 = Double.parseDouble(matcher.group(6)) * MILLI_ARC_SECONDS_TO_RADIANS;
+                        final double nut1 = Double.parseDouble(matcher.group(7)) * MILLI_ARC_SECONDS_TO_RADIANS;
+                        rows.add(mjd, dtu1, lod, x, y, nut0, nut1);
                         line = mjd < mjdMax ? reader.readLine() : null;
                     } else {
                         line = reader.readLine();
@@ -17,6 +17,8 @@
 package org.orekit.frames;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -26,13 +28,11 @@ import java.util.SortedSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.orekit.data.DataLoader;
+import org.orekit.data.CompilableDataLoader;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
-import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
-import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 
@@ -160,7 +160,7 @@ class EOPC04FilesLoader implements EOPHistoryLoader {
     }
 
     /** Internal class performing the parsing. */
-    private static class Parser implements DataLoader {
+    private static class Parser implements CompilableDataLoader {
 
         /** Converter for nutation corrections. */
         private final IERSConventions.NutationCorrectionConverter converter;
@@ -180,8 +180,8 @@ class EOPC04FilesLoader implements EOPHistoryLoader {
         /** Indicator for header parsing. */
         private boolean inHeader;
 
-        /** Indicator for Non-Rotating Origin. */
-        private boolean isNonRotatingOrigin;
+        /** Raw rows from current file. */
+        private final EOPRawRows rows;
 
         /** Simple constructor.
          * @param converter converter to use
@@ -194,7 +194,7 @@ class EOPC04FilesLoader implements EOPHistoryLoader {
             this.history             = new ArrayList<EOPEntry>();
             this.lineNumber          = 0;
             this.inHeader            = true;
-            this.isNonRotatingOrigin = false;
+            this.rows                = new EOPRawRows();
         }
 
         /** {@inheritDoc} */
@@ -206,15 +206,13 @@ class EOPC04FilesLoader implements EOPHistoryLoader {
         public void loadData(final InputStream input, final String name)
             throws IOException, OrekitException {
 
-            ITRFVersionLoader.ITRFVersionConfiguration configuration = null;
-
             // set up a reader for line-oriented bulletin B files
             final BufferedReader reader = new BufferedReader(new InputStreamReader(input, "UTF-8"));
 
             // reset parse info to start new file (do not clear history!)
             lineNumber          = 0;
             inHeader            = true;
-            isNonRotatingOrigin = false;
+            rows.clear();
 
             // read all file
             for (line = reader.readLine(); line != null; line = reader.readLine()) {
@@ -225,7 +223,7 @@ class EOPC04FilesLoader implements EOPHistoryLoader {
                     final Matcher matcher = COLUMNS_HEADER_PATTERN.matcher(line);
                     if (matcher.matches()) {
                         if (matcher.group(1).startsWith("dX")) {
-                            isNonRotatingOrigin = true;
+                            rows.setNonRotatingOrigin(true);
                         }
                     }
                 }
@@ -242,34 +240,14 @@ class EOPC04FilesLoader implements EOPHistoryLoader {
                         throw new OrekitException(OrekitMessages.INCONSISTENT_DATES_IN_IERS_FILE,
                                                   name, dc.getYear(), dc.getMonth(), dc.getDay(), mjd);
                     }
-                    final AbsoluteDate date = new AbsoluteDate(dc, TimeScalesFactory.getUTC());
-
                     // the first six fields are consistent with the expected format
                     final double x     = Double.parseDouble(fields[POLE_X_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS;
                     final double y     = Double.parseDouble(fields[POLE_Y_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS;
                     final double dtu1  = Double.parseDouble(fields[UT1_UTC_FIELD]);
                     final double lod   = Double.parseDouble(fields[LOD_FIELD]);
-                    final double[] equinox;
-                    final double[] nro;
-                    if (isNonRotatingOrigin) {
-                        nro = new double[] {
-                            Double.parseDouble(fields[NUT_0_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS,
-                            Double.parseDouble(fields[NUT_1_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS
-                        };
-                        equinox = converter.toEquinox(date, nro[0], nro[1]);
-                    } else {
-                        equinox = new double[] {
-                            Double.parseDouble(fields[NUT_0_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS,
-                            Double.parseDouble(fields[NUT_1_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS
-                        };
-                        nro = converter.toNonRotating(date, equinox[0], equinox[1]);
-                    }
-                    if (configuration == null || !configuration.isValid(mjd)) {
-                        // get a configuration for current name and date range
-                        configuration = itrfVersionLoader.getConfiguration(name, mjd);
-                    }
-                    history.add(new EOPEntry(mjd, dtu1, lod, x, y, equinox[0], equinox[1], nro[0], nro[1],
-                                             configuration.getVersion()));
+                    final double nut0  = Double.parseDouble(fields[NUT_0_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS;
+                    final double nut1  = Double.parseDouble(fields[NUT_1_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS;
+                    rows.add(mjd, dtu1, lod, x, y, nut0, nut1);
                     parsed = true;
 
                 }
@@ -284,6 +262,25 @@ class EOPC04FilesLoader implements EOPHistoryLoader {
                 throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, name);
             }
 
+            rows.addEntries(converter, itrfVersionLoader, name, history);
+
+        }
+
+        /** {@inheritDoc} */
+        public String getCompiledFormat() {
+            return "eopc04-1";
+        }
+
+        /** {@inheritDoc} */
+        public void writeCompiled(final DataOutputStream output) throws IOException {
+            rows.writeCompiled(output);
+        }
+
+        /** {@inheritDoc} */
+        public void loadCompiled(final DataInputStream input, final String name)
+            throws IOException, OrekitException {
+            rows.readCompiled(input);
+            rows.addEntries(converter, itrfVersionLoader, name, history);
         }
 
     }
@@ -0,0 +1,165 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Earth Orientation Parameters read from one file, before nutation corrections conversion.
+ * <p>
+ * The rows hold the values exactly as parsed (but already converted to SI units),
+ * with nutation corrections either in equinox-based or in Non-Rotating Origin
+ * form depending on the file. They are converted to {@link EOPEntry} instances
+ * once the file has been parsed. As they do not depend on IERS conventions, they
+ * are also the data stored in {@link org.orekit.data.CompiledDataCache compiled form}.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+class EOPRawRows {
+
+    /** Rows, containing mjd, UT1-UTC, LOD, x, y and the two nutation corrections. */
+    private final List<double[]> rows;
+
+    /** Indicator for Non-Rotating Origin nutation corrections. */
+    private boolean isNonRotatingOrigin;
+
+    /** Simple constructor.
+     */
+    EOPRawRows() {
+        this.rows                = new ArrayList<double[]>();
+        this.isNonRotatingOrigin = false;
+    }
+
+    /** Reset the rows before parsing a new file.
+     */
+    public void clear() {
+        rows.clear();
+        isNonRotatingOrigin = false;
+    }
+
+    /** Set the indicator for Non-Rotating Origin nutation corrections.
+     * @param nonRotatingOrigin if true, nutation corrections are dX and dY,
+     * otherwise they are dPsi and dEpsilon
+     */
+    public void setNonRotatingOrigin(final boolean nonRotatingOrigin) {
+        this.isNonRotatingOrigin = nonRotatingOrigin;
+    }
+
+    /** Add a row.
+     * @param mjd entry date (modified julian day, 00h00 UTC scale)
+     * @param dt UT1-UTC (s)
+     * @param lod length of day
+     * @param x X component of pole motion (rad)
+     * @param y Y component of pole motion (rad)
+     * @param nut0 first nutation correction (either dX or dPsi, rad)
+     * @param nut1 second nutation correction (either dY or dEpsilon, rad)
+     */
+    public void add(final int mjd, final double dt, final double lod, final double x, final double y,
+                    final double nut0, final double nut1) {
+        rows.add(new double[] {
+            mjd, dt, lod, x, y, nut0, nut1
+        });
+    }
+
+    /** Convert the rows to EOP entries.
+     * @param converter converter to use for nutation corrections
+     * @param itrfVersionLoader loader for ITRF versions configuration
+     * @param name name of the file (or zip entry)
+     * @param history list where to add entries
+     * @exception OrekitException if UTC time scale or ITRF version cannot be retrieved
+     */
+    public void addEntries(final IERSConventions.NutationCorrectionConverter converter,
+                           final ITRFVersionLoader itrfVersionLoader, final String name,
+                           final List<EOPEntry> history)
+        throws OrekitException {
+
+        ITRFVersionLoader.ITRFVersionConfiguration configuration = null;
+        for (final double[] row : rows) {
+
+            final int mjd = (int) row[0];
+            final AbsoluteDate date =
+                    new AbsoluteDate(new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, mjd),
+                                     TimeScalesFactory.getUTC());
+
+            final double[] equinox;
+            final double[] nro;
+            if (isNonRotatingOrigin) {
+                nro     = new double[] {
+                    row[5], row[6]
+                };
+                equinox = converter.toEquinox(date, nro[0], nro[1]);
+            } else {
+                equinox = new double[] {
+                    row[5], row[6]
+                };
+                nro     = converter.toNonRotating(date, equinox[0], equinox[1]);
+            }
+
+            if (configuration == null || !configuration.isValid(mjd)) {
+                // get a configuration for current name and date range
+                configuration = itrfVersionLoader.getConfiguration(name, mjd);
+            }
+
+            history.add(new EOPEntry(mjd, row[1], row[2], row[3], row[4],
+                                     equinox[0], equinox[1], nro[0], nro[1],
+                                     configuration.getVersion()));
+
+        }
+
+    }
+
+    /** Write the rows in compiled form.
+     * @param output output stream where to write the rows
+     * @exception IOException if rows cannot be written
+     */
+    public void writeCompiled(final DataOutputStream output) throws IOException {
+        output.writeBoolean(isNonRotatingOrigin);
+        output.writeInt(rows.size());
+        for (final double[] row : rows) {
+            output.writeInt((int) row[0]);
+            for (int i = 1; i < row.length; ++i) {
+                output.writeDouble(row[i]);
+            }
+        }
+    }
+
+    /** Read the rows from compiled form.
+     * @param input input stream from where to read the rows
+     * @exception IOException if rows cannot be read
+     */
+    public void readCompiled(final DataInputStream input) throws IOException {
+        clear();
+        isNonRotatingOrigin = input.readBoolean();
+        final int n = input.readInt();
+        for (int i = 0; i < n; ++i) {
+            add(input.readInt(),
+                input.readDouble(), input.readDouble(), input.readDouble(),
+                input.readDouble(), input.readDouble(), input.readDouble());
+        }
+    }
+
+}
@@ -17,8 +17,11 @@
 package org.orekit.frames;
 
 import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
@@ -71,6 +74,9 @@ public class Frame implements Serializable {
     /** Indicator for pseudo-inertial frames. */
     private final boolean pseudoInertial;
 
+    /** Cache for transforms from instance to other frames (null if caching is disabled). */
+    private transient volatile TransformsCache transformsCache;
+
     /** Private constructor used only for the root frame.
      * @param name name of the frame
      * @param pseudoInertial true if frame is considered pseudo-inertial
@@ -240,6 +246,7 @@ public class Frame implements Serializable {
      * @param date the date (can be null if it is sure than no date dependent frame is used)
      * @return transform from the instance to the destination frame
      * @exception OrekitException if some frame specific error occurs
+     * @see #setTransformsCacheSize(int)
      */
     public Transform getTransformTo(final Frame destination, final AbsoluteDate date)
         throws OrekitException {
@@ -249,6 +256,29 @@ public class Frame implements Serializable {
             return Transform.IDENTITY;
         }
 
+        final TransformsCache cache = transformsCache;
+        if (cache == null || date == null) {
+            return computeTransformTo(destination, date);
+        }
+
+        Transform transform = cache.get(destination, date);
+        if (transform == null) {
+            transform = computeTransformTo(destination, date);
+            cache.put(destination, date, transform);
+        }
+        return transform;
+
+    }
+
+    /** Compute the transform from the instance to another frame, walking the frames tree.
+     * @param destination destination frame to which we want to transform vectors
+     * @param date the date (can be null if it is sure than no date dependent frame is used)
+     * @return transform from the instance to the destination frame
+     * @exception OrekitException if some frame specific error occurs
+     */
+    private Transform computeTransformTo(final Frame destination, final AbsoluteDate date)
+        throws OrekitException {
+
         // common ancestor to both frames in the frames tree
         final Frame common = findCommon(this, destination);
 
@@ -315,6 +345,78 @@ public class Frame implements Serializable {
         return transformProvider;
     }
 
+    /** Get a provider for the transforms from the instance to another frame.
+     * <p>
+     * The provider composes the whole chain of transforms between the two
+     * frames. It can be wrapped into an {@link InterpolatingTransformProvider}
+     * or a {@link ShiftingTransformProvider}, so that closely spaced queries
+     * are served by a single interpolation or shift of the composite transform
+     * instead of walking the frames tree and combining the transforms of all
+     * intermediate frames at each call.
+     * </p>
+     * @param destination destination frame to which we want to transform vectors
+     * @return provider for transforms from the instance to the destination frame
+     * @since 9.3
+     */
+    public TransformProvider getTransformProviderTo(final Frame destination) {
+        final Frame origin = this;
+        return new TransformProvider() {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20181016L;
+
+            /** {@inheritDoc} */
+            @Override
+            public Transform getTransform(final AbsoluteDate date)
+                throws OrekitException {
+                return origin.getTransformTo(destination, date);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public <T extends RealFieldElement<T>> FieldTransform<T> getTransform(final FieldAbsoluteDate<T> date)
+                throws OrekitException {
+                return origin.getTransformTo(destination, date);
+            }
+
+        };
+    }
+
+    /** Set the size of the cache for transforms from the instance to other frames.
+     * <p>
+     * Caching is disabled by default. When it is enabled, the transforms computed
+     * by {@link #getTransformTo(Frame, AbsoluteDate)} are stored in a least recently
+     * used cache keyed by destination frame and date, so repeated queries for the same
+     * frames pair at the same date return the same transform without walking the frames
+     * tree. Queries using {@link FieldAbsoluteDate field dates} are not cached. The
+     * cache is safe for use in multi-threaded environments.
+     * </p>
+     * <p>
+     * As transforms are cached as computed, caching should not be enabled
+     * if the chain to some destination frame involves an {@link UpdatableFrame}
+     * that is updated, unless the cache is reset (by calling this method again)
+     * after each update.
+     * </p>
+     * @param size maximum number of cached transforms (0 to disable caching)
+     * @since 9.3
+     */
+    public void setTransformsCacheSize(final int size) {
+        if (size < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, size, 0);
+        }
+        transformsCache = (size == 0) ? null : new TransformsCache(size);
+    }
+
+    /** Get the size of the cache for transforms from the instance to other frames.
+     * @return maximum number of cached transforms (0 if caching is disabled)
+     * @see #setTransformsCacheSize(int)
+     * @since 9.3
+     */
+    public int getTransformsCacheSize() {
+        final TransformsCache cache = transformsCache;
+        return (cache == null) ? 0 : cache.maxSize;
+    }
+
     /** Find the deepest common ancestor of two frames in the frames tree.
      * @param from origin frame
      * @param to destination frame
@@ -385,6 +487,93 @@ public class Frame implements Serializable {
                          frozenName, reference.isPseudoInertial());
     }
 
+    /** Least recently used cache for transforms from one frame to other frames.
+     * @since 9.3
+     */
+    private static class TransformsCache {
+
+        /** Maximum number of cached transforms. */
+        private final int maxSize;
+
+        /** Cached transforms. */
+        private final Map<Key, Transform> transforms;
+
+        /** Simple constructor.
+         * @param maxSize maximum number of cached transforms
+         */
+        TransformsCache(final int maxSize) {
+            this.maxSize    = maxSize;
+            this.transforms = new LinkedHashMap<Key, Transform>(16, 0.75f, true) {
+
+                /** Serializable UID. */
+                private static final long serialVersionUID = 20181016L;
+
+                /** {@inheritDoc} */
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, Transform> eldest) {
+                    return size() > maxSize;
+                }
+
+            };
+        }
+
+        /** Get a cached transform.
+         * @param destination destination frame
+         * @param date transform date
+         * @return cached transform, or null if not in cache
+         */
+        public synchronized Transform get(final Frame destination, final AbsoluteDate date) {
+            return transforms.get(new Key(destination, date));
+        }
+
+        /** Add a transform to the cache.
+         * @param destination destination frame
+         * @param date transform date
+         * @param transform transform to cache
+         */
+        public synchronized void put(final Frame destination, final AbsoluteDate date,
+                                     final Transform transform) {
+            transforms.put(new Key(destination, date), transform);
+        }
+
+    }
+
+    /** Key for transforms cache. */
+    private static class Key {
+
+        /** Destination frame. */
+        private final Frame destination;
+
+        /** Transform date. */
+        private final AbsoluteDate date;
+
+        /** Simple constructor.
+         * @param destination destination frame
+         * @param date transform date
+         */
+        Key(final Frame destination, final AbsoluteDate date) {
+            this.destination = destination;
+            this.date        = date;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return destination == key.destination && date.equals(key.date);
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(destination) + date.hashCode();
+        }
+
+    }
+
     // We use the Initialization on demand holder idiom to store
     // the singletons, as it is both thread-safe, efficient (no
     // synchronization) and works with all versions of java.
@@ -28,6 +28,7 @@ import org.hipparchus.RealFieldElement;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.ChronologicalComparator;
 import org.orekit.time.FieldAbsoluteDate;
@@ -199,6 +200,24 @@ public class FramesFactory {
     private static transient Map<ITRFKey, VersionedITRF> VERSIONED_ITRF_FRAMES =
         new HashMap<ITRFKey, VersionedITRF>();
 
+    /** Tabulated ITRF frames. */
+    private static transient Map<TabulatedITRFKey, Frame> TABULATED_ITRF_FRAMES =
+        new HashMap<TabulatedITRFKey, Frame>();
+
+    /** Number of tabulated ITRF checks per tabulation step.
+     * <p>
+     * This ratio is not an integer, so checks do not always fall at the same
+     * location within tabulation intervals.
+     * </p>
+     */
+    private static final double TABULATED_ITRF_CHECKS_PER_STEP = 7.5;
+
+    /** Duration of each tabulated ITRF check window (s). */
+    private static final double TABULATED_ITRF_CHECK_WINDOW = Constants.JULIAN_DAY;
+
+    /** Milli arcsecond (rad). */
+    private static final double MAS = Constants.ARC_SECONDS_TO_RADIANS / 1000.0;
+
     /** Loaders for Earth Orientation parameters. */
     private static final Map<IERSConventions, List<EOPHistoryLoader>> EOP_HISTORY_LOADERS =
         new HashMap<IERSConventions, List<EOPHistoryLoader>>();
@@ -741,6 +760,95 @@ public class FramesFactory {
         }
     }
 
+    /** Get a tabulated International Terrestrial Reference Frame.
+     * <p>
+     * The frame returned is a direct child of {@link #getGCRF() GCRF}. Its
+     * transform is the complete GCRF to {@link #getITRF(IERSConventions, boolean)
+     * ITRF} composed transform, sampled on a regular grid and interpolated using
+     * rotation and rotation rate. Each query is therefore served by a single Hermite
+     * interpolation instead of the evaluation and combination of the transforms of
+     * all intermediate frames. The tabulation step depends on the selected accuracy
+     * tier, and the interpolation error is checked against the exact chain when the
+     * frame is built, over one day windows near the start, in the middle and near the
+     * end of the Earth Orientation Parameters history. As the check is performed on
+     * samples, it does not strictly bound the error at all dates. This frame is intended for throughput-critical computations like ground
+     * tracks or visibility, where the accuracy budget is known beforehand.
+     * </p>
+     * @param conventions IERS conventions to apply
+     * @param simpleEOP if true, tidal effects are ignored when interpolating EOP
+     * @param accuracy accuracy tier
+     * @return the selected reference frame singleton.
+     * @exception OrekitException if data embedded in the library cannot be read
+     * or if tabulation error exceeds the accuracy budget at one check point
+     * @since 9.3
+     */
+    public static Frame getTabulatedITRF(final IERSConventions conventions,
+                                         final boolean simpleEOP,
+                                         final TabulatedITRFAccuracy accuracy)
+        throws OrekitException {
+        synchronized (FramesFactory.class) {
+
+            // try to find an already built frame
+            final TabulatedITRFKey key = new TabulatedITRFKey(conventions, simpleEOP, accuracy);
+            Frame frame = TABULATED_ITRF_FRAMES.get(key);
+
+            if (frame == null) {
+                // it's the first time we need this frame, build it and store it
+                final Frame gcrf = getGCRF();
+                final FactoryManagedFrame itrf = getITRF(conventions, simpleEOP);
+                final TransformProvider interpolating =
+                        new InterpolatingTransformProvider(gcrf.getTransformProviderTo(itrf),
+                                                           CartesianDerivativesFilter.USE_P,
+                                                           AngularDerivativesFilter.USE_RR,
+                                                           2, accuracy.getStep(),
+                                                           OrekitConfiguration.getCacheSlotsNumber(),
+                                                           Constants.JULIAN_YEAR, 30 * Constants.JULIAN_DAY);
+                frame = new Frame(gcrf, interpolating, accuracy.name() + "-tabulated/" + itrf.getName(), false);
+
+                // check the tabulation error against the exact frames chain,
+                // near the start, in the middle and near the end of EOP history
+                final EOPHistory history = ((ITRFProvider) itrf.getTransformProvider()).getEOPHistory();
+                final List<EOPEntry> entries = history.getEntries();
+                final List<AbsoluteDate> windows = new ArrayList<AbsoluteDate>();
+                if (entries.isEmpty()) {
+                    windows.add(AbsoluteDate.J2000_EPOCH);
+                } else {
+                    final AbsoluteDate first    = entries.get(0).getDate();
+                    final AbsoluteDate last     = entries.get(entries.size() - 1).getDate();
+                    final double       duration = last.durationFrom(first);
+                    if (duration >= 3 * TABULATED_ITRF_CHECK_WINDOW) {
+                        // keep one window away from history boundaries, where EOP
+                        // corrections become discontinuous
+                        windows.add(first.shiftedBy(TABULATED_ITRF_CHECK_WINDOW));
+                    }
+                    windows.add(first.shiftedBy(0.5 * (duration - TABULATED_ITRF_CHECK_WINDOW)));
+                    if (duration >= 3 * TABULATED_ITRF_CHECK_WINDOW) {
+                        windows.add(last.shiftedBy(-2 * TABULATED_ITRF_CHECK_WINDOW));
+                    }
+                }
+                final double checkStep = accuracy.getStep() / TABULATED_ITRF_CHECKS_PER_STEP;
+                for (final AbsoluteDate windowStart : windows) {
+                    for (double dt = 0; dt < TABULATED_ITRF_CHECK_WINDOW; dt += checkStep) {
+                        final AbsoluteDate date  = windowStart.shiftedBy(dt);
+                        final Transform    exact = gcrf.getTransformTo(itrf, date);
+                        final Transform    error = new Transform(date, exact.getInverse(), interpolating.getTransform(date));
+                        final double       angle = error.getRotation().getAngle();
+                        if (angle > accuracy.getAngularAccuracy()) {
+                            throw new OrekitException(OrekitMessages.TABULATED_ITRF_ACCURACY_EXCEEDED,
+                                                      frame.getName(), angle / MAS, date,
+                                                      accuracy.getAngularAccuracy() / MAS);
+                        }
+                    }
+                }
+
+                TABULATED_ITRF_FRAMES.put(key, frame);
+            }
+
+            return frame;
+
+        }
+    }
+
     /** Get the TIRF reference frame.
      * @param conventions IERS conventions to apply
      * @param simpleEOP if true, tidal effects are ignored when interpolating EOP
@@ -1486,4 +1594,61 @@ public class FramesFactory {
 
     }
 
+    /** Local class for tabulated ITRF keys.
+     * @since 9.3
+     */
+    private static class TabulatedITRFKey implements Serializable {
+
+        /** Serialized UID. */
+        private static final long serialVersionUID = 20181016L;
+
+        /** IERS conventions to apply. */
+        private final IERSConventions conventions;
+
+        /** Tidal effects flag. */
+        private final boolean simpleEOP;
+
+        /** Accuracy tier. */
+        private final TabulatedITRFAccuracy accuracy;
+
+        /** Simple constructor.
+         * @param conventions IERS conventions to apply
+         * @param simpleEOP if true, tidal effects are ignored when interpolating EOP
+         * @param accuracy accuracy tier
+         */
+        TabulatedITRFKey(final IERSConventions conventions, final boolean simpleEOP,
+                         final TabulatedITRFAccuracy accuracy) {
+            this.conventions = conventions;
+            this.simpleEOP   = simpleEOP;
+            this.accuracy    = accuracy;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return (accuracy.ordinal()    << 5) +
+                   (conventions.ordinal() << 1) +
+                   (simpleEOP ? 0 : 1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+
+            if (this == other) {
+                return true;
+            }
+
+            if (other instanceof TabulatedITRFKey) {
+                final TabulatedITRFKey key = (TabulatedITRFKey) other;
+                return conventions == key.conventions &&
+                       simpleEOP   == key.simpleEOP   &&
+                       accuracy    == key.accuracy;
+            }
+
+            return false;
+        }
+
+    }
+
 }
@@ -18,9 +18,7 @@
 package org.orekit.frames;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,7 +30,10 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.FieldCachesRegistry;
 import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.OrekitConfiguration;
+import org.orekit.utils.TimeStampedCache;
 
 /** Transform provider using thread-safe interpolation on transforms sample.
  * <p>
@@ -64,13 +65,19 @@ public class InterpolatingTransformProvider implements TransformProvider {
     private final double step;
 
     /** Cache for sample points. */
-    private final transient GenericTimeStampedCache<Transform> cache;
+    private final transient TimeStampedCache<Transform> cache;
+
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Time interval above which a new slot is created. */
+    private final double newSlotInterval;
 
     /** Field caches for sample points. */
-    // we use Object as the value of fieldCaches because despite numerous attempts,
-    // we could not find a way to use GenericTimeStampedCache<FieldTransform<? extends RealFieldElement<?>>
-    // without the compiler complaining
-    private final transient Map<Field<? extends RealFieldElement<?>>, Object> fieldCaches;
+    private final transient FieldCachesRegistry fieldCaches;
 
     /** Simple constructor.
      * @param rawProvider provider for raw (non-interpolated) transforms
@@ -91,15 +98,18 @@ public class InterpolatingTransformProvider implements TransformProvider {
                                           final AngularDerivativesFilter aFilter,
                                           final int gridPoints, final double step,
                                           final int maxSlots, final double maxSpan, final double newSlotInterval) {
-        this.rawProvider = rawProvider;
-        this.cFilter     = cFilter;
-        this.aFilter     = aFilter;
-        this.step        = step;
-        this.cache       = new GenericTimeStampedCache<Transform>(gridPoints, maxSlots, maxSpan, newSlotInterval,
-                                                                  new TransformGenerator(gridPoints,
-                                                                                         rawProvider,
-                                                                                         step));
-        this.fieldCaches = new HashMap<>();
+        this.rawProvider     = rawProvider;
+        this.cFilter         = cFilter;
+        this.aFilter         = aFilter;
+        this.step            = step;
+        this.maxSlots        = maxSlots;
+        this.maxSpan         = maxSpan;
+        this.newSlotInterval = newSlotInterval;
+        this.cache           = OrekitConfiguration.getCacheFactory().create(gridPoints, maxSlots, maxSpan, newSlotInterval,
+                                                                            new TransformGenerator(gridPoints,
+                                                                                                   rawProvider,
+                                                                                                   step));
+        this.fieldCaches     = new FieldCachesRegistry(OrekitConfiguration.getFieldCachesNumber());
     }
 
     /** Simple constructor.
@@ -150,6 +160,17 @@ public class InterpolatingTransformProvider implements TransformProvider {
         return step;
     }
 
+    /** Get the registry for the caches used with {@link FieldAbsoluteDate field dates}.
+     * <p>
+     * The registry can be used to monitor caches usage.
+     * </p>
+     * @return registry for the field caches
+     * @since 9.3
+     */
+    public FieldCachesRegistry getFieldCachesRegistry() {
+        return fieldCaches;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Transform getTransform(final AbsoluteDate date) throws OrekitException {
@@ -174,21 +195,8 @@ public class InterpolatingTransformProvider implements TransformProvider {
         throws OrekitException {
         try {
 
-            @SuppressWarnings("unchecked")
-            GenericTimeStampedCache<FieldTransform<T>> fieldCache =
-                (GenericTimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
-            if (fieldCache == null) {
-                fieldCache =
-                    new GenericTimeStampedCache<FieldTransform<T>>(cache.getNeighborsSize(),
-                                                                   cache.getMaxSlots(),
-                                                                   cache.getMaxSpan(),
-                                                                   cache.getNewSlotQuantumGap(),
-                                                                   new FieldTransformGenerator<>(date.getField(),
-                                                                                                 cache.getNeighborsSize(),
-                                                                                                 rawProvider,
-                                                                                                 step));
-                fieldCaches.put(date.getField(), fieldCache);
-            }
+            final TimeStampedCache<FieldTransform<T>> fieldCache =
+                fieldCaches.getCache(date.getField(), this::createFieldCache);
 
             // retrieve a sample from the thread-safe cache
             final Stream<FieldTransform<T>> sample = fieldCache.getNeighbors(date.toAbsoluteDate());
@@ -203,6 +211,20 @@ public class InterpolatingTransformProvider implements TransformProvider {
         }
     }
 
+    /** Create a cache for sample points in some field.
+     * @param field field to which elements belong
+     * @param <T> type of the field elements
+     * @return new cache
+     * @since 9.3
+     */
+    private <T extends RealFieldElement<T>> TimeStampedCache<FieldTransform<T>> createFieldCache(final Field<T> field) {
+        return OrekitConfiguration.getCacheFactory().create(cache.getNeighborsSize(), maxSlots, maxSpan, newSlotInterval,
+                                                            new FieldTransformGenerator<>(field,
+                                                                                          cache.getNeighborsSize(),
+                                                                                          rawProvider,
+                                                                                          step));
+    }
+
     /** Replace the instance with a data transfer object for serialization.
      * <p>
      * This intermediate class serializes only the data needed for generation,
@@ -214,7 +236,7 @@ public class InterpolatingTransformProvider implements TransformProvider {
     private Object writeReplace() {
         return new DTO(rawProvider, cFilter.getMaxOrder(), aFilter.getMaxOrder(),
                        cache.getNeighborsSize(), step,
-                       cache.getMaxSlots(), cache.getMaxSpan(), cache.getNewSlotQuantumGap());
+                       maxSlots, maxSpan, newSlotInterval);
     }
 
     /** Internal class used only for serialization. */
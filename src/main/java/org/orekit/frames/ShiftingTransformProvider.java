@@ -18,8 +18,6 @@
 package org.orekit.frames;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
@@ -30,7 +28,10 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.FieldCachesRegistry;
 import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.OrekitConfiguration;
+import org.orekit.utils.TimeStampedCache;
 
 /** Transform provider using thread-safe shifts on transforms sample.
  * <p>
@@ -50,13 +51,19 @@ public class ShiftingTransformProvider implements TransformProvider {
     private final InterpolatingTransformProvider interpolatingProvider;
 
     /** Cache for sample points. */
-    private final transient GenericTimeStampedCache<Transform> cache;
+    private final transient TimeStampedCache<Transform> cache;
+
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Time interval above which a new slot is created. */
+    private final double newSlotInterval;
 
     /** Field caches for sample points. */
-    // we use Object as the value of fieldCaches because despite numerous attempts,
-    // we could not find a way to use GenericTimeStampedCache<FieldTransform<? extends RealFieldElement<?>>
-    // without the compiler complaining
-    private final transient Map<Field<? extends RealFieldElement<?>>, Object> fieldCaches;
+    private final transient FieldCachesRegistry fieldCaches;
 
     /** Simple constructor.
      * @param rawProvider provider for raw (non-interpolated) transforms
@@ -124,11 +131,14 @@ public class ShiftingTransformProvider implements TransformProvider {
     private ShiftingTransformProvider(final InterpolatingTransformProvider interpolatingProvider,
                                      final int maxSlots, final double maxSpan, final double newSlotInterval) {
         this.interpolatingProvider = interpolatingProvider;
-        this.cache = new GenericTimeStampedCache<Transform>(2, maxSlots, maxSpan, newSlotInterval,
-                                                            new TransformGenerator(2,
-                                                                                   interpolatingProvider,
-                                                                                   interpolatingProvider.getStep()));
-        this.fieldCaches = new HashMap<>();
+        this.maxSlots              = maxSlots;
+        this.maxSpan               = maxSpan;
+        this.newSlotInterval       = newSlotInterval;
+        this.cache                 = OrekitConfiguration.getCacheFactory().create(2, maxSlots, maxSpan, newSlotInterval,
+                                                                                  new TransformGenerator(2,
+                                                                                                         interpolatingProvider,
+                                                                                                         interpolatingProvider.getStep()));
+        this.fieldCaches           = new FieldCachesRegistry(OrekitConfiguration.getFieldCachesNumber());
     }
 
     /** Get the underlying provider for raw (non-interpolated) transforms.
@@ -152,6 +162,17 @@ public class ShiftingTransformProvider implements TransformProvider {
         return interpolatingProvider.getStep();
     }
 
+    /** Get the registry for the caches used with {@link FieldAbsoluteDate field dates}.
+     * <p>
+     * The registry can be used to monitor caches usage.
+     * </p>
+     * @return registry for the field caches
+     * @since 9.3
+     */
+    public FieldCachesRegistry getFieldCachesRegistry() {
+        return fieldCaches;
+    }
+
     /** {@inheritDoc} */
     public Transform getTransform(final AbsoluteDate date) throws OrekitException {
         try {
@@ -174,21 +195,8 @@ public class ShiftingTransformProvider implements TransformProvider {
         throws OrekitException {
         try {
 
-            @SuppressWarnings("unchecked")
-            GenericTimeStampedCache<FieldTransform<T>> fieldCache =
-                (GenericTimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
-            if (fieldCache == null) {
-                fieldCache =
-                    new GenericTimeStampedCache<FieldTransform<T>>(cache.getNeighborsSize(),
-                                                                   cache.getMaxSlots(),
-                                                                   cache.getMaxSpan(),
-                                                                   cache.getNewSlotQuantumGap(),
-                                                                   new FieldTransformGenerator<>(date.getField(),
-                                                                                                 cache.getNeighborsSize(),
-                                                                                                 interpolatingProvider,
-                                                                                                 interpolatingProvider.getStep()));
-                fieldCaches.put(date.getField(), fieldCache);
-            }
+            final TimeStampedCache<FieldTransform<T>> fieldCache =
+                fieldCaches.getCache(date.getField(), this::createFieldCache);
 
             // retrieve a sample from the thread-safe cache
             final FieldTransform<T> closest = fieldCache.getNeighbors(date.toAbsoluteDate()).reduce((t0, t1) ->
@@ -204,6 +212,20 @@ public class ShiftingTransformProvider implements TransformProvider {
         }
     }
 
+    /** Create a cache for sample points in some field.
+     * @param field field to which elements belong
+     * @param <T> type of the field elements
+     * @return new cache
+     * @since 9.3
+     */
+    private <T extends RealFieldElement<T>> TimeStampedCache<FieldTransform<T>> createFieldCache(final Field<T> field) {
+        return OrekitConfiguration.getCacheFactory().create(cache.getNeighborsSize(), maxSlots, maxSpan, newSlotInterval,
+                                                            new FieldTransformGenerator<>(field,
+                                                                                          cache.getNeighborsSize(),
+                                                                                          interpolatingProvider,
+                                                                                          interpolatingProvider.getStep()));
+    }
+
     /** Replace the instance with a data transfer object for serialization.
      * <p>
      * This intermediate class serializes only the data needed for generation,
@@ -214,7 +236,7 @@ public class ShiftingTransformProvider implements TransformProvider {
      */
     private Object writeReplace() {
         return new DTO(interpolatingProvider,
-                       cache.getMaxSlots(), cache.getMaxSpan(), cache.getNewSlotQuantumGap());
+                       maxSlots, maxSpan, newSlotInterval);
     }
 
     /** Internal class used only for serialization. */
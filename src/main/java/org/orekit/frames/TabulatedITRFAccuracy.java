@@ -0,0 +1,74 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.orekit.utils.Constants;
+
+/** Enumerate for accuracy tiers of {@link FramesFactory#getTabulatedITRF(
+ * org.orekit.utils.IERSConventions, boolean, TabulatedITRFAccuracy) tabulated ITRF}.
+ * <p>
+ * Each tier corresponds to an angular accuracy budget for the tabulated
+ * GCRF to ITRF rotation, and to the tabulation step selected for it.
+ * Larger budgets allow larger steps, hence fewer exact evaluations
+ * of the full frames chain. The budget is checked at sample dates when
+ * each tabulated frame is built.
+ * </p>
+ * @see FramesFactory#getTabulatedITRF(org.orekit.utils.IERSConventions, boolean, TabulatedITRFAccuracy)
+ * @author agent
+ * @since 9.3
+ */
+public enum TabulatedITRFAccuracy {
+
+    /** Accuracy tier for 10 milli arcseconds, with a 3600 s step. */
+    TEN_MAS(10.0, 3600.0),
+
+    /** Accuracy tier for 1 milli arcsecond, with a 1800 s step. */
+    ONE_MAS(1.0, 1800.0),
+
+    /** Accuracy tier for 0.1 milli arcsecond, with a 900 s step. */
+    TENTH_MAS(0.1, 900.0);
+
+    /** Angular accuracy budget (rad). */
+    private final double angularAccuracy;
+
+    /** Tabulation step (s). */
+    private final double step;
+
+    /** Simple constructor.
+     * @param accuracyMas angular accuracy budget (mas)
+     * @param step tabulation step (s)
+     */
+    TabulatedITRFAccuracy(final double accuracyMas, final double step) {
+        this.angularAccuracy = accuracyMas * Constants.ARC_SECONDS_TO_RADIANS / 1000.0;
+        this.step            = step;
+    }
+
+    /** Get the angular accuracy budget.
+     * @return angular accuracy budget (rad)
+     */
+    public double getAngularAccuracy() {
+        return angularAccuracy;
+    }
+
+    /** Get the tabulation step.
+     * @return tabulation step (s)
+     */
+    public double getStep() {
+        return step;
+    }
+
+}
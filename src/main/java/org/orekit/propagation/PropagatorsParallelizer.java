@@ -19,16 +19,21 @@ package org.orekit.propagation;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.propagation.sampling.MultiSatStepHandler;
 import org.orekit.propagation.sampling.OrekitStepHandler;
@@ -96,6 +101,18 @@ import org.orekit.time.TimeStamped;
  * propagator, it should really be a dedicated propagator and should not also
  * appear as one of the parallelized propagators, otherwise conflicts will appear here.
  * </p>
+ * <p>
+ * By default, the parallelizer creates one thread per propagator for each
+ * propagation, all propagators compute concurrently and each step is handed
+ * over directly from the propagator thread to the main thread. When many
+ * satellites are propagated, the {@link #PropagatorsParallelizer(List,
+ * MultiSatStepHandler, ExecutorService, int, int) extended constructor} allows
+ * to run the propagators on a caller-supplied executor service (which can be
+ * shared between several parallelizers), to limit the number of propagators
+ * that are computing at the same time and to let each propagator buffer several
+ * steps ahead of the global handler, thus reducing the number of threads switches.
+ * The global handler still experiences perfectly synchronized steps in all modes.
+ * </p>
  * @author Luc Maisonobe
  * @since 9.0
  */
@@ -111,15 +128,91 @@ public class PropagatorsParallelizer {
     /** Global step handler. */
     private final MultiSatStepHandler globalHandler;
 
+    /** Executor service running the propagators (null if a new one is created for each propagation). */
+    private final ExecutorService executorService;
+
+    /** Maximum number of propagators computing at the same time. */
+    private final int maxActive;
+
+    /** Number of steps each propagator can buffer ahead of the global handler. */
+    private final int bufferSize;
+
     /** Simple constructor.
+     * <p>
+     * Using this constructor, a new thread is created for each propagator
+     * each time {@link #propagate(AbsoluteDate, AbsoluteDate) propagate} is
+     * called, all propagators compute concurrently, and steps are directly
+     * handed over from the propagators to the global handler, without buffering.
+     * </p>
      * @param propagators list of propagators to use
      * @param globalHandler global handler for managing all spacecrafts
      * simultaneously
      */
     public PropagatorsParallelizer(final List<Propagator> propagators,
                                    final MultiSatStepHandler globalHandler) {
-        this.propagators = propagators;
-        this.globalHandler = globalHandler;
+        this.propagators     = propagators;
+        this.globalHandler   = globalHandler;
+        this.executorService = null;
+        this.maxActive       = Integer.MAX_VALUE;
+        this.bufferSize      = 0;
+    }
+
+    /** Constructor with execution control.
+     * <p>
+     * The executor service is <em>not</em> shut down by the parallelizer, it
+     * remains under caller responsibility. As each propagator runs in its own
+     * task, which remains alive (albeit often waiting) during the whole propagation,
+     * the executor service must be able to run all propagators tasks at the same
+     * time, otherwise the propagation will never complete. Suitable executors are
+     * for example cached thread pools, fixed thread pools with at least as many
+     * threads as propagators, or virtual threads executors when running on a Java
+     * virtual machine that supports them. The number of propagators that are
+     * really computing at the same time is limited by the {@code maxActive}
+     * parameter, so the number of cores used is bounded even if the number
+     * of threads is not.
+     * </p>
+     * <p>
+     * With a buffer size set to 0, each step is directly handed over to the
+     * global handler, as with the {@link #PropagatorsParallelizer(List, MultiSatStepHandler)
+     * simple constructor}. With a positive buffer size, each propagator stores its
+     * steps in a bounded ring buffer and can go up to {@code bufferSize} steps
+     * ahead of the global handler before being blocked. This reduces the number
+     * of threads switches, but it implies the interpolators provided by the propagators
+     * must remain usable after the propagator has moved on to subsequent steps.
+     * This is the case for {@link org.orekit.propagation.integration.AbstractIntegratedPropagator
+     * integrated propagators} as long as their {@link AdditionalStateProvider additional
+     * state providers} do not depend on propagation history, but it is generally
+     * <em>not</em> the case for analytical propagators, whose interpolators call
+     * the propagator itself.
+     * </p>
+     * @param propagators list of propagators to use
+     * @param globalHandler global handler for managing all spacecrafts
+     * simultaneously
+     * @param executorService executor service running the propagators
+     * (if null, a new thread pool is created for each propagation)
+     * @param maxActive maximum number of propagators computing at the same time
+     * (must be at least 1)
+     * @param bufferSize number of steps each propagator can buffer ahead
+     * of the global handler (must be non-negative)
+     * @since 9.3
+     */
+    public PropagatorsParallelizer(final List<Propagator> propagators,
+                                   final MultiSatStepHandler globalHandler,
+                                   final ExecutorService executorService,
+                                   final int maxActive, final int bufferSize) {
+        if (maxActive < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     maxActive, 1);
+        }
+        if (bufferSize < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     bufferSize, 0);
+        }
+        this.propagators     = propagators;
+        this.globalHandler   = globalHandler;
+        this.executorService = executorService;
+        this.maxActive       = maxActive;
+        this.bufferSize      = bufferSize;
     }
 
     /** Get an unmodifiable list of the underlying mono-satellite propagators.
@@ -147,78 +240,107 @@ public class PropagatorsParallelizer {
         final double sign = FastMath.copySign(1.0, target.durationFrom(start));
         final int n = propagators.size();
 
+        final ExecutorService executor;
+        if (executorService == null) {
+            executor = Executors.newFixedThreadPool(n);
+        } else {
+            if (executorService instanceof ThreadPoolExecutor &&
+                ((ThreadPoolExecutor) executorService).getMaximumPoolSize() < n) {
+                // the propagators tasks could not all run at the same time
+                throw new OrekitException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                          ((ThreadPoolExecutor) executorService).getMaximumPoolSize(), n);
+            }
+            executor = executorService;
+        }
+
         // set up queues for propagators synchronization
         // the main thread will let underlying propagators go forward
         // by consuming the step handling parameters they will put at each step
-        final List<SynchronousQueue<SpacecraftState>>        initQueues = new ArrayList<>(n);
-        final List<SynchronousQueue<StepHandlingParameters>> shpQueues  = new ArrayList<>(n);
+        final Control control = new Control(FastMath.min(maxActive, n));
+        final List<BlockingQueue<SpacecraftState>>        initQueues = new ArrayList<>(n);
+        final List<BlockingQueue<StepHandlingParameters>> shpQueues  = new ArrayList<>(n);
         for (final Propagator propagator : propagators) {
-            final SynchronousQueue<SpacecraftState>        initQueue = new SynchronousQueue<>();
+            final BlockingQueue<SpacecraftState>        initQueue = new SynchronousQueue<>();
             initQueues.add(initQueue);
-            final SynchronousQueue<StepHandlingParameters> shpQueue  = new SynchronousQueue<>();
+            final BlockingQueue<StepHandlingParameters> shpQueue  = (bufferSize == 0) ?
+                                                                    new SynchronousQueue<>() :
+                                                                    new ArrayBlockingQueue<>(bufferSize);
             shpQueues.add(shpQueue);
-            propagator.setMasterMode(new MultiplePropagatorsHandler(initQueue, shpQueue));
+            propagator.setMasterMode(new MultiplePropagatorsHandler(control, initQueue, shpQueue));
         }
 
         // concurrently run all propagators
-        final ExecutorService               executorService        = Executors.newFixedThreadPool(n);
         final List<Future<SpacecraftState>> futures                = new ArrayList<>(n);
         final List<SpacecraftState>         initialStates          = new ArrayList<>(n);
         final List<StepHandlingParameters>  stepHandlingParameters = new ArrayList<>(n);
         final List<OrekitStepInterpolator>  restricted             = new ArrayList<>(n);
         final List<SpacecraftState>         finalStates            = new ArrayList<>(n);
-        for (int i = 0; i < n; ++i) {
-            final Propagator propagator = propagators.get(i);
-            final Future<SpacecraftState> future = executorService.submit(() -> propagator.propagate(start, target));
-            futures.add(future);
-            initialStates.add(getParameters(i, future, initQueues.get(i)));
-            stepHandlingParameters.add(getParameters(i, future, shpQueues.get(i)));
-            restricted.add(null);
-            finalStates.add(null);
-        }
-
-        // main loop
         AbsoluteDate previousDate = start;
-        globalHandler.init(initialStates, target);
-        for (boolean isLast = false; !isLast;) {
+        try {
 
-            // select the earliest ending propagator, according to propagation direction
-            int selected = -1;
-            AbsoluteDate selectedStepEnd = null;
             for (int i = 0; i < n; ++i) {
-                final AbsoluteDate stepEnd = stepHandlingParameters.get(i).getDate();
-                if (selected < 0 || sign * selectedStepEnd.durationFrom(stepEnd) > 0) {
-                    selected        = i;
-                    selectedStepEnd = stepEnd;
-                }
+                final Propagator propagator = propagators.get(i);
+                final Future<SpacecraftState> future = executor.submit(() -> {
+                    control.acquire();
+                    try {
+                        return propagator.propagate(start, target);
+                    } finally {
+                        control.release();
+                    }
+                });
+                futures.add(future);
+                initialStates.add(getParameters(i, future, initQueues.get(i)));
+                stepHandlingParameters.add(getParameters(i, future, shpQueues.get(i)));
+                restricted.add(null);
+                finalStates.add(null);
             }
 
-            // restrict steps to a common time range
-            for (int i = 0; i < n; ++i) {
-                final OrekitStepInterpolator interpolator  = stepHandlingParameters.get(i).interpolator;
-                final SpacecraftState        previousState = interpolator.getInterpolatedState(previousDate);
-                final SpacecraftState        currentState  = interpolator.getInterpolatedState(selectedStepEnd);
-                restricted.set(i, interpolator.restrictStep(previousState, currentState));
-            }
+            // main loop
+            globalHandler.init(initialStates, target);
+            for (boolean isLast = false; !isLast;) {
+
+                // select the earliest ending propagator, according to propagation direction
+                int selected = -1;
+                AbsoluteDate selectedStepEnd = null;
+                for (int i = 0; i < n; ++i) {
+                    final AbsoluteDate stepEnd = stepHandlingParameters.get(i).getDate();
+                    if (selected < 0 || sign * selectedStepEnd.durationFrom(stepEnd) > 0) {
+                        selected        = i;
+                        selectedStepEnd = stepEnd;
+                    }
+                }
 
-            // will this be the last step?
-            isLast = stepHandlingParameters.get(selected).isLast;
+                // restrict steps to a common time range
+                for (int i = 0; i < n; ++i) {
+                    final OrekitStepInterpolator interpolator  = stepHandlingParameters.get(i).interpolator;
+                    final SpacecraftState        previousState = interpolator.getInterpolatedState(previousDate);
+                    final SpacecraftState        currentState  = interpolator.getInterpolatedState(selectedStepEnd);
+                    restricted.set(i, interpolator.restrictStep(previousState, currentState));
+                }
 
-            // handle all states at once
-            globalHandler.handleStep(restricted, isLast);
+                // will this be the last step?
+                isLast = stepHandlingParameters.get(selected).isLast;
 
-            if (!isLast) {
-                // advance one step
-                stepHandlingParameters.set(selected,
-                                           getParameters(selected, futures.get(selected), shpQueues.get(selected)));
-            }
+                // handle all states at once
+                globalHandler.handleStep(restricted, isLast);
+
+                if (!isLast) {
+                    // advance one step
+                    stepHandlingParameters.set(selected,
+                                               getParameters(selected, futures.get(selected), shpQueues.get(selected)));
+                }
 
-            previousDate = selectedStepEnd;
+                previousDate = selectedStepEnd;
 
-        }
+            }
 
-        // stop all remaining propagators
-        executorService.shutdownNow();
+        } finally {
+            // stop all remaining propagators
+            control.stop(n);
+            if (executorService == null) {
+                executor.shutdownNow();
+            }
+        }
 
         // extract the final states
         for (int i = 0; i < n; ++i) {
@@ -250,13 +372,17 @@ public class PropagatorsParallelizer {
      */
     private <T> T getParameters(final int index,
                                 final Future<SpacecraftState> future,
-                                final SynchronousQueue<T> queue)
+                                final BlockingQueue<T> queue)
         throws OrekitException {
         try {
             T params = null;
             while (params == null && !future.isDone()) {
                 params = queue.poll(MAX_WAIT, TimeUnit.MILLISECONDS);
             }
+            if (params == null) {
+                // the task may have buffered its last steps before completing
+                params = queue.poll();
+            }
             if (params == null) {
                 // call Future.get just for the side effect of retrieving the exception
                 // in case the propagator ended due to an exception
@@ -301,6 +427,88 @@ public class PropagatorsParallelizer {
             super(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
         }
 
+        /** Constructor for propagations stopped by the main thread.
+         * @since 9.3
+         */
+        PropagatorStoppingException() {
+            super(LocalizedCoreFormats.SIMPLE_MESSAGE, "propagation stopped");
+        }
+
+    }
+
+    /** Local class controlling propagators execution.
+     * @since 9.3
+     */
+    private static class Control {
+
+        /** Permits for computing propagators. */
+        private final Semaphore permits;
+
+        /** Indicator for stopped propagation. */
+        private volatile boolean stopped;
+
+        /** Simple constructor.
+         * @param maxActive maximum number of propagators computing at the same time
+         */
+        Control(final int maxActive) {
+            this.permits = new Semaphore(maxActive, true);
+            this.stopped = false;
+        }
+
+        /** Acquire a permit to compute.
+         */
+        public void acquire() {
+            permits.acquireUninterruptibly();
+        }
+
+        /** Release a permit to compute.
+         */
+        public void release() {
+            permits.release();
+        }
+
+        /** Stop all propagators.
+         * @param n number of propagators
+         */
+        public void stop(final int n) {
+            stopped = true;
+            // wake up propagators that may be waiting for a permit
+            permits.release(n);
+        }
+
+        /** Transfer an element from a propagator to the main thread.
+         * <p>
+         * The permit to compute is released while waiting for the main
+         * thread, so other propagators can go forward.
+         * </p>
+         * @param queue queue for the transfer
+         * @param element element to transfer
+         * @param <T> type of the element
+         * @exception PropagatorStoppingException if propagation has been stopped
+         */
+        public <T> void transfer(final BlockingQueue<T> queue, final T element)
+            throws PropagatorStoppingException {
+            if (stopped) {
+                throw new PropagatorStoppingException();
+            }
+            if (!queue.offer(element)) {
+                // we have to wait for the main thread
+                release();
+                try {
+                    while (!queue.offer(element, MAX_WAIT, TimeUnit.MILLISECONDS)) {
+                        if (stopped) {
+                            throw new PropagatorStoppingException();
+                        }
+                    }
+                } catch (InterruptedException ie) {
+                    // use a dedicated exception to stop thread almost gracefully
+                    throw new PropagatorStoppingException(ie);
+                } finally {
+                    acquire();
+                }
+            }
+        }
+
     }
 
     /** Local class for handling single propagator steps. */
@@ -335,18 +543,24 @@ public class PropagatorsParallelizer {
     /** Local class for handling multiple propagator steps. */
     private static class MultiplePropagatorsHandler implements OrekitStepHandler {
 
+        /** Execution control. */
+        private final Control control;
+
         /** Queue for passing initial state. */
-        private final SynchronousQueue<SpacecraftState> initQueue;
+        private final BlockingQueue<SpacecraftState> initQueue;
 
         /** Queue for passing step handling parameters. */
-        private final SynchronousQueue<StepHandlingParameters> shpQueue;
+        private final BlockingQueue<StepHandlingParameters> shpQueue;
 
         /** Simple constructor.
+         * @param control execution control
          * @param initQueue queuefor passing initial state
          * @param shpQueue queue for passing step handling parameters.
          */
-        MultiplePropagatorsHandler(final SynchronousQueue<SpacecraftState> initQueue,
-                                   final SynchronousQueue<StepHandlingParameters> shpQueue) {
+        MultiplePropagatorsHandler(final Control control,
+                                   final BlockingQueue<SpacecraftState> initQueue,
+                                   final BlockingQueue<StepHandlingParameters> shpQueue) {
+            this.control   = control;
             this.initQueue = initQueue;
             this.shpQueue  = shpQueue;
         }
@@ -355,24 +569,14 @@ public class PropagatorsParallelizer {
         /** {@inheritDoc} */
         @Override
         public void init(final SpacecraftState s0, final AbsoluteDate t) throws OrekitException {
-            try {
-                initQueue.put(s0);
-            } catch (InterruptedException ie) {
-                // use a dedicated exception to stop thread almost gracefully
-                throw new PropagatorStoppingException(ie);
-            }
+            control.transfer(initQueue, s0);
         }
 
         /** {@inheritDoc} */
         @Override
         public void handleStep(final OrekitStepInterpolator interpolator, final boolean isLast)
                         throws OrekitException {
-            try {
-                shpQueue.put(new StepHandlingParameters(interpolator, isLast));
-            } catch (InterruptedException ie) {
-                // use a dedicated exception to stop thread almost gracefully
-                throw new PropagatorStoppingException(ie);
-            }
+            control.transfer(shpQueue, new StepHandlingParameters(interpolator, isLast));
         }
 
     }
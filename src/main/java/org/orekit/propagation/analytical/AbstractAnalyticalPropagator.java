@@ -22,15 +22,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.util.FastMath;
 import org.orekit.attitudes.Attitude;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.frames.Frame;
 import org.orekit.orbits.Orbit;
@@ -60,6 +64,11 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  */
 public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
+    /** Default size of the cache for states shared between event detectors.
+     * @since 9.3
+     */
+    public static final int DEFAULT_EVENT_STATES_CACHE_SIZE = 1024;
+
     /** Provider for attitude computation. */
     private PVCoordinatesProvider pvProvider;
 
@@ -78,6 +87,9 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
     /** Event steps. */
     private final Collection<EventState<?>> eventsStates;
 
+    /** Maximum number of states shared between event detectors within one step. */
+    private int eventStatesCacheSize;
+
     /** Build a new instance.
      * @param attitudeProvider provider for attitude computation
      */
@@ -88,6 +100,61 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         lastPropagationEnd       = AbsoluteDate.FUTURE_INFINITY;
         statesInitialized        = false;
         eventsStates             = new ArrayList<EventState<?>>();
+        setEventStatesCacheSize(DEFAULT_EVENT_STATES_CACHE_SIZE);
+    }
+
+    /** Set the size of the cache for states shared between event detectors.
+     * <p>
+     * Each event detector evaluates its switching function on a sampling of
+     * the propagation step, and then refines the root with a solver. When
+     * several detectors are registered, they are all evaluated on the same
+     * step, and detectors sharing the same {@link EventDetector#getMaxCheckInterval()
+     * max check interval} sample the step at the same dates. The spacecraft
+     * states (including attitude and additional states) propagated at these
+     * dates are therefore cached and shared between all detectors, so they
+     * are computed only once per step. Detectors that need transforms to
+     * Earth-fixed frames (like elevation detectors) also benefit from
+     * enlarging the {@link Frame#setTransformsCacheSize(int) frames transforms
+     * cache}.
+     * </p>
+     * <p>
+     * The cache is local to each step and is used only for events detection,
+     * the interpolators provided to {@link #getStepHandler() step handlers} always
+     * compute states directly, so they can safely be used from other threads (as
+     * {@link org.orekit.propagation.PropagatorsParallelizer} does). The cache is
+     * keyed by date, so lookups do not depend on its size. When the cache is full,
+     * the least recently added state is evicted, so as detectors are checked one
+     * after the other, sharing is effective only if the cache can hold the states
+     * of one detector during one step, i.e. roughly the step duration divided by
+     * the max check interval, plus the root solver evaluations. In slave mode,
+     * the whole propagation is a single step, so long propagations with small max
+     * check intervals may need either a larger cache or master mode.
+     * </p>
+     * <p>
+     * The cache is cleared each time an event handler resets the state or the
+     * derivatives, as handlers may change the models used to build states (for
+     * example {@link org.orekit.attitudes.AttitudesSequence attitudes sequences}).
+     * Setting the size to 0 disables the cache. The default size is
+     * {@link #DEFAULT_EVENT_STATES_CACHE_SIZE}.
+     * </p>
+     * @param size maximum number of states cached (0 to disable cache)
+     * @exception OrekitIllegalArgumentException if size is negative
+     * @since 9.3
+     */
+    public void setEventStatesCacheSize(final int size) {
+        if (size < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, size, 0);
+        }
+        eventStatesCacheSize = size;
+    }
+
+    /** Get the size of the cache for states shared between event detectors.
+     * @return maximum number of states cached
+     * @see #setEventStatesCacheSize(int)
+     * @since 9.3
+     */
+    public int getEventStatesCacheSize() {
+        return eventStatesCacheSize;
     }
 
     /** {@inheritDoc} */
@@ -162,7 +229,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
                     t = target;
                 }
                 final SpacecraftState current = updateAdditionalStates(basicPropagate(t));
-                final OrekitStepInterpolator interpolator = new BasicStepInterpolator(dt >= 0, previous, current);
+                final OrekitStepInterpolator interpolator = new BasicStepInterpolator(dt >= 0, previous, current, null);
 
 
                 // accept the step, trigger events and step handlers
@@ -195,13 +262,20 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         SpacecraftState       previous = interpolator.getPreviousState();
         final SpacecraftState current  = interpolator.getCurrentState();
 
+        // events detection uses its own view of the step, sharing states between detectors,
+        // whereas step handlers always get interpolators computing states directly
+        final EventStatesCache cache =
+                        (eventsStates.isEmpty() || eventStatesCacheSize == 0) ? null : new EventStatesCache();
+        final OrekitStepInterpolator detection =
+                        new BasicStepInterpolator(interpolator.isForward(), previous, current, cache);
+
         // initialize the events states if needed
         if (!statesInitialized) {
 
             if (!eventsStates.isEmpty()) {
                 // initialize the events states
                 for (final EventState<?> state : eventsStates) {
-                    state.reinitializeBegin(interpolator);
+                    state.reinitializeBegin(detection);
                 }
             }
 
@@ -220,7 +294,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         });
 
         for (final EventState<?> state : eventsStates) {
-            if (state.evaluateStep(interpolator)) {
+            if (state.evaluateStep(detection)) {
                 // the event occurs during the current step
                 occurringEvents.add(state);
             }
@@ -237,11 +311,11 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
                 final EventState<?> currentEvent = occurringEvents.poll();
 
                 // get state at event time
-                SpacecraftState eventState = restricted.getInterpolatedState(currentEvent.getEventDate());
+                SpacecraftState eventState = detection.getInterpolatedState(currentEvent.getEventDate());
 
                 // try to advance all event states to current time
                 for (final EventState<?> state : eventsStates) {
-                    if (state != currentEvent && state.tryAdvance(eventState, interpolator)) {
+                    if (state != currentEvent && state.tryAdvance(eventState, detection)) {
                         // we need to handle another event first
                         // remove event we just updated to prevent heap corruption
                         occurringEvents.remove(state);
@@ -262,7 +336,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
                     // ensure the event is after the root if it is returned STOP
                     // this lets the user integrate to a STOP event and then restart
                     // integration from the same time.
-                    eventState = interpolator.getInterpolatedState(occurrence.getStopDate());
+                    eventState = detection.getInterpolatedState(occurrence.getStopDate());
                     restricted = restricted.restrictStep(previous, eventState);
                 }
 
@@ -277,6 +351,10 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
                 }
 
                 if (action == Action.RESET_DERIVATIVES || action == Action.RESET_STATE) {
+                    if (cache != null) {
+                        // the handler may have changed how states are built
+                        cache.clear();
+                    }
                     // some event handler has triggered changes that
                     // invalidate the derivatives, we need to recompute them
                     final SpacecraftState resetState = occurrence.getNewState();
@@ -289,10 +367,11 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
                 // prepare handling of the remaining part of the step
                 previous = eventState;
-                restricted         = new BasicStepInterpolator(restricted.isForward(), eventState, current);
+                restricted         = new BasicStepInterpolator(restricted.isForward(), eventState, current, null);
 
                 // check if the same event occurs again in the remaining part of the step
-                if (currentEvent.evaluateStep(restricted)) {
+                if (currentEvent.evaluateStep(new BasicStepInterpolator(restricted.isForward(),
+                                                                        eventState, current, cache))) {
                     // the event occurs during the current step
                     occurringEvents.add(currentEvent);
                 }
@@ -303,7 +382,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
             // may be a new event here if the last event modified the g function of
             // another event detector.
             for (final EventState<?> state : eventsStates) {
-                if (state.tryAdvance(current, interpolator)) {
+                if (state.tryAdvance(current, detection)) {
                     occurringEvents.add(state);
                 }
             }
@@ -541,17 +620,24 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         /** Forward propagation indicator. */
         private final boolean forward;
 
+        /** Cache for states shared between event detectors (null if states are not cached). */
+        private final EventStatesCache cache;
+
         /** Simple constructor.
          * @param isForward integration direction indicator
          * @param previousState start of the step
          * @param currentState end of the step
+         * @param cache cache for states shared between event detectors
+         * (null if states are not cached)
          */
         BasicStepInterpolator(final boolean isForward,
                               final SpacecraftState previousState,
-                              final SpacecraftState currentState) {
+                              final SpacecraftState currentState,
+                              final EventStatesCache cache) {
             this.forward         = isForward;
             this.previousState   = previousState;
             this.currentState    = currentState;
+            this.cache           = cache;
         }
 
         /** {@inheritDoc} */
@@ -585,6 +671,11 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         public SpacecraftState getInterpolatedState(final AbsoluteDate date)
             throws OrekitException {
 
+            if (cache != null) {
+                // compute the spacecraft state, sharing it with other event detectors
+                return cache.getState(date);
+            }
+
             // compute the basic spacecraft state
             final SpacecraftState basicState = basicPropagate(date);
 
@@ -603,7 +694,58 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         @Override
         public BasicStepInterpolator restrictStep(final SpacecraftState newPreviousState,
                                                   final SpacecraftState newCurrentState) {
-            return new BasicStepInterpolator(forward, newPreviousState, newCurrentState);
+            return new BasicStepInterpolator(forward, newPreviousState, newCurrentState, null);
+        }
+
+    }
+
+    /** Internal class for states shared between event detectors within one step.
+     * <p>
+     * Instances are created for each step and used only by the propagation thread.
+     * </p>
+     */
+    private class EventStatesCache {
+
+        /** Cached states, from least recently to most recently added. */
+        private final Map<AbsoluteDate, SpacecraftState> states;
+
+        /** Simple constructor.
+         */
+        EventStatesCache() {
+            final int maxSize = eventStatesCacheSize;
+            states = new LinkedHashMap<AbsoluteDate, SpacecraftState>() {
+
+                /** Serializable UID. */
+                private static final long serialVersionUID = 20181016L;
+
+                /** {@inheritDoc} */
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<AbsoluteDate, SpacecraftState> eldest) {
+                    return size() > maxSize;
+                }
+
+            };
+        }
+
+        /** Get the state at some date, computing it if not already cached.
+         * @param date date of the state
+         * @return state at specified date
+         * @exception OrekitException if state cannot be computed
+         */
+        public SpacecraftState getState(final AbsoluteDate date)
+            throws OrekitException {
+            SpacecraftState state = states.get(date);
+            if (state == null) {
+                state = updateAdditionalStates(basicPropagate(date));
+                states.put(date, state);
+            }
+            return state;
+        }
+
+        /** Clear the cache.
+         */
+        public void clear() {
+            states.clear();
         }
 
     }
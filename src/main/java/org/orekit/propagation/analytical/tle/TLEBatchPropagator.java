@@ -0,0 +1,441 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+
+/** Propagator for large sets of TLE on common dates grids.
+ * <p>
+ * This class is intended for catalog-wide computations (conjunction screening,
+ * visibility predictions ...) where tens of thousands of objects must be propagated
+ * on the same dates. It does not implement the {@link org.orekit.propagation.Propagator
+ * Propagator} interface, no {@link org.orekit.propagation.SpacecraftState SpacecraftState},
+ * {@link org.orekit.orbits.Orbit Orbit} or {@link org.orekit.utils.PVCoordinates PVCoordinates}
+ * are built. Positions and velocities are written directly in caller-supplied arrays,
+ * in {@link FramesFactory#getTEME() TEME} frame, without any allocation per point.
+ * </p>
+ * <p>
+ * Near Earth objects (SGP4 model) have their initialization constants laid out in
+ * primitive arrays, one array per constant, so the propagation kernel loops over
+ * contiguous memory. Deep space objects (SDP4 model) are handled by one underlying
+ * {@link DeepSDP4} instance per object, as their resonance integration state is
+ * updated at each call.
+ * </p>
+ * <p>
+ * For all objects, the results are exactly the same (bit for bit) as the ones of
+ * {@link TLEPropagator#getPVCoordinates(AbsoluteDate)} on the propagator returned by
+ * {@link TLEPropagator#selectExtrapolator(TLE)}, as the same operations are performed
+ * in the same order. For resonant deep space objects, this holds as long as dates are
+ * propagated in the same order, which is the case for both the sequential and the
+ * parallel methods as one object is always handled by one task only.
+ * </p>
+ * <p>
+ * Output arrays are organized date by date, then object by object, then coordinate
+ * by coordinate: the X component of position of object k at date d is therefore stored
+ * at index {@code 3 * (d * n + k)} where n is the {@link #getSize() number of objects}.
+ * </p>
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe, as deep space objects keep
+ * a propagation state. The {@link #propagate(AbsoluteDate[], double[], double[], ExecutorService)}
+ * method splits the computation itself.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+public class TLEBatchPropagator {
+
+    /** Number of objects handled by each parallel task. */
+    private static final int CHUNK_SIZE = 256;
+
+    /** TLE for all objects. */
+    private final List<TLE> tles;
+
+    /** Reference epochs for all objects. */
+    private final AbsoluteDate[] epochs;
+
+    /** Indices of near Earth objects. */
+    private final int[] nearIndices;
+
+    // CHECKSTYLE: stop JavadocVariable check
+    // near Earth objects constants, named as in SGP4
+    private final boolean[] lessThan220;
+    private final double[] meanAnomaly;
+    private final double[] perigeeArgument;
+    private final double[] raan;
+    private final double[] bStar;
+    private final double[] e0;
+    private final double[] i0;
+    private final double[] xmdot;
+    private final double[] omgdot;
+    private final double[] xnodot;
+    private final double[] xnodcf;
+    private final double[] c1;
+    private final double[] c4;
+    private final double[] c5;
+    private final double[] t2cof;
+    private final double[] t3cof;
+    private final double[] t4cof;
+    private final double[] t5cof;
+    private final double[] eta;
+    private final double[] omgcof;
+    private final double[] xmcof;
+    private final double[] delM0;
+    private final double[] sinM0;
+    private final double[] d2;
+    private final double[] d3;
+    private final double[] d4;
+    private final double[] a0dp;
+    private final double[] xn0dp;
+    private final double[] cosi0;
+    private final double[] sini0;
+    // CHECKSTYLE: resume JavadocVariable check
+
+    /** Indices of deep space objects. */
+    private final int[] deepIndices;
+
+    /** Propagators for deep space objects. */
+    private final TLEPropagator[] deepPropagators;
+
+    /** Simple constructor.
+     * @param tles TLE of all objects to propagate
+     * @exception OrekitException if some TLE cannot be propagated
+     */
+    public TLEBatchPropagator(final List<TLE> tles) throws OrekitException {
+
+        this.tles   = Collections.unmodifiableList(new ArrayList<>(tles));
+        this.epochs = new AbsoluteDate[tles.size()];
+
+        // sort out near Earth and deep space objects
+        final List<SGP4>          near      = new ArrayList<>();
+        final List<Integer>       nearIndex = new ArrayList<>();
+        final List<TLEPropagator> deep      = new ArrayList<>();
+        final List<Integer>       deepIndex = new ArrayList<>();
+        for (int k = 0; k < tles.size(); ++k) {
+            final TLE tle = tles.get(k);
+            epochs[k] = tle.getDate();
+            final TLEPropagator propagator = TLEPropagator.selectExtrapolator(tle);
+            if (propagator instanceof SGP4) {
+                near.add((SGP4) propagator);
+                nearIndex.add(k);
+            } else {
+                deep.add(propagator);
+                deepIndex.add(k);
+            }
+        }
+
+        // lay out near Earth objects constants
+        final int nbNear = near.size();
+        nearIndices     = new int[nbNear];
+        lessThan220     = new boolean[nbNear];
+        meanAnomaly     = new double[nbNear];
+        perigeeArgument = new double[nbNear];
+        raan            = new double[nbNear];
+        bStar           = new double[nbNear];
+        e0              = new double[nbNear];
+        i0              = new double[nbNear];
+        xmdot           = new double[nbNear];
+        omgdot          = new double[nbNear];
+        xnodot          = new double[nbNear];
+        xnodcf          = new double[nbNear];
+        c1              = new double[nbNear];
+        c4              = new double[nbNear];
+        c5              = new double[nbNear];
+        t2cof           = new double[nbNear];
+        t3cof           = new double[nbNear];
+        t4cof           = new double[nbNear];
+        t5cof           = new double[nbNear];
+        eta             = new double[nbNear];
+        omgcof          = new double[nbNear];
+        xmcof           = new double[nbNear];
+        delM0           = new double[nbNear];
+        sinM0           = new double[nbNear];
+        d2              = new double[nbNear];
+        d3              = new double[nbNear];
+        d4              = new double[nbNear];
+        a0dp            = new double[nbNear];
+        xn0dp           = new double[nbNear];
+        cosi0           = new double[nbNear];
+        sini0           = new double[nbNear];
+        for (int j = 0; j < nbNear; ++j) {
+            final SGP4 sgp4 = near.get(j);
+            final TLE  tle  = sgp4.getTLE();
+            nearIndices[j]     = nearIndex.get(j);
+            lessThan220[j]     = sgp4.lessThan220;
+            meanAnomaly[j]     = tle.getMeanAnomaly();
+            perigeeArgument[j] = tle.getPerigeeArgument();
+            raan[j]            = tle.getRaan();
+            bStar[j]           = tle.getBStar();
+            e0[j]              = tle.getE();
+            i0[j]              = tle.getI();
+            xmdot[j]           = sgp4.xmdot;
+            omgdot[j]          = sgp4.omgdot;
+            xnodot[j]          = sgp4.xnodot;
+            xnodcf[j]          = sgp4.xnodcf;
+            c1[j]              = sgp4.c1;
+            c4[j]              = sgp4.c4;
+            c5[j]              = sgp4.c5;
+            t2cof[j]           = sgp4.t2cof;
+            t3cof[j]           = sgp4.t3cof;
+            t4cof[j]           = sgp4.t4cof;
+            t5cof[j]           = sgp4.t5cof;
+            eta[j]             = sgp4.eta;
+            omgcof[j]          = sgp4.omgcof;
+            xmcof[j]           = sgp4.xmcof;
+            delM0[j]           = sgp4.delM0;
+            sinM0[j]           = sgp4.sinM0;
+            d2[j]              = sgp4.d2;
+            d3[j]              = sgp4.d3;
+            d4[j]              = sgp4.d4;
+            a0dp[j]            = sgp4.a0dp;
+            xn0dp[j]           = sgp4.xn0dp;
+            cosi0[j]           = sgp4.cosi0;
+            sini0[j]           = sgp4.sini0;
+        }
+
+        // deep space objects keep their own propagator
+        deepIndices     = new int[deep.size()];
+        deepPropagators = deep.toArray(new TLEPropagator[deep.size()]);
+        for (int j = 0; j < deepIndices.length; ++j) {
+            deepIndices[j] = deepIndex.get(j);
+        }
+
+    }
+
+    /** Get the number of objects.
+     * @return number of objects
+     */
+    public int getSize() {
+        return tles.size();
+    }
+
+    /** Get the TLE of all objects.
+     * @return unmodifiable list of TLE, in the same order as output arrays
+     */
+    public List<TLE> getTLEs() {
+        return tles;
+    }
+
+    /** Propagate all objects to one date.
+     * @param date target date
+     * @param positions array where positions (m) should be stored, in TEME frame,
+     * must have at least 3 * {@link #getSize()} elements
+     * @param velocities array where velocities (m/s) should be stored, in TEME frame,
+     * must have at least 3 * {@link #getSize()} elements
+     * @exception OrekitException if some object orbit is out of supported range
+     * (too large eccentricity, too low perigee ...)
+     */
+    public void propagate(final AbsoluteDate date, final double[] positions, final double[] velocities)
+        throws OrekitException {
+        propagate(new AbsoluteDate[] {
+            date
+        }, positions, velocities);
+    }
+
+    /** Propagate all objects to a dates grid.
+     * @param dates target dates
+     * @param positions array where positions (m) should be stored, in TEME frame,
+     * must have at least 3 * {@link #getSize()} * dates.length elements
+     * @param velocities array where velocities (m/s) should be stored, in TEME frame,
+     * must have at least 3 * {@link #getSize()} * dates.length elements
+     * @exception OrekitException if some object orbit is out of supported range
+     * (too large eccentricity, too low perigee ...)
+     */
+    public void propagate(final AbsoluteDate[] dates, final double[] positions, final double[] velocities)
+        throws OrekitException {
+        checkDimensions(dates, positions, velocities);
+        propagateNear(dates, positions, velocities, 0, nearIndices.length);
+        propagateDeep(dates, positions, velocities, 0, deepIndices.length);
+    }
+
+    /** Propagate all objects to a dates grid, splitting computation across an executor.
+     * <p>
+     * The objects are split into chunks, each chunk being propagated to all dates
+     * by one task submitted to the executor. The executor is not shut down by this
+     * method, it can be reused by the caller.
+     * </p>
+     * @param dates target dates
+     * @param positions array where positions (m) should be stored, in TEME frame,
+     * must have at least 3 * {@link #getSize()} * dates.length elements
+     * @param velocities array where velocities (m/s) should be stored, in TEME frame,
+     * must have at least 3 * {@link #getSize()} * dates.length elements
+     * @param executor executor to use for running the tasks
+     * @exception OrekitException if some object orbit is out of supported range
+     * (too large eccentricity, too low perigee ...)
+     */
+    public void propagate(final AbsoluteDate[] dates, final double[] positions, final double[] velocities,
+                          final ExecutorService executor)
+        throws OrekitException {
+
+        checkDimensions(dates, positions, velocities);
+
+        // submit tasks
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < nearIndices.length; from += CHUNK_SIZE) {
+            final int start = from;
+            final int end   = FastMath.min(from + CHUNK_SIZE, nearIndices.length);
+            futures.add(executor.submit((Callable<Void>) () -> {
+                propagateNear(dates, positions, velocities, start, end);
+                return null;
+            }));
+        }
+        for (int from = 0; from < deepIndices.length; from += CHUNK_SIZE) {
+            final int start = from;
+            final int end   = FastMath.min(from + CHUNK_SIZE, deepIndices.length);
+            futures.add(executor.submit((Callable<Void>) () -> {
+                propagateDeep(dates, positions, velocities, start, end);
+                return null;
+            }));
+        }
+
+        // wait for completion
+        try {
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            for (final Future<Void> future : futures) {
+                future.cancel(true);
+            }
+            if (e.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) e.getCause();
+            } else {
+                throw new OrekitException(e, LocalizedCoreFormats.SIMPLE_MESSAGE, e.getLocalizedMessage());
+            }
+        }
+
+    }
+
+    /** Check output arrays dimensions.
+     * @param dates target dates
+     * @param positions array where positions should be stored
+     * @param velocities array where velocities should be stored
+     */
+    private void checkDimensions(final AbsoluteDate[] dates, final double[] positions, final double[] velocities) {
+        final int required = 3 * tles.size() * dates.length;
+        if (positions.length < required) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     positions.length, required);
+        }
+        if (velocities.length < required) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     velocities.length, required);
+        }
+    }
+
+    /** Propagate a range of near Earth objects.
+     * <p>
+     * The computation reproduces exactly {@link SGP4#sxpPropagate(double)}.
+     * </p>
+     * @param dates target dates
+     * @param positions array where positions (m) should be stored
+     * @param velocities array where velocities (m/s) should be stored
+     * @param from index of the first near Earth object to propagate
+     * @param to index after the last near Earth object to propagate
+     * @exception OrekitException if some object orbit is out of supported range
+     */
+    private void propagateNear(final AbsoluteDate[] dates, final double[] positions, final double[] velocities,
+                               final int from, final int to)
+        throws OrekitException {
+        final int n = tles.size();
+        for (int d = 0; d < dates.length; ++d) {
+            final AbsoluteDate date = dates[d];
+            for (int j = from; j < to; ++j) {
+
+                final int    k      = nearIndices[j];
+                final double tSince = date.durationFrom(epochs[k]) / 60.0;
+
+                // Update for secular gravity and atmospheric drag.
+                final double xmdf   = meanAnomaly[j] + xmdot[j] * tSince;
+                final double omgadf = perigeeArgument[j] + omgdot[j] * tSince;
+                final double xn0ddf = raan[j] + xnodot[j] * tSince;
+                double omega = omgadf;
+                double xmp   = xmdf;
+                final double tsq = tSince * tSince;
+                final double xnode = xn0ddf + xnodcf[j] * tsq;
+                double tempa = 1 - c1[j] * tSince;
+                double tempe = bStar[j] * c4[j] * tSince;
+                double templ = t2cof[j] * tsq;
+
+                if (!lessThan220[j]) {
+                    final double delomg = omgcof[j] * tSince;
+                    double delm = 1. + eta[j] * FastMath.cos(xmdf);
+                    delm = xmcof[j] * (delm * delm * delm - delM0[j]);
+                    final double temp = delomg + delm;
+                    xmp = xmdf + temp;
+                    omega = omgadf - temp;
+                    final double tcube = tsq * tSince;
+                    final double tfour = tSince * tcube;
+                    tempa = tempa - d2[j] * tsq - d3[j] * tcube - d4[j] * tfour;
+                    tempe = tempe + bStar[j] * c5[j] * (FastMath.sin(xmp) - sinM0[j]);
+                    templ = templ + t3cof[j] * tcube + tfour * (t4cof[j] + tSince * t5cof[j]);
+                }
+
+                final double a = a0dp[j] * tempa * tempa;
+                double e = e0[j] - tempe;
+
+                // A highly arbitrary lower limit on e,  of 1e-6:
+                if (e < 1e-6) {
+                    e = 1e-6;
+                }
+
+                final double xl = xmp + omega + xnode + xn0dp[j] * templ;
+
+                final int offset = 3 * (d * n + k);
+                TLEPropagator.computePositionVelocity(a, e, i0[j], omega, xnode, xl, cosi0[j], sini0[j],
+                                                      positions, velocities, offset);
+
+            }
+        }
+    }
+
+    /** Propagate a range of deep space objects.
+     * @param dates target dates
+     * @param positions array where positions (m) should be stored
+     * @param velocities array where velocities (m/s) should be stored
+     * @param from index of the first deep space object to propagate
+     * @param to index after the last deep space object to propagate
+     * @exception OrekitException if some object orbit is out of supported range
+     */
+    private void propagateDeep(final AbsoluteDate[] dates, final double[] positions, final double[] velocities,
+                               final int from, final int to)
+        throws OrekitException {
+        final int n = tles.size();
+        for (int d = 0; d < dates.length; ++d) {
+            final AbsoluteDate date = dates[d];
+            for (int j = from; j < to; ++j) {
+                final int k = deepIndices[j];
+                deepPropagators[j].propagatePositionVelocity(date.durationFrom(epochs[k]) / 60.0,
+                                                             positions, velocities, 3 * (d * n + k));
+            }
+        }
+    }
+
+}
@@ -339,6 +339,50 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
      * (too large eccentricity, too low perigee ...)
      */
     private PVCoordinates computePVCoordinates() throws OrekitException {
+        final double[] p = new double[3];
+        final double[] v = new double[3];
+        computePositionVelocity(a, e, i, omega, xnode, xl, cosi0, sini0, p, v, 0);
+        return new PVCoordinates(new Vector3D(p[0], p[1], p[2]), new Vector3D(v[0], v[1], v[2]));
+    }
+
+    /** Propagate position and velocity without allocating any object.
+     * <p>
+     * This method is used by {@link TLEBatchPropagator} for deep space objects.
+     * </p>
+     * @param tSince the offset from initial epoch (min)
+     * @param positions array where position (m) should be stored, in TEME frame
+     * @param velocities array where velocity (m/s) should be stored, in TEME frame
+     * @param offset index of the first component in both arrays
+     * @exception OrekitException if current orbit is out of supported range
+     * (too large eccentricity, too low perigee ...)
+     */
+    void propagatePositionVelocity(final double tSince,
+                                   final double[] positions, final double[] velocities, final int offset)
+        throws OrekitException {
+        sxpPropagate(tSince);
+        computePositionVelocity(a, e, i, omega, xnode, xl, cosi0, sini0, positions, velocities, offset);
+    }
+
+    /** Compute position and velocity from final elements.
+     * @param a final semi major axis
+     * @param e final eccentricity
+     * @param i final inclination
+     * @param omega final perigee argument
+     * @param xnode final RAAN
+     * @param xl final L from SPTRCK #3
+     * @param cosi0 cosinus original inclination
+     * @param sini0 sinus original inclination
+     * @param positions array where position (m) should be stored, in TEME frame
+     * @param velocities array where velocity (m/s) should be stored, in TEME frame
+     * @param offset index of the first component in both arrays
+     * @exception OrekitException if current orbit is out of supported range
+     * (too large eccentricity, too low perigee ...)
+     */
+    static void computePositionVelocity(final double a, final double e, final double i,
+                                        final double omega, final double xnode, final double xl,
+                                        final double cosi0, final double sini0,
+                                        final double[] positions, final double[] velocities, final int offset)
+        throws OrekitException {
 
         // Long period periodics
         final double axn = e * FastMath.cos(omega);
@@ -436,7 +480,9 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
 
         // Position and velocity
         final double cr = 1000 * rk * TLEConstants.EARTH_RADIUS;
-        final Vector3D pos = new Vector3D(cr * ux, cr * uy, cr * uz);
+        positions[offset]     = cr * ux;
+        positions[offset + 1] = cr * uy;
+        positions[offset + 2] = cr * uz;
 
         final double rdot   = TLEConstants.XKE * FastMath.sqrt(a) * esinE / r;
         final double rfdot  = TLEConstants.XKE * FastMath.sqrt(pl) / r;
@@ -448,11 +494,9 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         final double vz     = sinik * cosuk;
 
         final double cv = 1000.0 * TLEConstants.EARTH_RADIUS / 60.0;
-        final Vector3D vel = new Vector3D(cv * (rdotk * ux + rfdotk * vx),
-                                          cv * (rdotk * uy + rfdotk * vy),
-                                          cv * (rdotk * uz + rfdotk * vz));
-
-        return new PVCoordinates(pos, vel);
+        velocities[offset]     = cv * (rdotk * ux + rfdotk * vx);
+        velocities[offset + 1] = cv * (rdotk * uy + rfdotk * vy);
+        velocities[offset + 2] = cv * (rdotk * uz + rfdotk * vz);
 
     }
 
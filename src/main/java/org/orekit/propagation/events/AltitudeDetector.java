@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.util.FastMath;
 import org.orekit.bodies.BodyShape;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.errors.OrekitException;
@@ -155,4 +156,24 @@ public class AltitudeDetector extends AbstractDetector<AltitudeDetector> {
         return point.getAltitude() - altitude;
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * As altitude varies at most as fast as the velocity with respect
+     * to the body, the interval is the time needed to reach the threshold
+     * altitude at maximum velocity.
+     * </p>
+     * @since 9.3
+     */
+    @Override
+    public double getMaxCheckInterval(final SpacecraftState s, final double g)
+        throws OrekitException {
+        final Frame bodyFrame = bodyShape.getBodyFrame();
+        if (!MaxCheckIntervals.isElliptic(s) || !MaxCheckIntervals.isCentered(bodyFrame, s)) {
+            return getMaxCheckInterval();
+        }
+        final double maxRate = MaxCheckIntervals.maxSpeed(s) +
+                               MaxCheckIntervals.rotationRate(bodyFrame, s) * MaxCheckIntervals.maxRadius(s);
+        return MaxCheckIntervals.interval(this, FastMath.abs(g) / maxRate);
+    }
+
 }
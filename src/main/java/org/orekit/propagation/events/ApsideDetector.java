@@ -17,8 +17,12 @@
 package org.orekit.propagation.events;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
 import org.orekit.errors.OrekitException;
+import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.StopOnIncreasing;
@@ -45,6 +49,9 @@ public class ApsideDetector extends AbstractDetector<ApsideDetector> {
     /** Serializable UID. */
     private static final long serialVersionUID = 20131118L;
 
+    /** Minimum eccentricity for using state-dependent max check intervals. */
+    private static final double MIN_ECCENTRICITY = 0.05;
+
     /** Build a new instance.
      * <p>The orbit is used only to set an upper bound for the
      * max check interval to period/3 and to set the convergence
@@ -101,4 +108,24 @@ public class ApsideDetector extends AbstractDetector<ApsideDetector> {
         return Vector3D.dotProduct(pv.getPosition(), pv.getVelocity());
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The interval is the time needed to reach the closest apside, at
+     * maximum angular rate. It is used only for orbits with eccentricity
+     * larger than 0.05, as osculating apsides are not well defined for
+     * almost circular orbits.
+     * </p>
+     * @since 9.3
+     */
+    @Override
+    public double getMaxCheckInterval(final SpacecraftState s, final double g) {
+        if (!MaxCheckIntervals.isElliptic(s) || s.getE() < MIN_ECCENTRICITY) {
+            return getMaxCheckInterval();
+        }
+        final KeplerianOrbit orbit = (KeplerianOrbit) OrbitType.KEPLERIAN.convertType(s.getOrbit());
+        final double nu = MathUtils.normalizeAngle(orbit.getTrueAnomaly(), FastMath.PI) % FastMath.PI;
+        return MaxCheckIntervals.interval(this,
+                                          FastMath.min(nu, FastMath.PI - nu) / MaxCheckIntervals.maxAngularRate(s));
+    }
+
 }
@@ -41,6 +41,9 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
     /** Serializable UID. */
     private static final long serialVersionUID = 20131118L;
 
+    /** Upper bound of the velocity of the occulted body with respect to orbit frame (m/s). */
+    private static final double MAX_OCCULTED_SPEED = 1.0e5;
+
     /** Occulting body. */
     private final PVCoordinatesProvider occulting;
 
@@ -238,4 +241,44 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
         return totalEclipse ? (angle - ro + rs) : (angle - ro - rs);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The interval is computed from an upper bound of the rate of the
+     * switching function, which depends on the angular rates of the
+     * occulting and occulted bodies directions as seen from the satellite
+     * and on the rates of their apparent radii. It is used only when the
+     * occulting body is the central body of the orbit.
+     * </p>
+     * @since 9.3
+     */
+    @Override
+    public double getMaxCheckInterval(final SpacecraftState s, final double g)
+        throws OrekitException {
+
+        final Vector3D ping = occulting.getPVCoordinates(s.getDate(), s.getFrame()).getPosition();
+        final double   rMin = MaxCheckIntervals.isElliptic(s) ? MaxCheckIntervals.minRadius(s) : Double.NaN;
+        if (ping.getNorm() > 1.0 || !(rMin > occultingRadius)) {
+            return getMaxCheckInterval();
+        }
+
+        // occulting body direction and apparent radius rates
+        final double vMax          = MaxCheckIntervals.maxSpeed(s);
+        final double occultingRate = vMax / rMin *
+                                     (1 + occultingRadius / FastMath.sqrt((rMin - occultingRadius) *
+                                                                          (rMin + occultingRadius)));
+
+        // occulted body direction and apparent radius rates
+        final Vector3D pted = occulted.getPVCoordinates(s.getDate(), s.getFrame()).getPosition();
+        final double   dMin = pted.getNorm() - MaxCheckIntervals.maxRadius(s);
+        if (!(dMin > occultedRadius)) {
+            return getMaxCheckInterval();
+        }
+        final double occultedRate = (vMax + MAX_OCCULTED_SPEED) / dMin *
+                                    (1 + occultedRadius / FastMath.sqrt((dMin - occultedRadius) *
+                                                                        (dMin + occultedRadius)));
+
+        return MaxCheckIntervals.interval(this, FastMath.abs(g) / (occultingRate + occultedRate));
+
+    }
+
 }
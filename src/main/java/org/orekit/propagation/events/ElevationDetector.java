@@ -16,7 +16,11 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.bodies.BodyShape;
 import org.orekit.errors.OrekitException;
+import org.orekit.frames.Frame;
 import org.orekit.frames.TopocentricFrame;
 import org.orekit.models.AtmosphericRefractionModel;
 import org.orekit.propagation.SpacecraftState;
@@ -44,6 +48,9 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
     /** Serializable UID. */
     private static final long serialVersionUID = 20131118L;
 
+    /** Margin on elevation for refraction effects when computing max check intervals. */
+    private static final double REFRACTION_MARGIN = FastMath.toRadians(3.0);
+
     /** Elevation mask used for calculations, if defined. */
     private final ElevationMask elevationMask;
 
@@ -189,6 +196,44 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * When the satellite is far from the conservative visibility footprint of
+     * the station, the interval is the time needed by the satellite to reach
+     * this footprint, at its maximum angular rate with respect to the body.
+     * </p>
+     * @since 9.3
+     */
+    @Override
+    public double getMaxCheckInterval(final SpacecraftState s, final double g)
+        throws OrekitException {
+
+        final BodyShape shape     = topo.getParentShape();
+        final Frame     bodyFrame = shape.getBodyFrame();
+        if (g >= 0 || !MaxCheckIntervals.isElliptic(s) || !MaxCheckIntervals.isCentered(bodyFrame, s)) {
+            return getMaxCheckInterval();
+        }
+
+        // lowest geocentric elevation compatible with visibility
+        final Vector3D station = shape.transform(topo.getPoint());
+        final double   minElev = (elevationMask == null ? minElevation : elevationMask.getMinElevation()) -
+                                 Vector3D.angle(topo.getZenith(), station) -
+                                 (refractionModel == null ? 0.0 : REFRACTION_MARGIN);
+
+        // conservative footprint half angle, as seen from body center
+        final double ratio = station.getNorm() * FastMath.cos(minElev) / MaxCheckIntervals.maxRadius(s);
+        if (ratio >= 1.0 || minElev <= -0.5 * FastMath.PI) {
+            return getMaxCheckInterval();
+        }
+        final double footprint = FastMath.acos(ratio) - minElev;
+
+        // time needed to reach the footprint
+        final double separation = Vector3D.angle(station, s.getPVCoordinates(bodyFrame).getPosition());
+        final double rate       = MaxCheckIntervals.maxAngularRate(s) + MaxCheckIntervals.rotationRate(bodyFrame, s);
+        return MaxCheckIntervals.interval(this, (separation - footprint) / rate);
+
+    }
+
     /**
      * Setup the minimum elevation for detection.
      * <p>
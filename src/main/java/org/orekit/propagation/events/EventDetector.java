@@ -85,6 +85,30 @@ public interface EventDetector extends Serializable {
      */
     double getMaxCheckInterval();
 
+    /** Get maximal time interval between switching function checks, at a given state.
+     * <p>
+     * This method allows detectors that can bound the evolution of their switching
+     * function (for example from a Lipschitz constant or from orbital geometry)
+     * to let the event state skip samples when no event can occur in the near
+     * future, while keeping a small {@link #getMaxCheckInterval() regular max check
+     * interval} for the critical parts. The returned interval must be such that
+     * the switching function cannot change sign between the date of the state
+     * and this date shifted by the interval, in either direction. Values smaller
+     * than {@link #getMaxCheckInterval()} are ignored.
+     * </p>
+     * <p>
+     * The default implementation simply returns {@link #getMaxCheckInterval()}.
+     * </p>
+     * @param s the current state information: date, kinematics, attitude
+     * @param g value of the switching function at current state
+     * @return maximal time interval (s) until next switching function check
+     * @exception OrekitException if some specific error occurs
+     * @since 9.3
+     */
+    default double getMaxCheckInterval(SpacecraftState s, double g) throws OrekitException {
+        return getMaxCheckInterval();
+    }
+
     /** Get maximal number of iterations in the event time search.
      * @return maximal number of iterations in the event time search
      */
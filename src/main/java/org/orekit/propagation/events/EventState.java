@@ -194,6 +194,15 @@ public class EventState<T extends EventDetector> implements Serializable {
     }
 
     /** Evaluate the impact of the proposed step on the event detector.
+     * <p>
+     * The step is sampled on a regular grid based on the detector {@link
+     * EventDetector#getMaxCheckInterval() max check interval}, but grid points
+     * are skipped when the {@link EventDetector#getMaxCheckInterval(SpacecraftState,
+     * double) state-dependent max check interval} ensures no event can occur
+     * before them. If a sign change is nevertheless found after skipped points,
+     * these points are checked again, so events are always located within the
+     * same regular grid bracket.
+     * </p>
      * @param interpolator step interpolator for the proposed step
      * @return true if the event detector triggers an event before
      * the end of the proposed step (this implies the step should be
@@ -217,26 +226,50 @@ public class EventState<T extends EventDetector> implements Serializable {
         final int n = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(dt) / detector.getMaxCheckInterval()));
         final double h = dt / n;
 
+        // state at the start of the sub-step, if available for skipping samples
+        SpacecraftState sa = t0.equals(interpolator.getPreviousState().getDate()) ?
+                             interpolator.getPreviousState() : null;
 
         AbsoluteDate ta = t0;
         double ga = g0;
-        for (int i = 0; i < n; ++i) {
+        int i = 0;
+        int noSkipUntil = 0;
+        while (i < n) {
+
+            // number of sub-steps that can be safely skipped
+            int j = i + 1;
+            if (sa != null && i >= noSkipUntil && j < n) {
+                final double skip = FastMath.floor(detector.getMaxCheckInterval(sa, ga) / FastMath.abs(h));
+                if (skip > 1) {
+                    j = (int) FastMath.min(n, i + skip);
+                }
+            }
 
             // evaluate handler value at the end of the substep
-            final AbsoluteDate tb = (i == n - 1) ? t1 : t0.shiftedBy((i + 1) * h);
-            final double gb = g(interpolator.getInterpolatedState(tb));
+            final AbsoluteDate    tb = (j == n) ? t1 : t0.shiftedBy(j * h);
+            final SpacecraftState sb = interpolator.getInterpolatedState(tb);
+            final double          gb = g(sb);
 
             // check events occurrence
             if (gb == 0.0 || (g0Positive ^ (gb > 0))) {
+                if (j > i + 1) {
+                    // the detector bound was not reliable,
+                    // go back to regular sampling in the skipped range
+                    noSkipUntil = j;
+                    continue;
+                }
                 // there is a sign change: an event is expected during this step
                 if (findRoot(interpolator, ta, ga, tb, gb)) {
                     return true;
                 }
+                sa = null;
             } else {
                 // no sign change: there is no event for now
                 ta = tb;
                 ga = gb;
+                sa = sb;
             }
+            i = j;
 
         }
 
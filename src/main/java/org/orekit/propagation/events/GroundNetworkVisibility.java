@@ -0,0 +1,601 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ElevationMask;
+
+/** Visibility engine for a large network of ground stations.
+ * <p>
+ * This class is an alternative to one {@link ElevationDetector} per station
+ * when hundreds of stations are monitored. It provides one {@link
+ * StationVisibilityDetector detector} per station, but all these detectors
+ * share the same computation at each sample: the satellite position is
+ * transformed only once into the body frame, and stations that are
+ * obviously out of the satellite footprint are culled using a conservative
+ * geometric bound and an index of stations sorted by latitude. Only stations
+ * close to the footprint have their elevation evaluated, so the cost of each
+ * sample depends on the number of stations that can see the satellite, not on
+ * the network size. The switching function of culled stations is a constant
+ * negative value.
+ * </p>
+ * <p>
+ * Propagators evaluate each detector over the whole step before evaluating the
+ * next one, so the same sample dates are seen once per station, in alternation.
+ * The per-sample results (satellite position in body frame, stations close to
+ * the footprint and their already evaluated elevations) are therefore stored in
+ * a cache keyed by date, holding up to {@link #getSamplesCacheSize()} samples.
+ * A cached sample is reused only if the state frame and position are the same,
+ * so samples remain consistent when events reset the state.
+ * </p>
+ * <p>
+ * The detectors built by this engine must all be registered in the same
+ * propagator, and the engine must not be shared between propagators running
+ * concurrently. Atmospheric refraction is not supported.
+ * </p>
+ * @see ElevationDetector
+ * @author agent
+ * @since 9.3
+ */
+public class GroundNetworkVisibility implements Serializable {
+
+    /** Default maximum number of samples cached.
+     * <p>
+     * This is large enough to hold all samples of one day propagated in a
+     * single step with a one minute max check interval, including root
+     * solving for a few hundred events.
+     * </p>
+     */
+    public static final int DEFAULT_SAMPLES_CACHE_SIZE = 8192;
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20181016L;
+
+    /** Switching function value for stations out of the satellite footprint. */
+    private static final double CULLED = -FastMath.PI;
+
+    /** Safety margin on footprint half angle (rad). */
+    private static final double MARGIN = 1.0e-6;
+
+    /** Stations. */
+    private final List<TopocentricFrame> stations;
+
+    /** Elevation masks (null for stations with constant minimum elevation). */
+    private final ElevationMask[] masks;
+
+    /** Minimum elevations of stations. */
+    private final double[] minElevations;
+
+    /** Body frame in which all stations are defined. */
+    private final Frame bodyFrame;
+
+    /** Stations positions in body frame. */
+    private final Vector3D[] positions;
+
+    /** Stations unit radial vectors in body frame. */
+    private final Vector3D[] radials;
+
+    /** Stations zenith directions in body frame. */
+    private final Vector3D[] zenith;
+
+    /** Stations North directions in body frame. */
+    private final Vector3D[] north;
+
+    /** Stations East directions in body frame. */
+    private final Vector3D[] east;
+
+    /** Stations indices sorted by increasing geocentric latitude. */
+    private final int[] sortedIndices;
+
+    /** Sine of geocentric latitudes, sorted in increasing order. */
+    private final double[] sortedSinLatitudes;
+
+    /** Smallest distance between a station and body center. */
+    private final double minRadius;
+
+    /** Smallest geocentric elevation compatible with visibility from some station. */
+    private final double minGeocentricElevation;
+
+    /** Maximum number of samples cached. */
+    private int samplesCacheSize;
+
+    /** Number of samples computations. */
+    private long samplesComputations;
+
+    /** Number of elevations evaluations. */
+    private long evaluations;
+
+    /** Samples cache. */
+    private transient Map<AbsoluteDate, Sample> samples;
+
+    /** Build an engine with a constant minimum elevation for all stations.
+     * @param stations stations (must all be defined with respect to the same body frame)
+     * @param minElevation minimum elevation for visibility (rad)
+     */
+    public GroundNetworkVisibility(final List<TopocentricFrame> stations, final double minElevation) {
+        this(stations, new ElevationMask[stations.size()], constant(stations.size(), minElevation));
+    }
+
+    /** Build an engine with one elevation mask per station.
+     * @param stations stations (must all be defined with respect to the same body frame)
+     * @param masks elevation masks, one for each station, in the same order
+     */
+    public GroundNetworkVisibility(final List<TopocentricFrame> stations, final List<ElevationMask> masks) {
+        this(stations, checkMasks(stations, masks), minElevations(masks));
+    }
+
+    /** Private constructor.
+     * @param stations stations
+     * @param masks elevation masks (null for stations with constant minimum elevation)
+     * @param minElevations minimum elevations
+     */
+    private GroundNetworkVisibility(final List<TopocentricFrame> stations,
+                                    final ElevationMask[] masks, final double[] minElevations) {
+
+        final int n = stations.size();
+        this.stations        = new ArrayList<>(stations);
+        this.masks           = masks;
+        this.minElevations   = minElevations;
+        this.bodyFrame       = n == 0 ? null : stations.get(0).getParentShape().getBodyFrame();
+        this.positions       = new Vector3D[n];
+        this.radials         = new Vector3D[n];
+        this.zenith          = new Vector3D[n];
+        this.north           = new Vector3D[n];
+        this.east            = new Vector3D[n];
+
+        double rMin = Double.POSITIVE_INFINITY;
+        double eMin = Double.POSITIVE_INFINITY;
+        final List<Integer> indices = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            final TopocentricFrame station = stations.get(i);
+            if (station.getParentShape().getBodyFrame() != bodyFrame) {
+                throw new OrekitIllegalArgumentException(OrekitMessages.FRAMES_MISMATCH,
+                                                         station.getParentShape().getBodyFrame().getName(),
+                                                         bodyFrame.getName());
+            }
+            positions[i] = station.getParentShape().transform(station.getPoint());
+            radials[i]   = positions[i].normalize();
+            zenith[i]    = station.getZenith();
+            north[i]     = station.getNorth();
+            east[i]      = station.getEast();
+
+            // the geometric bound relies on geocentric elevation, which differs
+            // from the topocentric elevation by at most the vertical deflection
+            rMin = FastMath.min(rMin, positions[i].getNorm());
+            eMin = FastMath.min(eMin, minElevations[i] - Vector3D.angle(zenith[i], radials[i]));
+
+            indices.add(i);
+        }
+        this.minRadius              = rMin;
+        this.minGeocentricElevation = FastMath.max(-0.5 * FastMath.PI, eMin);
+
+        // index stations by latitude
+        Collections.sort(indices, (i1, i2) -> Double.compare(radials[i1].getZ(), radials[i2].getZ()));
+        this.sortedIndices      = new int[n];
+        this.sortedSinLatitudes = new double[n];
+        for (int k = 0; k < n; ++k) {
+            sortedIndices[k]      = indices.get(k);
+            sortedSinLatitudes[k] = radials[sortedIndices[k]].getZ();
+        }
+
+        this.samplesCacheSize    = DEFAULT_SAMPLES_CACHE_SIZE;
+        this.samplesComputations = 0;
+        this.evaluations         = 0;
+
+    }
+
+    /** Build an array of constant minimum elevations.
+     * @param n number of stations
+     * @param minElevation minimum elevation (rad)
+     * @return minimum elevations
+     */
+    private static double[] constant(final int n, final double minElevation) {
+        final double[] elevations = new double[n];
+        for (int i = 0; i < n; ++i) {
+            elevations[i] = minElevation;
+        }
+        return elevations;
+    }
+
+    /** Check masks are consistent with stations.
+     * @param stations stations
+     * @param masks elevation masks
+     * @return masks array
+     */
+    private static ElevationMask[] checkMasks(final List<TopocentricFrame> stations,
+                                              final List<ElevationMask> masks) {
+        if (masks.size() != stations.size()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     masks.size(), stations.size());
+        }
+        return masks.toArray(new ElevationMask[masks.size()]);
+    }
+
+    /** Extract minimum elevations from masks.
+     * @param masks elevation masks
+     * @return minimum elevations
+     */
+    private static double[] minElevations(final List<ElevationMask> masks) {
+        final double[] elevations = new double[masks.size()];
+        for (int i = 0; i < elevations.length; ++i) {
+            elevations[i] = masks.get(i).getMinElevation();
+        }
+        return elevations;
+    }
+
+    /** Get the stations.
+     * @return unmodifiable view of the stations
+     */
+    public List<TopocentricFrame> getStations() {
+        return Collections.unmodifiableList(stations);
+    }
+
+    /** Get the detectors for all stations, with default settings.
+     * <p>
+     * The detectors use {@link AbstractDetector#DEFAULT_MAXCHECK},
+     * {@link AbstractDetector#DEFAULT_THRESHOLD} and a {@link ContinueOnEvent}
+     * handler, so propagation continues at both raising and setting.
+     * </p>
+     * @return detectors, in the same order as stations
+     */
+    public List<StationVisibilityDetector> getDetectors() {
+        return getDetectors(AbstractDetector.DEFAULT_MAXCHECK, AbstractDetector.DEFAULT_THRESHOLD,
+                            new ContinueOnEvent<StationVisibilityDetector>());
+    }
+
+    /** Get the detectors for all stations.
+     * <p>
+     * Using the same max check interval for all detectors allows them to
+     * share all samples.
+     * </p>
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param handler event handler to call at event occurrences, for all stations
+     * @return detectors, in the same order as stations
+     */
+    public List<StationVisibilityDetector> getDetectors(final double maxCheck, final double threshold,
+                                                        final EventHandler<? super StationVisibilityDetector> handler) {
+        final List<StationVisibilityDetector> detectors = new ArrayList<>(stations.size());
+        for (int i = 0; i < stations.size(); ++i) {
+            detectors.add(new StationVisibilityDetector(maxCheck, threshold, AbstractDetector.DEFAULT_MAX_ITER,
+                                                        handler, this, i));
+        }
+        return detectors;
+    }
+
+    /** Set the maximum number of samples cached.
+     * <p>
+     * Samples are shared between detectors only if the cache can hold all
+     * the samples of one propagation step, i.e. roughly the step duration
+     * divided by the max check interval, plus the root solver evaluations.
+     * </p>
+     * @param size maximum number of samples cached (must be at least 1)
+     */
+    public void setSamplesCacheSize(final int size) {
+        if (size < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, size, 1);
+        }
+        samplesCacheSize = size;
+        samples          = null;
+    }
+
+    /** Get the maximum number of samples cached.
+     * @return maximum number of samples cached
+     * @see #setSamplesCacheSize(int)
+     */
+    public int getSamplesCacheSize() {
+        return samplesCacheSize;
+    }
+
+    /** Get the number of samples computed since engine creation.
+     * <p>
+     * Each sample computation involves one transform of the satellite position
+     * into the body frame and one selection of the stations close to the footprint.
+     * </p>
+     * @return number of samples computed
+     */
+    public long getSamplesComputations() {
+        return samplesComputations;
+    }
+
+    /** Get the number of elevations evaluated since engine creation.
+     * <p>
+     * This counter only includes stations that were not culled.
+     * </p>
+     * @return number of elevations evaluated
+     */
+    public long getElevationsEvaluations() {
+        return evaluations;
+    }
+
+    /** Clear the samples cache.
+     */
+    private void clearSamples() {
+        if (samples != null) {
+            samples.clear();
+        }
+    }
+
+    /** Compute the switching function for one station.
+     * @param index index of the station
+     * @param s spacecraft state
+     * @return difference between elevation and mask, or a negative
+     * constant if station is out of the satellite footprint
+     * @exception OrekitException if satellite position cannot be transformed
+     */
+    private double g(final int index, final SpacecraftState s)
+        throws OrekitException {
+
+        final Sample sample = getSample(s);
+
+        final int k = Arrays.binarySearch(sample.near, index);
+        if (k < 0) {
+            // the station is too far to see the satellite
+            return CULLED;
+        }
+
+        if (Double.isNaN(sample.values[k])) {
+
+            final Vector3D delta     = sample.satellite.subtract(positions[index]);
+            final double   elevation = FastMath.asin(FastMath.max(-1.0,
+                                                                  FastMath.min(1.0,
+                                                                               Vector3D.dotProduct(delta, zenith[index]) /
+                                                                               delta.getNorm())));
+            if (masks[index] == null) {
+                sample.values[k] = elevation - minElevations[index];
+            } else {
+                final double azimuth = FastMath.atan2(Vector3D.dotProduct(delta, east[index]),
+                                                      Vector3D.dotProduct(delta, north[index]));
+                sample.values[k] = elevation -
+                                   masks[index].getElevation(azimuth < 0 ? azimuth + MathUtils.TWO_PI : azimuth);
+            }
+
+            ++evaluations;
+
+        }
+
+        return sample.values[k];
+
+    }
+
+    /** Get the sample corresponding to a state, computing it if needed.
+     * @param s spacecraft state
+     * @return sample
+     * @exception OrekitException if satellite position cannot be transformed
+     */
+    private Sample getSample(final SpacecraftState s)
+        throws OrekitException {
+
+        if (samples == null) {
+            final int maxSize = samplesCacheSize;
+            samples = new LinkedHashMap<AbsoluteDate, Sample>() {
+
+                /** Serializable UID. */
+                private static final long serialVersionUID = 20181016L;
+
+                /** {@inheritDoc} */
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<AbsoluteDate, Sample> eldest) {
+                    return size() > maxSize;
+                }
+
+            };
+        }
+
+        final Vector3D position = s.getPVCoordinates().getPosition();
+        final Sample   cached   = samples.get(s.getDate());
+        if (cached != null && cached.frame == s.getFrame() && cached.position.equals(position)) {
+            // this sample has already been computed for another station
+            return cached;
+        }
+
+        // transform satellite position only once for all stations
+        final Sample sample = new Sample(s.getFrame(), position, s.getPVCoordinates(bodyFrame).getPosition());
+        samples.put(s.getDate(), sample);
+        ++samplesComputations;
+        return sample;
+
+    }
+
+    /** Find the first station whose sine of latitude is not smaller than a limit.
+     * @param sinLatitude limit sine of latitude
+     * @return index of the first station in the sorted arrays
+     */
+    private int lowerBound(final double sinLatitude) {
+        int low  = 0;
+        int high = sortedSinLatitudes.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedSinLatitudes[mid] < sinLatitude) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Results shared between all stations for one sample. */
+    private class Sample {
+
+        /** Frame of the sample state. */
+        private final Frame frame;
+
+        /** Position in the sample state frame. */
+        private final Vector3D position;
+
+        /** Position in body frame. */
+        private final Vector3D satellite;
+
+        /** Indices of the stations close to the footprint, in increasing order. */
+        private final int[] near;
+
+        /** Switching functions values of the stations close to the footprint (NaN if not evaluated yet). */
+        private final double[] values;
+
+        /** Simple constructor.
+         * @param frame frame of the sample state
+         * @param position position in the sample state frame
+         * @param satellite position in body frame
+         */
+        Sample(final Frame frame, final Vector3D position, final Vector3D satellite) {
+
+            this.frame     = frame;
+            this.position  = position;
+            this.satellite = satellite;
+
+            // conservative half angle of the footprint, as seen from body center
+            final double r     = satellite.getNorm();
+            final double ratio = minRadius * FastMath.cos(minGeocentricElevation) / r;
+            final double halfAngle =
+                    ratio >= 1.0 ?
+                    FastMath.PI :
+                    FastMath.min(FastMath.PI, FastMath.acos(ratio) - minGeocentricElevation + MARGIN);
+
+            // select stations in the latitude band covered by the footprint
+            final Vector3D u      = new Vector3D(1.0 / r, satellite);
+            final double latitude = FastMath.asin(FastMath.max(-1.0, FastMath.min(1.0, u.getZ())));
+            final double low      = latitude - halfAngle;
+            final double high     = latitude + halfAngle;
+            final double sinLow   = low  <= -0.5 * FastMath.PI ? -1.0 : FastMath.sin(low);
+            final double sinHigh  = high >=  0.5 * FastMath.PI ?  1.0 : FastMath.sin(high);
+            final double cosHalf  = FastMath.cos(halfAngle);
+            final int[]  selected = new int[sortedIndices.length];
+            int n = 0;
+            for (int k = lowerBound(sinLow); k < sortedIndices.length && sortedSinLatitudes[k] <= sinHigh; ++k) {
+                final int i = sortedIndices[k];
+                if (Vector3D.dotProduct(u, radials[i]) >= cosHalf) {
+                    selected[n++] = i;
+                }
+            }
+            this.near = Arrays.copyOf(selected, n);
+            Arrays.sort(near);
+            this.values = new double[n];
+            Arrays.fill(values, Double.NaN);
+
+        }
+
+    }
+
+    /** Visibility detector for one station of a {@link GroundNetworkVisibility network}.
+     * <p>
+     * The switching function is positive when the satellite is above the
+     * station elevation mask, so raising events correspond to increasing
+     * switching function and setting events to decreasing switching function.
+     * </p>
+     * @author agent
+     * @since 9.3
+     */
+    public static class StationVisibilityDetector extends AbstractDetector<StationVisibilityDetector> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20181016L;
+
+        /** Network engine. */
+        private final GroundNetworkVisibility network;
+
+        /** Index of the station in the network. */
+        private final int index;
+
+        /** Private constructor with full parameters.
+         * <p>
+         * This constructor is private as users are expected to get the instances
+         * from {@link GroundNetworkVisibility#getDetectors()} and to customize them
+         * with the various {@code withXxx()} methods.
+         * </p>
+         * @param maxCheck maximum checking interval (s)
+         * @param threshold convergence threshold (s)
+         * @param maxIter maximum number of iterations in the event time search
+         * @param handler event handler to call at event occurrences
+         * @param network network engine
+         * @param index index of the station in the network
+         */
+        private StationVisibilityDetector(final double maxCheck, final double threshold, final int maxIter,
+                                          final EventHandler<? super StationVisibilityDetector> handler,
+                                          final GroundNetworkVisibility network, final int index) {
+            super(maxCheck, threshold, maxIter, handler);
+            this.network = network;
+            this.index   = index;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected StationVisibilityDetector create(final double newMaxCheck, final double newThreshold,
+                                                   final int newMaxIter,
+                                                   final EventHandler<? super StationVisibilityDetector> newHandler) {
+            return new StationVisibilityDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
+                                                 network, index);
+        }
+
+        /** Get the network engine.
+         * @return network engine
+         */
+        public GroundNetworkVisibility getNetwork() {
+            return network;
+        }
+
+        /** Get the station.
+         * @return station
+         */
+        public TopocentricFrame getTopocentricFrame() {
+            return network.stations.get(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final SpacecraftState s0, final AbsoluteDate t)
+            throws OrekitException {
+            super.init(s0, t);
+            // samples from previous propagations are useless
+            network.clearSamples();
+        }
+
+        /** Compute the value of the switching function.
+         * This function measures the difference between the current elevation
+         * and the station elevation mask or minimum elevation.
+         * @param s the current state information: date, kinematics, attitude
+         * @return value of the switching function
+         * @exception OrekitException if some specific error occurs
+         */
+        @Override
+        public double g(final SpacecraftState s) throws OrekitException {
+            return network.g(index, s);
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.SpacecraftState;
+
+/** Utility methods for state-dependent max check intervals of built-in detectors.
+ * <p>
+ * All bounds rely on the osculating Keplerian motion at current state, with
+ * margins on radii and a safety factor on intervals to cope with perturbations.
+ * They are available only for elliptic orbits.
+ * </p>
+ * @see EventDetector#getMaxCheckInterval(SpacecraftState, double)
+ * @author agent
+ * @since 9.3
+ */
+final class MaxCheckIntervals {
+
+    /** Safety factor applied to time intervals. */
+    private static final double SAFETY = 0.5;
+
+    /** Relative margin on perigee and apogee radii. */
+    private static final double RADIUS_MARGIN = 0.01;
+
+    /** Maximum distance between body center and orbit frame origin (m). */
+    private static final double CENTER_TOLERANCE = 1.0;
+
+    /** Private constructor for a utility class.
+     */
+    private MaxCheckIntervals() {
+        // nothing to do
+    }
+
+    /** Check if the osculating orbit is elliptic.
+     * @param s spacecraft state
+     * @return true if the osculating orbit is elliptic
+     */
+    public static boolean isElliptic(final SpacecraftState s) {
+        return s.getA() > 0 && s.getE() < 1;
+    }
+
+    /** Get a lower bound of the distance to central body.
+     * @param s spacecraft state (must be {@link #isElliptic(SpacecraftState) elliptic})
+     * @return lower bound of the distance to central body (m)
+     */
+    public static double minRadius(final SpacecraftState s) {
+        return (1 - RADIUS_MARGIN) * s.getA() * (1 - s.getE());
+    }
+
+    /** Get an upper bound of the distance to central body.
+     * @param s spacecraft state (must be {@link #isElliptic(SpacecraftState) elliptic})
+     * @return upper bound of the distance to central body (m)
+     */
+    public static double maxRadius(final SpacecraftState s) {
+        return (1 + RADIUS_MARGIN) * s.getA() * (1 + s.getE());
+    }
+
+    /** Get an upper bound of the inertial velocity.
+     * @param s spacecraft state (must be {@link #isElliptic(SpacecraftState) elliptic})
+     * @return upper bound of the inertial velocity (m/s)
+     */
+    public static double maxSpeed(final SpacecraftState s) {
+        final double a = s.getA();
+        final double e = s.getE();
+        return (1 + RADIUS_MARGIN) * FastMath.sqrt(s.getMu() * (1 + e) / (a * (1 - e)));
+    }
+
+    /** Get an upper bound of the inertial angular rate of the position vector.
+     * @param s spacecraft state (must be {@link #isElliptic(SpacecraftState) elliptic})
+     * @return upper bound of the inertial angular rate (rad/s)
+     */
+    public static double maxAngularRate(final SpacecraftState s) {
+        return maxSpeed(s) / minRadius(s);
+    }
+
+    /** Check if a frame is centered on the central body of the orbit.
+     * @param frame frame to check
+     * @param s spacecraft state
+     * @return true if frame origin coincides with orbit frame origin
+     * @exception OrekitException if frames cannot be transformed
+     */
+    public static boolean isCentered(final Frame frame, final SpacecraftState s)
+        throws OrekitException {
+        return frame.getTransformTo(s.getFrame(), s.getDate()).transformPosition(Vector3D.ZERO).getNorm() <=
+               CENTER_TOLERANCE;
+    }
+
+    /** Get the rotation rate of a frame with respect to the orbit frame.
+     * @param frame frame to check
+     * @param s spacecraft state
+     * @return rotation rate of the frame (rad/s)
+     * @exception OrekitException if frames cannot be transformed
+     */
+    public static double rotationRate(final Frame frame, final SpacecraftState s)
+        throws OrekitException {
+        return s.getFrame().getTransformTo(frame, s.getDate()).getRotationRate().getNorm();
+    }
+
+    /** Build the max check interval from a time interval without events.
+     * @param detector detector
+     * @param safe time interval during which no events can occur (s)
+     * @return max check interval, including safety factor
+     */
+    public static double interval(final EventDetector detector, final double safe) {
+        return safe > 0 ? FastMath.max(detector.getMaxCheckInterval(), SAFETY * safe) : detector.getMaxCheckInterval();
+    }
+
+}
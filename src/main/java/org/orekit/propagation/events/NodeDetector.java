@@ -20,6 +20,7 @@ import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
 import org.orekit.errors.OrekitException;
 import org.orekit.frames.Frame;
+import org.orekit.orbits.CircularOrbit;
 import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.orbits.OrbitType;
@@ -51,6 +52,9 @@ public class NodeDetector extends AbstractDetector<NodeDetector> {
     /** Serializable UID. */
     private static final long serialVersionUID = 20131118L;
 
+    /** Minimum inclination for using state-dependent max check intervals. */
+    private static final double MIN_INCLINATION = 1.0e-3;
+
     /** Frame in which the equator is defined. */
     private final Frame frame;
 
@@ -167,4 +171,27 @@ public class NodeDetector extends AbstractDetector<NodeDetector> {
         return s.getPVCoordinates(frame).getPosition().getZ();
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The interval is the time needed to reach the closest node, at
+     * maximum angular rate. It is used only for pseudo-inertial frames
+     * centered on the central body and inclined orbits.
+     * </p>
+     * @since 9.3
+     */
+    @Override
+    public double getMaxCheckInterval(final SpacecraftState s, final double g)
+        throws OrekitException {
+        if (!frame.isPseudoInertial() || !MaxCheckIntervals.isElliptic(s) || !MaxCheckIntervals.isCentered(frame, s)) {
+            return getMaxCheckInterval();
+        }
+        final CircularOrbit orbit = new CircularOrbit(s.getPVCoordinates(frame), frame, s.getMu());
+        if (orbit.getI() < MIN_INCLINATION || orbit.getI() > FastMath.PI - MIN_INCLINATION) {
+            return getMaxCheckInterval();
+        }
+        final double u = MathUtils.normalizeAngle(orbit.getAlphaV(), FastMath.PI) % FastMath.PI;
+        return MaxCheckIntervals.interval(this,
+                                          FastMath.min(u, FastMath.PI - u) / MaxCheckIntervals.maxAngularRate(s));
+    }
+
 }
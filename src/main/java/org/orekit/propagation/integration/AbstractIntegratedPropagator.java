@@ -17,12 +17,14 @@
 package org.orekit.propagation.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.ode.DenseOutputModel;
 import org.hipparchus.ode.EquationsMapper;
@@ -37,10 +39,12 @@ import org.hipparchus.ode.events.ODEEventHandler;
 import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
 import org.hipparchus.ode.sampling.ODEStateInterpolator;
 import org.hipparchus.ode.sampling.ODEStepHandler;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitIllegalStateException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
@@ -96,6 +100,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
      */
     private boolean meanOrbit;
 
+    /** Cache for states shared between event detectors. */
+    private EventStatesCache eventStatesCache;
+
     /** Build a new instance.
      * @param integrator numerical integrator to use for propagation.
      * @param meanOrbit output only the mean orbit.
@@ -106,6 +113,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         this.integrator     = integrator;
         this.meanOrbit      = meanOrbit;
         this.resetAtEnd     = true;
+        this.eventStatesCache = new EventStatesCache(0);
     }
 
     /** Allow/disallow resetting the initial state at end of propagation.
@@ -137,6 +145,53 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
                                    attitudeProvider, stateMapper.getFrame());
     }
 
+    /** Set the size of the cache for states shared between event detectors.
+     * <p>
+     * Each event detector evaluates its switching function on a sampling of
+     * the integration step, and then refines the root with a solver. When
+     * several detectors are registered, they are all evaluated on the same
+     * step, and detectors sharing the same {@link EventDetector#getMaxCheckInterval()
+     * max check interval} sample the step at the same dates. The complete
+     * spacecraft states (including attitude and additional states) built at
+     * these dates are therefore cached and shared between all detectors, so
+     * they are computed only once per step. Detectors that need transforms
+     * to Earth-fixed frames (like elevation detectors) also benefit from
+     * enlarging the {@link Frame#setTransformsCacheSize(int) frames transforms
+     * cache}.
+     * </p>
+     * <p>
+     * As detectors are checked one after the other, sharing is effective only
+     * if the cache can hold all the states of one integration step, i.e. roughly
+     * the step size divided by the max check interval, plus the root solver
+     * evaluations.
+     * </p>
+     * <p>
+     * The cache is keyed by date and by the raw integrated state, and it is
+     * cleared each time an event handler resets the state or the derivatives,
+     * as handlers may change the models used to build complete states (for
+     * example {@link org.orekit.attitudes.AttitudesSequence attitudes sequences}).
+     * Setting the size to 0 disables the cache, which is the default.
+     * </p>
+     * @param size maximum number of states cached (0 to disable cache)
+     * @exception OrekitIllegalArgumentException if size is negative
+     * @since 9.3
+     */
+    public void setEventStatesCacheSize(final int size) {
+        if (size < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, size, 0);
+        }
+        eventStatesCache = new EventStatesCache(size);
+    }
+
+    /** Get the size of the cache for states shared between event detectors.
+     * @return maximum number of states cached
+     * @see #setEventStatesCacheSize(int)
+     * @since 9.3
+     */
+    public int getEventStatesCacheSize() {
+        return eventStatesCache.dates.length;
+    }
+
     /** Set propagation orbit type.
      * @param orbitType orbit type to use for propagation
      */
@@ -448,6 +503,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             }
 
             integrator.clearEventHandlers();
+            eventStatesCache.clear();
 
             // set up events added by user, only if handlers are activated
             if (activateHandlers) {
@@ -813,7 +869,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         public void init(final ODEStateAndDerivative s0, final double t) {
             try {
 
-                detector.init(getCompleteState(s0.getTime(), s0.getCompleteState(), s0.getCompleteDerivative()),
+                detector.init(eventStatesCache.getState(s0),
                               stateMapper.mapDoubleToDate(t));
                 this.lastT = Double.NaN;
                 this.lastG = Double.NaN;
@@ -828,7 +884,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             try {
                 if (!Precision.equals(lastT, s.getTime(), 0)) {
                     lastT = s.getTime();
-                    lastG = detector.g(getCompleteState(s.getTime(), s.getCompleteState(), s.getCompleteDerivative()));
+                    lastG = detector.g(eventStatesCache.getState(s));
                 }
                 return lastG;
             } catch (OrekitException oe) {
@@ -840,17 +896,19 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         public Action eventOccurred(final ODEStateAndDerivative s, final boolean increasing) {
             try {
 
-                final EventHandler.Action whatNext = detector.eventOccurred(getCompleteState(s.getTime(),
-                                                                                             s.getCompleteState(),
-                                                                                             s.getCompleteDerivative()),
+                final EventHandler.Action whatNext = detector.eventOccurred(eventStatesCache.getState(s),
                                                                             increasing);
 
                 switch (whatNext) {
                     case STOP :
                         return Action.STOP;
                     case RESET_STATE :
+                        // the handler may have changed how complete states are built
+                        eventStatesCache.clear();
                         return Action.RESET_STATE;
                     case RESET_DERIVATIVES :
+                        // the handler may have changed how complete states are built
+                        eventStatesCache.clear();
                         return Action.RESET_DERIVATIVES;
                     default :
                         return Action.CONTINUE;
@@ -864,8 +922,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         public ODEState resetState(final ODEStateAndDerivative s) {
             try {
 
-                final SpacecraftState oldState = getCompleteState(s.getTime(), s.getCompleteState(), s.getCompleteDerivative());
+                final SpacecraftState oldState = eventStatesCache.getState(s);
                 final SpacecraftState newState = detector.resetState(oldState);
+                eventStatesCache.clear();
 
                 // main part
                 final double[] primary    = new double[s.getPrimaryStateDimension()];
@@ -887,6 +946,90 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
     }
 
+    /** Cache for complete states shared between all event detectors.
+     * <p>
+     * Entries are replaced in first-in first-out order.
+     * </p>
+     * @since 9.3
+     */
+    private class EventStatesCache {
+
+        /** Cached dates. */
+        private final double[] dates;
+
+        /** Cached raw states. */
+        private final double[][] states;
+
+        /** Cached raw derivatives. */
+        private final double[][] derivatives;
+
+        /** Cached complete states. */
+        private final SpacecraftState[] completeStates;
+
+        /** Number of entries in use. */
+        private int size;
+
+        /** Index of next entry to replace. */
+        private int next;
+
+        /** Simple constructor.
+         * @param capacity maximum number of cached states
+         */
+        EventStatesCache(final int capacity) {
+            this.dates          = new double[capacity];
+            this.states         = new double[dates.length][];
+            this.derivatives    = new double[dates.length][];
+            this.completeStates = new SpacecraftState[dates.length];
+            clear();
+        }
+
+        /** Clear the cache.
+         */
+        void clear() {
+            Arrays.fill(states, null);
+            Arrays.fill(derivatives, null);
+            Arrays.fill(completeStates, null);
+            size = 0;
+            next = 0;
+        }
+
+        /** Get the complete state corresponding to a raw state.
+         * @param s raw state
+         * @return complete state
+         * @exception OrekitException if state cannot be mapped
+         */
+        SpacecraftState getState(final ODEStateAndDerivative s)
+            throws OrekitException {
+
+            final double   t    = s.getTime();
+            final double[] y    = s.getCompleteState();
+            final double[] yDot = s.getCompleteDerivative();
+
+            // look for an already known state
+            for (int i = 0; i < size; ++i) {
+                if (Precision.equals(dates[i], t, 0) &&
+                    Arrays.equals(states[i], y) && Arrays.equals(derivatives[i], yDot)) {
+                    return completeStates[i];
+                }
+            }
+
+            final SpacecraftState state = getCompleteState(t, y, yDot);
+            if (dates.length > 0) {
+                // store the new state, replacing the oldest one if needed
+                dates[next]          = t;
+                states[next]         = y;
+                derivatives[next]    = yDot;
+                completeStates[next] = state;
+                next = (next + 1) % dates.length;
+                size = FastMath.max(size, next == 0 ? dates.length : next);
+            }
+
+            return state;
+
+        }
+
+    }
+
     /** Adapt an {@link org.orekit.propagation.sampling.OrekitStepHandler}
      * to Hipparchus {@link ODEStepHandler} interface.
      * @author Luc Maisonobe
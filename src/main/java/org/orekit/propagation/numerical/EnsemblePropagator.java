@@ -0,0 +1,235 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.sampling.OrekitStepHandler;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+/** Propagator for ensembles of perturbed copies of one numerical propagation setup.
+ * <p>
+ * This class is intended for Monte Carlo analyses (collision probability, reentry
+ * dispersion...) where thousands of members are propagated from perturbed initial
+ * states with the same force models. Members are distributed over a {@link
+ * ForkJoinPool fork-join pool}, each member being propagated by its own {@link
+ * NumericalPropagator} built by a user-supplied {@link MemberBuilder builder}.
+ * </p>
+ * <p>
+ * Data that does not depend on the member is shared:
+ * </p>
+ * <ul>
+ *   <li>the builder is free to add the same force models instances to all members
+ *   propagators, as long as these models can be used from several threads (this is
+ *   the case for gravity fields and third body attraction, but not for maneuvers
+ *   which cache their firing status),</li>
+ *   <li>the transforms from propagation frame to output frame are computed only once
+ *   for each output epoch and applied to all members,</li>
+ *   <li>Earth frames rely on thread-safe caches, so all members benefit from the
+ *   transforms already computed by other members at close dates.</li>
+ * </ul>
+ * <p>
+ * Results are not returned as {@link SpacecraftState} instances but in a compact
+ * {@link EnsembleSamples} store, holding primitive arrays of states for each output epoch.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+public class EnsemblePropagator {
+
+    /** Builder for members propagators. */
+    @FunctionalInterface
+    public interface MemberBuilder {
+
+        /** Build the propagator for one member.
+         * <p>
+         * The builder will be called from the fork-join pool threads, so it
+         * must be thread-safe.
+         * </p>
+         * @param index index of the member
+         * @param initialState initial state of the member
+         * @return propagator for the member, with its initial state already set
+         * @exception OrekitException if propagator cannot be built
+         */
+        NumericalPropagator build(int index, SpacecraftState initialState) throws OrekitException;
+
+    }
+
+    /** Initial states of members. */
+    private final List<SpacecraftState> initialStates;
+
+    /** Builder for members propagators. */
+    private final MemberBuilder builder;
+
+    /** Pool in which members are propagated. */
+    private final ForkJoinPool pool;
+
+    /** Simple constructor.
+     * <p>
+     * All initial states must be defined in the same frame.
+     * </p>
+     * @param initialStates initial states of members
+     * @param builder builder for members propagators
+     * @param pool pool in which members are propagated (it is not shut down
+     * by the ensemble propagator)
+     */
+    public EnsemblePropagator(final List<SpacecraftState> initialStates,
+                              final MemberBuilder builder, final ForkJoinPool pool) {
+
+        if (initialStates.isEmpty()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, 0, 1);
+        }
+        final SpacecraftState first = initialStates.get(0);
+        for (final SpacecraftState state : initialStates) {
+            if (state.getFrame() != first.getFrame()) {
+                throw new OrekitIllegalArgumentException(OrekitMessages.FRAMES_MISMATCH,
+                                                         state.getFrame().getName(),
+                                                         first.getFrame().getName());
+            }
+        }
+
+        this.initialStates = new ArrayList<>(initialStates);
+        this.builder       = builder;
+        this.pool          = pool;
+
+    }
+
+    /** Get the number of members.
+     * @return number of members
+     */
+    public int getMembersNumber() {
+        return initialStates.size();
+    }
+
+    /** Propagate all members.
+     * <p>
+     * Members that stop before the last epoch (for example due to a
+     * stop event) have their remaining states set to NaN.
+     * </p>
+     * @param epochs output epochs, in chronological order (they must
+     * not be before the members initial dates)
+     * @param outputFrame frame in which states should be stored
+     * @return compact store for members states at output epochs
+     * @exception OrekitException if some member cannot be propagated
+     */
+    public EnsembleSamples propagate(final AbsoluteDate[] epochs, final Frame outputFrame)
+        throws OrekitException {
+
+        final Frame frame = initialStates.get(0).getFrame();
+
+        // check epochs ordering
+        final AbsoluteDate[] outputEpochs = epochs.clone();
+        for (int k = 1; k < outputEpochs.length; ++k) {
+            if (outputEpochs[k].compareTo(outputEpochs[k - 1]) < 0) {
+                throw new OrekitIllegalArgumentException(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES,
+                                                         outputEpochs[k - 1], outputEpochs[k]);
+            }
+        }
+
+        // frames transforms are shared by all members
+        final Transform[] transforms = new Transform[outputEpochs.length];
+        for (int k = 0; k < transforms.length; ++k) {
+            transforms[k] = frame.getTransformTo(outputFrame, outputEpochs[k]);
+        }
+
+        final EnsembleSamples samples = new EnsembleSamples(outputFrame, outputEpochs, initialStates.size());
+        if (outputEpochs.length == 0) {
+            return samples;
+        }
+
+        try {
+            pool.submit(() -> IntStream.range(0, initialStates.size()).parallel().forEach(i -> {
+                try {
+                    propagateMember(i, outputEpochs, transforms, samples);
+                } catch (OrekitException oe) {
+                    throw new OrekitExceptionWrapper(oe);
+                }
+            })).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof OrekitExceptionWrapper) {
+                // unwrap the original exception
+                throw ((OrekitExceptionWrapper) ee.getCause()).getException();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+        }
+
+        return samples;
+
+    }
+
+    /** Propagate one member.
+     * @param index index of the member
+     * @param epochs output epochs
+     * @param transforms transforms from propagation frame to output frame at output epochs
+     * @param samples store for the states
+     * @exception OrekitException if member cannot be propagated
+     */
+    private void propagateMember(final int index, final AbsoluteDate[] epochs,
+                                 final Transform[] transforms, final EnsembleSamples samples)
+        throws OrekitException {
+
+        final NumericalPropagator propagator = builder.build(index, initialStates.get(index));
+
+        // store states at output epochs as the integrator steps over them
+        propagator.setMasterMode(new OrekitStepHandler() {
+
+            /** Index of next epoch to store. */
+            private int next;
+
+            /** {@inheritDoc} */
+            @Override
+            public void init(final SpacecraftState s0, final AbsoluteDate t) {
+                next = 0;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public void handleStep(final OrekitStepInterpolator interpolator, final boolean isLast)
+                throws OrekitException {
+                final AbsoluteDate current = interpolator.getCurrentState().getDate();
+                while (next < epochs.length && epochs[next].compareTo(current) <= 0) {
+                    final SpacecraftState state = interpolator.getInterpolatedState(epochs[next]);
+                    final PVCoordinates   pv    = transforms[next].transformPVCoordinates(state.getPVCoordinates());
+                    samples.store(next, index, pv.getPosition(), pv.getVelocity(), state.getMass());
+                    ++next;
+                }
+            }
+
+        });
+
+        propagator.propagate(epochs[epochs.length - 1]);
+
+    }
+
+}
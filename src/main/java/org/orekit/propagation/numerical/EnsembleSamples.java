@@ -0,0 +1,157 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.Arrays;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Compact store for states of an ensemble of spacecraft at common epochs.
+ * <p>
+ * States are stored as primitive arrays, one array per output epoch. For
+ * each epoch, the array contains {@link #STATE_SIZE} elements per member,
+ * the position (m), velocity (m/s) and mass (kg) of member {@code i} being
+ * at indices {@code i * STATE_SIZE} to {@code i * STATE_SIZE + 6}. States
+ * of members that stopped before an epoch are set to NaN.
+ * </p>
+ * @see EnsemblePropagator
+ * @author agent
+ * @since 9.3
+ */
+public class EnsembleSamples {
+
+    /** Number of elements for each member state. */
+    public static final int STATE_SIZE = 7;
+
+    /** Frame in which positions and velocities are given. */
+    private final Frame frame;
+
+    /** Output epochs. */
+    private final AbsoluteDate[] epochs;
+
+    /** Number of members. */
+    private final int members;
+
+    /** States of all members, for each epoch. */
+    private final double[][] states;
+
+    /** Simple constructor.
+     * <p>
+     * The epochs array is stored directly, it is not copied. All states
+     * are initialized to NaN.
+     * </p>
+     * @param frame frame in which positions and velocities are given
+     * @param epochs output epochs
+     * @param members number of members
+     */
+    EnsembleSamples(final Frame frame, final AbsoluteDate[] epochs, final int members) {
+        this.frame   = frame;
+        this.epochs  = epochs;
+        this.members = members;
+        this.states  = new double[epochs.length][members * STATE_SIZE];
+        for (final double[] s : states) {
+            Arrays.fill(s, Double.NaN);
+        }
+    }
+
+    /** Store the state of one member.
+     * @param epochIndex index of the epoch
+     * @param memberIndex index of the member
+     * @param position position (m)
+     * @param velocity velocity (m/s)
+     * @param mass mass (kg)
+     */
+    void store(final int epochIndex, final int memberIndex,
+               final Vector3D position, final Vector3D velocity, final double mass) {
+        final double[] s = states[epochIndex];
+        final int      k = memberIndex * STATE_SIZE;
+        s[k]     = position.getX();
+        s[k + 1] = position.getY();
+        s[k + 2] = position.getZ();
+        s[k + 3] = velocity.getX();
+        s[k + 4] = velocity.getY();
+        s[k + 5] = velocity.getZ();
+        s[k + 6] = mass;
+    }
+
+    /** Get the frame in which positions and velocities are given.
+     * @return frame in which positions and velocities are given
+     */
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /** Get the number of output epochs.
+     * @return number of output epochs
+     */
+    public int getEpochsNumber() {
+        return epochs.length;
+    }
+
+    /** Get an output epoch.
+     * @param epochIndex index of the epoch
+     * @return output epoch
+     */
+    public AbsoluteDate getEpoch(final int epochIndex) {
+        return epochs[epochIndex];
+    }
+
+    /** Get the number of members.
+     * @return number of members
+     */
+    public int getMembersNumber() {
+        return members;
+    }
+
+    /** Get the raw states of all members at one epoch.
+     * <p>
+     * The returned array is the internal array, it is <em>not</em> copied,
+     * and must not be modified.
+     * </p>
+     * @param epochIndex index of the epoch
+     * @return states of all members (position, velocity and mass for each member)
+     */
+    public double[] getStates(final int epochIndex) {
+        return states[epochIndex];
+    }
+
+    /** Get the position-velocity of one member.
+     * @param epochIndex index of the epoch
+     * @param memberIndex index of the member
+     * @return position-velocity of the member, in {@link #getFrame() samples frame}
+     */
+    public TimeStampedPVCoordinates getPVCoordinates(final int epochIndex, final int memberIndex) {
+        final double[] s = states[epochIndex];
+        final int      k = memberIndex * STATE_SIZE;
+        return new TimeStampedPVCoordinates(epochs[epochIndex],
+                                            new Vector3D(s[k],     s[k + 1], s[k + 2]),
+                                            new Vector3D(s[k + 3], s[k + 4], s[k + 5]));
+    }
+
+    /** Get the mass of one member.
+     * @param epochIndex index of the epoch
+     * @param memberIndex index of the member
+     * @return mass of the member (kg)
+     */
+    public double getMass(final int epochIndex, final int memberIndex) {
+        return states[epochIndex][memberIndex * STATE_SIZE + 6];
+    }
+
+}
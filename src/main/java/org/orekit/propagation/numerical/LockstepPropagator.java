@@ -0,0 +1,178 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.sampling.MultiSatFixedStepHandler;
+import org.orekit.time.AbsoluteDate;
+
+/** Multi-satellite propagator advancing several numerical propagators in lockstep.
+ * <p>
+ * All members are propagated on the same regular dates grid, anchored at the
+ * initial date of the first member. At each synchronization step, all members
+ * are propagated in parallel up to the next grid date, and the {@link
+ * MultiSatFixedStepHandler global handler} then receives all states at once.
+ * </p>
+ * <p>
+ * If the members use fixed step integrators (for example {@link
+ * org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator}) with the same
+ * step, and the synchronization step is a multiple of this integration step,
+ * then all members evaluate their force models at exactly the same dates. Their
+ * force models can then be built on a {@link SharedEnvironment shared environment},
+ * so that Sun and Moon positions, Earth orientation and space weather data are
+ * evaluated only once per integrator stage for the whole set of satellites.
+ * </p>
+ * <p>
+ * As the integrators are restarted at each synchronization step, using a
+ * synchronization step that spans several integration steps reduces the
+ * restart overhead.
+ * </p>
+ * <p>
+ * Members whose initial date differs from the first member initial date are
+ * first propagated to this common start date. Members which stop before the
+ * next grid date (for example due to a stop event) are simply resumed at the
+ * next synchronization step.
+ * </p>
+ * @see SharedEnvironment
+ * @see org.orekit.propagation.PropagatorsParallelizer
+ * @author agent
+ * @since 9.3
+ */
+public class LockstepPropagator {
+
+    /** Members propagators. */
+    private final List<NumericalPropagator> members;
+
+    /** Synchronization step. */
+    private final double synchronizationStep;
+
+    /** Pool in which members are propagated. */
+    private final ForkJoinPool pool;
+
+    /** Simple constructor.
+     * @param members members propagators
+     * @param synchronizationStep synchronization step (s), should be a multiple
+     * of the members fixed integration step
+     * @param pool pool in which members are propagated (it is not shut down
+     * by the lockstep propagator)
+     */
+    public LockstepPropagator(final List<NumericalPropagator> members,
+                              final double synchronizationStep, final ForkJoinPool pool) {
+        if (members.isEmpty()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, 0, 1);
+        }
+        if (!(synchronizationStep > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     synchronizationStep, 0);
+        }
+        this.members             = new ArrayList<>(members);
+        this.synchronizationStep = synchronizationStep;
+        this.pool                = pool;
+    }
+
+    /** Get the members propagators.
+     * @return members propagators
+     */
+    public List<NumericalPropagator> getMembers() {
+        return Collections.unmodifiableList(members);
+    }
+
+    /** Get the synchronization step.
+     * @return synchronization step (s)
+     */
+    public double getSynchronizationStep() {
+        return synchronizationStep;
+    }
+
+    /** Propagate all members.
+     * @param target target date
+     * @param handler global handler for synchronized states (may be null)
+     * @return final states of all members, in the same order as members
+     * @exception OrekitException if some member cannot be propagated
+     * or if handler triggers one
+     */
+    public List<SpacecraftState> propagate(final AbsoluteDate target, final MultiSatFixedStepHandler handler)
+        throws OrekitException {
+
+        // synchronize all members at start
+        final AbsoluteDate      start  = members.get(0).getInitialState().getDate();
+        final SpacecraftState[] states = new SpacecraftState[members.size()];
+        for (int i = 0; i < states.length; ++i) {
+            final SpacecraftState initial = members.get(i).getInitialState();
+            states[i] = initial.getDate().equals(start) ? initial : members.get(i).propagate(start);
+        }
+        if (handler != null) {
+            handler.init(Collections.unmodifiableList(Arrays.asList(states.clone())), target);
+        }
+
+        // walk the dates grid
+        final double duration = target.durationFrom(start);
+        final int    n        = (int) FastMath.ceil(FastMath.abs(duration) / synchronizationStep - 1.0e-10);
+        final double signedH  = FastMath.copySign(synchronizationStep, duration);
+        for (int k = 1; k <= n; ++k) {
+            final AbsoluteDate t = (k == n) ? target : start.shiftedBy(k * signedH);
+            propagateAll(t, states);
+            if (handler != null) {
+                handler.handleStep(Collections.unmodifiableList(Arrays.asList(states.clone())), k == n);
+            }
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(states));
+
+    }
+
+    /** Propagate all members to one grid date.
+     * @param t grid date
+     * @param states placeholder for members states
+     * @exception OrekitException if some member cannot be propagated
+     */
+    private void propagateAll(final AbsoluteDate t, final SpacecraftState[] states)
+        throws OrekitException {
+        try {
+            pool.submit(() -> IntStream.range(0, states.length).parallel().forEach(i -> {
+                try {
+                    states[i] = members.get(i).propagate(t);
+                } catch (OrekitException oe) {
+                    throw new OrekitExceptionWrapper(oe);
+                }
+            })).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof OrekitExceptionWrapper) {
+                // unwrap the original exception
+                throw ((OrekitExceptionWrapper) ee.getCause()).getException();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+        }
+    }
+
+}
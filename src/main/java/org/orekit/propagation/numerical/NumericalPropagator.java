@@ -124,6 +124,10 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  * thus allowing a new propagation to be started from there without recomputing the part already performed.
  * This behaviour can be chenged by calling {@link #setResetAtEnd(boolean)}.
  * </p>
+ * <p>For high order integration with many force models, the propagator can be set in
+ * {@link #setLowAllocation(boolean) low allocation} mode. In this mode, non-Keplerian
+ * accelerations are summed in a reusable array before being converted to state derivatives.
+ * </p>
  * <p>Beware the same instance cannot be used simultaneously by different threads, the class is <em>not</em>
  * thread-safe.</p>
  *
@@ -145,6 +149,9 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
     /** Force models used during the extrapolation of the orbit. */
     private final List<ForceModel> forceModels;
 
+    /** Indicator for low allocation mode. */
+    private boolean lowAllocation;
+
     /** Create a new instance of NumericalPropagator, based on orbit definition mu.
      * After creation, the instance is empty, i.e. the attitude provider is set to an
      * unspecified default law and there are no perturbing forces at all.
@@ -159,6 +166,7 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
     public NumericalPropagator(final ODEIntegrator integrator) {
         super(integrator, true);
         forceModels = new ArrayList<ForceModel>();
+        lowAllocation = false;
         initMapper();
         setAttitudeProvider(DEFAULT_LAW);
         setSlaveMode();
@@ -274,6 +282,33 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
         return Collections.unmodifiableList(forceModels);
     }
 
+    /** Set the low allocation mode.
+     * <p>
+     * In low allocation mode, the non-Keplerian accelerations added by all force models
+     * through {@link TimeDerivativesEquations#addNonKeplerianAcceleration(Vector3D)} are
+     * accumulated in a single reusable array, and the sum is converted to state derivatives
+     * only once per evaluation, instead of once per force model.
+     * </p>
+     * <p>
+     * As accelerations are summed before conversion, results differ from the regular
+     * mode at round-off level. The default mode is the regular mode.
+     * </p>
+     * @param lowAllocation if true, low allocation mode will be used
+     * @since 9.3
+     */
+    public void setLowAllocation(final boolean lowAllocation) {
+        this.lowAllocation = lowAllocation;
+    }
+
+    /** Check if low allocation mode is used.
+     * @return true if low allocation mode is used
+     * @see #setLowAllocation(boolean)
+     * @since 9.3
+     */
+    public boolean isLowAllocation() {
+        return lowAllocation;
+    }
+
     /** Set propagation orbit type.
      * @param orbitType orbit type to use for propagation
      */
@@ -468,6 +503,9 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
         /** Jacobian of the orbital parameters with respect to the Cartesian parameters. */
         private double[][] jacobian;
 
+        /** Accumulated non-Keplerian acceleration (null if not in low allocation mode). */
+        private final double[] gamma;
+
         /** Simple constructor.
          * @param integrator numerical integrator to use for propagation.
          */
@@ -475,6 +513,7 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
 
             this.yDot     = new double[7];
             this.jacobian = new double[6][6];
+            this.gamma    = lowAllocation ? new double[3] : null;
 
             for (final ForceModel forceModel : forceModels) {
                 forceModel.getEventsDetectors().forEach(detector -> setUpEventDetector(integrator, detector));
@@ -499,6 +538,10 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
             Arrays.fill(yDot, 0.0);
             orbit.getJacobianWrtCartesian(getPositionAngleType(), jacobian);
 
+            if (gamma != null) {
+                Arrays.fill(gamma, 0.0);
+            }
+
             // compute the contributions of all perturbing forces,
             // using the Kepler contribution at the end since
             // NewtonianAttraction is always the last instance in the list
@@ -506,6 +549,11 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
                 forceModel.addContribution(state, this);
             }
 
+            if (gamma != null) {
+                // convert the accumulated non-Keplerian acceleration only once
+                addNonKeplerianAcceleration(gamma[0], gamma[1], gamma[2]);
+            }
+
             return yDot.clone();
 
         }
@@ -517,11 +565,26 @@ public class NumericalPropagator extends AbstractIntegratedPropagator {
         }
 
         /** {@inheritDoc} */
-        public void addNonKeplerianAcceleration(final Vector3D gamma)
+        public void addNonKeplerianAcceleration(final Vector3D acceleration)
             throws OrekitException {
+            if (gamma == null) {
+                addNonKeplerianAcceleration(acceleration.getX(), acceleration.getY(), acceleration.getZ());
+            } else {
+                gamma[0] += acceleration.getX();
+                gamma[1] += acceleration.getY();
+                gamma[2] += acceleration.getZ();
+            }
+        }
+
+        /** Add the contribution of a non-Keplerian acceleration.
+         * @param gammaX acceleration along the X axis of the state frame
+         * @param gammaY acceleration along the Y axis of the state frame
+         * @param gammaZ acceleration along the Z axis of the state frame
+         */
+        private void addNonKeplerianAcceleration(final double gammaX, final double gammaY, final double gammaZ) {
             for (int i = 0; i < 6; ++i) {
                 final double[] jRow = jacobian[i];
-                yDot[i] += jRow[3] * gamma.getX() + jRow[4] * gamma.getY() + jRow[5] * gamma.getZ();
+                yDot[i] += jRow[3] * gammaX + jRow[4] * gammaY + jRow[5] * gammaZ;
             }
         }
 
@@ -0,0 +1,509 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.bodies.CelestialBody;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.drag.atmosphere.DTM2000InputParameters;
+import org.orekit.forces.drag.atmosphere.NRLMSISE00InputParameters;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.TimeStampedFieldPVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Environment shared between several spacecraft propagated in lockstep.
+ * <p>
+ * When several spacecraft are propagated with the same fixed step integrator
+ * on the same dates grid (see {@link LockstepPropagator}), their force models
+ * evaluate the environment (Sun and Moon positions, Earth orientation, space
+ * weather) at exactly the same dates. This class wraps the environment models
+ * so that each quantity is evaluated only once per date and reused by all
+ * spacecraft.
+ * </p>
+ * <p>
+ * The wrappers are thread-safe and hold bounded least recently used caches,
+ * so they can be used by members propagated in parallel. The caches size
+ * should be at least the number of distinct dates evaluated within one
+ * synchronization step (for example 3 per step for a classical Runge-Kutta
+ * integrator).
+ * </p>
+ * <p>
+ * A typical use is to build the shared wrappers once, and then to build the
+ * force models of all members using these wrappers:
+ * </p>
+ * <pre>
+ * SharedEnvironment environment = new SharedEnvironment(32);
+ * CelestialBody sun  = environment.shareBody(CelestialBodyFactory.getSun());
+ * CelestialBody moon = environment.shareBody(CelestialBodyFactory.getMoon());
+ * environment.shareTransforms(FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+ * DTM2000InputParameters weather = environment.shareDTM2000Parameters(msafe);
+ * </pre>
+ * @see LockstepPropagator
+ * @author agent
+ * @since 9.3
+ */
+public class SharedEnvironment {
+
+    /** Default size for the caches. */
+    public static final int DEFAULT_CACHE_SIZE = 32;
+
+    /** Maximum number of dates retained in each cache. */
+    private final int cacheSize;
+
+    /** Number of evaluations served from caches. */
+    private final AtomicLong hits;
+
+    /** Number of evaluations delegated to underlying models. */
+    private final AtomicLong misses;
+
+    /** Build a shared environment with {@link #DEFAULT_CACHE_SIZE default caches size}.
+     */
+    public SharedEnvironment() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /** Build a shared environment.
+     * @param cacheSize maximum number of dates retained in each cache
+     */
+    public SharedEnvironment(final int cacheSize) {
+        if (cacheSize < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     cacheSize, 1);
+        }
+        this.cacheSize = cacheSize;
+        this.hits      = new AtomicLong();
+        this.misses    = new AtomicLong();
+    }
+
+    /** Get the maximum number of dates retained in each cache.
+     * @return maximum number of dates retained in each cache
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /** Get the number of evaluations served from caches.
+     * @return number of evaluations served from caches
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Get the number of evaluations delegated to underlying models.
+     * @return number of evaluations delegated to underlying models
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Share a celestial body.
+     * <p>
+     * Positions-velocities are cached for each date and frame. Field
+     * evaluations are delegated to the underlying body without caching.
+     * </p>
+     * @param body celestial body to share
+     * @return shared body
+     */
+    public CelestialBody shareBody(final CelestialBody body) {
+        return new SharedBody(body);
+    }
+
+    /** Share Earth orientation evaluations for transforms from one frame.
+     * <p>
+     * This method simply enables the {@link Frame#setTransformsCacheSize(int)
+     * transforms cache} of the frame, with the size of this environment caches.
+     * As frames are global objects, this affects all users of the frame. Typical
+     * frames to share are the body frames of gravity fields and atmosphere models.
+     * </p>
+     * @param frame frame whose transforms to other frames should be shared
+     */
+    public void shareTransforms(final Frame frame) {
+        frame.setTransformsCacheSize(cacheSize);
+    }
+
+    /** Share space weather data for DTM2000 atmosphere model.
+     * @param parameters space weather data to share
+     * @return shared space weather data
+     */
+    public DTM2000InputParameters shareDTM2000Parameters(final DTM2000InputParameters parameters) {
+        return new SharedDTM2000Parameters(parameters);
+    }
+
+    /** Share space weather data for NRLMSISE00 atmosphere model.
+     * @param parameters space weather data to share
+     * @return shared space weather data
+     */
+    public NRLMSISE00InputParameters shareNRLMSISE00Parameters(final NRLMSISE00InputParameters parameters) {
+        return new SharedNRLMSISE00Parameters(parameters);
+    }
+
+    /** Thread-safe least recently used cache.
+     * @param <V> type of the cached values
+     */
+    private class LRUCache<V> {
+
+        /** Cached values. */
+        private final Map<Object, V> values;
+
+        /** Simple constructor.
+         */
+        LRUCache() {
+            this.values = new LinkedHashMap<Object, V>(16, 0.75f, true) {
+
+                /** Serializable UID. */
+                private static final long serialVersionUID = 20181016L;
+
+                /** {@inheritDoc} */
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Object, V> eldest) {
+                    return size() > cacheSize;
+                }
+
+            };
+        }
+
+        /** Get a cached value.
+         * @param key key of the value
+         * @return cached value, or null if not in cache
+         */
+        public V get(final Object key) {
+            final V value;
+            synchronized (this) {
+                value = values.get(key);
+            }
+            if (value == null) {
+                misses.incrementAndGet();
+            } else {
+                hits.incrementAndGet();
+            }
+            return value;
+        }
+
+        /** Add a value to the cache.
+         * @param key key of the value
+         * @param value value to cache
+         */
+        public synchronized void put(final Object key, final V value) {
+            values.put(key, value);
+        }
+
+    }
+
+    /** Key for date and frame dependent values. */
+    private static class DateFrameKey {
+
+        /** Evaluation date. */
+        private final AbsoluteDate date;
+
+        /** Evaluation frame. */
+        private final Frame frame;
+
+        /** Simple constructor.
+         * @param date evaluation date
+         * @param frame evaluation frame
+         */
+        DateFrameKey(final AbsoluteDate date, final Frame frame) {
+            this.date  = date;
+            this.frame = frame;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (other instanceof DateFrameKey) {
+                final DateFrameKey key = (DateFrameKey) other;
+                return frame == key.frame && date.equals(key.date);
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(frame) + date.hashCode();
+        }
+
+    }
+
+    /** Shared celestial body. */
+    private class SharedBody implements CelestialBody {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20181016L;
+
+        /** Underlying body. */
+        private final CelestialBody body;
+
+        /** Cached positions-velocities. */
+        private final transient LRUCache<TimeStampedPVCoordinates> cache;
+
+        /** Simple constructor.
+         * @param body underlying body
+         */
+        SharedBody(final CelestialBody body) {
+            this.body  = body;
+            this.cache = new LRUCache<>();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame frame)
+            throws OrekitException {
+            final DateFrameKey key = new DateFrameKey(date, frame);
+            TimeStampedPVCoordinates pv = cache.get(key);
+            if (pv == null) {
+                pv = body.getPVCoordinates(date, frame);
+                cache.put(key, pv);
+            }
+            return pv;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public <T extends RealFieldElement<T>> TimeStampedFieldPVCoordinates<T> getPVCoordinates(final FieldAbsoluteDate<T> date,
+                                                                                                 final Frame frame)
+            throws OrekitException {
+            return body.getPVCoordinates(date, frame);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Frame getInertiallyOrientedFrame() throws OrekitException {
+            return body.getInertiallyOrientedFrame();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Frame getBodyOrientedFrame() throws OrekitException {
+            return body.getBodyOrientedFrame();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getName() {
+            return body.getName();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getGM() {
+            return body.getGM();
+        }
+
+        /** Replace the instance with the underlying body for serialization.
+         * @return underlying body
+         */
+        private Object writeReplace() {
+            return body;
+        }
+
+    }
+
+    /** Shared space weather data for DTM2000 atmosphere model. */
+    private class SharedDTM2000Parameters implements DTM2000InputParameters {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20181016L;
+
+        /** Underlying data. */
+        private final DTM2000InputParameters parameters;
+
+        /** Cached data (instant flux, mean flux, three hourly Kp, 24 hours Kp). */
+        private final transient LRUCache<double[]> cache;
+
+        /** Simple constructor.
+         * @param parameters underlying data
+         */
+        SharedDTM2000Parameters(final DTM2000InputParameters parameters) {
+            this.parameters = parameters;
+            this.cache      = new LRUCache<>();
+        }
+
+        /** Get the cached data at some date.
+         * @param date date at which data is requested
+         * @return cached data
+         * @exception OrekitException if date is out of range of available data
+         */
+        private double[] getData(final AbsoluteDate date) throws OrekitException {
+            double[] data = cache.get(date);
+            if (data == null) {
+                data = new double[] {
+                    parameters.getInstantFlux(date),
+                    parameters.getMeanFlux(date),
+                    parameters.getThreeHourlyKP(date),
+                    parameters.get24HoursKp(date)
+                };
+                cache.put(date, data);
+            }
+            return data;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMinDate() throws OrekitException {
+            return parameters.getMinDate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMaxDate() throws OrekitException {
+            return parameters.getMaxDate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getInstantFlux(final AbsoluteDate date) throws OrekitException {
+            return getData(date)[0];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMeanFlux(final AbsoluteDate date) throws OrekitException {
+            return getData(date)[1];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getThreeHourlyKP(final AbsoluteDate date) throws OrekitException {
+            return getData(date)[2];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double get24HoursKp(final AbsoluteDate date) throws OrekitException {
+            return getData(date)[3];
+        }
+
+        /** Replace the instance with the underlying data for serialization.
+         * @return underlying data
+         */
+        private Object writeReplace() {
+            return parameters;
+        }
+
+    }
+
+    /** Shared space weather data for NRLMSISE00 atmosphere model. */
+    private class SharedNRLMSISE00Parameters implements NRLMSISE00InputParameters {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20181016L;
+
+        /** Underlying data. */
+        private final NRLMSISE00InputParameters parameters;
+
+        /** Cached data. */
+        private final transient LRUCache<NRLMSISE00Data> cache;
+
+        /** Simple constructor.
+         * @param parameters underlying data
+         */
+        SharedNRLMSISE00Parameters(final NRLMSISE00InputParameters parameters) {
+            this.parameters = parameters;
+            this.cache      = new LRUCache<>();
+        }
+
+        /** Get the cached data at some date.
+         * @param date date at which data is requested
+         * @return cached data
+         * @exception OrekitException if date is out of range of available data
+         */
+        private NRLMSISE00Data getData(final AbsoluteDate date) throws OrekitException {
+            NRLMSISE00Data data = cache.get(date);
+            if (data == null) {
+                data = new NRLMSISE00Data(parameters.getDailyFlux(date),
+                                          parameters.getAverageFlux(date),
+                                          parameters.getAp(date));
+                cache.put(date, data);
+            }
+            return data;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMinDate() throws OrekitException {
+            return parameters.getMinDate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getMaxDate() throws OrekitException {
+            return parameters.getMaxDate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getDailyFlux(final AbsoluteDate date) throws OrekitException {
+            return getData(date).dailyFlux;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getAverageFlux(final AbsoluteDate date) throws OrekitException {
+            return getData(date).averageFlux;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double[] getAp(final AbsoluteDate date) throws OrekitException {
+            // the array is copied as callers may modify it
+            return getData(date).ap.clone();
+        }
+
+        /** Replace the instance with the underlying data for serialization.
+         * @return underlying data
+         */
+        private Object writeReplace() {
+            return parameters;
+        }
+
+    }
+
+    /** Container for NRLMSISE00 space weather data at one date. */
+    private static class NRLMSISE00Data {
+
+        /** Daily flux. */
+        private final double dailyFlux;
+
+        /** Average flux. */
+        private final double averageFlux;
+
+        /** Ap array. */
+        private final double[] ap;
+
+        /** Simple constructor.
+         * @param dailyFlux daily flux
+         * @param averageFlux average flux
+         * @param ap Ap array
+         */
+        NRLMSISE00Data(final double dailyFlux, final double averageFlux, final double[] ap) {
+            this.dailyFlux   = dailyFlux;
+            this.averageFlux = averageFlux;
+            this.ap          = ap.clone();
+        }
+
+    }
+
+}
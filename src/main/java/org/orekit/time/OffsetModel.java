@@ -16,6 +16,10 @@
  */
 package org.orekit.time;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 
 /** TAI UTC offset model.
  * @see UTCTAIOffsetsLoader
@@ -92,4 +96,29 @@ public class OffsetModel {
         return slope;
     }
 
+    /** Write the offset model in compiled form.
+     * @param output output stream where to write the model
+     * @exception IOException if model cannot be written
+     * @see #readCompiled(DataInputStream)
+     * @since 9.3
+     */
+    void writeCompiled(final DataOutputStream output) throws IOException {
+        output.writeInt(start.getMJD());
+        output.writeInt(mjdRef);
+        output.writeDouble(offset);
+        output.writeDouble(slope);
+    }
+
+    /** Read an offset model from compiled form.
+     * @param input input stream from where to read the model
+     * @return offset model
+     * @exception IOException if model cannot be read
+     * @see #writeCompiled(DataOutputStream)
+     * @since 9.3
+     */
+    static OffsetModel readCompiled(final DataInputStream input) throws IOException {
+        final DateComponents start = new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, input.readInt());
+        return new OffsetModel(start, input.readInt(), input.readDouble(), input.readDouble());
+    }
+
 }
@@ -17,6 +17,8 @@
 package org.orekit.time;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -27,7 +29,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.hipparchus.util.FastMath;
-import org.orekit.data.DataLoader;
+import org.orekit.data.CompilableDataLoader;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
@@ -63,7 +65,7 @@ public class TAIUTCDatFilesLoader implements UTCTAIOffsetsLoader {
     }
 
     /** Internal class performing the parsing. */
-    private static class Parser implements DataLoader {
+    private static class Parser implements CompilableDataLoader {
 
         /** Regular expression for optional blanks. */
         private static final String BLANKS               = "\\p{Blank}*";
@@ -213,6 +215,28 @@ public class TAIUTCDatFilesLoader implements UTCTAIOffsetsLoader {
 
         }
 
+        /** {@inheritDoc} */
+        public String getCompiledFormat() {
+            return "tai-utc.dat-1";
+        }
+
+        /** {@inheritDoc} */
+        public void writeCompiled(final DataOutputStream output) throws IOException {
+            output.writeInt(offsets.size());
+            for (final OffsetModel model : offsets) {
+                model.writeCompiled(output);
+            }
+        }
+
+        /** {@inheritDoc} */
+        public void loadCompiled(final DataInputStream input, final String name) throws IOException {
+            offsets.clear();
+            final int n = input.readInt();
+            for (int i = 0; i < n; ++i) {
+                offsets.add(OffsetModel.readCompiled(input));
+            }
+        }
+
     }
 
 }
@@ -0,0 +1,846 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitIllegalStateException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+
+/** Thread-safe cache for {@link TimeStamped time-stamped} data with non-blocking readers.
+ * <p>
+ * This cache follows exactly the same slots management policy as {@link
+ * GenericTimeStampedCache} (same configuration parameters, same generation
+ * requests, same eviction of the least recently used slot), but it does not
+ * rely on a global read-write lock. The slots and their entries are immutable
+ * snapshots published through an atomic reference, only the slots access times
+ * are updated atomically. Threads whose request is already covered by the cached
+ * data simply read the current snapshot and never block, even while another
+ * thread is generating new data.
+ * </p>
+ * <p>
+ * Only cache misses are serialized: as {@link TimeStampedGenerator generators}
+ * are not required to be thread-safe, at most one thread calls the generator
+ * at any time. When several threads miss simultaneously on the same slot, the
+ * first one generates the data and the other ones find it already published
+ * when they get their turn, so generation is not duplicated.
+ * </p>
+ * <p>
+ * This implementation is intended for caches shared by many threads, typically
+ * frames transforms or ephemerides used in multi-threaded applications. It
+ * can be selected globally for Orekit internal caches using {@link
+ * OrekitConfiguration#setCacheFactory(TimeStampedCacheFactory)}.
+ * </p>
+ * @param <T> Type of the cached data.
+ * @see GenericTimeStampedCache
+ * @see TimeStampedCacheFactory
+ * @author agent
+ * @since 9.3
+ */
+public class ConcurrentTimeStampedCache<T extends TimeStamped> implements TimeStampedCache<T> {
+
+    /** Quantum step. */
+    private static final double QUANTUM_STEP = 1.0e-6;
+
+    /** Reference date for indexing. */
+    private final AtomicReference<AbsoluteDate> reference;
+
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Quantum gap above which a new slot is created instead of extending an existing one. */
+    private final long newSlotQuantumGap;
+
+    /** Generator to use for yet non-cached data. */
+    private final TimeStampedGenerator<T> generator;
+
+    /** Number of entries in a neighbors array. */
+    private final int neighborsSize;
+
+    /** Current immutable snapshot of the independent time slots cached. */
+    private final AtomicReference<List<Slot>> slots;
+
+    /** Number of calls to the getNeighbors method. */
+    private final AtomicInteger getNeighborsCalls;
+
+    /** Number of calls to the generate method. */
+    private final AtomicInteger generateCalls;
+
+    /** Number of evictions. */
+    private final AtomicInteger evictions;
+
+    /** Counter for slots accesses, used to evict the least recently used slot. */
+    private final AtomicLong accessCounter;
+
+    /** Lock serializing calls to the generator (never held by readers on cache hits). */
+    private final ReentrantLock generationLock;
+
+    /** Simple constructor.
+     * @param neighborsSize fixed size of the arrays to be returned by {@link
+     * #getNeighbors(AbsoluteDate)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     */
+    public ConcurrentTimeStampedCache(final int neighborsSize, final int maxSlots, final double maxSpan,
+                                      final double newSlotInterval, final TimeStampedGenerator<T> generator) {
+
+        // safety check
+        if (maxSlots < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxSlots, 1);
+        }
+        if (neighborsSize < 2) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_CACHED_NEIGHBORS,
+                                                     neighborsSize, 2);
+        }
+
+        this.reference         = new AtomicReference<AbsoluteDate>();
+        this.maxSlots          = maxSlots;
+        this.maxSpan           = maxSpan;
+        this.newSlotQuantumGap = FastMath.round(newSlotInterval / QUANTUM_STEP);
+        this.generator         = generator;
+        this.neighborsSize     = neighborsSize;
+        this.slots             = new AtomicReference<List<Slot>>(Collections.emptyList());
+        this.getNeighborsCalls = new AtomicInteger(0);
+        this.generateCalls     = new AtomicInteger(0);
+        this.evictions         = new AtomicInteger(0);
+        this.accessCounter     = new AtomicLong(0);
+        this.generationLock    = new ReentrantLock();
+
+    }
+
+    /** Get the generator.
+     * @return generator
+     */
+    public TimeStampedGenerator<T> getGenerator() {
+        return generator;
+    }
+
+    /** Get the maximum number of independent cached time slots.
+     * @return maximum number of independent cached time slots
+     */
+    public int getMaxSlots() {
+        return maxSlots;
+    }
+
+    /** Get the maximum duration span in seconds of one slot.
+     * @return maximum duration span in seconds of one slot
+     */
+    public double getMaxSpan() {
+        return maxSpan;
+    }
+
+    /** Get quantum gap above which a new slot is created instead of extending an existing one.
+     * <p>
+     * The quantum gap is the {@code newSlotInterval} value provided at construction
+     * rounded to the nearest quantum step used internally by the cache.
+     * </p>
+     * @return quantum gap in seconds
+     */
+    public double getNewSlotQuantumGap() {
+        return newSlotQuantumGap * QUANTUM_STEP;
+    }
+
+    /** Get the number of calls to the {@link #getNeighbors(AbsoluteDate)} method.
+     * <p>
+     * This number of calls is used as a reference to interpret {@link #getGenerateCalls()}.
+     * </p>
+     * @return number of calls to the {@link #getNeighbors(AbsoluteDate)} method
+     * @see #getGenerateCalls()
+     */
+    public int getGetNeighborsCalls() {
+        return getNeighborsCalls.get();
+    }
+
+    /** Get the number of calls to the generate method.
+     * <p>
+     * This number of calls is related to the number of cache misses and may
+     * be used to tune the cache configuration. Each cache miss implies at
+     * least one call is performed, but may require several calls if the new
+     * date is far offset from the existing cache, depending on the number of
+     * elements and step between elements in the arrays returned by the generator.
+     * </p>
+     * @return number of calls to the generate method
+     * @see #getGetNeighborsCalls()
+     */
+    public int getGenerateCalls() {
+        return generateCalls.get();
+    }
+
+    /** Get the number of slots evictions.
+     * <p>
+     * This number should remain small when the max number of slots is sufficient
+     * with respect to the number of concurrent requests to the cache. If it
+     * increases too much, then the cache configuration is probably bad and cache
+     * does not really improve things (in this case, the {@link #getGenerateCalls()
+     * number of calls to the generate method} will probably increase too.
+     * </p>
+     * @return number of slots evictions
+     */
+    public int getSlotsEvictions() {
+        return evictions.get();
+    }
+
+    /** Get the number of slots in use.
+     * @return number of slots in use
+     */
+    public int getSlots() {
+        return slots.get().size();
+    }
+
+    /** Get the total number of entries cached.
+     * @return total number of entries cached
+     */
+    public int getEntries() {
+        int entries = 0;
+        for (final Slot slot : slots.get()) {
+            entries += slot.getEntries();
+        }
+        return entries;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T getEarliest() throws IllegalStateException {
+        final List<Slot> current = slots.get();
+        if (current.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return current.get(0).getEarliest();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T getLatest() throws IllegalStateException {
+        final List<Slot> current = slots.get();
+        if (current.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return current.get(current.size() - 1).getLatest();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getNeighborsSize() {
+        return neighborsSize;
+    }
+
+    /** Get the entries surrounding a central date.
+     * <p>
+     * If the central date is well within covered range, the returned array
+     * will be balanced with half the points before central date and half the
+     * points after it (depending on n parity, of course). If the central date
+     * is near the generator range boundary, then the returned array will be
+     * unbalanced and will contain only the n earliest (or latest) generated
+     * (and cached) entries. A typical example of the later case is leap seconds
+     * cache, since the number of leap seconds cannot be arbitrarily increased.
+     * </p>
+     * <p>
+     * If the central date is already covered by the cached data, this method
+     * does not block.
+     * </p>
+     * @param central central date
+     * @return array of cached entries surrounding specified date (the size
+     * of the array is fixed to the one specified in the {@link
+     * #ConcurrentTimeStampedCache(int, int, double, double, TimeStampedGenerator)}
+     * @exception TimeStampedCacheException if entries are not chronologically
+     * sorted or if new data cannot be generated
+     * @see #getEarliest()
+     * @see #getLatest()
+     */
+    @Override
+    public Stream<T> getNeighbors(final AbsoluteDate central) throws TimeStampedCacheException {
+
+        getNeighborsCalls.incrementAndGet();
+        final long dateQuantum = quantum(central);
+
+        // fast path: look in the current snapshot, without any locking
+        final List<Slot> current = slots.get();
+        if (!current.isEmpty()) {
+            final Slot slot = current.get(slotIndex(current, dateQuantum));
+            if (slot.covers(dateQuantum)) {
+                final int firstNeighbor = slot.entryIndex(dateQuantum) - (neighborsSize - 1) / 2;
+                if (firstNeighbor >= 0 && firstNeighbor + neighborsSize <= slot.getEntries()) {
+                    // the cached data is balanced around the central date
+                    slot.setLastAccess(accessCounter.incrementAndGet());
+                    return slot.getNeighbors(firstNeighbor);
+                }
+            }
+        }
+
+        // slow path: we need to generate new data
+        generationLock.lock();
+        try {
+            return generateNeighbors(central, dateQuantum);
+        } finally {
+            generationLock.unlock();
+        }
+
+    }
+
+    /** Convert a date to a rough global quantum.
+     * @param date date to convert
+     * @return quantum corresponding to the date
+     */
+    private long quantum(final AbsoluteDate date) {
+        reference.compareAndSet(null, date);
+        return FastMath.round(date.durationFrom(reference.get()) / QUANTUM_STEP);
+    }
+
+    /** Generate the entries surrounding a central date.
+     * <p>
+     * We own the generation lock while calling this method.
+     * </p>
+     * @param central central date
+     * @param dateQuantum global quantum of the date
+     * @return entries surrounding central date
+     * @exception TimeStampedCacheException if entries are not chronologically
+     * sorted or if new data cannot be generated
+     */
+    private Stream<T> generateNeighbors(final AbsoluteDate central, final long dateQuantum)
+        throws TimeStampedCacheException {
+
+        // check slots again as another thread may have changed
+        // them while we were waiting for the generation lock
+        final List<Slot> updated = new ArrayList<Slot>(slots.get());
+        int index = updated.isEmpty() ? 0 : slotIndex(updated, dateQuantum);
+        if (updated.isEmpty() || !updated.get(index).covers(dateQuantum)) {
+
+            // we really need to create a new slot in the current thread
+            if ((!updated.isEmpty()) &&
+                updated.get(index).getLatestQuantum() < dateQuantum - newSlotQuantumGap) {
+                ++index;
+            }
+
+            if (updated.size() >= maxSlots) {
+                // we must prevent exceeding allowed max
+
+                // select the oldest accessed slot for eviction
+                int evict = 0;
+                for (int i = 0; i < updated.size(); ++i) {
+                    if (updated.get(i).getLastAccess() < updated.get(evict).getLastAccess()) {
+                        evict = i;
+                    }
+                }
+
+                // evict the selected slot
+                evictions.incrementAndGet();
+                updated.remove(evict);
+
+                if (evict < index) {
+                    // adjust index of created slot as it was shifted by the eviction
+                    index--;
+                }
+            }
+
+            updated.add(index, createSlot(central));
+
+        }
+
+        // work on a private copy of the slot entries
+        final Slot original = updated.get(index);
+        final List<Entry> entries = new ArrayList<Entry>(original.cache);
+
+        int firstNeighbor = entryIndex(entries, dateQuantum) - (neighborsSize - 1) / 2;
+        try {
+            boolean loop = true;
+            while (loop) {
+                if (firstNeighbor < 0 || firstNeighbor + neighborsSize > entries.size()) {
+
+                    // estimate which data we need to be generated
+                    final double step = getMeanStep(entries);
+                    final AbsoluteDate existingDate;
+                    final AbsoluteDate generationDate;
+                    final boolean simplyRebalance;
+                    if (firstNeighbor < 0) {
+                        existingDate    = entries.get(0).getData().getDate();
+                        generationDate  = existingDate.getDate().shiftedBy(step * firstNeighbor);
+                        simplyRebalance = existingDate.getDate().compareTo(central) <= 0;
+                    } else {
+                        existingDate    = entries.get(entries.size() - 1).getData().getDate();
+                        generationDate  = existingDate.getDate().shiftedBy(step * (firstNeighbor + neighborsSize - entries.size()));
+                        simplyRebalance = existingDate.getDate().compareTo(central) >= 0;
+                    }
+                    generateCalls.incrementAndGet();
+
+                    // generated data and add it to the slot
+                    try {
+                        if (firstNeighbor < 0) {
+                            insertAtStart(entries, generateAndCheck(existingDate, generationDate));
+                        } else {
+                            appendAtEnd(entries, generateAndCheck(existingDate, generationDate));
+                        }
+                    } catch (TimeStampedCacheException tce) {
+                        if (simplyRebalance) {
+                            // we were simply trying to rebalance an unbalanced interval near slot end
+                            // we failed, but the central date is already covered by the existing (unbalanced) data
+                            // so we ignore the exception and stop the loop, we will continue with what we have
+                            loop = false;
+                        } else {
+                            throw tce;
+                        }
+                    }
+
+                    firstNeighbor = entryIndex(entries, dateQuantum) - (neighborsSize - 1) / 2;
+
+                } else {
+                    loop = false;
+                }
+            }
+        } finally {
+            // publish the new snapshot, even if generation failed
+            // (as the created slot and partial extensions remain valid)
+            updated.set(index, new Slot(entries, accessCounter.incrementAndGet()));
+            slots.set(Collections.unmodifiableList(updated));
+        }
+
+        if (firstNeighbor + neighborsSize > entries.size()) {
+            // we end up with a non-balanced neighborhood,
+            // adjust the start point to fit within the cache
+            firstNeighbor = entries.size() - neighborsSize;
+        }
+        if (firstNeighbor < 0) {
+            firstNeighbor = 0;
+        }
+        return updated.get(index).getNeighbors(firstNeighbor);
+
+    }
+
+    /** Create a new slot.
+     * <p>
+     * We own the generation lock while calling this method.
+     * </p>
+     * @param date central date for initial entries to insert in the slot
+     * @return new slot
+     * @exception TimeStampedCacheException if entries are not chronologically
+     * sorted or if new data cannot be generated
+     */
+    private Slot createSlot(final AbsoluteDate date) throws TimeStampedCacheException {
+
+        final List<Entry> entries = new ArrayList<Entry>();
+
+        // set up first entries
+        AbsoluteDate generationDate = date;
+
+        generateCalls.incrementAndGet();
+        for (final T entry : generateAndCheck(null, generationDate)) {
+            entries.add(new Entry(entry, quantum(entry.getDate())));
+        }
+
+        while (entries.size() < neighborsSize) {
+            // we need to generate more entries
+
+            final AbsoluteDate entry0 = entries.get(0).getData().getDate();
+            final AbsoluteDate entryN = entries.get(entries.size() - 1).getData().getDate();
+            generateCalls.incrementAndGet();
+
+            final AbsoluteDate existingDate;
+            if (entryN.getDate().durationFrom(date) <= date.durationFrom(entry0.getDate())) {
+                // generate additional point at the end of the slot
+                existingDate = entryN;
+                generationDate = entryN.getDate().shiftedBy(getMeanStep(entries) * (neighborsSize - entries.size()));
+                appendAtEnd(entries, generateAndCheck(existingDate, generationDate));
+            } else {
+                // generate additional point at the start of the slot
+                existingDate = entry0;
+                generationDate = entry0.getDate().shiftedBy(-getMeanStep(entries) * (neighborsSize - entries.size()));
+                insertAtStart(entries, generateAndCheck(existingDate, generationDate));
+            }
+
+        }
+
+        return new Slot(entries, accessCounter.incrementAndGet());
+
+    }
+
+    /** Get the index of the slot in which a date could be cached.
+     * @param snapshot slots snapshot (must not be empty)
+     * @param dateQuantum quantum of the date to search for
+     * @return the slot in which the date could be cached
+     */
+    private int slotIndex(final List<Slot> snapshot, final long dateQuantum) {
+
+        int  iInf = 0;
+        final long qInf = snapshot.get(iInf).getEarliestQuantum();
+        int  iSup = snapshot.size() - 1;
+        final long qSup = snapshot.get(iSup).getLatestQuantum();
+        while (iSup - iInf > 0) {
+            final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
+            final int iMed    = FastMath.max(iInf, FastMath.min(iInterp, iSup));
+            final Slot slot   = snapshot.get(iMed);
+            if (dateQuantum < slot.getEarliestQuantum()) {
+                iSup = iMed - 1;
+            } else if (dateQuantum > slot.getLatestQuantum()) {
+                iInf = FastMath.min(iSup, iMed + 1);
+            } else {
+                return iMed;
+            }
+        }
+
+        return iInf;
+
+    }
+
+    /** Get the index of the entry corresponding to a date.
+     * @param entries entries to search in
+     * @param dateQuantum global quantum of the date
+     * @return index in the array such that entry[index] is before
+     * date and entry[index + 1] is after date (or they are at array boundaries)
+     */
+    private int entryIndex(final List<Entry> entries, final long dateQuantum) {
+
+        if (dateQuantum < entries.get(0).getQuantum()) {
+            // date if before the first entry
+            return -1;
+        } else if (dateQuantum > entries.get(entries.size() - 1).getQuantum()) {
+            // date is after the last entry
+            return entries.size();
+        } else {
+
+            // try to get an existing entry
+            int  iInf = 0;
+            final long qInf = entries.get(iInf).getQuantum();
+            int  iSup = entries.size() - 1;
+            final long qSup = entries.get(iSup).getQuantum();
+            while (iSup - iInf > 0) {
+                // within a continuous slot, entries are expected to be roughly linear
+                final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
+                final int iMed    = FastMath.max(iInf + 1, FastMath.min(iInterp, iSup));
+                final Entry entry = entries.get(iMed);
+                if (dateQuantum < entry.getQuantum()) {
+                    iSup = iMed - 1;
+                } else if (dateQuantum > entry.getQuantum()) {
+                    iInf = iMed;
+                } else {
+                    return iMed;
+                }
+            }
+
+            return iInf;
+
+        }
+
+    }
+
+    /** Get the mean step between entries.
+     * @param entries entries to consider
+     * @return mean step between entries (or an arbitrary non-null value
+     * if there are fewer than 2 entries)
+     */
+    private double getMeanStep(final List<Entry> entries) {
+        if (entries.size() < 2) {
+            return 1.0;
+        } else {
+            final AbsoluteDate t0 = entries.get(0).getData().getDate();
+            final AbsoluteDate tn = entries.get(entries.size() - 1).getData().getDate();
+            return tn.durationFrom(t0) / (entries.size() - 1);
+        }
+    }
+
+    /** Insert data at slot start.
+     * @param entries slot entries to update
+     * @param data data to insert
+     * @exception TimeStampedCacheException if new data cannot be generated
+     */
+    private void insertAtStart(final List<Entry> entries, final List<T> data)
+        throws TimeStampedCacheException {
+
+        // insert data at start
+        boolean inserted = false;
+        final long q0 = entries.get(0).getQuantum();
+        for (int i = 0; i < data.size(); ++i) {
+            final long quantum = quantum(data.get(i).getDate());
+            if (quantum < q0) {
+                entries.add(i, new Entry(data.get(i), quantum));
+                inserted = true;
+            } else {
+                break;
+            }
+        }
+
+        if (!inserted) {
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                                                entries.get(0).getData().getDate());
+        }
+
+        // evict excess data at end
+        final AbsoluteDate t0 = entries.get(0).getData().getDate();
+        while (entries.size() > neighborsSize &&
+               entries.get(entries.size() - 1).getData().getDate().durationFrom(t0) > maxSpan) {
+            entries.remove(entries.size() - 1);
+        }
+
+    }
+
+    /** Append data at slot end.
+     * @param entries slot entries to update
+     * @param data data to append
+     * @exception TimeStampedCacheException if new data cannot be generated
+     */
+    private void appendAtEnd(final List<Entry> entries, final List<T> data)
+        throws TimeStampedCacheException {
+
+        // append data at end
+        boolean appended = false;
+        final long qn = entries.get(entries.size() - 1).getQuantum();
+        final int  n  = entries.size();
+        for (int i = data.size() - 1; i >= 0; --i) {
+            final long quantum = quantum(data.get(i).getDate());
+            if (quantum > qn) {
+                entries.add(n, new Entry(data.get(i), quantum));
+                appended = true;
+            } else {
+                break;
+            }
+        }
+
+        if (!appended) {
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                                                entries.get(entries.size() - 1).getData().getDate());
+        }
+
+        // evict excess data at start
+        final AbsoluteDate tn = entries.get(entries.size() - 1).getData().getDate();
+        while (entries.size() > neighborsSize &&
+               tn.durationFrom(entries.get(0).getData().getDate()) > maxSpan) {
+            entries.remove(0);
+        }
+
+    }
+
+    /** Generate entries and check ordering.
+     * @param existingDate date of the closest already existing entry (may be null)
+     * @param date date that must be covered by the range of the generated array
+     * @return chronologically sorted list of generated entries
+     * @exception TimeStampedCacheException if if entries are not chronologically
+     * sorted or if new data cannot be generated
+     */
+    private List<T> generateAndCheck(final AbsoluteDate existingDate, final AbsoluteDate date)
+        throws TimeStampedCacheException {
+        final List<T> entries = generator.generate(existingDate, date);
+        if (entries.isEmpty()) {
+            throw new TimeStampedCacheException(OrekitMessages.NO_DATA_GENERATED, date);
+        }
+        for (int i = 1; i < entries.size(); ++i) {
+            if (entries.get(i).getDate().compareTo(entries.get(i - 1).getDate()) < 0) {
+                throw new TimeStampedCacheException(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES,
+                                                    entries.get(i - 1).getDate(),
+                                                    entries.get(i).getDate());
+            }
+        }
+        return entries;
+    }
+
+    /** Time slot with immutable entries. */
+    private final class Slot {
+
+        /** Cached time-stamped entries. */
+        private final List<Entry> cache;
+
+        /** Earliest quantum. */
+        private final long earliestQuantum;
+
+        /** Latest quantum. */
+        private final long latestQuantum;
+
+        /** Index from a previous recent call. */
+        private final AtomicInteger guessedIndex;
+
+        /** Last access time (value of the cache access counter). */
+        private final AtomicLong lastAccess;
+
+        /** Simple constructor.
+         * @param entries entries (will be copied)
+         * @param lastAccess last access time (value of the cache access counter)
+         */
+        Slot(final List<Entry> entries, final long lastAccess) {
+            this.cache           = Collections.unmodifiableList(new ArrayList<Entry>(entries));
+            this.earliestQuantum = cache.get(0).getQuantum();
+            this.latestQuantum   = cache.get(cache.size() - 1).getQuantum();
+            this.guessedIndex    = new AtomicInteger(cache.size() / 2);
+            this.lastAccess      = new AtomicLong(lastAccess);
+        }
+
+        /** Get the earliest entry contained in the slot.
+         * @return earliest entry contained in the slot
+         */
+        public T getEarliest() {
+            return cache.get(0).getData();
+        }
+
+        /** Get the quantum of the earliest date contained in the slot.
+         * @return quantum of the earliest date contained in the slot
+         */
+        public long getEarliestQuantum() {
+            return earliestQuantum;
+        }
+
+        /** Get the latest entry contained in the slot.
+         * @return latest entry contained in the slot
+         */
+        public T getLatest() {
+            return cache.get(cache.size() - 1).getData();
+        }
+
+        /** Get the quantum of the latest date contained in the slot.
+         * @return quantum of the latest date contained in the slot
+         */
+        public long getLatestQuantum() {
+            return latestQuantum;
+        }
+
+        /** Get the number of entries contained in the slot.
+         * @return number of entries contained in the slot
+         */
+        public int getEntries() {
+            return cache.size();
+        }
+
+        /** Get last access time of slot.
+         * @return last known access time
+         */
+        public long getLastAccess() {
+            return lastAccess.get();
+        }
+
+        /** Set last access time of slot.
+         * <p>
+         * This is the only mutable part of the slot, it is updated on each
+         * cache hit so eviction selects the least recently used slot.
+         * </p>
+         * @param access last access time (value of the cache access counter)
+         */
+        public void setLastAccess(final long access) {
+            lastAccess.set(access);
+        }
+
+        /** Check if a date is close enough to the slot to be handled by it.
+         * @param dateQuantum global quantum of the date
+         * @return true if the date should be handled by this slot
+         */
+        public boolean covers(final long dateQuantum) {
+            return earliestQuantum <= dateQuantum + newSlotQuantumGap &&
+                   latestQuantum   >= dateQuantum - newSlotQuantumGap;
+        }
+
+        /** Get the neighbors starting at some index.
+         * @param firstNeighbor index of the first neighbor
+         * @return neighbors
+         */
+        public Stream<T> getNeighbors(final int firstNeighbor) {
+            final Stream.Builder<T> builder = Stream.builder();
+            for (int i = 0; i < neighborsSize; ++i) {
+                builder.accept(cache.get(firstNeighbor + i).getData());
+            }
+            return builder.build();
+        }
+
+        /** Get the index of the entry corresponding to a date.
+         * @param dateQuantum global quantum of the date
+         * @return index in the array such that entry[index] is before
+         * date and entry[index + 1] is after date (or they are at array boundaries)
+         */
+        public int entryIndex(final long dateQuantum) {
+
+            // first quick guesses, assuming a recent search was close enough
+            final int guess = guessedIndex.get();
+            if (guess > 0 && guess < cache.size()) {
+                if (cache.get(guess).getQuantum() <= dateQuantum) {
+                    if (guess + 1 < cache.size() && cache.get(guess + 1).getQuantum() > dateQuantum) {
+                        // good guess!
+                        return guess;
+                    } else {
+                        // perhaps we have simply shifted just one point forward ?
+                        if (guess + 2 < cache.size() && cache.get(guess + 2).getQuantum() > dateQuantum) {
+                            guessedIndex.set(guess + 1);
+                            return guess + 1;
+                        }
+                    }
+                } else {
+                    // perhaps we have simply shifted just one point backward ?
+                    if (guess > 1 && cache.get(guess - 1).getQuantum() <= dateQuantum) {
+                        guessedIndex.set(guess - 1);
+                        return guess - 1;
+                    }
+                }
+            }
+
+            // quick guesses have failed, we need to perform a full blown search
+            final int index = ConcurrentTimeStampedCache.this.entryIndex(cache, dateQuantum);
+            if (index >= 0 && index < cache.size()) {
+                guessedIndex.set(index);
+            }
+            return index;
+
+        }
+
+    }
+
+    /** Container for entries. */
+    private class Entry {
+
+        /** Entry data. */
+        private final T data;
+
+        /** Global quantum of the entry. */
+        private final long quantum;
+
+        /** Simple constructor.
+         * @param data entry data
+         * @param quantum entry quantum
+         */
+        Entry(final T data, final long quantum) {
+            this.quantum = quantum;
+            this.data  = data;
+        }
+
+        /** Get the quantum.
+         * @return quantum
+         */
+        public long getQuantum() {
+            return quantum;
+        }
+
+        /** Get the data.
+         * @return data
+         */
+        public T getData() {
+            return data;
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.hipparchus.Field;
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Thread-safe registry for caches that depend on a {@link Field}.
+ * <p>
+ * Some objects (typically {@link org.orekit.frames.InterpolatingTransformProvider
+ * interpolating} and {@link org.orekit.frames.ShiftingTransformProvider shifting}
+ * transform providers) need one cache for each field they are used with. This
+ * registry holds these caches. Lookups are lock-free, so many threads can
+ * share the same registry without contention, and each cache is built only
+ * once even when several threads request it simultaneously.
+ * </p>
+ * <p>
+ * Fields are identified by their {@link Field#equals(Object) equality}. For
+ * {@link org.hipparchus.analysis.differentiation.DerivativeStructure derivative
+ * structures}, this means that all fields sharing the same number of free
+ * parameters and the same derivation order share the same cache, regardless
+ * of the factory that created them.
+ * </p>
+ * <p>
+ * As applications may use many different fields over their lifetime, the
+ * number of retained caches is bounded: when a new cache is registered and
+ * the bound is exceeded, the least recently used cache is evicted. Evicted
+ * caches are simply rebuilt if their field is used again later.
+ * </p>
+ * @author agent
+ * @since 9.3
+ */
+public class FieldCachesRegistry {
+
+    /** Maximum number of retained caches. */
+    private final int maxCaches;
+
+    /** Registered caches. */
+    private final Map<Field<?>, Entry> caches;
+
+    /** Logical clock for least recently used eviction. */
+    private final AtomicLong clock;
+
+    /** Number of lookups. */
+    private final AtomicLong lookups;
+
+    /** Number of caches built. */
+    private final AtomicLong builds;
+
+    /** Number of caches evicted. */
+    private final AtomicLong evictions;
+
+    /** Simple constructor.
+     * @param maxCaches maximum number of retained caches
+     */
+    public FieldCachesRegistry(final int maxCaches) {
+        if (maxCaches < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     maxCaches, 1);
+        }
+        this.maxCaches = maxCaches;
+        this.caches    = new ConcurrentHashMap<>();
+        this.clock     = new AtomicLong();
+        this.lookups   = new AtomicLong();
+        this.builds    = new AtomicLong();
+        this.evictions = new AtomicLong();
+    }
+
+    /** Get the cache associated with a field, building it if needed.
+     * @param field field for which the cache is requested
+     * @param builder builder for the cache, called only if the cache
+     * is not already registered for this field
+     * @param <T> type of the field elements
+     * @param <C> type of the cache
+     * @return cache associated with the field
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends RealFieldElement<T>, C> C getCache(final Field<T> field,
+                                                         final Function<Field<T>, C> builder) {
+
+        lookups.incrementAndGet();
+
+        Entry entry = caches.get(field);
+        if (entry == null) {
+            entry = caches.computeIfAbsent(field, f -> {
+                builds.incrementAndGet();
+                return new Entry(builder.apply(field));
+            });
+            if (caches.size() > maxCaches) {
+                evictLeastRecentlyUsed(field);
+            }
+        }
+
+        entry.lastUse = clock.incrementAndGet();
+        return (C) entry.cache;
+
+    }
+
+    /** Evict the least recently used cache.
+     * @param preserved field whose cache should be preserved
+     */
+    private synchronized void evictLeastRecentlyUsed(final Field<?> preserved) {
+        while (caches.size() > maxCaches) {
+            Map.Entry<Field<?>, Entry> oldest = null;
+            for (final Map.Entry<Field<?>, Entry> e : caches.entrySet()) {
+                if (!e.getKey().equals(preserved) &&
+                    (oldest == null || e.getValue().lastUse < oldest.getValue().lastUse)) {
+                    oldest = e;
+                }
+            }
+            if (oldest == null || !caches.remove(oldest.getKey(), oldest.getValue())) {
+                // another thread already evicted something
+                return;
+            }
+            evictions.incrementAndGet();
+        }
+    }
+
+    /** Remove all registered caches.
+     */
+    public void clear() {
+        caches.clear();
+    }
+
+    /** Get the maximum number of retained caches.
+     * @return maximum number of retained caches
+     */
+    public int getMaxCaches() {
+        return maxCaches;
+    }
+
+    /** Get the number of currently registered caches.
+     * @return number of currently registered caches
+     */
+    public int getCaches() {
+        return caches.size();
+    }
+
+    /** Get the number of lookups performed since registry creation.
+     * @return number of lookups performed since registry creation
+     */
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    /** Get the number of caches built since registry creation.
+     * @return number of caches built since registry creation
+     */
+    public long getBuilds() {
+        return builds.get();
+    }
+
+    /** Get the number of caches evicted since registry creation.
+     * @return number of caches evicted since registry creation
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /** Container for one registered cache. */
+    private static class Entry {
+
+        /** Registered cache. */
+        private final Object cache;
+
+        /** Logical time of last use. */
+        private volatile long lastUse;
+
+        /** Simple constructor.
+         * @param cache registered cache
+         */
+        Entry(final Object cache) {
+            this.cache   = cache;
+            this.lastUse = 0L;
+        }
+
+    }
+
+}
@@ -78,6 +78,9 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
     /** Number of evictions. */
     private final AtomicInteger evictions;
 
+    /** Counter for slots accesses, used to evict the least recently used slot. */
+    private final AtomicLong accessCounter;
+
     /** Global lock. */
     private final ReadWriteLock lock;
 
@@ -113,6 +116,7 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
         this.getNeighborsCalls = new AtomicInteger(0);
         this.generateCalls     = new AtomicInteger(0);
         this.evictions         = new AtomicInteger(0);
+        this.accessCounter     = new AtomicLong(0);
         this.lock              = new ReentrantReadWriteLock();
 
     }
@@ -480,7 +484,7 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
             }
 
             guessedIndex    = new AtomicInteger(cache.size() / 2);
-            lastAccess      = new AtomicLong(System.currentTimeMillis());
+            lastAccess      = new AtomicLong(accessCounter.incrementAndGet());
 
         }
 
@@ -562,6 +566,8 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
         public Stream<T> getNeighbors(final AbsoluteDate central, final long dateQuantum)
             throws TimeStampedCacheException {
 
+            lastAccess.set(accessCounter.incrementAndGet());
+
             int index         = entryIndex(central, dateQuantum);
             int firstNeighbor = index - (neighborsSize - 1) / 2;
 
@@ -26,8 +26,20 @@ public class OrekitConfiguration {
     /** Number of slots to use in caches. */
     private static int CACHE_SLOTS_NUMBER;
 
+    /** Factory to use for time-stamped caches. */
+    private static TimeStampedCacheFactory CACHE_FACTORY;
+
+    /** Indicator for memory-mapped JPL/INPOP ephemerides. */
+    private static boolean MEMORY_MAPPED_EPHEMERIDES;
+
+    /** Maximum number of field caches retained by each transform provider. */
+    private static int FIELD_CACHES_NUMBER;
+
     static {
-        CACHE_SLOTS_NUMBER = 100;
+        CACHE_SLOTS_NUMBER        = 100;
+        CACHE_FACTORY             = TimeStampedCacheFactory.GENERIC;
+        MEMORY_MAPPED_EPHEMERIDES = false;
+        FIELD_CACHES_NUMBER       = 16;
     }
 
     /** Private constructor.
@@ -52,4 +64,82 @@ public class OrekitConfiguration {
         return CACHE_SLOTS_NUMBER;
     }
 
+    /** Set the factory to use for time-stamped caches.
+     * <p>
+     * This factory is used by Orekit internal caches (interpolating and
+     * shifting transform providers, JPL ephemerides, cached spherical
+     * harmonics, tidal corrections for Earth Orientation Parameters). It
+     * must be set before these objects are built, as the caches are created
+     * at construction time. The default factory is {@link
+     * TimeStampedCacheFactory#GENERIC}. Multi-threaded applications sharing
+     * frames and ephemerides among many threads should consider using
+     * {@link TimeStampedCacheFactory#CONCURRENT}.
+     * </p>
+     * @param cacheFactory factory to use for time-stamped caches
+     * @since 9.3
+     */
+    public static void setCacheFactory(final TimeStampedCacheFactory cacheFactory) {
+        OrekitConfiguration.CACHE_FACTORY = cacheFactory;
+    }
+
+    /** Get the factory to use for time-stamped caches.
+     * @return factory to use for time-stamped caches
+     * @since 9.3
+     */
+    public static TimeStampedCacheFactory getCacheFactory() {
+        return CACHE_FACTORY;
+    }
+
+    /** Set the indicator for memory-mapped JPL/INPOP ephemerides.
+     * <p>
+     * When this indicator is set, {@link org.orekit.bodies.JPLEphemeridesLoader
+     * JPLEphemeridesLoader} maps the binary ephemerides files in memory and
+     * fetches the Chebyshev polynomials directly at their computed offset,
+     * instead of parsing the files again each time a new time range is needed.
+     * Mapped files are shared by all celestial bodies and all threads. This
+     * is possible only if all ephemerides files are plain files in a directory
+     * hierarchy. If some files are compressed, embedded in archives or retrieved
+     * from the classpath or from the network, the regular parsing is used
+     * as a fallback. The default is to not use memory-mapped ephemerides. It
+     * must be set before the celestial bodies are loaded.
+     * </p>
+     * @param memoryMapped if true, JPL/INPOP ephemerides files will be memory-mapped
+     * @since 9.3
+     */
+    public static void setMemoryMappedEphemerides(final boolean memoryMapped) {
+        OrekitConfiguration.MEMORY_MAPPED_EPHEMERIDES = memoryMapped;
+    }
+
+    /** Check if JPL/INPOP ephemerides files should be memory-mapped.
+     * @return true if JPL/INPOP ephemerides files should be memory-mapped
+     * @since 9.3
+     */
+    public static boolean isMemoryMappedEphemerides() {
+        return MEMORY_MAPPED_EPHEMERIDES;
+    }
+
+    /** Set the maximum number of field caches retained by each transform provider.
+     * <p>
+     * {@link org.orekit.frames.InterpolatingTransformProvider Interpolating} and
+     * {@link org.orekit.frames.ShiftingTransformProvider shifting} transform providers
+     * keep one cache for each {@link org.hipparchus.Field field} they are used with,
+     * in a {@link FieldCachesRegistry}. This setting bounds the number of caches each
+     * provider retains, the least recently used ones being evicted. It must be set
+     * before the providers are built. The default value is 16.
+     * </p>
+     * @param fieldCachesNumber maximum number of field caches retained by each provider
+     * @since 9.3
+     */
+    public static void setFieldCachesNumber(final int fieldCachesNumber) {
+        OrekitConfiguration.FIELD_CACHES_NUMBER = fieldCachesNumber;
+    }
+
+    /** Get the maximum number of field caches retained by each transform provider.
+     * @return maximum number of field caches retained by each provider
+     * @since 9.3
+     */
+    public static int getFieldCachesNumber() {
+        return FIELD_CACHES_NUMBER;
+    }
+
 }
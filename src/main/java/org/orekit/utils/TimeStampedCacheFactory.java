@@ -0,0 +1,76 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import org.orekit.time.TimeStamped;
+
+/** Enumerate for the various {@link TimeStampedCache} implementations that
+ * can be built from a {@link TimeStampedGenerator generator}.
+ * <p>
+ * The factory used by Orekit internal caches (frames transforms, ephemerides,
+ * time-dependent gravity fields ...) is configured by {@link
+ * OrekitConfiguration#setCacheFactory(TimeStampedCacheFactory)}.
+ * </p>
+ * @see OrekitConfiguration
+ * @author agent
+ * @since 9.3
+ */
+public enum TimeStampedCacheFactory {
+
+    /** Factory for {@link GenericTimeStampedCache}, protected by a global read-write lock. */
+    GENERIC {
+
+        /** {@inheritDoc} */
+        @Override
+        public <T extends TimeStamped> TimeStampedCache<T> create(final int neighborsSize, final int maxSlots,
+                                                                  final double maxSpan, final double newSlotInterval,
+                                                                  final TimeStampedGenerator<T> generator) {
+            return new GenericTimeStampedCache<T>(neighborsSize, maxSlots, maxSpan, newSlotInterval, generator);
+        }
+
+    },
+
+    /** Factory for {@link ConcurrentTimeStampedCache}, with non-blocking readers. */
+    CONCURRENT {
+
+        /** {@inheritDoc} */
+        @Override
+        public <T extends TimeStamped> TimeStampedCache<T> create(final int neighborsSize, final int maxSlots,
+                                                                  final double maxSpan, final double newSlotInterval,
+                                                                  final TimeStampedGenerator<T> generator) {
+            return new ConcurrentTimeStampedCache<T>(neighborsSize, maxSlots, maxSpan, newSlotInterval, generator);
+        }
+
+    };
+
+    /** Create a cache.
+     * @param neighborsSize fixed size of the arrays to be returned by {@link
+     * TimeStampedCache#getNeighbors(org.orekit.time.AbsoluteDate)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     * @param <T> Type of the cached data.
+     * @return new cache
+     */
+    public abstract <T extends TimeStamped> TimeStampedCache<T> create(int neighborsSize, int maxSlots,
+                                                                       double maxSpan, double newSlotInterval,
+                                                                       TimeStampedGenerator<T> generator);
+
+}
@@ -17,20 +17,28 @@
 package org.orekit.bodies;
 
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.orekit.Utils;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
+import org.orekit.utils.OrekitConfiguration;
 import org.orekit.utils.PVCoordinates;
 
 public class JPLEphemeridesLoaderTest {
@@ -262,6 +270,112 @@ public class JPLEphemeridesLoaderTest {
 
     }
 
+    @Test
+    public void testMemoryMappedJPL() throws OrekitException {
+        Utils.setDataRoot("regular-data/de405-ephemerides");
+        AbsoluteDate t0 = new AbsoluteDate(1969, 6, 1, 10, 43, 23.4, TimeScalesFactory.getTT());
+        for (final JPLEphemeridesLoader.EphemerisType type : new JPLEphemeridesLoader.EphemerisType[] {
+            JPLEphemeridesLoader.EphemerisType.SUN,
+            JPLEphemeridesLoader.EphemerisType.MERCURY,
+            JPLEphemeridesLoader.EphemerisType.EARTH_MOON,
+            JPLEphemeridesLoader.EphemerisType.MOON,
+            JPLEphemeridesLoader.EphemerisType.JUPITER
+        }) {
+            checkMemoryMapped(JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES, type,
+                              t0, 110 * Constants.JULIAN_DAY);
+        }
+    }
+
+    @Test
+    public void testMemoryMappedInpop() throws OrekitException {
+        Utils.setDataRoot("inpop");
+        AbsoluteDate t0 = new AbsoluteDate(1969, 7, 17, 10, 43, 23.4, TimeScalesFactory.getTT());
+        checkMemoryMapped("^inpop.*_TCB_.*_littleendian\\.dat$", JPLEphemeridesLoader.EphemerisType.MARS,
+                          t0, 30 * Constants.JULIAN_DAY);
+        checkMemoryMapped("^inpop.*_TDB_.*_bigendian\\.dat$", JPLEphemeridesLoader.EphemerisType.MOON,
+                          t0, 30 * Constants.JULIAN_DAY);
+    }
+
+    @Test
+    public void testMemoryMappedFallbackInArchive() throws OrekitException {
+        // files embedded in an archive cannot be mapped, regular parsing is used
+        Utils.setDataRoot("overlapping-data/data.zip");
+        AbsoluteDate t0 = new AbsoluteDate(1999, 12, 1, 0, 0, 0, TimeScalesFactory.getTAI());
+        checkMemoryMapped(JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES, JPLEphemeridesLoader.EphemerisType.MOON,
+                          t0, 100 * Constants.JULIAN_DAY);
+    }
+
+    @Test
+    public void testMemoryMappedOutOfRange() throws OrekitException {
+        Utils.setDataRoot("regular-data/de405-ephemerides");
+        OrekitConfiguration.setMemoryMappedEphemerides(true);
+        JPLEphemeridesLoader loader =
+                new JPLEphemeridesLoader(JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES,
+                                         JPLEphemeridesLoader.EphemerisType.MARS);
+        CelestialBody mars = loader.loadCelestialBody(CelestialBodyFactory.MARS);
+        try {
+            mars.getPVCoordinates(new AbsoluteDate(1950, 1, 1, TimeScalesFactory.getTT()),
+                                  FramesFactory.getICRF());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testMappedFileShared() throws OrekitException, IOException, URISyntaxException {
+        File file = new File(getClass().getClassLoader().
+                             getResource("regular-data/de405-ephemerides/unxp0001.405").toURI().getPath());
+        MappedJPLEphemeridesFile mapped = MappedJPLEphemeridesFile.getInstance(file);
+        Assert.assertSame(mapped, MappedJPLEphemeridesFile.getInstance(file));
+        Assert.assertSame(mapped, MappedJPLEphemeridesFile.getInstance(new File(file.getParentFile(),
+                                                                                 "../de405-ephemerides/unxp0001.405")));
+        Assert.assertEquals(405.0, mapped.getConstants().get("DENUM"), 1.0e-15);
+        Assert.assertEquals(new AbsoluteDate(1969, 12, 5, TimeScalesFactory.getTDB()), mapped.getFirstDate());
+        Assert.assertEquals(new AbsoluteDate(1970, 4, 12, TimeScalesFactory.getTDB()), mapped.getLastDate());
+    }
+
+    @Test
+    public void testMappedFileModified() throws OrekitException, IOException, URISyntaxException {
+        File original = new File(getClass().getClassLoader().
+                                 getResource("regular-data/de405-ephemerides/unxp0001.405").toURI().getPath());
+        File copy = new File(tempFolder.getRoot(), original.getName());
+        Files.copy(original.toPath(), copy.toPath());
+        MappedJPLEphemeridesFile mapped = MappedJPLEphemeridesFile.getInstance(copy);
+        Assert.assertSame(mapped, MappedJPLEphemeridesFile.getInstance(copy));
+
+        // a modified file is mapped again
+        Assert.assertTrue(copy.setLastModified(copy.lastModified() - 10000L));
+        MappedJPLEphemeridesFile remapped = MappedJPLEphemeridesFile.getInstance(copy);
+        Assert.assertNotSame(mapped, remapped);
+        Assert.assertSame(remapped, MappedJPLEphemeridesFile.getInstance(copy));
+        Assert.assertEquals(mapped.getFirstDate(), remapped.getFirstDate());
+    }
+
+    private void checkMemoryMapped(String supportedNames, JPLEphemeridesLoader.EphemerisType type,
+                                   AbsoluteDate t0, double span)
+        throws OrekitException {
+
+        OrekitConfiguration.setMemoryMappedEphemerides(false);
+        JPLEphemeridesLoader regularLoader = new JPLEphemeridesLoader(supportedNames, type);
+        CelestialBody regular = regularLoader.loadCelestialBody(type.name());
+
+        OrekitConfiguration.setMemoryMappedEphemerides(true);
+        JPLEphemeridesLoader mappedLoader = new JPLEphemeridesLoader(supportedNames, type);
+        CelestialBody mapped = mappedLoader.loadCelestialBody(type.name());
+
+        Frame icrf = FramesFactory.getICRF();
+        for (double dt = 0; dt < span; dt += 3600) {
+            AbsoluteDate date = t0.shiftedBy(dt);
+            PVCoordinates pvRegular = regular.getPVCoordinates(date, icrf);
+            PVCoordinates pvMapped  = mapped.getPVCoordinates(date, icrf);
+            Assert.assertEquals(0.0, Vector3D.distance(pvRegular.getPosition(), pvMapped.getPosition()), 1.0e-15);
+            Assert.assertEquals(0.0, Vector3D.distance(pvRegular.getVelocity(), pvMapped.getVelocity()), 1.0e-15);
+        }
+        Assert.assertEquals(regularLoader.getMaxChunksDuration(), mappedLoader.getMaxChunksDuration(), 1.0e-10);
+
+    }
+
     private void checkDerivative(String supportedNames, AbsoluteDate date, double maxChunkDuration)
         throws OrekitException {
         JPLEphemeridesLoader loader =
@@ -291,9 +405,17 @@ public class JPLEphemeridesLoaderTest {
         Assert.assertEquals(maxChunkDuration, loader.getMaxChunksDuration(), 1.0e-10);
     }
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
     }
 
+    @After
+    public void tearDown() {
+        OrekitConfiguration.setMemoryMappedEphemerides(false);
+    }
+
 }
@@ -0,0 +1,152 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.bodies;
+
+import org.hipparchus.analysis.differentiation.DSFactory;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class TabulatedCelestialBodyTest {
+
+    @Test
+    public void testMoon() throws OrekitException {
+        final CelestialBody moon    = CelestialBodyFactory.getMoon();
+        final Frame         eme2000 = FramesFactory.getEME2000();
+        final AbsoluteDate  start   = new AbsoluteDate(2003, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final TabulatedCelestialBody tabulated =
+                        new TabulatedCelestialBody(moon, eme2000, start, start.shiftedBy(Constants.JULIAN_DAY), 600.0);
+        Assert.assertEquals(moon.getName(), tabulated.getName());
+        Assert.assertEquals(moon.getGM(), tabulated.getGM(), 1.0e-15 * moon.getGM());
+        Assert.assertSame(moon, tabulated.getUnderlyingBody());
+        Assert.assertSame(eme2000, tabulated.getTabulationFrame());
+        Assert.assertSame(moon.getInertiallyOrientedFrame(), tabulated.getInertiallyOrientedFrame());
+        Assert.assertSame(moon.getBodyOrientedFrame(), tabulated.getBodyOrientedFrame());
+        Assert.assertEquals(600.0, tabulated.getStep(), 1.0e-15);
+        Assert.assertEquals(0.0, tabulated.getStart().durationFrom(start), 1.0e-15);
+        Assert.assertEquals(Constants.JULIAN_DAY, tabulated.getEnd().durationFrom(start), 1.0e-15);
+        Assert.assertTrue(tabulated.getMaxPositionError() < 1.0e-3);
+        Assert.assertTrue(tabulated.getMaxVelocityError() < 1.0e-8);
+
+        final RandomGenerator random = new Well19937a(0x3b5e9d8a4c7f2e61L);
+        for (int i = 0; i < 1000; ++i) {
+            final AbsoluteDate date = start.shiftedBy(random.nextDouble() * Constants.JULIAN_DAY);
+            final TimeStampedPVCoordinates ref = moon.getPVCoordinates(date, eme2000);
+            final TimeStampedPVCoordinates pv  = tabulated.getPVCoordinates(date, eme2000);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(ref.getPosition(), pv.getPosition()),
+                                1.01 * tabulated.getMaxPositionError() + 1.0e-9);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(ref.getVelocity(), pv.getVelocity()),
+                                1.01 * tabulated.getMaxVelocityError() + 1.0e-12);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(ref.getAcceleration(), pv.getAcceleration()),
+                                1.0e-8);
+
+            // field version must match primitive version
+            final FieldAbsoluteDate<Decimal64> fDate = new FieldAbsoluteDate<>(Decimal64Field.getInstance(), date);
+            final FieldVector3D<Decimal64> fP = tabulated.getPVCoordinates(fDate, eme2000).getPosition();
+            Assert.assertEquals(0.0, Vector3D.distance(pv.getPosition(), fP.toVector3D()), 1.0e-6);
+        }
+
+    }
+
+    @Test
+    public void testOtherFrameAndOutOfRange() throws OrekitException {
+        final CelestialBody sun   = CelestialBodyFactory.getSun();
+        final AbsoluteDate  start = new AbsoluteDate(2003, 5, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final TabulatedCelestialBody tabulated =
+                        new TabulatedCelestialBody(sun, FramesFactory.getEME2000(),
+                                                   start, start.shiftedBy(Constants.JULIAN_DAY), 3600.0);
+        Assert.assertTrue(tabulated.getMaxPositionError() < 1.0e-2);
+
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate inside = start.shiftedBy(1234.5);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(sun.getPVCoordinates(inside, itrf).getPosition(),
+                                              tabulated.getPVCoordinates(inside, itrf).getPosition()),
+                            1.0e-2);
+
+        // out of range requests are delegated
+        final AbsoluteDate outside = start.shiftedBy(-10.0);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(sun.getPVCoordinates(outside, itrf).getPosition(),
+                                              tabulated.getPVCoordinates(outside, itrf).getPosition()),
+                            1.0e-15);
+
+    }
+
+    @Test
+    public void testFieldDerivativesInOtherFrame() throws OrekitException {
+        final CelestialBody moon  = CelestialBodyFactory.getMoon();
+        final Frame         itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate  start = new AbsoluteDate(2003, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final TabulatedCelestialBody tabulated =
+                        new TabulatedCelestialBody(moon, FramesFactory.getEME2000(),
+                                                   start, start.shiftedBy(Constants.JULIAN_DAY), 600.0);
+
+        // the date derivative of the position must be the velocity in the output frame,
+        // which requires the frame transform to keep the date derivatives
+        final DSFactory factory = new DSFactory(1, 1);
+        final AbsoluteDate date = start.shiftedBy(4321.0);
+        final FieldAbsoluteDate<DerivativeStructure> dsDate =
+                        new FieldAbsoluteDate<>(factory.getDerivativeField(), date).shiftedBy(factory.variable(0, 0.0));
+        final FieldVector3D<DerivativeStructure> dsP = tabulated.getPVCoordinates(dsDate, itrf).getPosition();
+        final Vector3D v = tabulated.getPVCoordinates(date, itrf).getVelocity();
+        Assert.assertEquals(v.getX(), dsP.getX().getPartialDerivative(1), 1.0e-6 * v.getNorm());
+        Assert.assertEquals(v.getY(), dsP.getY().getPartialDerivative(1), 1.0e-6 * v.getNorm());
+        Assert.assertEquals(v.getZ(), dsP.getZ().getPartialDerivative(1), 1.0e-6 * v.getNorm());
+
+    }
+
+    @Test
+    public void testNonInertialFrame() throws OrekitException {
+        try {
+            new TabulatedCelestialBody(CelestialBodyFactory.getSun(),
+                                       FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                       AbsoluteDate.J2000_EPOCH, AbsoluteDate.J2000_EPOCH.shiftedBy(3600.0), 60.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, oiae.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
@@ -0,0 +1,418 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.gravity.potential.EGMFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.ICGEMFormatReader;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider.NormalizedSphericalHarmonics;
+import org.orekit.frames.EOPHistory;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.PoleCorrection;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.time.TimeVectorFunction;
+import org.orekit.utils.IERSConventions;
+
+public class CompiledDataCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File cacheDirectory;
+
+    @Test
+    public void testUTCTAI() throws OrekitException {
+        checkSameResults("regular-data", new Sampler() {
+            public List<Double> sample() throws OrekitException {
+                final TimeScale utc = TimeScalesFactory.getUTC();
+                final List<Double> values = new ArrayList<Double>();
+                for (AbsoluteDate date = new AbsoluteDate(1960, 1, 1, utc);
+                     date.compareTo(new AbsoluteDate(2010, 1, 1, utc)) < 0;
+                     date = date.shiftedBy(3.7e6)) {
+                    values.add(utc.offsetFromTAI(date));
+                }
+                return values;
+            }
+        });
+    }
+
+    @Test
+    public void testBulletinBAndC04() throws OrekitException {
+        checkSameResults("regular-data", new EOPSampler(IERSConventions.IERS_2010, null));
+    }
+
+    @Test
+    public void testBulletinBAndC04OtherConventions() throws OrekitException {
+        // compiled data do not depend on conventions, so they are shared
+        checkSameResults("regular-data", new EOPSampler(IERSConventions.IERS_2010, null));
+        final int nbFiles = countCompiledFiles();
+        Utils.setDataRoot("regular-data");
+        final List<Double> compiled = new EOPSampler(IERSConventions.IERS_2003, null).sample();
+        Assert.assertEquals(nbFiles, countCompiledFiles());
+        DataProvidersManager.getInstance().setCompiledDataCache(null);
+        Utils.setDataRoot("regular-data");
+        final List<Double> parsed = new EOPSampler(IERSConventions.IERS_2003, null).sample();
+        checkEquals(parsed, compiled);
+    }
+
+    @Test
+    public void testBulletinA() throws OrekitException {
+        checkSameResults("bulletinA", new EOPSampler(IERSConventions.IERS_2010, "bulletina-xxvi-\\d\\d\\d\\.txt"));
+    }
+
+    @Test
+    public void testICGEM() throws OrekitException {
+        checkSameResults("potential", new GravitySampler() {
+            public void addReader() {
+                GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("eigen-6s-truncated", false));
+            }
+        });
+    }
+
+    @Test
+    public void testEGM() throws OrekitException {
+        checkSameResults("potential", new GravitySampler() {
+            public void addReader() {
+                GravityFieldFactory.addPotentialCoefficientsReader(new EGMFormatReader("egm96_to5.ascii", true));
+            }
+        });
+    }
+
+    @Test
+    public void testPoissonSeries() throws OrekitException {
+        checkSameResults("regular-data", new Sampler() {
+            public List<Double> sample() throws OrekitException {
+                final TimeVectorFunction nutation = IERSConventions.IERS_2010.getNutationFunction();
+                final List<Double> values = new ArrayList<Double>();
+                for (double dt = 0; dt < 3.0e9; dt += 1.7e8) {
+                    for (final double v : nutation.value(AbsoluteDate.J2000_EPOCH.shiftedBy(dt))) {
+                        values.add(v);
+                    }
+                }
+                return values;
+            }
+        });
+    }
+
+    @Test
+    public void testNotADirectory() throws IOException {
+        final File file = tempFolder.newFile("not-a-directory");
+        try {
+            new CompiledDataCache(file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_DIRECTORY, oe.getSpecifier());
+            Assert.assertEquals(file.getAbsolutePath(), oe.getParts()[0]);
+        }
+    }
+
+    @Test
+    public void testDirectoryCreatedOnTheFly() throws Exception {
+        final File directory = new File(cacheDirectory, "sub-directory");
+        final CompiledDataCache cache = new CompiledDataCache(directory);
+        Assert.assertSame(directory, cache.getDirectory());
+        Assert.assertFalse(directory.exists());
+        final CountingLoader loader = new CountingLoader();
+        cache.load(stream("1 2 3"), "dummy", loader);
+        Assert.assertTrue(directory.isDirectory());
+        Assert.assertEquals(1, directory.listFiles().length);
+        Assert.assertEquals(1, loader.parsed);
+        Assert.assertEquals(0, loader.compiled);
+    }
+
+    @Test
+    public void testReuseAndInvalidation() throws Exception {
+        final CompiledDataCache cache = new CompiledDataCache(cacheDirectory);
+        final CountingLoader loader = new CountingLoader();
+
+        cache.load(stream("1 2 3"), "dummy", loader);
+        Assert.assertEquals(1, loader.parsed);
+        Assert.assertEquals(0, loader.compiled);
+        Assert.assertEquals(6.0, loader.sum, 1.0e-15);
+
+        // same content, even with another name, is not parsed again
+        cache.load(stream("1 2 3"), "other-name", loader);
+        Assert.assertEquals(1, loader.parsed);
+        Assert.assertEquals(1, loader.compiled);
+        Assert.assertEquals(12.0, loader.sum, 1.0e-15);
+
+        // changed content is parsed again
+        cache.load(stream("1 2 4"), "dummy", loader);
+        Assert.assertEquals(2, loader.parsed);
+        Assert.assertEquals(1, loader.compiled);
+        Assert.assertEquals(19.0, loader.sum, 1.0e-15);
+        Assert.assertEquals(2, countCompiledFiles());
+
+        // changed loader settings also trigger parsing again
+        loader.format = "counting-2";
+        cache.load(stream("1 2 3"), "dummy", loader);
+        Assert.assertEquals(3, loader.parsed);
+        Assert.assertEquals(1, loader.compiled);
+        Assert.assertEquals(3, countCompiledFiles());
+
+    }
+
+    @Test
+    public void testCorruptedCompiledFile() throws Exception {
+        final CompiledDataCache cache = new CompiledDataCache(cacheDirectory);
+        final CountingLoader loader = new CountingLoader();
+        cache.load(stream("1 2 3"), "dummy", loader);
+        Assert.assertEquals(1, countCompiledFiles());
+        final File compiled = cacheDirectory.listFiles()[0];
+
+        // flip one bit in the payload
+        try (RandomAccessFile raf = new RandomAccessFile(compiled, "rw")) {
+            raf.seek(14);
+            final int b = raf.read();
+            raf.seek(14);
+            raf.write(b ^ 0x01);
+        }
+        cache.load(stream("1 2 3"), "dummy", loader);
+        Assert.assertEquals(2, loader.parsed);
+        Assert.assertEquals(0, loader.compiled);
+        Assert.assertEquals(12.0, loader.sum, 1.0e-15);
+
+        // the corrupted file has been replaced
+        cache.load(stream("1 2 3"), "dummy", loader);
+        Assert.assertEquals(2, loader.parsed);
+        Assert.assertEquals(1, loader.compiled);
+
+        // truncate the file
+        try (RandomAccessFile raf = new RandomAccessFile(compiled, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        cache.load(stream("1 2 3"), "dummy", loader);
+        Assert.assertEquals(3, loader.parsed);
+        Assert.assertEquals(1, loader.compiled);
+
+    }
+
+    @Test
+    public void testParseErrorNotCompiled() throws Exception {
+        final CompiledDataCache cache = new CompiledDataCache(cacheDirectory);
+        final CountingLoader loader = new CountingLoader();
+        try {
+            cache.load(stream("1 two 3"), "dummy", loader);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, oe.getSpecifier());
+        }
+        Assert.assertEquals(0, countCompiledFiles());
+    }
+
+    private void checkSameResults(final String root, final Sampler sampler)
+        throws OrekitException {
+
+        // reference results, without cache
+        DataProvidersManager.getInstance().setCompiledDataCache(null);
+        Utils.setDataRoot(root);
+        final List<Double> reference = sampler.sample();
+
+        // first run with cache, compiled files are written
+        DataProvidersManager.getInstance().setCompiledDataCache(new CompiledDataCache(cacheDirectory));
+        Utils.setDataRoot(root);
+        final List<Double> firstRun = sampler.sample();
+        final int nbFiles = countCompiledFiles();
+        Assert.assertTrue(nbFiles > 0);
+
+        // second run with cache, compiled files are read
+        Utils.setDataRoot(root);
+        final List<Double> secondRun = sampler.sample();
+        Assert.assertEquals(nbFiles, countCompiledFiles());
+
+        checkEquals(reference, firstRun);
+        checkEquals(reference, secondRun);
+
+    }
+
+    private void checkEquals(final List<Double> reference, final List<Double> values) {
+        Assert.assertEquals(reference.size(), values.size());
+        for (int i = 0; i < reference.size(); ++i) {
+            // results must be bit-identical
+            Assert.assertEquals(Double.doubleToRawLongBits(reference.get(i)),
+                                Double.doubleToRawLongBits(values.get(i)));
+        }
+    }
+
+    private int countCompiledFiles() {
+        final File[] files = cacheDirectory.listFiles();
+        return files == null ? 0 : files.length;
+    }
+
+    private InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = tempFolder.newFolder("compiled");
+    }
+
+    @After
+    public void tearDown() {
+        DataProvidersManager.getInstance().setCompiledDataCache(null);
+    }
+
+    private interface Sampler {
+        List<Double> sample() throws OrekitException;
+    }
+
+    private static class EOPSampler implements Sampler {
+
+        private final IERSConventions conventions;
+        private final String bulletinANames;
+
+        EOPSampler(final IERSConventions conventions, final String bulletinANames) {
+            this.conventions    = conventions;
+            this.bulletinANames = bulletinANames;
+        }
+
+        public List<Double> sample() throws OrekitException {
+            if (bulletinANames != null) {
+                FramesFactory.clearEOPHistoryLoaders();
+                FramesFactory.addDefaultEOP2000HistoryLoaders("^$", "^$", "^$", "^$", bulletinANames);
+            }
+            final EOPHistory history = FramesFactory.getEOPHistory(conventions, true);
+            final List<Double> values = new ArrayList<Double>();
+            for (AbsoluteDate date = history.getStartDate();
+                 date.compareTo(history.getEndDate()) < 0;
+                 date = date.shiftedBy(37000.0)) {
+                values.add(history.getUT1MinusUTC(date));
+                values.add(history.getLOD(date));
+                final PoleCorrection pole = history.getPoleCorrection(date);
+                values.add(pole.getXp());
+                values.add(pole.getYp());
+                for (final double v : history.getEquinoxNutationCorrection(date)) {
+                    values.add(v);
+                }
+                for (final double v : history.getNonRotatinOriginNutationCorrection(date)) {
+                    values.add(v);
+                }
+                values.add((double) history.getITRFVersion(date).ordinal());
+            }
+            return values;
+        }
+
+    }
+
+    private abstract static class GravitySampler implements Sampler {
+
+        public abstract void addReader();
+
+        public List<Double> sample() throws OrekitException {
+            addReader();
+            final NormalizedSphericalHarmonicsProvider provider = GravityFieldFactory.getNormalizedProvider(4, 4);
+            final List<Double> values = new ArrayList<Double>();
+            values.add(provider.getMu());
+            values.add(provider.getAe());
+            values.add((double) provider.getTideSystem().ordinal());
+            final AbsoluteDate date = new AbsoluteDate(2012, 3, 7, TimeScalesFactory.getTT());
+            final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
+            for (int n = 0; n <= 4; ++n) {
+                for (int m = 0; m <= n; ++m) {
+                    values.add(harmonics.getNormalizedCnm(n, m));
+                    values.add(harmonics.getNormalizedSnm(n, m));
+                }
+            }
+            return values;
+        }
+
+    }
+
+    private static class CountingLoader implements CompilableDataLoader {
+
+        private String format = "counting-1";
+        private int    parsed;
+        private int    compiled;
+        private double sum;
+        private final List<Double> lastValues = new ArrayList<Double>();
+
+        public boolean stillAcceptsData() {
+            return true;
+        }
+
+        public void loadData(final InputStream input, final String name)
+            throws IOException, OrekitException {
+            final byte[] buffer = new byte[1024];
+            final int n = input.read(buffer);
+            final String line = new String(buffer, 0, n, StandardCharsets.UTF_8);
+            lastValues.clear();
+            for (final String field : line.split(" ")) {
+                try {
+                    lastValues.add(Double.parseDouble(field));
+                } catch (NumberFormatException nfe) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, 1, name, line);
+                }
+            }
+            addValues();
+            ++parsed;
+        }
+
+        public String getCompiledFormat() {
+            return format;
+        }
+
+        public void writeCompiled(final DataOutputStream output) throws IOException {
+            output.writeInt(lastValues.size());
+            for (final double v : lastValues) {
+                output.writeDouble(v);
+            }
+        }
+
+        public void loadCompiled(final DataInputStream input, final String name)
+            throws IOException {
+            lastValues.clear();
+            final int n = input.readInt();
+            for (int i = 0; i < n; ++i) {
+                lastValues.add(input.readDouble());
+            }
+            addValues();
+            ++compiled;
+        }
+
+        private void addValues() {
+            for (final double v : lastValues) {
+                sum += v;
+            }
+        }
+
+    }
+
+}
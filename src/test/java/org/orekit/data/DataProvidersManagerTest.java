@@ -31,6 +31,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 
 public class DataProvidersManagerTest {
 
@@ -82,6 +83,29 @@ public class DataProvidersManagerTest {
         Assert.assertEquals(18, crawler.getCount());
     }
 
+    @Test
+    public void testParallelLoadFailure() {
+        System.setProperty(DataProvidersManager.OREKIT_DATA_PATH, getPath("regular-data"));
+        DataProvidersManager.getInstance().clearProviders();
+        DataProvidersManager.getInstance().setCrawlingPoolSize(4);
+        Assert.assertEquals(4, DataProvidersManager.getInstance().getCrawlingPoolSize());
+        CountingLoader crawler = new CountingLoader(true);
+        try {
+            DataProvidersManager.getInstance().feed(".*", crawler);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            // expected
+        } finally {
+            DataProvidersManager.getInstance().setCrawlingPoolSize(1);
+        }
+        Assert.assertEquals(18, crawler.getCount());
+    }
+
+    @Test(expected=OrekitIllegalArgumentException.class)
+    public void testWrongCrawlingPoolSize() {
+        DataProvidersManager.getInstance().setCrawlingPoolSize(0);
+    }
+
     @Test
     public void testEmptyProperty() throws OrekitException {
         System.setProperty(DataProvidersManager.OREKIT_DATA_PATH, "");
@@ -23,8 +23,12 @@ import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.errors.OrekitException;
@@ -103,6 +107,86 @@ public class DirectoryCrawlerTest {
         }
     }
 
+    @Test
+    public void testParallelSameSequence() throws OrekitException, URISyntaxException {
+        File root = new File(DirectoryCrawlerTest.class.getClassLoader().getResource("regular-data").toURI().getPath());
+        File zip  = new File(DirectoryCrawlerTest.class.getClassLoader().getResource("zipped-data").toURI().getPath());
+        for (final File dir : new File[] { root, zip }) {
+            DataProvidersManager.getInstance().setCrawlingPoolSize(1);
+            RecordingLoader sequential = new RecordingLoader();
+            new DirectoryCrawler(dir).feed(Pattern.compile(".*"), sequential);
+            DataProvidersManager.getInstance().setCrawlingPoolSize(4);
+            RecordingLoader parallel = new RecordingLoader();
+            new DirectoryCrawler(dir).feed(Pattern.compile(".*"), parallel);
+            Assert.assertTrue(sequential.getRecords().size() > 0);
+            Assert.assertEquals(sequential.getRecords(), parallel.getRecords());
+        }
+    }
+
+    @Test
+    public void testParallelThreadSafe() throws OrekitException, URISyntaxException {
+        DataProvidersManager.getInstance().setCrawlingPoolSize(4);
+        URL url =
+            DirectoryCrawlerTest.class.getClassLoader().getResource("zipped-data/multizip.zip");
+        File parent = new File(url.toURI().getPath()).getParentFile();
+        ThreadSafeCountingLoader crawler = new ThreadSafeCountingLoader();
+        new DirectoryCrawler(parent).feed(Pattern.compile(".*\\.txt$"), crawler);
+        Assert.assertEquals(6, crawler.getCount());
+    }
+
+    @Test(expected=OrekitException.class)
+    public void testParallelIOException() throws OrekitException, URISyntaxException {
+        DataProvidersManager.getInstance().setCrawlingPoolSize(4);
+        URL url =
+            DirectoryCrawlerTest.class.getClassLoader().getResource("regular-data");
+        try {
+            new DirectoryCrawler(new File(url.toURI().getPath())).feed(Pattern.compile(".*"), new IOExceptionLoader());
+        } catch (OrekitException oe) {
+            // expected behavior
+            Assert.assertNotNull(oe.getCause());
+            Assert.assertEquals(IOException.class, oe.getCause().getClass());
+            Assert.assertEquals("dummy error", oe.getMessage());
+            throw oe;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        DataProvidersManager.getInstance().setCrawlingPoolSize(1);
+    }
+
+    private static class RecordingLoader implements DataLoader {
+        private final List<String> records = new ArrayList<String>();
+        public boolean stillAcceptsData() {
+            return true;
+        }
+        public void loadData(InputStream input, String name) throws IOException {
+            int size = 0;
+            int checksum = 0;
+            for (int c = input.read(); c >= 0; c = input.read()) {
+                ++size;
+                checksum = 31 * checksum + c;
+            }
+            records.add(name + " " + size + " " + checksum);
+        }
+        public List<String> getRecords() {
+            return records;
+        }
+    }
+
+    private static class ThreadSafeCountingLoader implements ThreadSafeDataLoader {
+        private final AtomicInteger count = new AtomicInteger(0);
+        public boolean stillAcceptsData() {
+            return true;
+        }
+        public void loadData(InputStream input, String name) {
+            count.incrementAndGet();
+        }
+        public int getCount() {
+            return count.get();
+        }
+    }
+
     private static class CountingLoader implements DataLoader {
         private int count = 0;
         public boolean stillAcceptsData() {
@@ -18,16 +18,20 @@ package org.orekit.estimation.leastsquares;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresOptimizer.Optimum;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.attitudes.LofOffset;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalStateException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.estimation.Context;
 import org.orekit.estimation.EstimationTestUtils;
@@ -245,6 +249,131 @@ public class BatchLSEstimatorTest {
 
     }
 
+    @Test
+    public void testConcurrentMeasurementsEstimation() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder sequentialBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final NumericalPropagatorBuilder concurrentBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+
+        // create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           sequentialBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+
+            final Optimum sequential = estimate(sequentialBuilder, measurements, null);
+            final Optimum concurrent = estimate(concurrentBuilder, measurements, executor);
+
+            // concurrent estimation must give exactly the same results
+            Assert.assertEquals(sequential.getIterations(),  concurrent.getIterations());
+            Assert.assertEquals(sequential.getEvaluations(), concurrent.getEvaluations());
+            Assert.assertEquals(0.0, sequential.getPoint().getDistance(concurrent.getPoint()), 1.0e-15);
+            Assert.assertEquals(0.0, sequential.getResiduals().getDistance(concurrent.getResiduals()), 1.0e-15);
+            Assert.assertEquals(0.0,
+                                sequential.getJacobian().subtract(concurrent.getJacobian()).getNorm(),
+                                1.0e-15);
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testNormalEquations() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder referenceBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+
+        // create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           referenceBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+
+        // reference solution, using the full Jacobian
+        final Optimum reference = estimate(referenceBuilder, measurements, null);
+
+        for (final double damping : new double[] { 0.0, 1.0e-3 }) {
+
+            final NumericalPropagatorBuilder propagatorBuilder =
+                            context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                                  1.0e-6, 60.0, 1.0);
+            final BatchLSEstimator estimator = new BatchLSEstimator(new LevenbergMarquardtOptimizer(),
+                                                                    propagatorBuilder);
+            for (final ObservedMeasurement<?> range : measurements) {
+                estimator.addMeasurement(range);
+            }
+            estimator.setParametersConvergenceThreshold(1.0e-2);
+            estimator.setMaxIterations(10);
+            estimator.setMaxEvaluations(20);
+            estimator.setNormalEquationsAccumulation(true, damping);
+            final ParameterDriver aDriver = estimator.getOrbitalParametersDrivers(true).getDrivers().get(0);
+            aDriver.setValue(aDriver.getValue() + 1.2);
+
+            estimator.estimate();
+
+            // same solution as the full Jacobian path
+            final Optimum optimum = estimator.getOptimum();
+            Assert.assertEquals(estimator.getIterationsCount(),  optimum.getIterations());
+            Assert.assertEquals(estimator.getEvaluationsCount(), optimum.getEvaluations());
+            Assert.assertTrue(optimum.getIterations() <= 4);
+            Assert.assertEquals(measurements.size(), estimator.getLastEstimations().size());
+            Assert.assertEquals(0.0, optimum.getPoint().getDistance(reference.getPoint()), 1.0e-3);
+            Assert.assertEquals(reference.getRMS(), optimum.getRMS(), 1.0e-3 * reference.getRMS());
+            final RealMatrix covariances = optimum.getCovariances(1.0e-10);
+            Assert.assertEquals(0.0,
+                                covariances.subtract(reference.getCovariances(1.0e-10)).getNorm(),
+                                1.0e-6 * covariances.getNorm());
+            Assert.assertEquals(6, estimator.getPhysicalCovariances(1.0e-10).getRowDimension());
+
+            // the full Jacobian is not available
+            try {
+                optimum.getJacobian();
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitIllegalStateException oise) {
+                Assert.assertEquals(LocalizedCoreFormats.UNSUPPORTED_OPERATION, oise.getSpecifier());
+            }
+
+        }
+
+    }
+
+    private Optimum estimate(final NumericalPropagatorBuilder propagatorBuilder,
+                             final List<ObservedMeasurement<?>> measurements,
+                             final ExecutorService executor)
+        throws OrekitException {
+        final BatchLSEstimator estimator = new BatchLSEstimator(new LevenbergMarquardtOptimizer(),
+                                                                propagatorBuilder);
+        for (final ObservedMeasurement<?> range : measurements) {
+            estimator.addMeasurement(range);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(10);
+        estimator.setMaxEvaluations(20);
+        estimator.setMeasurementsExecutor(executor);
+        final ParameterDriver aDriver = estimator.getOrbitalParametersDrivers(true).getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        estimator.estimate();
+        return estimator.getOptimum();
+    }
+
     /**
      * Perfect range measurements with a biased start and an on-board antenna range offset 
      * @throws OrekitException
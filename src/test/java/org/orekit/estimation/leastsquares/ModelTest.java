@@ -155,7 +155,56 @@ public class ModelTest {
         assertEquals(false, model.isForwardPropagation());
     }
 
-}
+    @Test
+    public void testNormalEquations() throws OrekitException {
 
+        final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
 
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 0.001);
+        final NumericalPropagatorBuilder[] builders = { propagatorBuilder };
 
+        // create perfect PV measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new PVMeasurementCreator(),
+                                                               0.0, 1.0, 300.0);
+        final ParameterDriversList estimatedMeasurementsParameters = new ParameterDriversList();
+        final ModelObserver modelObserver = (newOrbits, newEvaluations) -> { };
+
+        // dense and accumulating models
+        final Model dense = new Model(builders, measurements, estimatedMeasurementsParameters,
+                                      modelObserver);
+        dense.setIterationsCounter(new Incrementor(100));
+        dense.setEvaluationsCounter(new Incrementor(100));
+        Assert.assertNull(dense.getNormalEquations());
+        final Model accumulating = new Model(builders, measurements, estimatedMeasurementsParameters,
+                                             modelObserver, true);
+        accumulating.setIterationsCounter(new Incrementor(100));
+        accumulating.setEvaluationsCounter(new Incrementor(100));
+
+        // evaluate both models on a shifted point, so residuals are not zero
+        final double[] normalized = propagatorBuilder.getSelectedNormalizedParameters();
+        normalized[0] += 10.0;
+        final Pair<RealVector, RealMatrix> denseValue = dense.value(new ArrayRealVector(normalized));
+        final RealMatrix j  = denseValue.getSecond();
+        final RealVector v  = denseValue.getFirst();
+        final RealMatrix jTj = j.transpose().multiply(j);
+        final RealVector jTv = j.transpose().operate(v);
+
+        final Pair<RealVector, RealMatrix> accumulatedValue = accumulating.value(new ArrayRealVector(normalized));
+        Assert.assertNull(accumulatedValue.getSecond());
+        Assert.assertEquals(0.0, accumulatedValue.getFirst().getDistance(v), 1.0e-15 * v.getNorm());
+
+        final NormalEquations normalEquations = accumulating.getNormalEquations();
+        Assert.assertEquals(jTj.getRowDimension(), normalEquations.getParameters());
+        Assert.assertEquals(0.0, normalEquations.getJTJ().subtract(jTj).getNorm(), 1.0e-12 * jTj.getNorm());
+        Assert.assertEquals(0.0, normalEquations.getJTV().getDistance(jTv), 1.0e-12 * jTv.getNorm());
+        Assert.assertEquals(v.dotProduct(v), normalEquations.getChiSquare(), 1.0e-12 * v.dotProduct(v));
+
+    }
+
+}
@@ -26,6 +26,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.Array2DRowRealMatrix;
@@ -38,6 +39,7 @@ import org.orekit.Utils;
 import org.orekit.bodies.CelestialBody;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.files.ccsds.OEMFile.EphemeridesBlock;
 import org.orekit.files.ccsds.OEMFile.OemSatelliteEphemeris;
@@ -291,6 +293,139 @@ public class OEMParserTest {
 
 
 
+    @Test
+    public void testStreaming() throws OrekitException {
+        final OEMParser parser = new OEMParser()
+                .withMu(CelestialBodyFactory.getEarth().getGM())
+                .withConventions(IERSConventions.IERS_2010);
+        final OEMFile regular = parser.parse(getClass().getResourceAsStream("/ccsds/OEMExample.txt"),
+                                             "OEMExample.txt");
+
+        final List<String> events = new ArrayList<>();
+        final List<TimeStampedPVCoordinates> streamedLines = new ArrayList<>();
+        final List<OEMFile.CovarianceMatrix> streamedCovariances = new ArrayList<>();
+        final OEMFile streamed = parser.parse(getClass().getResourceAsStream("/ccsds/OEMExample.txt"),
+                                              "OEMExample.txt", 2, new OEMHandler() {
+            public void startSegment(EphemeridesBlock block) {
+                events.add("start");
+            }
+            public void handleEphemeridesDataLines(EphemeridesBlock block,
+                                                   List<TimeStampedPVCoordinates> dataLines) {
+                Assert.assertTrue(dataLines.size() <= 2);
+                events.add("lines");
+                streamedLines.addAll(dataLines);
+            }
+            public void handleCovarianceMatrix(EphemeridesBlock block,
+                                               OEMFile.CovarianceMatrix matrix) {
+                events.add("covariance");
+                streamedCovariances.add(matrix);
+            }
+            public void endSegment(EphemeridesBlock block) {
+                events.add("end");
+            }
+        });
+
+        // only meta-data are stored in streaming mode
+        Assert.assertEquals(regular.getEphemeridesBlocks().size(), streamed.getEphemeridesBlocks().size());
+        Assert.assertEquals(3, events.stream().filter(e -> e.equals("start")).count());
+        Assert.assertEquals(3, events.stream().filter(e -> e.equals("end")).count());
+        Assert.assertEquals("start", events.get(0));
+        Assert.assertEquals("end", events.get(events.size() - 1));
+        final List<TimeStampedPVCoordinates> regularLines = new ArrayList<>();
+        final List<OEMFile.CovarianceMatrix> regularCovariances = new ArrayList<>();
+        for (int i = 0; i < regular.getEphemeridesBlocks().size(); ++i) {
+            final EphemeridesBlock regularBlock  = regular.getEphemeridesBlocks().get(i);
+            final EphemeridesBlock streamedBlock = streamed.getEphemeridesBlocks().get(i);
+            Assert.assertTrue(streamedBlock.getEphemeridesDataLines().isEmpty());
+            Assert.assertTrue(streamedBlock.getCovarianceMatrices().isEmpty());
+            Assert.assertEquals(regularBlock.getStart(), streamedBlock.getStart());
+            Assert.assertEquals(regularBlock.getAvailableDerivatives(), streamedBlock.getAvailableDerivatives());
+            regularLines.addAll(regularBlock.getEphemeridesDataLines());
+            regularCovariances.addAll(regularBlock.getCovarianceMatrices());
+        }
+
+        Assert.assertEquals(regularLines.size(), streamedLines.size());
+        for (int i = 0; i < regularLines.size(); ++i) {
+            Assert.assertEquals(regularLines.get(i).getDate(), streamedLines.get(i).getDate());
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(regularLines.get(i).getPosition(),
+                                                  streamedLines.get(i).getPosition()),
+                                1.0e-15);
+        }
+        Assert.assertEquals(regularCovariances.size(), streamedCovariances.size());
+        for (int i = 0; i < regularCovariances.size(); ++i) {
+            Assert.assertEquals(regularCovariances.get(i).getEpoch(), streamedCovariances.get(i).getEpoch());
+            Assert.assertEquals(0.0,
+                                regularCovariances.get(i).getMatrix().subtract(streamedCovariances.get(i).getMatrix()).getNorm(),
+                                1.0e-15);
+        }
+
+    }
+
+    @Test
+    public void testStreamingWrongChunkSize() throws OrekitException {
+        try {
+            new OEMParser().parse(getClass().getResourceAsStream("/ccsds/OEMExample.txt"),
+                                  "OEMExample.txt", 0, new OEMEphemerisBuilder("1996-062A"));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testStreamingNullHandler() throws OrekitException {
+        try {
+            new OEMParser().parse(getClass().getResourceAsStream("/ccsds/OEMExample.txt"),
+                                  "OEMExample.txt", 2, null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NULL_NOT_ALLOWED, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testStreamingEphemerisBuilder() throws OrekitException {
+        final OEMParser parser = new OEMParser()
+                .withMu(CelestialBodyFactory.getEarth().getGM())
+                .withConventions(IERSConventions.IERS_2010);
+        final OEMFile regular = parser.parse(getClass().getResourceAsStream("/ccsds/OEMExample6.txt"),
+                                             "OEMExample6.txt");
+        final BoundedPropagator regularPropagator = regular.getSatellites().get("1996-062A").getPropagator();
+
+        final OEMEphemerisBuilder builder = new OEMEphemerisBuilder("1996-062A");
+        parser.parse(getClass().getResourceAsStream("/ccsds/OEMExample6.txt"), "OEMExample6.txt", 3, builder);
+        Assert.assertEquals("1996-062A", builder.getObjectID());
+        Assert.assertEquals(3, builder.getSegments().size());
+        final BoundedPropagator streamedPropagator = builder.getPropagator();
+        Assert.assertEquals(regularPropagator.getMinDate(), streamedPropagator.getMinDate());
+        Assert.assertEquals(regularPropagator.getMaxDate(), streamedPropagator.getMaxDate());
+        final Frame eme2000 = FramesFactory.getEME2000();
+        int count = 0;
+        for (final EphemeridesBlock block : builder.getSegments()) {
+            for (final TimeStampedPVCoordinates dataLine : block.getCoordinates()) {
+                final AbsoluteDate date = dataLine.getDate();
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(regularPropagator.getPVCoordinates(date, eme2000).getPosition(),
+                                                      streamedPropagator.getPVCoordinates(date, eme2000).getPosition()),
+                                    1.0e-15);
+                ++count;
+            }
+        }
+        Assert.assertEquals(9, count);
+
+        final OEMEphemerisBuilder other = new OEMEphemerisBuilder("1998-067A");
+        parser.parse(getClass().getResourceAsStream("/ccsds/OEMExample6.txt"), "OEMExample6.txt", 3, other);
+        Assert.assertTrue(other.getSegments().isEmpty());
+        try {
+            other.getPropagator();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.VALUE_NOT_FOUND, oe.getSpecifier());
+        }
+
+    }
+
     @Test
     public void testParseOEM2()
             throws OrekitException, URISyntaxException {
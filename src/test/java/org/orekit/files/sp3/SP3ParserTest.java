@@ -19,17 +19,24 @@ package org.orekit.files.sp3;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.orekit.Utils;
 import org.orekit.data.NamedData;
 import org.orekit.data.UnixCompressFilter;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.files.sp3.SP3File.SP3Coordinate;
 import org.orekit.files.sp3.SP3File.SP3Ephemeris;
@@ -449,6 +456,170 @@ public class SP3ParserTest {
 
     }
 
+    @Test
+    public void testIndexedSameAsRegular() throws Exception {
+        final SP3Parser parser = new SP3Parser();
+        for (final String name : new String[] {
+            "example-a-1.sp3", "example-a-2.sp3", "example-c-1.sp3",
+            "example-c-2.sp3", "example-d-1.sp3", "example-d-2.sp3",
+            "gbm19500_truncated.sp3"
+        }) {
+            final String fileName = Paths.get(getClass().getResource("/sp3/" + name).toURI()).toString();
+            final SP3File regular = parser.parse(fileName);
+            final SP3File indexed = parser.parseIndexed(fileName);
+            Assert.assertFalse(regular.isIndexed());
+            Assert.assertTrue(indexed.isIndexed());
+            Assert.assertEquals(regular.getEpoch(), indexed.getEpoch());
+            Assert.assertEquals(regular.getNumberOfEpochs(), indexed.getNumberOfEpochs());
+            Assert.assertEquals(regular.getSatelliteCount(), indexed.getSatelliteCount());
+            Assert.assertEquals(regular.getTimeSystem(), indexed.getTimeSystem());
+            for (final String satId : regular.getSatellites().keySet()) {
+                final SP3Ephemeris re = regular.getSatellites().get(satId);
+                final SP3Ephemeris ie = indexed.getSatellites().get(satId);
+                Assert.assertEquals(re.getAccuracy(), ie.getAccuracy(), 1.0e-15);
+                Assert.assertEquals(re.getAvailableDerivatives(), ie.getAvailableDerivatives());
+                checkSameCoordinates(re.getCoordinates(), ie.getCoordinates());
+            }
+        }
+    }
+
+    @Test
+    public void testIndexedTimeRange() throws Exception {
+        // uncompress a large file, as indexed mode requires a regular file
+        final String ex = "/sp3/gbm18432.sp3.Z";
+        final NamedData compressed = new NamedData(ex, () -> getClass().getResourceAsStream(ex));
+        final Path sp3 = temporaryFolder.newFolder().toPath().resolve("gbm18432.sp3");
+        try (InputStream is = new UnixCompressFilter().filter(compressed).getStreamOpener().openStream()) {
+            Files.copy(is, sp3);
+        }
+
+        final SP3Parser parser = new SP3Parser();
+        final SP3File regular = parser.parse(sp3.toString());
+        final SP3File indexed = parser.parseIndexed(sp3.toString());
+        final List<SP3Coordinate> all = regular.getSatellites().get("R13").getCoordinates();
+        Assert.assertEquals(288, all.size());
+        final AbsoluteDate start = all.get(100).getDate().shiftedBy(10.0);
+        final AbsoluteDate stop  = all.get(120).getDate().shiftedBy(-10.0);
+
+        // 7 interpolation samples, hence 4 epochs margin on each side
+        final SP3Ephemeris regularRange = regular.getEphemeris("R13", start, stop);
+        final SP3Ephemeris indexedRange = indexed.getEphemeris("R13", start, stop);
+        checkSameCoordinates(all.subList(96, 125), regularRange.getCoordinates());
+        checkSameCoordinates(all.subList(96, 125), indexedRange.getCoordinates());
+        Assert.assertEquals(regular.getSatellites().get("R13").getAccuracy(), indexedRange.getAccuracy(), 1.0e-15);
+
+        // the propagator can be used throughout the range
+        final BoundedPropagator propagator = indexedRange.getPropagator();
+        Assert.assertTrue(propagator.getMinDate().compareTo(start) < 0);
+        Assert.assertTrue(propagator.getMaxDate().compareTo(stop) > 0);
+        final Frame frame = indexedRange.getFrame();
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(all.get(110).getPosition(),
+                                              propagator.getPVCoordinates(all.get(110).getDate(), frame).getPosition()),
+                            1.0e-6);
+
+        // range extending beyond file
+        checkSameCoordinates(all,
+                             indexed.getEphemeris("R13",
+                                                  all.get(0).getDate().shiftedBy(-3600.0),
+                                                  all.get(all.size() - 1).getDate().shiftedBy(3600.0)).getCoordinates());
+
+        try {
+            indexed.getEphemeris("XYZ", start, stop);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.CANNOT_FIND_SATELLITE_IN_SYSTEM, oe.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testIndexedSidecar() throws Exception {
+        final Path original = Paths.get(getClass().getResource("/sp3/example-c-2.sp3").toURI());
+        final Path sp3      = temporaryFolder.newFolder().toPath().resolve("example-c-2.sp3");
+        final Path sidecar  = sp3.resolveSibling("example-c-2.sp3.idx");
+        Files.copy(original, sp3);
+        final SP3Parser parser = new SP3Parser();
+
+        // first pass creates the index
+        Assert.assertFalse(Files.exists(sidecar));
+        final SP3File first = parser.parseIndexed(sp3.toString(), sidecar.toString());
+        Assert.assertTrue(Files.exists(sidecar));
+        final FileTime stamp = Files.getLastModifiedTime(sidecar);
+
+        // second pass reuses it
+        final SP3File second = parser.parseIndexed(sp3.toString(), sidecar.toString());
+        Assert.assertEquals(stamp, Files.getLastModifiedTime(sidecar));
+        Assert.assertEquals(first.getSatelliteCount(), second.getSatelliteCount());
+        checkSameCoordinates(first.getSatellites().get("G01").getCoordinates(),
+                             second.getSatellites().get("G01").getCoordinates());
+        checkSameCoordinates(parser.parse(original.toString()).getSatellites().get("G01").getCoordinates(),
+                             second.getSatellites().get("G01").getCoordinates());
+
+        // a corrupted sidecar is rebuilt
+        Files.write(sidecar, new byte[] { 1, 2, 3 });
+        final SP3File third = parser.parseIndexed(sp3.toString(), sidecar.toString());
+        checkSameCoordinates(first.getSatellites().get("G01").getCoordinates(),
+                             third.getSatellites().get("G01").getCoordinates());
+        Assert.assertTrue(Files.size(sidecar) > 3);
+
+    }
+
+    @Test
+    public void testIndexedMissingEOF() throws Exception {
+        final String fileName = Paths.get(getClass().getResource("/sp3/missing-eof.sp3").toURI()).toString();
+        try {
+            new SP3Parser().parseIndexed(fileName);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testIndexedWrongNumberOfEpochs() throws Exception {
+        final String fileName = Paths.get(getClass().getResource("/sp3/wrong-number-of-epochs.sp3").toURI()).toString();
+        try {
+            new SP3Parser().parseIndexed(fileName);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testIndexedCorruptedLine() throws Exception {
+        final Path original = Paths.get(getClass().getResource("/sp3/example-c-1.sp3").toURI());
+        final Path sp3      = temporaryFolder.newFolder().toPath().resolve("corrupted.sp3");
+        final String content = new String(Files.readAllBytes(original), StandardCharsets.US_ASCII);
+        Files.write(sp3, content.replaceFirst("PG03   9335.606450", "PG03   9335.6x6450").getBytes(StandardCharsets.US_ASCII));
+
+        // corrupted lines are not detected when building the index
+        final SP3File file = new SP3Parser().parseIndexed(sp3.toString());
+        Assert.assertEquals(2, file.getSatellites().get("G02").getCoordinates().size());
+        try {
+            file.getSatellites().get("G03").getCoordinates();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitExceptionWrapper oew) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, oew.getException().getSpecifier());
+            Assert.assertEquals(26, ((Integer) oew.getException().getParts()[0]).intValue());
+        }
+    }
+
+    private void checkSameCoordinates(final List<SP3Coordinate> expected, final List<SP3Coordinate> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(expected.get(i).getDate(), actual.get(i).getDate());
+            Assert.assertEquals(0.0, Vector3D.distance(expected.get(i).getPosition(), actual.get(i).getPosition()), 0.0);
+            Assert.assertEquals(0.0, Vector3D.distance(expected.get(i).getVelocity(), actual.get(i).getVelocity()), 0.0);
+            Assert.assertEquals(expected.get(i).getClockCorrection(), actual.get(i).getClockCorrection(), 0.0);
+            Assert.assertEquals(expected.get(i).getClockRateChange(), actual.get(i).getClockRateChange(), 0.0);
+        }
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void setUp() throws OrekitException {
         Utils.setDataRoot("regular-data");
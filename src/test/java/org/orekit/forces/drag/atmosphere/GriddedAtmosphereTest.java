@@ -0,0 +1,151 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.drag.atmosphere;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.TimeComponents;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinatesProvider;
+
+public class GriddedAtmosphereTest {
+
+    private PVCoordinatesProvider sun;
+    private OneAxisEllipsoid earth;
+    private AbsoluteDate date;
+
+    @Test
+    public void testAccuracy() throws OrekitException {
+        final HarrisPriester    hp      = new HarrisPriester(sun, earth);
+        final GriddedAtmosphere gridded = new GriddedAtmosphere(hp, earth, sun,
+                                                                200000.0, 900000.0, 5000.0,
+                                                                FastMath.toRadians(5.0),
+                                                                FastMath.toRadians(15.0),
+                                                                10800.0, 3, 4);
+        Assert.assertSame(hp, gridded.getUnderlyingAtmosphere());
+        Assert.assertSame(hp.getFrame(), gridded.getFrame());
+        Assert.assertEquals(200000.0, gridded.getMinAltitude(), 1.0e-10);
+        Assert.assertEquals(900000.0, gridded.getMaxAltitude(), 1.0e-10);
+
+        final Frame eme2000 = FramesFactory.getEME2000();
+        final RandomGenerator random = new Well19937a(0x7a1e8f35c2d94b60L);
+        double maxRelativeError = 0;
+        for (int i = 0; i < 2000; ++i) {
+            final AbsoluteDate  t  = date.shiftedBy(random.nextDouble() * 43200.0);
+            final GeodeticPoint gp = new GeodeticPoint(FastMath.asin(2 * random.nextDouble() - 1),
+                                                       2 * FastMath.PI * random.nextDouble(),
+                                                       250000.0 + 600000.0 * random.nextDouble());
+            final Vector3D p = earth.getBodyFrame().getTransformTo(eme2000, t).transformPosition(earth.transform(gp));
+            final double reference = hp.getDensity(t, p, eme2000);
+            final double rho       = gridded.getDensity(t, p, eme2000);
+            maxRelativeError = FastMath.max(maxRelativeError, FastMath.abs(rho - reference) / reference);
+        }
+        Assert.assertTrue(maxRelativeError < 0.02);
+
+    }
+
+    @Test
+    public void testLazyNodes() throws OrekitException {
+        final HarrisPriester    hp      = new HarrisPriester(sun, earth);
+        final GriddedAtmosphere gridded = new GriddedAtmosphere(hp, earth, sun,
+                                                                200000.0, 900000.0, 5000.0,
+                                                                FastMath.toRadians(5.0),
+                                                                FastMath.toRadians(15.0),
+                                                                10800.0, 1, 2);
+
+        // repeated evaluations close to the same point reuse the same nodes
+        // (point selected at the middle of a grid cell, 7.5° east of the Sun)
+        final Vector3D sunP = sun.getPVCoordinates(date, earth.getBodyFrame()).getPosition();
+        final Vector3D p = earth.transform(new GeodeticPoint(0.3,
+                                                             sunP.getAlpha() + FastMath.toRadians(7.5),
+                                                             402500.0));
+        for (int i = 0; i < 100; ++i) {
+            gridded.getDensity(date.shiftedBy(i), p.add(new Vector3D(i, 0, 0)), earth.getBodyFrame());
+        }
+        Assert.assertEquals(8, gridded.getEvaluatedNodes());
+
+        // a new bucket requires new nodes
+        gridded.getDensity(date.shiftedBy(86400.0), p, earth.getBodyFrame());
+        Assert.assertEquals(16, gridded.getEvaluatedNodes());
+
+        // after eviction, nodes are evaluated again
+        gridded.getDensity(date.shiftedBy(2 * 86400.0), p, earth.getBodyFrame());
+        gridded.getDensity(date, p, earth.getBodyFrame());
+        Assert.assertEquals(32, gridded.getEvaluatedNodes());
+
+        gridded.clearCache();
+        gridded.getDensity(date, p, earth.getBodyFrame());
+        Assert.assertEquals(40, gridded.getEvaluatedNodes());
+
+    }
+
+    @Test
+    public void testOutOfGrid() throws OrekitException {
+        final HarrisPriester    hp      = new HarrisPriester(sun, earth);
+        final GriddedAtmosphere gridded = new GriddedAtmosphere(hp, earth, sun,
+                                                                200000.0, 900000.0, 5000.0,
+                                                                FastMath.toRadians(5.0),
+                                                                FastMath.toRadians(15.0),
+                                                                10800.0, 3, 4);
+        final Vector3D p = earth.transform(new GeodeticPoint(0.3, 1.2, 150000.0));
+        Assert.assertEquals(hp.getDensity(date, p, earth.getBodyFrame()),
+                            gridded.getDensity(date, p, earth.getBodyFrame()),
+                            1.0e-25);
+        Assert.assertEquals(0, gridded.getEvaluatedNodes());
+    }
+
+    @Test
+    public void testTooFewNodes() {
+        try {
+            new GriddedAtmosphere(new HarrisPriester(sun, earth), earth, sun,
+                                  200000.0, 210000.0, 5000.0,
+                                  FastMath.toRadians(5.0), FastMath.toRadians(15.0),
+                                  10800.0, 3, 4);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(3, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(4, ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        sun   = CelestialBodyFactory.getSun();
+        earth = new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        date  = new AbsoluteDate(new DateComponents(2003, 03, 21), new TimeComponents(1, 0, 0.),
+                                 TimeScalesFactory.getUTC());
+    }
+
+}
@@ -19,6 +19,8 @@ package org.orekit.forces.drag.atmosphere;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.stream.IntStream;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
@@ -56,6 +58,12 @@ import org.orekit.utils.PVCoordinatesProvider;
 
 public class NRLMSISE00Test {
 
+    @Test
+    public void testWorkspaceDoesNotReferenceModel() {
+        // per-thread workspaces must not prevent the model from being garbage collected
+        Assert.assertTrue(Modifier.isStatic(getOutputClass().getModifiers()));
+    }
+
     @Test
     public void testLegacy() throws OrekitException,
                                     NoSuchMethodException, SecurityException, InstantiationException,
@@ -221,7 +229,8 @@ public class NRLMSISE00Test {
         final double[] ap  = {4., 100., 100., 100., 100., 100., 100.};
 
         Class<?> outputClass = getOutputClass();
-        Constructor<?> cons = outputClass.getDeclaredConstructor(NRLMSISE00.class,
+        Constructor<?> cons = outputClass.getDeclaredConstructor(int[].class,
+                                                                 int[].class,
                                                                  Integer.TYPE,
                                                                  Double.TYPE,
                                                                  Double.TYPE,
@@ -278,6 +287,61 @@ public class NRLMSISE00Test {
 
     }
 
+    @Test
+    public void testWorkspaceReuse() throws OrekitException {
+        final InputParams ip = new InputParams();
+        final PVCoordinatesProvider sun = CelestialBodyFactory.getSun();
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING, itrf);
+        final NRLMSISE00 reused = new NRLMSISE00(ip, sun, earth);
+        final AbsoluteDate t0 = new AbsoluteDate(new DateComponents(2003, 172),
+                                                 new TimeComponents(29000.),
+                                                 TimeScalesFactory.getUT1(IERSConventions.IERS_2010, true));
+
+        // random points, some sharing date or latitude with the previous one,
+        // covering all altitude layers and several days
+        final RandomGenerator random = new Well19937a(0x2f4a6c8e0b1d3f57l);
+        final int n = 500;
+        final AbsoluteDate[] dates     = new AbsoluteDate[n];
+        final Vector3D[]     positions = new Vector3D[n];
+        final double[]       expected  = new double[n];
+        double lat = 0.0;
+        AbsoluteDate date = t0;
+        for (int i = 0; i < n; ++i) {
+            if (random.nextBoolean()) {
+                date = t0.shiftedBy(5 * Constants.JULIAN_DAY * random.nextDouble());
+            }
+            if (random.nextBoolean()) {
+                lat = FastMath.asin(2 * random.nextDouble() - 1);
+            }
+            dates[i]     = date;
+            positions[i] = earth.transform(new GeodeticPoint(lat,
+                                                             2 * FastMath.PI * random.nextDouble(),
+                                                             1.0e6 * random.nextDouble()));
+            expected[i]  = new NRLMSISE00(ip, sun, earth).getDensity(dates[i], positions[i], itrf);
+        }
+
+        // sequential evaluation with the same instance
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals(expected[i], reused.getDensity(dates[i], positions[i], itrf), 0.0);
+        }
+
+        // concurrent evaluation with the same instance
+        final double[] concurrent = new double[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            try {
+                concurrent[i] = reused.getDensity(dates[i], positions[i], itrf);
+            } catch (OrekitException oe) {
+                concurrent[i] = Double.NaN;
+            }
+        });
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals(expected[i], concurrent[i], 0.0);
+        }
+
+    }
+
     @Test
     public void testDensityGradient() throws OrekitException {
         // Build the input params provider
@@ -652,7 +716,8 @@ public class NRLMSISE00Test {
                                 final double f107a, final double f107, final double[] ap) {
         try {
             Class<?> outputClass = getOutputClass();
-            Constructor<?> cons = outputClass.getDeclaredConstructor(NRLMSISE00.class,
+            Constructor<?> cons = outputClass.getDeclaredConstructor(int[].class,
+                                                                     int[].class,
                                                                      Integer.TYPE,
                                                                      Double.TYPE,
                                                                      Double.TYPE,
@@ -663,8 +728,14 @@ public class NRLMSISE00Test {
                                                                      double[].class);
             cons.setAccessible(true);
 
-            return cons.newInstance(atm, doy, sec, lat, lon, hl, f107a, f107, ap);
-        } catch (NoSuchMethodException | SecurityException | InstantiationException |
+            java.lang.reflect.Field swField  = NRLMSISE00.class.getDeclaredField("sw");
+            swField.setAccessible(true);
+            java.lang.reflect.Field swcField = NRLMSISE00.class.getDeclaredField("swc");
+            swcField.setAccessible(true);
+
+            return cons.newInstance(swField.get(atm), swcField.get(atm),
+                                    doy, sec, lat, lon, hl, f107a, f107, ap);
+        } catch (NoSuchMethodException | NoSuchFieldException | SecurityException | InstantiationException |
                  IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             Assert.fail(e.getLocalizedMessage());
             return null;
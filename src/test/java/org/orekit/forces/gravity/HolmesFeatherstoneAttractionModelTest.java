@@ -19,6 +19,11 @@ package org.orekit.forces.gravity;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import org.hipparchus.Field;
@@ -26,6 +31,7 @@ import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.dfp.Dfp;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
@@ -52,6 +58,7 @@ import org.orekit.Utils;
 import org.orekit.attitudes.LofOffset;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.AbstractForceModel;
@@ -167,12 +174,12 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
         java.lang.reflect.Field providerField = HolmesFeatherstoneAttractionModel.class.getDeclaredField("provider");
         providerField.setAccessible(true);
         NormalizedSphericalHarmonicsProvider provider = (NormalizedSphericalHarmonicsProvider) providerField.get(hfModel);
-        java.lang.reflect.Method createDistancePowersArrayMethod =
-                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("createDistancePowersArray", Double.TYPE);
-        createDistancePowersArrayMethod.setAccessible(true);
-        java.lang.reflect.Method createCosSinArraysMethod =
-                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("createCosSinArrays", Double.TYPE, Double.TYPE);
-        createCosSinArraysMethod.setAccessible(true);
+        java.lang.reflect.Method computeDistancePowersMethod =
+                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("computeDistancePowers", Double.TYPE, double[].class);
+        computeDistancePowersMethod.setAccessible(true);
+        java.lang.reflect.Method computeCosSinMethod =
+                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("computeCosSin", Double.TYPE, Double.TYPE, double[][].class);
+        computeCosSinMethod.setAccessible(true);
         java.lang.reflect.Method computeTesseralMethod =
                         HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("computeTesseral",
                                                                                   Integer.TYPE, Integer.TYPE, Integer.TYPE,
@@ -209,10 +216,12 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = (double[]) createDistancePowersArrayMethod.invoke(hfModel, provider.getAe() / r);
+        final double[] aOrN = (double[]) computeDistancePowersMethod.invoke(hfModel, provider.getAe() / r,
+                                                                            new double[degree + 1]);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = (double[][]) createCosSinArraysMethod.invoke(hfModel, position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = (double[][]) computeCosSinMethod.invoke(hfModel, position.getX() / rho, position.getY() / rho,
+                                                                                new double[2][order + 1]);
 
         // outer summation over order
         int    index = 0;
@@ -682,6 +691,136 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
 
     }
 
+    @Test
+    public void testSharedModelAcrossThreads() throws Exception {
+
+        int max = 50;
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(max, max);
+        final HolmesFeatherstoneAttractionModel shared =
+                new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        // reference values, computed with fresh instances
+        final List<Vector3D> positions = new ArrayList<>();
+        final List<double[]> reference = new ArrayList<>();
+        for (double lambda = 0; lambda < 2 * FastMath.PI; lambda += 0.5) {
+            for (double theta = 0.05; theta < 3.11; theta += 0.1) {
+                Vector3D position = new Vector3D(1.25 * FastMath.sin(theta) * FastMath.cos(lambda),
+                                                 1.25 * FastMath.sin(theta) * FastMath.sin(lambda),
+                                                 1.25 * FastMath.cos(theta));
+                positions.add(position);
+                reference.add(new HolmesFeatherstoneAttractionModel(itrf, provider).gradient(null, position, 1.0));
+            }
+        }
+
+        // reuse the same instance from several threads simultaneously
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Boolean>> futures = new ArrayList<>();
+        for (int k = 0; k < 8; ++k) {
+            futures.add(executor.submit(() -> {
+                for (int loop = 0; loop < 5; ++loop) {
+                    for (int i = 0; i < positions.size(); ++i) {
+                        final double[] gradient = shared.gradient(null, positions.get(i), 1.0);
+                        for (int j = 0; j < 3; ++j) {
+                            if (Double.doubleToRawLongBits(gradient[j]) !=
+                                Double.doubleToRawLongBits(reference.get(i)[j])) {
+                                return false;
+                            }
+                        }
+                    }
+                }
+                return true;
+            }));
+        }
+        executor.shutdown();
+        for (final Future<Boolean> future : futures) {
+            Assert.assertTrue(future.get());
+        }
+
+    }
+
+    @Test
+    public void testBulkEvaluation() throws OrekitException {
+
+        int max = 50;
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(max, max);
+        HolmesFeatherstoneAttractionModel model =
+                new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        // number of points is not a multiple of the internal block size
+        List<Vector3D> points = new ArrayList<>();
+        for (double lambda = 0; lambda < 2 * FastMath.PI; lambda += 0.5) {
+            for (double theta = 0.05; theta < 3.11; theta += 0.1) {
+                points.add(new Vector3D(1.25 * FastMath.sin(theta) * FastMath.cos(lambda),
+                                        1.25 * FastMath.sin(theta) * FastMath.sin(lambda),
+                                        1.25 * FastMath.cos(theta)));
+            }
+        }
+        double[] positions = new double[3 * points.size()];
+        for (int i = 0; i < points.size(); ++i) {
+            System.arraycopy(points.get(i).toArray(), 0, positions, 3 * i, 3);
+        }
+
+        // values only
+        double[] values = new double[points.size()];
+        model.nonCentralPart(null, positions, 1.0, values, null, null, false);
+        for (int i = 0; i < points.size(); ++i) {
+            double ref = model.nonCentralPart(null, points.get(i), 1.0);
+            Assert.assertEquals(ref, values[i], 1.0e-14 * FastMath.abs(ref));
+        }
+
+        // values and gradients
+        double[] gradients = new double[3 * points.size()];
+        model.nonCentralPart(null, positions, 1.0, values, gradients, null, false);
+        for (int i = 0; i < points.size(); ++i) {
+            double ref = model.nonCentralPart(null, points.get(i), 1.0);
+            Assert.assertEquals(ref, values[i], 1.0e-14 * FastMath.abs(ref));
+            Vector3D gradient = new Vector3D(model.gradient(null, points.get(i), 1.0));
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(gradient, new Vector3D(gradients[3 * i],
+                                                                         gradients[3 * i + 1],
+                                                                         gradients[3 * i + 2])),
+                                1.0e-14 * gradient.getNorm());
+        }
+
+        // gradients and Hessians, in parallel
+        double[] hessians = new double[9 * points.size()];
+        model.nonCentralPart(null, positions, 1.0, null, gradients, hessians, true);
+        for (int i = 0; i < points.size(); ++i) {
+            GradientHessian gh = gradientHessian(model, null, points.get(i));
+            double gNorm = new Vector3D(gh.getGradient()).getNorm();
+            double hNorm = new Array2DRowRealMatrix(gh.getHessian(), false).getNorm();
+            for (int j = 0; j < 3; ++j) {
+                Assert.assertEquals(gh.getGradient()[j], gradients[3 * i + j], 1.0e-14 * gNorm);
+                for (int k = 0; k < 3; ++k) {
+                    Assert.assertEquals(gh.getHessian()[j][k], hessians[9 * i + 3 * j + k], 1.0e-13 * hNorm);
+                }
+            }
+        }
+
+        try {
+            model.nonCentralPart(null, positions, 1.0, null, new double[3], null, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+
+        try {
+            model.nonCentralPart(null, new double[positions.length - 1], 1.0,
+                                 values, null, null, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+
+        try {
+            model.nonCentralPart(null, positions, 1.0, null, null, null, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NULL_NOT_ALLOWED, oiae.getSpecifier());
+        }
+
+    }
+
     @Test
     public void testHessian() throws OrekitException {
 
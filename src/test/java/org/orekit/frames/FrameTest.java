@@ -18,6 +18,7 @@ package org.orekit.frames;
 
 import java.util.Random;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
@@ -28,8 +29,11 @@ import org.orekit.Utils;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.AngularDerivativesFilter;
+import org.orekit.utils.CartesianDerivativesFilter;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
@@ -228,6 +232,72 @@ public class FrameTest {
 
     }
 
+    @Test
+    public void testTransformsCache() throws OrekitException {
+        Frame gcrf = FramesFactory.getGCRF();
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        Frame tod  = FramesFactory.getTOD(IERSConventions.IERS_2010, true);
+        Frame local = new Frame(FramesFactory.getGCRF(), Transform.IDENTITY, "local");
+        AbsoluteDate t0 = new AbsoluteDate("2010-07-01T10:42:09", TimeScalesFactory.getUTC());
+        try {
+
+            // caching is disabled by default
+            Assert.assertEquals(0, local.getTransformsCacheSize());
+            Assert.assertNotSame(local.getTransformTo(itrf, t0), local.getTransformTo(itrf, t0));
+
+            local.setTransformsCacheSize(2);
+            Assert.assertEquals(2, local.getTransformsCacheSize());
+            Transform t1 = local.getTransformTo(itrf, t0);
+            Assert.assertSame(t1, local.getTransformTo(itrf, t0));
+            Assert.assertSame(t1, local.getTransformTo(itrf, new AbsoluteDate(t0, 0.0)));
+            checkNoTransform(new Transform(t0, t1, gcrf.getTransformTo(itrf, t0).getInverse()), new Random(0x9d7ce56e7c3af8a7l));
+
+            // different dates or destinations are cached separately
+            Transform t2 = local.getTransformTo(itrf, t0.shiftedBy(1.0));
+            Assert.assertNotSame(t1, t2);
+            Assert.assertEquals(1.0, t2.getDate().durationFrom(t1.getDate()), 1.0e-15);
+            Transform t3 = local.getTransformTo(tod, t0);
+            Assert.assertSame(t3, local.getTransformTo(tod, t0));
+
+            // the least recently used transform has been evicted
+            Assert.assertNotSame(t1, local.getTransformTo(itrf, t0));
+
+            // reset the cache
+            local.setTransformsCacheSize(0);
+            Assert.assertNotSame(t3, local.getTransformTo(tod, t0));
+
+            try {
+                local.setTransformsCacheSize(-1);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitIllegalArgumentException oiae) {
+                Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+            }
+
+        } finally {
+            local.setTransformsCacheSize(0);
+        }
+    }
+
+    @Test
+    public void testTransformProviderTo() throws OrekitException {
+        Frame gcrf = FramesFactory.getGCRF();
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        AbsoluteDate t0 = new AbsoluteDate("2010-07-01T10:42:09", TimeScalesFactory.getUTC());
+        TransformProvider interpolating =
+                        new InterpolatingTransformProvider(gcrf.getTransformProviderTo(itrf),
+                                                           CartesianDerivativesFilter.USE_PVA,
+                                                           AngularDerivativesFilter.USE_RR,
+                                                           8, 60.0, 10, Constants.JULIAN_DAY, 3600.0);
+        for (double dt = 0; dt < 3600; dt += 17.0) {
+            AbsoluteDate date = t0.shiftedBy(dt);
+            Transform exact       = gcrf.getTransformTo(itrf, date);
+            Transform interpolated = interpolating.getTransform(date);
+            Transform error = new Transform(date, exact.getInverse(), interpolated);
+            Assert.assertEquals(0.0, error.getRotation().getAngle(), 1.0e-13);
+            Assert.assertEquals(0.0, error.getRotationRate().getNorm(), 1.0e-14);
+        }
+    }
+
     private Transform randomTransform(Random random) {
         Transform transform = Transform.IDENTITY;
         for (int i = random.nextInt(10); i > 0; --i) {
@@ -71,6 +71,46 @@ public class FramesFactoryTest {
         Assert.assertNull(FramesFactory.getFrame(Predefined.GCRF).getParent());
     }
 
+    @Test
+    public void testTabulatedITRF() throws OrekitException {
+        final Frame gcrf = FramesFactory.getGCRF();
+        for (final boolean simpleEOP : new boolean[] { true, false }) {
+            final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, simpleEOP);
+            final EOPHistory history = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, simpleEOP);
+            final AbsoluteDate start = history.getStartDate().shiftedBy(10 * Constants.JULIAN_DAY);
+            final AbsoluteDate end   = history.getEndDate().shiftedBy(-13 * Constants.JULIAN_DAY);
+            final AbsoluteDate[] windows = new AbsoluteDate[] {
+                start, start.shiftedBy(0.5 * end.durationFrom(start)), end
+            };
+            for (final TabulatedITRFAccuracy accuracy : TabulatedITRFAccuracy.values()) {
+                final Frame tabulated = FramesFactory.getTabulatedITRF(IERSConventions.IERS_2010, simpleEOP, accuracy);
+                Assert.assertSame(tabulated, FramesFactory.getTabulatedITRF(IERSConventions.IERS_2010, simpleEOP, accuracy));
+                Assert.assertSame(gcrf, tabulated.getParent());
+                Assert.assertFalse(tabulated.isPseudoInertial());
+                Assert.assertTrue(tabulated.getName().endsWith(itrf.getName()));
+                for (final AbsoluteDate t0 : windows) {
+                    double maxError = 0;
+                    for (double dt = 0; dt < 3 * Constants.JULIAN_DAY; dt += 97.0) {
+                        final AbsoluteDate date = t0.shiftedBy(dt);
+                        final Transform error = new Transform(date,
+                                                              gcrf.getTransformTo(itrf, date).getInverse(),
+                                                              gcrf.getTransformTo(tabulated, date));
+                        maxError = FastMath.max(maxError, error.getRotation().getAngle());
+                        Assert.assertEquals(0.0, error.getRotationRate().getNorm(),
+                                            1.0e-12 + accuracy.getAngularAccuracy() / accuracy.getStep());
+                    }
+                    Assert.assertTrue(maxError < accuracy.getAngularAccuracy());
+                    Assert.assertTrue(maxError > 1.0e-4 * accuracy.getAngularAccuracy());
+                }
+            }
+        }
+        Assert.assertNotSame(FramesFactory.getTabulatedITRF(IERSConventions.IERS_2010, true, TabulatedITRFAccuracy.ONE_MAS),
+                             FramesFactory.getTabulatedITRF(IERSConventions.IERS_2003, true, TabulatedITRFAccuracy.ONE_MAS));
+        Assert.assertEquals(1.0e-3 * Constants.ARC_SECONDS_TO_RADIANS,
+                            TabulatedITRFAccuracy.ONE_MAS.getAngularAccuracy(), 1.0e-20);
+        Assert.assertEquals(1800.0, TabulatedITRFAccuracy.ONE_MAS.getStep(), 1.0e-15);
+    }
+
     @Test
     public void testWrongSupportedFileNames1980() throws OrekitException {
         FramesFactory.addDefaultEOP1980HistoryLoaders("wrong-rapidDataColumns-1980",
@@ -17,8 +17,11 @@
 package org.orekit.propagation;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -34,6 +37,7 @@ import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.attitudes.BodyCenterPointing;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.ForceModel;
 import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
@@ -46,9 +50,13 @@ import org.orekit.orbits.Orbit;
 import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.events.ApsideDetector;
 import org.orekit.propagation.events.DateDetector;
+import org.orekit.propagation.events.NodeDetector;
+import org.orekit.propagation.events.handlers.EventHandler.Action;
 import org.orekit.propagation.events.handlers.StopOnEvent;
 import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
 import org.orekit.time.TimeComponents;
@@ -142,6 +150,53 @@ public class PropagatorsParallelizerTest {
 
     }
 
+    @Test
+    public void testAnalyticalWithDetectors() throws OrekitException {
+
+        final AbsoluteDate startDate =  orbit.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(3 * orbit.getKeplerianPeriod());
+        final Propagator reference   = buildEcksteinHechler();
+
+        // several detectors on each propagator, so states are shared between them during events detection
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(), buildEcksteinHechler());
+        final int[] events = new int[propagators.size()];
+        for (int i = 0; i < propagators.size(); ++i) {
+            final int index = i;
+            propagators.get(i).addEventDetector(new NodeDetector(orbit, orbit.getFrame()).
+                                                withHandler((s, detector, increasing) -> {
+                                                    ++events[index];
+                                                    return Action.CONTINUE;
+                                                }));
+            propagators.get(i).addEventDetector(new ApsideDetector(orbit).
+                                                withHandler((s, detector, increasing) -> {
+                                                    ++events[index];
+                                                    return Action.CONTINUE;
+                                                }));
+        }
+
+        // the global handler interpolates states while propagators threads go on detecting events
+        final int[] checks = new int[1];
+        new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {
+            for (final OrekitStepInterpolator interpolator : interpolators) {
+                final AbsoluteDate t0 = interpolator.getPreviousState().getDate();
+                final double       dt = interpolator.getCurrentState().getDate().durationFrom(t0);
+                for (int k = 0; k <= 10; ++k) {
+                    final AbsoluteDate t = t0.shiftedBy(0.1 * k * dt);
+                    Assert.assertEquals(0.0,
+                                        Vector3D.distance(reference.getPVCoordinates(t, orbit.getFrame()).getPosition(),
+                                                          interpolator.getInterpolatedState(t).getPVCoordinates().getPosition()),
+                                        1.0e-15);
+                    ++checks[0];
+                }
+            }
+        }).propagate(startDate, endDate);
+
+        Assert.assertTrue(events[0] >= 10);
+        Assert.assertEquals(events[0], events[1]);
+        Assert.assertTrue(checks[0] > 1000);
+
+    }
+
     @Test
     public void testVsNumericalMonoSat() throws OrekitException {
 
@@ -244,6 +299,136 @@ public class PropagatorsParallelizerTest {
         Assert.assertEquals(0.0, results.get(1).getDate().durationFrom(stopDate), 1.0e-15);
     }
 
+    @Test
+    public void testBufferedSharedExecutor() throws OrekitException {
+
+        final AbsoluteDate startDate =  orbit.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(3600.0);
+
+        // reference run, with direct steps hand over
+        final List<Vector3D> reference = new ArrayList<>();
+        new PropagatorsParallelizer(Arrays.asList(buildNumerical(), buildNumerical(),
+                                                  buildNumerical(), buildNumerical()),
+                                    (interpolators, islast) ->
+                                    reference.add(interpolators.get(0).getCurrentState().getPVCoordinates().getPosition())).
+        propagate(startDate, endDate);
+
+        List<Propagator> propagators = Arrays.asList(buildNumerical(), buildNumerical(),
+                                                     buildNumerical(), buildNumerical());
+
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            final int[] count = new int[1];
+            PropagatorsParallelizer parallelizer =
+                            new PropagatorsParallelizer(propagators,
+                                                        (interpolators, islast) -> {
+                                                            Assert.assertEquals(4, interpolators.size());
+                                                            AbsoluteDate prev = interpolators.get(0).getPreviousState().getDate();
+                                                            AbsoluteDate curr = interpolators.get(0).getCurrentState().getDate();
+                                                            Vector3D pos0 = interpolators.get(0).getCurrentState().getPVCoordinates().getPosition();
+                                                            Vector3D rPos = reference.get(count[0]++);
+                                                            for (final OrekitStepInterpolator interpolator : interpolators) {
+                                                                Assert.assertEquals(0.0, interpolator.getPreviousState().getDate().durationFrom(prev), 1.0e-15);
+                                                                Assert.assertEquals(0.0, interpolator.getCurrentState().getDate().durationFrom(curr), 1.0e-15);
+                                                                Vector3D nPos = interpolator.getCurrentState().getPVCoordinates().getPosition();
+                                                                Assert.assertEquals(0, Vector3D.distance(pos0, nPos), 1.0e-15);
+                                                                Assert.assertEquals(0, Vector3D.distance(rPos, nPos), 1.0e-4);
+                                                            }
+                                                        },
+                                                        executorService, 2, 8);
+
+            // the same parallelizer and executor can be used several times
+            for (int k = 0; k < 2; ++k) {
+                count[0] = 0;
+                List<SpacecraftState> results = parallelizer.propagate(startDate, endDate);
+                Assert.assertEquals(reference.size(), count[0]);
+                Assert.assertEquals(4, results.size());
+                for (final SpacecraftState state : results) {
+                    Assert.assertEquals(0.0, state.getDate().durationFrom(endDate), 1.0e-15);
+                }
+            }
+
+            // the executor is not shut down by the parallelizer
+            Assert.assertFalse(executorService.isShutdown());
+
+        } finally {
+            executorService.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testEarlyStopSharedExecutor() throws OrekitException {
+        final AbsoluteDate startDate =  orbit.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(3600.0);
+        final AbsoluteDate stopDate  = startDate.shiftedBy(900.0);
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            List<Propagator> propagators = Arrays.asList(buildNumerical(), buildNumerical(), buildNumerical());
+            propagators.get(1).addEventDetector(new DateDetector(stopDate).withHandler(new StopOnEvent<>()));
+            List<SpacecraftState> results = new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {},
+                                                                        executorService, 1, 4).
+                                            propagate(startDate, endDate);
+            Assert.assertEquals(3, results.size());
+            for (final SpacecraftState state : results) {
+                Assert.assertEquals(0.0, state.getDate().durationFrom(stopDate), 1.0e-15);
+            }
+
+            propagators = Arrays.asList(buildEcksteinHechler(), buildNumerical());
+            propagators.get(0).addEventDetector(new DateDetector(stopDate).
+                                                withHandler((state, detector, increasing) -> {
+                                                    throw new OrekitException(LocalizedCoreFormats.SIMPLE_MESSAGE,
+                                                                              "inTest");
+                                                }));
+            try {
+                new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, executorService, 1, 0).
+                propagate(startDate, endDate);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals("inTest", (String) oe.getParts()[0]);
+            }
+            Assert.assertFalse(executorService.isShutdown());
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTooSmallExecutor() throws OrekitException {
+        final AbsoluteDate startDate =  orbit.getDate();
+        final ExecutorService executorService = Executors.newFixedThreadPool(1);
+        try {
+            List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(), buildNumerical());
+            new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, executorService, 2, 0).
+            propagate(startDate, startDate.shiftedBy(60.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oe.getSpecifier());
+            Assert.assertEquals(1, ((Integer) oe.getParts()[0]).intValue());
+            Assert.assertEquals(2, ((Integer) oe.getParts()[1]).intValue());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWrongSettings() throws OrekitException {
+        List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(), buildNumerical());
+        try {
+            new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, null, 0, 0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, null, 1, -1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
     private EcksteinHechlerPropagator buildEcksteinHechler() throws OrekitException {
         return new EcksteinHechlerPropagator(orbit, attitudeLaw, mass, unnormalizedGravityField);
     }
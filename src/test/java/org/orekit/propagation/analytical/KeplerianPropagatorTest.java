@@ -25,8 +25,11 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.exception.DummyLocalizable;
@@ -69,8 +72,10 @@ import org.orekit.propagation.events.AltitudeDetector;
 import org.orekit.propagation.events.ApsideDetector;
 import org.orekit.propagation.events.DateDetector;
 import org.orekit.propagation.events.ElevationDetector;
+import org.orekit.propagation.events.FunctionalDetector;
 import org.orekit.propagation.events.NodeDetector;
 import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.propagation.events.handlers.EventHandler.Action;
 import org.orekit.propagation.sampling.OrekitFixedStepHandler;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepHandlerMultiplexer;
@@ -749,6 +754,87 @@ public class KeplerianPropagatorTest {
 
     }
 
+    @Test
+    public void testSharedEventStates() throws OrekitException {
+        final KeplerianOrbit orbit =
+            new KeplerianOrbit(7.8e6, 0.032, 0.4, 0.1, 0.2, 0.3, PositionAngle.TRUE,
+                               FramesFactory.getEME2000(), AbsoluteDate.J2000_EPOCH, 3.986004415e14);
+        final AbsoluteDate target = orbit.getDate().shiftedBy(10000.0);
+
+        // with cache, the second detector sees only states already built for the first one
+        final KeplerianPropagator propagator = new KeplerianPropagator(orbit);
+        Assert.assertEquals(AbstractAnalyticalPropagator.DEFAULT_EVENT_STATES_CACHE_SIZE,
+                            propagator.getEventStatesCacheSize());
+        final Set<SpacecraftState> a = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<SpacecraftState> b = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<AbsoluteDate>   events = new ArrayList<>();
+        propagator.addEventDetector(zDetector(a, events));
+        propagator.addEventDetector(zDetector(b, new ArrayList<>()));
+
+        // step handlers do not use the cache, even at events dates
+        final Set<SpacecraftState> handled = Collections.newSetFromMap(new IdentityHashMap<>());
+        propagator.setEphemerisMode((interpolator, isLast) -> {
+            for (final AbsoluteDate date : events) {
+                handled.add(interpolator.getInterpolatedState(date));
+            }
+        });
+
+        propagator.propagate(target);
+        Assert.assertFalse(events.isEmpty());
+        Assert.assertTrue(a.size() > 50);
+        Assert.assertTrue(a.containsAll(b));
+        Assert.assertFalse(handled.isEmpty());
+        for (final SpacecraftState s : handled) {
+            Assert.assertFalse(a.contains(s));
+        }
+
+    }
+
+    @Test
+    public void testSingleDetectorStatesCache() throws OrekitException {
+        // with a single detector, the cache does not add any state computation
+        final int withCache    = countComputedStates(AbstractAnalyticalPropagator.DEFAULT_EVENT_STATES_CACHE_SIZE);
+        final int withoutCache = countComputedStates(0);
+        Assert.assertTrue(withCache > 150);
+        Assert.assertTrue(withCache <= withoutCache);
+    }
+
+    private int countComputedStates(final int cacheSize) throws OrekitException {
+        final KeplerianOrbit orbit =
+            new KeplerianOrbit(7.8e6, 0.032, 0.4, 0.1, 0.2, 0.3, PositionAngle.TRUE,
+                               FramesFactory.getEME2000(), AbsoluteDate.J2000_EPOCH, 3.986004415e14);
+        final KeplerianPropagator propagator = new KeplerianPropagator(orbit);
+        propagator.setEventStatesCacheSize(cacheSize);
+        final int[] count = new int[1];
+        propagator.addAdditionalStateProvider(new AdditionalStateProvider() {
+            public String getName() {
+                return "count";
+            }
+            public double[] getAdditionalState(final SpacecraftState state) {
+                return new double[] { ++count[0] };
+            }
+        });
+        final List<AbsoluteDate> events = new ArrayList<>();
+        propagator.addEventDetector(zDetector(Collections.newSetFromMap(new IdentityHashMap<>()), events));
+        propagator.propagate(orbit.getDate().shiftedBy(10000.0));
+        Assert.assertFalse(events.isEmpty());
+        return count[0];
+    }
+
+    private FunctionalDetector zDetector(final Set<SpacecraftState> states, final List<AbsoluteDate> events) {
+        return new FunctionalDetector().
+               withMaxCheck(60.0).
+               withThreshold(1.0e-6).
+               withGFunction(s -> {
+                   states.add(s);
+                   return s.getPVCoordinates().getPosition().getZ();
+               }).
+               withHandler((s, detector, increasing) -> {
+                   events.add(s.getDate());
+                   return Action.CONTINUE;
+               });
+    }
+
     private static class SevenProvider implements AdditionalStateProvider, Serializable {
         private static final long serialVersionUID = 1L;
         public String getName() {
@@ -0,0 +1,156 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.PVCoordinates;
+
+public class TLEBatchPropagatorTest {
+
+    private List<TLE> tles;
+    private AbsoluteDate[] dates;
+
+    @Test
+    public void testSequential() throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        Assert.assertEquals(tles.size(), batch.getSize());
+        double[] positions  = new double[3 * tles.size() * dates.length];
+        double[] velocities = new double[3 * tles.size() * dates.length];
+        batch.propagate(dates, positions, velocities);
+        checkBitForBit(positions, velocities);
+    }
+
+    @Test
+    public void testSingleDate() throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        double[] positions  = new double[3 * tles.size()];
+        double[] velocities = new double[3 * tles.size()];
+        batch.propagate(dates[dates.length - 1], positions, velocities);
+        for (int k = 0; k < tles.size(); ++k) {
+            PVCoordinates pv = TLEPropagator.selectExtrapolator(tles.get(k)).getPVCoordinates(dates[dates.length - 1]);
+            Assert.assertEquals(pv.getPosition().getX(), positions[3 * k],      0.0);
+            Assert.assertEquals(pv.getPosition().getY(), positions[3 * k + 1],  0.0);
+            Assert.assertEquals(pv.getPosition().getZ(), positions[3 * k + 2],  0.0);
+            Assert.assertEquals(pv.getVelocity().getX(), velocities[3 * k],     0.0);
+            Assert.assertEquals(pv.getVelocity().getY(), velocities[3 * k + 1], 0.0);
+            Assert.assertEquals(pv.getVelocity().getZ(), velocities[3 * k + 2], 0.0);
+        }
+    }
+
+    @Test
+    public void testParallel() throws OrekitException {
+        // use many copies of the same TLE to get several chunks
+        List<TLE> many = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            many.addAll(tles);
+        }
+        TLEBatchPropagator sequential = new TLEBatchPropagator(many);
+        TLEBatchPropagator parallel   = new TLEBatchPropagator(many);
+        double[] pSeq = new double[3 * many.size() * dates.length];
+        double[] vSeq = new double[3 * many.size() * dates.length];
+        double[] pPar = new double[3 * many.size() * dates.length];
+        double[] vPar = new double[3 * many.size() * dates.length];
+        sequential.propagate(dates, pSeq, vSeq);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            parallel.propagate(dates, pPar, vPar, executor);
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertArrayEquals(pSeq, pPar, 0.0);
+        Assert.assertArrayEquals(vSeq, vPar, 0.0);
+    }
+
+    @Test
+    public void testWrongDimension() throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        try {
+            batch.propagate(dates, new double[3 * tles.size() * dates.length - 1],
+                            new double[3 * tles.size() * dates.length]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    private void checkBitForBit(final double[] positions, final double[] velocities)
+        throws OrekitException {
+        for (int k = 0; k < tles.size(); ++k) {
+            TLEPropagator reference = TLEPropagator.selectExtrapolator(tles.get(k));
+            for (int d = 0; d < dates.length; ++d) {
+                PVCoordinates pv = reference.getPVCoordinates(dates[d]);
+                int offset = 3 * (d * tles.size() + k);
+                Assert.assertEquals(pv.getPosition().getX(), positions[offset],      0.0);
+                Assert.assertEquals(pv.getPosition().getY(), positions[offset + 1],  0.0);
+                Assert.assertEquals(pv.getPosition().getZ(), positions[offset + 2],  0.0);
+                Assert.assertEquals(pv.getVelocity().getX(), velocities[offset],     0.0);
+                Assert.assertEquals(pv.getVelocity().getY(), velocities[offset + 1], 0.0);
+                Assert.assertEquals(pv.getVelocity().getZ(), velocities[offset + 2], 0.0);
+            }
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException, OrekitException {
+        Utils.setDataRoot("regular-data");
+
+        final AbsoluteDate t0 = new AbsoluteDate(2000, 6, 27, 18, 0, 0.0, TimeScalesFactory.getUTC());
+        dates = new AbsoluteDate[25];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = t0.shiftedBy(3600.0 * i);
+        }
+
+        // use the SatCode verification test cases, both near Earth and deep space,
+        // ignoring the ones that cannot be propagated to the dates grid
+        tles = new ArrayList<>();
+        try (BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(getClass().getResourceAsStream("/tle/extrapolationTest-data/SatCode-entry")))) {
+            for (String line1 = reader.readLine(); line1 != null; line1 = reader.readLine()) {
+                if (line1.charAt(0) != '#') {
+                    final TLE tle = new TLE(line1, reader.readLine());
+                    try {
+                        final TLEPropagator propagator = TLEPropagator.selectExtrapolator(tle);
+                        for (final AbsoluteDate date : dates) {
+                            propagator.getPVCoordinates(date);
+                        }
+                        tles.add(tle);
+                    } catch (OrekitException oe) {
+                        // ignore this TLE
+                    }
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,270 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FieldTransform;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.frames.Transform;
+import org.orekit.frames.TransformProvider;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.GroundNetworkVisibility.StationVisibilityDetector;
+import org.orekit.propagation.events.handlers.RecordAndContinue;
+import org.orekit.propagation.events.handlers.RecordAndContinue.Event;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.ElevationMask;
+import org.orekit.utils.IERSConventions;
+
+public class GroundNetworkVisibilityTest {
+
+    private OneAxisEllipsoid earth;
+    private List<TopocentricFrame> stations;
+    private Orbit orbit;
+
+    @Test
+    public void testConstantElevation() throws OrekitException {
+
+        final double minElevation = FastMath.toRadians(5.0);
+
+        // reference: one elevation detector per station
+        final RecordAndContinue<ElevationDetector> reference = new RecordAndContinue<>();
+        final Propagator p1 = new KeplerianPropagator(orbit);
+        for (final TopocentricFrame station : stations) {
+            p1.addEventDetector(new ElevationDetector(60.0, 1.0e-6, station).
+                                withConstantElevation(minElevation).
+                                withHandler(reference));
+        }
+        p1.propagate(orbit.getDate().shiftedBy(21600.0));
+
+        // network engine
+        final GroundNetworkVisibility network = new GroundNetworkVisibility(stations, minElevation);
+        Assert.assertEquals(stations.size(), network.getStations().size());
+        final RecordAndContinue<StationVisibilityDetector> recorder = new RecordAndContinue<>();
+        final Propagator p2 = new KeplerianPropagator(orbit);
+        for (final StationVisibilityDetector detector : network.getDetectors(60.0, 1.0e-6, recorder)) {
+            Assert.assertSame(network, detector.getNetwork());
+            p2.addEventDetector(detector);
+        }
+        p2.propagate(orbit.getDate().shiftedBy(21600.0));
+
+        checkSameEvents(reference.getEvents(), recorder.getEvents());
+
+        // only a small fraction of the stations are evaluated at each sample
+        Assert.assertTrue(network.getElevationsEvaluations() < 0.1 * stations.size() * 21600.0 / 60.0);
+
+    }
+
+    @Test
+    public void testSharedSamples() throws OrekitException {
+
+        // body frame counting the transforms from inertial frame
+        final CountingProvider counting = new CountingProvider();
+        final OneAxisEllipsoid countingEarth =
+                        new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                             Constants.WGS84_EARTH_FLATTENING,
+                                             new Frame(earth.getBodyFrame(), counting, "counting"));
+        final List<TopocentricFrame> countingStations = new ArrayList<>();
+        for (final TopocentricFrame station : stations) {
+            countingStations.add(new TopocentricFrame(countingEarth, station.getPoint(), station.getName()));
+        }
+
+        // single station
+        final GroundNetworkVisibility single =
+                        new GroundNetworkVisibility(countingStations.subList(0, 1), FastMath.toRadians(5.0));
+        final Propagator p1 = new KeplerianPropagator(orbit);
+        p1.addEventDetector(single.getDetectors().get(0).withMaxCheck(60.0).withThreshold(1.0e-6));
+        p1.propagate(orbit.getDate().shiftedBy(21600.0));
+        Assert.assertEquals(single.getSamplesComputations(), counting.count);
+
+        // complete network
+        counting.count = 0;
+        final GroundNetworkVisibility network =
+                        new GroundNetworkVisibility(countingStations, FastMath.toRadians(5.0));
+        final RecordAndContinue<StationVisibilityDetector> recorder = new RecordAndContinue<>();
+        final Propagator p2 = new KeplerianPropagator(orbit);
+        for (final StationVisibilityDetector detector : network.getDetectors(60.0, 1.0e-6, recorder)) {
+            p2.addEventDetector(detector);
+        }
+        p2.propagate(orbit.getDate().shiftedBy(21600.0));
+        Assert.assertEquals(network.getSamplesComputations(), counting.count);
+
+        // samples are shared between all stations, only root solving adds new samples
+        Assert.assertTrue(recorder.getEvents().size() > 20);
+        Assert.assertTrue(network.getSamplesComputations() <
+                          single.getSamplesComputations() + 30 * recorder.getEvents().size());
+        Assert.assertTrue(network.getSamplesComputations() <
+                          0.05 * stations.size() * single.getSamplesComputations());
+
+    }
+
+    @Test
+    public void testSamplesCacheSize() {
+        final GroundNetworkVisibility network = new GroundNetworkVisibility(stations, 0.0);
+        Assert.assertEquals(GroundNetworkVisibility.DEFAULT_SAMPLES_CACHE_SIZE, network.getSamplesCacheSize());
+        network.setSamplesCacheSize(10);
+        Assert.assertEquals(10, network.getSamplesCacheSize());
+        try {
+            network.setSamplesCacheSize(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testMasks() throws OrekitException {
+
+        final List<ElevationMask> masks = new ArrayList<>();
+        for (int i = 0; i < stations.size(); ++i) {
+            final double e = FastMath.toRadians(i % 7);
+            masks.add(new ElevationMask(new double[][] {
+                { 0.0,                      e },
+                { FastMath.toRadians(90),   e + FastMath.toRadians(10) },
+                { FastMath.toRadians(180),  e },
+                { FastMath.toRadians(270),  e + FastMath.toRadians(3) }
+            }));
+        }
+
+        // reference: one elevation detector per station
+        final RecordAndContinue<ElevationDetector> reference = new RecordAndContinue<>();
+        final Propagator p1 = new KeplerianPropagator(orbit);
+        for (int i = 0; i < stations.size(); ++i) {
+            p1.addEventDetector(new ElevationDetector(60.0, 1.0e-6, stations.get(i)).
+                                withElevationMask(masks.get(i)).
+                                withHandler(reference));
+        }
+        p1.propagate(orbit.getDate().shiftedBy(21600.0));
+
+        // network engine
+        final GroundNetworkVisibility network = new GroundNetworkVisibility(stations, masks);
+        final RecordAndContinue<StationVisibilityDetector> recorder = new RecordAndContinue<>();
+        final Propagator p2 = new KeplerianPropagator(orbit);
+        for (final StationVisibilityDetector detector : network.getDetectors()) {
+            p2.addEventDetector(detector.withMaxCheck(60.0).withThreshold(1.0e-6).withHandler(recorder));
+        }
+        p2.propagate(orbit.getDate().shiftedBy(21600.0));
+
+        checkSameEvents(reference.getEvents(), recorder.getEvents());
+
+    }
+
+    @Test
+    public void testFramesMismatch() throws OrekitException {
+        final OneAxisEllipsoid inertialEarth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                                    Constants.WGS84_EARTH_FLATTENING,
+                                                                    FramesFactory.getEME2000());
+        final List<TopocentricFrame> mixed = new ArrayList<>(stations);
+        mixed.add(new TopocentricFrame(inertialEarth, new GeodeticPoint(0.0, 0.0, 0.0), "inertial"));
+        try {
+            new GroundNetworkVisibility(mixed, 0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.FRAMES_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        try {
+            new GroundNetworkVisibility(stations,
+                                        Collections.singletonList(new ElevationMask(new double[][] { { 0.0, 0.0 } })));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(1, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(stations.size(), ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
+    private void checkSameEvents(final List<Event<ElevationDetector>> reference,
+                                 final List<Event<StationVisibilityDetector>> events) {
+        Assert.assertTrue(reference.size() > 20);
+        Assert.assertEquals(reference.size(), events.size());
+        for (int i = 0; i < reference.size(); ++i) {
+            Assert.assertSame(reference.get(i).getDetector().getTopocentricFrame(),
+                              events.get(i).getDetector().getTopocentricFrame());
+            Assert.assertEquals(reference.get(i).isIncreasing(), events.get(i).isIncreasing());
+            Assert.assertEquals(0.0,
+                                events.get(i).getState().getDate().durationFrom(reference.get(i).getState().getDate()),
+                                1.0e-5);
+        }
+    }
+
+    private static class CountingProvider implements TransformProvider {
+
+        private static final long serialVersionUID = 1L;
+
+        private int count;
+
+        public Transform getTransform(final AbsoluteDate date) {
+            ++count;
+            return Transform.IDENTITY;
+        }
+
+        public <T extends RealFieldElement<T>> FieldTransform<T> getTransform(final FieldAbsoluteDate<T> date) {
+            ++count;
+            return FieldTransform.getIdentity(date.getField());
+        }
+
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        stations = new ArrayList<>();
+        for (int lat = -60; lat <= 60; lat += 10) {
+            for (int lon = 0; lon < 360; lon += 20) {
+                final GeodeticPoint point = new GeodeticPoint(FastMath.toRadians(lat), FastMath.toRadians(lon),
+                                                              100.0 * ((lat + lon) % 17));
+                stations.add(new TopocentricFrame(earth, point, "station-" + lat + "-" + lon));
+            }
+        }
+        orbit = new KeplerianOrbit(7078000.0, 0.01, FastMath.toRadians(72.0),
+                                   FastMath.toRadians(30.0), FastMath.toRadians(50.0), 0.0,
+                                   PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2018, 10, 16, 12, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
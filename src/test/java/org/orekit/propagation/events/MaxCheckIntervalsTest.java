@@ -0,0 +1,240 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.models.earth.EarthStandardAtmosphereRefraction;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.propagation.events.handlers.EventHandler.Action;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.ElevationMask;
+import org.orekit.utils.IERSConventions;
+
+public class MaxCheckIntervalsTest {
+
+    private OneAxisEllipsoid earth;
+    private Orbit orbit;
+
+    @Test
+    public void testElevation() throws OrekitException {
+        final TopocentricFrame station = new TopocentricFrame(earth,
+                                                              new GeodeticPoint(FastMath.toRadians(43.6),
+                                                                                FastMath.toRadians(1.44),
+                                                                                150.0),
+                                                              "Toulouse");
+        checkSameEvents(new ElevationDetector(10.0, 1.0e-6, station).withConstantElevation(FastMath.toRadians(5.0)),
+                        0.2);
+        checkSameEvents(new ElevationDetector(10.0, 1.0e-6, station).
+                        withElevationMask(new ElevationMask(new double[][] {
+                            { 0.0, FastMath.toRadians(2.0) }, { FastMath.PI, FastMath.toRadians(8.0) }
+                        })).
+                        withRefraction(new EarthStandardAtmosphereRefraction()),
+                        0.2);
+    }
+
+    @Test
+    public void testEclipse() throws OrekitException {
+        checkSameEvents(new EclipseDetector(10.0, 1.0e-6,
+                                            CelestialBodyFactory.getSun(), Constants.SUN_RADIUS,
+                                            CelestialBodyFactory.getEarth(), Constants.WGS84_EARTH_EQUATORIAL_RADIUS),
+                        0.5);
+    }
+
+    @Test
+    public void testApside() throws OrekitException {
+        checkSameEvents(new ApsideDetector(1.0e-6, orbit).withMaxCheck(10.0), 0.5);
+    }
+
+    @Test
+    public void testNode() throws OrekitException {
+        checkSameEvents(new NodeDetector(1.0e-6, orbit, orbit.getFrame()).withMaxCheck(10.0), 0.5);
+    }
+
+    @Test
+    public void testNonInertialNode() throws OrekitException {
+        // no bound available in Earth frame
+        checkSameEvents(new NodeDetector(1.0e-6, orbit, earth.getBodyFrame()).withMaxCheck(10.0), 1.0);
+    }
+
+    @Test
+    public void testAltitude() throws OrekitException {
+        checkSameEvents(new AltitudeDetector(10.0, 1.0e-6, 1500000.0, earth), 0.5);
+    }
+
+    @Test
+    public void testOverestimatedBound() throws OrekitException {
+        // a detector overestimating the time to next event, but still
+        // by less than the separation between consecutive events
+        final AbsoluteDate t0 = orbit.getDate();
+        final EventDetector overestimating = new OverestimatingDetector(t0, 1000.0);
+
+        // as sign changes are checked again, events are still found at the same dates
+        final List<SpacecraftState> adaptive = new ArrayList<>();
+        final List<SpacecraftState> regular  = new ArrayList<>();
+        final CountingDetector a = propagate(overestimating, true,  adaptive);
+        final CountingDetector r = propagate(overestimating, false, regular);
+        Assert.assertTrue(regular.size() > 40);
+        Assert.assertEquals(regular.size(), adaptive.size());
+        for (int i = 0; i < regular.size(); ++i) {
+            Assert.assertEquals(0.0, adaptive.get(i).getDate().durationFrom(regular.get(i).getDate()), 1.0e-10);
+            Assert.assertEquals((i + 0.5) * 600.0 * FastMath.PI, adaptive.get(i).getDate().durationFrom(t0), 1.0e-6);
+        }
+        Assert.assertTrue(a.count < r.count);
+    }
+
+    private void checkSameEvents(final EventDetector detector, final double maxRatio)
+        throws OrekitException {
+        final List<SpacecraftState> adaptive = new ArrayList<>();
+        final List<SpacecraftState> regular  = new ArrayList<>();
+        final CountingDetector a = propagate(detector, true,  adaptive);
+        final CountingDetector r = propagate(detector, false, regular);
+
+        // events are located in the same brackets, hence at the same dates
+        Assert.assertTrue(regular.size() > 2);
+        Assert.assertEquals(regular.size(), adaptive.size());
+        for (int i = 0; i < regular.size(); ++i) {
+            Assert.assertEquals(0.0, adaptive.get(i).getDate().durationFrom(regular.get(i).getDate()), 1.0e-10);
+        }
+
+        // but the switching function is evaluated less often
+        Assert.assertTrue(a.count <= maxRatio * r.count);
+
+    }
+
+    private CountingDetector propagate(final EventDetector detector, final boolean adaptive,
+                                       final List<SpacecraftState> events)
+        throws OrekitException {
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        final CountingDetector counting = new CountingDetector(detector, adaptive, events);
+        propagator.addEventDetector(counting);
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        return counting;
+    }
+
+    private static class CountingDetector implements EventDetector {
+
+        private static final long serialVersionUID = 1L;
+
+        private final EventDetector detector;
+        private final boolean adaptive;
+        private final List<SpacecraftState> events;
+        private int count;
+
+        CountingDetector(final EventDetector detector, final boolean adaptive,
+                         final List<SpacecraftState> events) {
+            this.detector = detector;
+            this.adaptive = adaptive;
+            this.events   = events;
+            this.count    = 0;
+        }
+
+        public double g(final SpacecraftState s) throws OrekitException {
+            ++count;
+            return detector.g(s);
+        }
+
+        public double getThreshold() {
+            return detector.getThreshold();
+        }
+
+        public double getMaxCheckInterval() {
+            return detector.getMaxCheckInterval();
+        }
+
+        public double getMaxCheckInterval(final SpacecraftState s, final double g)
+            throws OrekitException {
+            return adaptive ? detector.getMaxCheckInterval(s, g) : detector.getMaxCheckInterval();
+        }
+
+        public int getMaxIterationCount() {
+            return detector.getMaxIterationCount();
+        }
+
+        public Action eventOccurred(final SpacecraftState s, final boolean increasing) {
+            events.add(s);
+            return Action.CONTINUE;
+        }
+
+    }
+
+    private static class OverestimatingDetector extends AbstractDetector<OverestimatingDetector> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AbsoluteDate t0;
+        private final double bound;
+
+        OverestimatingDetector(final AbsoluteDate t0, final double bound) {
+            super(10.0, 1.0e-6, DEFAULT_MAX_ITER, new ContinueOnEvent<>());
+            this.t0    = t0;
+            this.bound = bound;
+        }
+
+        @Override
+        protected OverestimatingDetector create(final double newMaxCheck, final double newThreshold,
+                                                final int newMaxIter,
+                                                final EventHandler<? super OverestimatingDetector> newHandler) {
+            return this;
+        }
+
+        public double g(final SpacecraftState s) {
+            return FastMath.cos(s.getDate().durationFrom(t0) / 600.0);
+        }
+
+        @Override
+        public double getMaxCheckInterval(final SpacecraftState s, final double g) {
+            return bound;
+        }
+
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        orbit = new KeplerianOrbit(7800000.0, 0.08, FastMath.toRadians(63.4),
+                                   FastMath.toRadians(20.0), FastMath.toRadians(110.0), 0.0,
+                                   PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2018, 10, 16, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
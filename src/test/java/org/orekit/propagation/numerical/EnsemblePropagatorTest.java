@@ -0,0 +1,181 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.DateDetector;
+import org.orekit.propagation.events.handlers.StopOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+
+public class EnsemblePropagatorTest {
+
+    private ForkJoinPool pool;
+    private List<SpacecraftState> initialStates;
+
+    @Test
+    public void testKeplerianMembers() throws OrekitException {
+
+        final AbsoluteDate[] epochs = new AbsoluteDate[10];
+        for (int k = 0; k < epochs.length; ++k) {
+            epochs[k] = initialStates.get(0).getDate().shiftedBy(k * 600.0);
+        }
+
+        final EnsemblePropagator ensemble = new EnsemblePropagator(initialStates, (i, s) -> buildPropagator(s), pool);
+        Assert.assertEquals(initialStates.size(), ensemble.getMembersNumber());
+        final EnsembleSamples samples = ensemble.propagate(epochs, FramesFactory.getGCRF());
+        Assert.assertEquals(epochs.length, samples.getEpochsNumber());
+        Assert.assertEquals(initialStates.size(), samples.getMembersNumber());
+        Assert.assertSame(FramesFactory.getGCRF(), samples.getFrame());
+        Assert.assertEquals(initialStates.size() * EnsembleSamples.STATE_SIZE, samples.getStates(0).length);
+
+        for (int i = 0; i < initialStates.size(); ++i) {
+            final KeplerianPropagator reference = new KeplerianPropagator(initialStates.get(i).getOrbit());
+            for (int k = 0; k < epochs.length; ++k) {
+                Assert.assertSame(epochs[k], samples.getEpoch(k));
+                final PVCoordinates expected = reference.getPVCoordinates(epochs[k], FramesFactory.getGCRF());
+                final PVCoordinates actual   = samples.getPVCoordinates(k, i);
+                Assert.assertEquals(0.0, Vector3D.distance(expected.getPosition(), actual.getPosition()), 1.0e-3);
+                Assert.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), actual.getVelocity()), 1.0e-6);
+                Assert.assertEquals(1000.0, samples.getMass(k, i), 1.0e-15);
+            }
+        }
+
+    }
+
+    @Test
+    public void testStoppedMember() throws OrekitException {
+
+        final AbsoluteDate t0 = initialStates.get(0).getDate();
+        final AbsoluteDate[] epochs = new AbsoluteDate[] {
+            t0, t0.shiftedBy(100.0), t0.shiftedBy(200.0), t0.shiftedBy(300.0)
+        };
+
+        final EnsemblePropagator ensemble = new EnsemblePropagator(initialStates, (i, s) -> {
+            final NumericalPropagator propagator = buildPropagator(s);
+            if (i == 1) {
+                propagator.addEventDetector(new DateDetector(t0.shiftedBy(150.0)).withHandler(new StopOnEvent<>()));
+            }
+            return propagator;
+        }, pool);
+        final EnsembleSamples samples = ensemble.propagate(epochs, FramesFactory.getEME2000());
+
+        for (int k = 0; k < epochs.length; ++k) {
+            Assert.assertFalse(Double.isNaN(samples.getMass(k, 0)));
+            Assert.assertEquals(k >= 2, Double.isNaN(samples.getMass(k, 1)));
+        }
+
+    }
+
+    @Test
+    public void testMemberFailure() {
+        final EnsemblePropagator ensemble = new EnsemblePropagator(initialStates, (i, s) -> {
+            if (i == 2) {
+                throw new OrekitException(OrekitMessages.NOT_ENOUGH_PROPAGATORS);
+            }
+            return buildPropagator(s);
+        }, pool);
+        try {
+            ensemble.propagate(new AbsoluteDate[] { initialStates.get(0).getDate().shiftedBy(60.0) },
+                               FramesFactory.getEME2000());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_PROPAGATORS, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testUnsortedEpochs() throws OrekitException {
+        final AbsoluteDate t0 = initialStates.get(0).getDate();
+        final EnsemblePropagator ensemble = new EnsemblePropagator(initialStates, (i, s) -> buildPropagator(s), pool);
+        try {
+            ensemble.propagate(new AbsoluteDate[] { t0.shiftedBy(60.0), t0.shiftedBy(30.0) },
+                               FramesFactory.getEME2000());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testFramesMismatch() throws OrekitException {
+        final List<SpacecraftState> states = new ArrayList<>(initialStates);
+        final Orbit o = initialStates.get(0).getOrbit();
+        states.add(new SpacecraftState(new KeplerianOrbit(o.getPVCoordinates(FramesFactory.getGCRF()),
+                                                          FramesFactory.getGCRF(), o.getMu())));
+        try {
+            new EnsemblePropagator(states, (i, s) -> buildPropagator(s), pool);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.FRAMES_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    private NumericalPropagator buildPropagator(final SpacecraftState initialState)
+        throws OrekitException {
+        final double[][] tolerance = NumericalPropagator.tolerances(0.001, initialState.getOrbit(), OrbitType.CARTESIAN);
+        final NumericalPropagator propagator =
+                        new NumericalPropagator(new DormandPrince853Integrator(0.001, 300, tolerance[0], tolerance[1]));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.setInitialState(initialState);
+        return propagator;
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        pool = new ForkJoinPool(4);
+        initialStates = new ArrayList<>();
+        final AbsoluteDate t0 = AbsoluteDate.J2000_EPOCH.shiftedBy(86400.0);
+        for (int i = 0; i < 16; ++i) {
+            // dispersed semi-major axis and mean anomaly
+            final Orbit orbit = new KeplerianOrbit(7.0e6 + 100.0 * i, 0.001, FastMath.toRadians(98.0),
+                                                   FastMath.toRadians(20.0), FastMath.toRadians(10.0),
+                                                   0.001 * i, PositionAngle.MEAN,
+                                                   FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU);
+            initialStates.add(new SpacecraftState(orbit, 1000.0));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+}
@@ -0,0 +1,150 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBody;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.gravity.ThirdBodyAttraction;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+
+public class LockstepPropagatorTest {
+
+    private ForkJoinPool pool;
+    private AbsoluteDate t0;
+
+    @Test
+    public void testSharedThirdBodies() throws OrekitException {
+
+        final SharedEnvironment environment = new SharedEnvironment(16);
+        final CelestialBody sun  = environment.shareBody(CelestialBodyFactory.getSun());
+        final CelestialBody moon = environment.shareBody(CelestialBodyFactory.getMoon());
+
+        final int nbSat = 6;
+        final List<NumericalPropagator> lockstep    = new ArrayList<>();
+        final List<NumericalPropagator> independent = new ArrayList<>();
+        for (int i = 0; i < nbSat; ++i) {
+            lockstep.add(buildPropagator(i, sun, moon));
+            independent.add(buildPropagator(i, CelestialBodyFactory.getSun(), CelestialBodyFactory.getMoon()));
+        }
+
+        // a single thread pool is used so cache hits and misses counts are reproducible
+        final ForkJoinPool singleThread = new ForkJoinPool(1);
+        final LockstepPropagator propagator = new LockstepPropagator(lockstep, 120.0, singleThread);
+        Assert.assertEquals(nbSat, propagator.getMembers().size());
+        Assert.assertEquals(120.0, propagator.getSynchronizationStep(), 1.0e-15);
+
+        final AtomicInteger steps = new AtomicInteger();
+        final AbsoluteDate target = t0.shiftedBy(7200.0);
+        final List<SpacecraftState> finalStates = propagator.propagate(target, (states, isLast) -> {
+            steps.incrementAndGet();
+            Assert.assertEquals(nbSat, states.size());
+            for (final SpacecraftState state : states) {
+                Assert.assertEquals(0.0, state.getDate().durationFrom(states.get(0).getDate()), 1.0e-15);
+            }
+            Assert.assertEquals(isLast, states.get(0).getDate().equals(target));
+        });
+        Assert.assertEquals(60, steps.get());
+        singleThread.shutdown();
+
+        // lockstep propagation on a grid multiple of the integration step
+        // is the same as independent propagation
+        for (int i = 0; i < nbSat; ++i) {
+            final SpacecraftState reference = independent.get(i).propagate(target);
+            Assert.assertEquals(0.0, finalStates.get(i).getDate().durationFrom(target), 1.0e-15);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                                  finalStates.get(i).getPVCoordinates().getPosition()),
+                                1.0e-6);
+        }
+
+        // most environment evaluations were shared
+        Assert.assertTrue(environment.getHits() > 3 * environment.getMisses());
+
+    }
+
+    @Test
+    public void testTargetOffGrid() throws OrekitException {
+        final List<NumericalPropagator> members = new ArrayList<>();
+        members.add(buildPropagator(0, CelestialBodyFactory.getSun(), CelestialBodyFactory.getMoon()));
+        members.add(buildPropagator(1, CelestialBodyFactory.getSun(), CelestialBodyFactory.getMoon()));
+        final LockstepPropagator propagator = new LockstepPropagator(members, 120.0, pool);
+        final AtomicInteger steps = new AtomicInteger();
+        final List<SpacecraftState> finalStates = propagator.propagate(t0.shiftedBy(-250.0),
+                                                                       (states, isLast) -> steps.incrementAndGet());
+        Assert.assertEquals(3, steps.get());
+        Assert.assertEquals(-250.0, finalStates.get(1).getDate().durationFrom(t0), 1.0e-15);
+    }
+
+    @Test
+    public void testWrongStep() {
+        try {
+            new LockstepPropagator(new ArrayList<>(), 60.0, pool);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    private NumericalPropagator buildPropagator(final int index, final CelestialBody sun, final CelestialBody moon)
+        throws OrekitException {
+        final KeplerianOrbit orbit = new KeplerianOrbit(7.0e6 + 1000.0 * index, 0.001, FastMath.toRadians(98.0),
+                                                        FastMath.toRadians(20.0), FastMath.toRadians(10.0 * index),
+                                                        0.0, PositionAngle.MEAN,
+                                                        FramesFactory.getEME2000(), t0, Constants.EIGEN5C_EARTH_MU);
+        final NumericalPropagator propagator = new NumericalPropagator(new ClassicalRungeKuttaIntegrator(30.0));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(new ThirdBodyAttraction(sun));
+        propagator.addForceModel(new ThirdBodyAttraction(moon));
+        propagator.setInitialState(new SpacecraftState(orbit, 1000.0));
+        return propagator;
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        pool = new ForkJoinPool(4);
+        t0   = AbsoluteDate.J2000_EPOCH.shiftedBy(86400.0);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+}
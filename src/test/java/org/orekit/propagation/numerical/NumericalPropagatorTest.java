@@ -20,7 +20,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -31,6 +35,7 @@ import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.ODEIntegrator;
 import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
@@ -43,10 +48,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.orekit.OrekitMatchers;
 import org.orekit.Utils;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.attitudes.AttitudesSequence;
+import org.orekit.attitudes.InertialProvider;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.ForceModel;
 import org.orekit.forces.drag.DragForce;
@@ -78,6 +87,7 @@ import org.orekit.propagation.events.ApsideDetector;
 import org.orekit.propagation.events.DateDetector;
 import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.events.FieldEventDetector;
+import org.orekit.propagation.events.FunctionalDetector;
 import org.orekit.propagation.events.handlers.ContinueOnEvent;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.RecordAndContinue;
@@ -91,6 +101,7 @@ import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScale;
 import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
@@ -721,6 +732,98 @@ public class NumericalPropagatorTest {
 
     }
 
+    @Test
+    public void testSharedEventStates() throws OrekitException {
+
+        // cache is disabled by default
+        Assert.assertEquals(0, propagator.getEventStatesCacheSize());
+        try {
+            propagator.setEventStatesCacheSize(-1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+
+        // with cache, the second detector sees only states already built for the first one
+        propagator.setEventStatesCacheSize(64);
+        Assert.assertEquals(64, propagator.getEventStatesCacheSize());
+        final Set<SpacecraftState> a = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<SpacecraftState> b = Collections.newSetFromMap(new IdentityHashMap<>());
+        propagator.addEventDetector(zDetector(a));
+        propagator.addEventDetector(zDetector(b));
+        propagator.propagate(initDate.shiftedBy(10000.0));
+        Assert.assertTrue(a.size() > 50);
+        Assert.assertTrue(a.containsAll(b));
+
+        // without cache, detectors do not share anything
+        propagator.resetInitialState(initialState);
+        propagator.clearEventsDetectors();
+        propagator.setEventStatesCacheSize(0);
+        Assert.assertEquals(0, propagator.getEventStatesCacheSize());
+        final Set<SpacecraftState> c = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<SpacecraftState> d = Collections.newSetFromMap(new IdentityHashMap<>());
+        propagator.addEventDetector(zDetector(c));
+        propagator.addEventDetector(zDetector(d));
+        propagator.propagate(initDate.shiftedBy(10000.0));
+        for (final SpacecraftState s : d) {
+            Assert.assertFalse(c.contains(s));
+        }
+
+    }
+
+    @Test
+    public void testSharedEventStatesAttitudeSwitch() throws OrekitException {
+
+        // the switch resets the state, cached states built with the past law must not be reused
+        final Rotation             pastRotation   = Rotation.IDENTITY;
+        final Rotation             futureRotation = new Rotation(Vector3D.PLUS_I, Vector3D.PLUS_J);
+        final AbsoluteDate         switchDate     = initDate.shiftedBy(1000.0);
+        final double               transitionTime = 10.0;
+        final AttitudeProvider     past           = new InertialProvider(pastRotation);
+        final AttitudeProvider     future         = new InertialProvider(futureRotation);
+        final AttitudesSequence    sequence       = new AttitudesSequence();
+        sequence.resetActiveProvider(past);
+        sequence.addSwitchingCondition(past, future, new DateDetector(switchDate), true, false,
+                                       transitionTime, AngularDerivativesFilter.USE_R, null);
+        propagator.setAttitudeProvider(sequence);
+        sequence.registerSwitchEvents(propagator);
+        propagator.setEventStatesCacheSize(64);
+
+        final Set<SpacecraftState> a = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<SpacecraftState> b = Collections.newSetFromMap(new IdentityHashMap<>());
+        propagator.addEventDetector(zDetector(a));
+        propagator.addEventDetector(zDetector(b));
+        propagator.propagate(initDate.shiftedBy(10000.0));
+
+        int before = 0;
+        int after  = 0;
+        for (final Set<SpacecraftState> states : Arrays.asList(a, b)) {
+            for (final SpacecraftState s : states) {
+                final double dt = s.getDate().durationFrom(switchDate);
+                if (dt < 0) {
+                    ++before;
+                    Assert.assertEquals(0.0, Rotation.distance(pastRotation, s.getAttitude().getRotation()), 1.0e-15);
+                } else if (dt > transitionTime) {
+                    ++after;
+                    Assert.assertEquals(0.0, Rotation.distance(futureRotation, s.getAttitude().getRotation()), 1.0e-15);
+                }
+            }
+        }
+        Assert.assertTrue(before > 10);
+        Assert.assertTrue(after > 50);
+
+    }
+
+    private FunctionalDetector zDetector(final Set<SpacecraftState> states) {
+        return new FunctionalDetector().
+               withMaxCheck(60.0).
+               withThreshold(1.0e-6).
+               withGFunction(s -> {
+                   states.add(s);
+                   return s.getPVCoordinates().getPosition().getZ();
+               });
+    }
+
     private static class AdditionalStateLinearDetector extends AbstractDetector<AdditionalStateLinearDetector> {
 
         private static final long serialVersionUID = 1L;
@@ -1024,6 +1127,36 @@ public class NumericalPropagatorTest {
 
     }
 
+    @Test
+    public void testLowAllocation() throws OrekitException {
+
+        Utils.setDataRoot("regular-data:atmosphere:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        final double mu = GravityFieldFactory.getNormalizedProvider(2, 2).getMu();
+        final AbsoluteDate initialDate = new AbsoluteDate(2003, 1, 1, 00, 00, 00.000, TimeScalesFactory.getUTC());
+        final Orbit initialOrbit = new KeplerianOrbit(6878137.0, 0.001, FastMath.toRadians(51.6),
+                                                      FastMath.toRadians(30), FastMath.toRadians(261), 0,
+                                                      PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                                      initialDate, mu);
+        final SpacecraftState initialState = new SpacecraftState(initialOrbit, 1000);
+
+        final NumericalPropagator regular = createPropagator(initialState, OrbitType.EQUINOCTIAL, PositionAngle.TRUE);
+        final NumericalPropagator lowAllocation = createPropagator(initialState, OrbitType.EQUINOCTIAL, PositionAngle.TRUE);
+        Assert.assertFalse(lowAllocation.isLowAllocation());
+        lowAllocation.setLowAllocation(true);
+        Assert.assertTrue(lowAllocation.isLowAllocation());
+
+        // summing accelerations before conversion only changes round-off
+        final AbsoluteDate target = initialDate.shiftedBy(Constants.JULIAN_DAY);
+        final SpacecraftState s1 = regular.propagate(target);
+        final SpacecraftState s2 = lowAllocation.propagate(target);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(s1.getPVCoordinates().getPosition(),
+                                              s2.getPVCoordinates().getPosition()),
+                            1.0e-5);
+
+    }
+
     @Test
     public void testShiftKeplerianEllipticTrueWithoutDerivatives() throws OrekitException {
         doTestShift(createEllipticOrbit(), OrbitType.KEPLERIAN, PositionAngle.TRUE, false,
@@ -0,0 +1,136 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBody;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.drag.atmosphere.DTM2000InputParameters;
+import org.orekit.forces.drag.atmosphere.NRLMSISE00InputParameters;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+
+public class SharedEnvironmentTest {
+
+    @Test
+    public void testBody() throws OrekitException {
+        final SharedEnvironment environment = new SharedEnvironment(2);
+        final CelestialBody sun    = CelestialBodyFactory.getSun();
+        final CelestialBody shared = environment.shareBody(sun);
+        Assert.assertEquals(sun.getName(), shared.getName());
+        Assert.assertEquals(sun.getGM(), shared.getGM(), 1.0e-15 * sun.getGM());
+        Assert.assertSame(sun.getInertiallyOrientedFrame(), shared.getInertiallyOrientedFrame());
+        Assert.assertSame(sun.getBodyOrientedFrame(), shared.getBodyOrientedFrame());
+
+        final AbsoluteDate t0 = AbsoluteDate.J2000_EPOCH;
+        for (int k = 0; k < 3; ++k) {
+            for (int i = 0; i < 3; ++i) {
+                final AbsoluteDate t = t0.shiftedBy(i * 10.0);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(sun.getPVCoordinates(t, FramesFactory.getEME2000()).getPosition(),
+                                                      shared.getPVCoordinates(t, FramesFactory.getEME2000()).getPosition()),
+                                    1.0e-15);
+            }
+        }
+
+        // with only two slots, cycling over three dates always misses
+        Assert.assertEquals(9, environment.getMisses());
+        Assert.assertEquals(0, environment.getHits());
+
+        shared.getPVCoordinates(t0.shiftedBy(20.0), FramesFactory.getEME2000());
+        shared.getPVCoordinates(t0.shiftedBy(20.0), FramesFactory.getGCRF());
+        Assert.assertEquals(1, environment.getHits());
+        Assert.assertEquals(10, environment.getMisses());
+
+    }
+
+    @Test
+    public void testDTM2000Parameters() throws OrekitException {
+        final AtomicInteger calls = new AtomicInteger();
+        final DTM2000InputParameters raw = new DTM2000InputParameters() {
+            private static final long serialVersionUID = 1L;
+            public AbsoluteDate getMinDate() { return AbsoluteDate.PAST_INFINITY; }
+            public AbsoluteDate getMaxDate() { return AbsoluteDate.FUTURE_INFINITY; }
+            public double getInstantFlux(AbsoluteDate date) { calls.incrementAndGet(); return 1.0; }
+            public double getMeanFlux(AbsoluteDate date) { calls.incrementAndGet(); return 2.0; }
+            public double getThreeHourlyKP(AbsoluteDate date) { calls.incrementAndGet(); return 3.0; }
+            public double get24HoursKp(AbsoluteDate date) { calls.incrementAndGet(); return 4.0; }
+        };
+        final SharedEnvironment environment = new SharedEnvironment();
+        final DTM2000InputParameters shared = environment.shareDTM2000Parameters(raw);
+        Assert.assertEquals(AbsoluteDate.PAST_INFINITY, shared.getMinDate());
+        Assert.assertEquals(AbsoluteDate.FUTURE_INFINITY, shared.getMaxDate());
+        for (int i = 0; i < 5; ++i) {
+            Assert.assertEquals(1.0, shared.getInstantFlux(AbsoluteDate.J2000_EPOCH), 1.0e-15);
+            Assert.assertEquals(2.0, shared.getMeanFlux(AbsoluteDate.J2000_EPOCH), 1.0e-15);
+            Assert.assertEquals(3.0, shared.getThreeHourlyKP(AbsoluteDate.J2000_EPOCH), 1.0e-15);
+            Assert.assertEquals(4.0, shared.get24HoursKp(AbsoluteDate.J2000_EPOCH), 1.0e-15);
+        }
+        Assert.assertEquals(4, calls.get());
+        Assert.assertEquals(1, environment.getMisses());
+        Assert.assertEquals(19, environment.getHits());
+    }
+
+    @Test
+    public void testNRLMSISE00Parameters() throws OrekitException {
+        final AtomicInteger calls = new AtomicInteger();
+        final NRLMSISE00InputParameters raw = new NRLMSISE00InputParameters() {
+            private static final long serialVersionUID = 1L;
+            public AbsoluteDate getMinDate() { return AbsoluteDate.PAST_INFINITY; }
+            public AbsoluteDate getMaxDate() { return AbsoluteDate.FUTURE_INFINITY; }
+            public double getDailyFlux(AbsoluteDate date) { calls.incrementAndGet(); return 1.0; }
+            public double getAverageFlux(AbsoluteDate date) { calls.incrementAndGet(); return 2.0; }
+            public double[] getAp(AbsoluteDate date) { calls.incrementAndGet(); return new double[] { 3.0, 4.0 }; }
+        };
+        final SharedEnvironment environment = new SharedEnvironment();
+        final NRLMSISE00InputParameters shared = environment.shareNRLMSISE00Parameters(raw);
+        for (int i = 0; i < 5; ++i) {
+            Assert.assertEquals(1.0, shared.getDailyFlux(AbsoluteDate.J2000_EPOCH), 1.0e-15);
+            Assert.assertEquals(2.0, shared.getAverageFlux(AbsoluteDate.J2000_EPOCH), 1.0e-15);
+            final double[] ap = shared.getAp(AbsoluteDate.J2000_EPOCH);
+            Assert.assertArrayEquals(new double[] { 3.0, 4.0 }, ap, 1.0e-15);
+            // modifying the returned array must not affect the cache
+            ap[0] = Double.NaN;
+        }
+        Assert.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testWrongSize() {
+        try {
+            new SharedEnvironment(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
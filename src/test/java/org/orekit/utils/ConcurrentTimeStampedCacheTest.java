@@ -0,0 +1,211 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.GenericTimeStampedCacheTest.Generator;
+import org.orekit.utils.GenericTimeStampedCacheTest.RandomMode;
+
+
+public class ConcurrentTimeStampedCacheTest {
+
+    @Test
+    public void testSameBehaviorAsGeneric() throws TimeStampedCacheException {
+        final Generator generator =
+                new Generator(AbsoluteDate.J2000_EPOCH.shiftedBy(-Constants.JULIAN_CENTURY),
+                              AbsoluteDate.J2000_EPOCH.shiftedBy(+Constants.JULIAN_CENTURY),
+                              3600);
+        final ConcurrentTimeStampedCache<AbsoluteDate> concurrent =
+                new ConcurrentTimeStampedCache<AbsoluteDate>(13, 30, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+        final GenericTimeStampedCache<AbsoluteDate> generic =
+                new GenericTimeStampedCache<AbsoluteDate>(13, 30, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+        AbsoluteDate[] base = new AbsoluteDate[5];
+        base[0] = AbsoluteDate.GALILEO_EPOCH;
+        for (int i = 1; i < base.length; ++i) {
+            base[i] = base[i - 1].shiftedBy(10 * Constants.JULIAN_DAY);
+        }
+        for (final AbsoluteDate central : new RandomMode(64394632125212l).generateDates(base, 25 * 3600, 0.025 * 3600)) {
+            final List<AbsoluteDate> c = concurrent.getNeighbors(central).collect(Collectors.toList());
+            final List<AbsoluteDate> g = generic.getNeighbors(central).collect(Collectors.toList());
+            Assert.assertEquals(g, c);
+        }
+        Assert.assertEquals(generic.getGetNeighborsCalls(), concurrent.getGetNeighborsCalls());
+        Assert.assertEquals(generic.getGenerateCalls(),     concurrent.getGenerateCalls());
+        Assert.assertEquals(generic.getSlotsEvictions(),    concurrent.getSlotsEvictions());
+        Assert.assertEquals(generic.getSlots(),             concurrent.getSlots());
+        Assert.assertEquals(generic.getEntries(),           concurrent.getEntries());
+        Assert.assertEquals(generic.getEarliest(),          concurrent.getEarliest());
+        Assert.assertEquals(generic.getLatest(),            concurrent.getLatest());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws TimeStampedCacheException {
+        final Generator generator =
+                new Generator(AbsoluteDate.J2000_EPOCH.shiftedBy(-Constants.JULIAN_CENTURY),
+                              AbsoluteDate.J2000_EPOCH.shiftedBy(+Constants.JULIAN_CENTURY),
+                              3600);
+        final ConcurrentTimeStampedCache<AbsoluteDate> concurrent =
+                new ConcurrentTimeStampedCache<AbsoluteDate>(2, 3, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+        final GenericTimeStampedCache<AbsoluteDate> generic =
+                new GenericTimeStampedCache<AbsoluteDate>(2, 3, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+        final AbsoluteDate a = AbsoluteDate.GALILEO_EPOCH.shiftedBy(1800.0);
+        final AbsoluteDate b = a.shiftedBy(30 * Constants.JULIAN_DAY);
+        final AbsoluteDate c = b.shiftedBy(30 * Constants.JULIAN_DAY);
+        final AbsoluteDate d = c.shiftedBy(30 * Constants.JULIAN_DAY);
+
+        // fill the cache, then use again the first slot before creating a fourth one
+        for (final AbsoluteDate central : Arrays.asList(a, b, c, a, d)) {
+            Assert.assertEquals(generic.getNeighbors(central).collect(Collectors.toList()),
+                                concurrent.getNeighbors(central).collect(Collectors.toList()));
+        }
+
+        // the least recently used slot (b) has been evicted, not the oldest one (a)
+        for (final TimeStampedCache<AbsoluteDate> cache : Arrays.asList(generic, concurrent)) {
+            Assert.assertEquals(0.0, cache.getEarliest().durationFrom(a), 3600.0);
+            Assert.assertEquals(0.0, cache.getLatest().durationFrom(d),   3600.0);
+        }
+        Assert.assertEquals(1, generic.getSlotsEvictions());
+        Assert.assertEquals(1, concurrent.getSlotsEvictions());
+        final int generated = concurrent.getGenerateCalls();
+        concurrent.getNeighbors(a);
+        concurrent.getNeighbors(c);
+        Assert.assertEquals(generated, concurrent.getGenerateCalls());
+        concurrent.getNeighbors(b);
+        Assert.assertTrue(concurrent.getGenerateCalls() > generated);
+        Assert.assertEquals(2, concurrent.getSlotsEvictions());
+
+    }
+
+    @Test
+    public void testSameEvictionsAsGeneric() throws TimeStampedCacheException {
+        final Generator generator =
+                new Generator(AbsoluteDate.J2000_EPOCH.shiftedBy(-Constants.JULIAN_CENTURY),
+                              AbsoluteDate.J2000_EPOCH.shiftedBy(+Constants.JULIAN_CENTURY),
+                              3600);
+        final ConcurrentTimeStampedCache<AbsoluteDate> concurrent =
+                new ConcurrentTimeStampedCache<AbsoluteDate>(13, 4, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+        final GenericTimeStampedCache<AbsoluteDate> generic =
+                new GenericTimeStampedCache<AbsoluteDate>(13, 4, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+        AbsoluteDate[] base = new AbsoluteDate[10];
+        base[0] = AbsoluteDate.GALILEO_EPOCH;
+        for (int i = 1; i < base.length; ++i) {
+            base[i] = base[i - 1].shiftedBy(10 * Constants.JULIAN_DAY);
+        }
+
+        // with more bases than slots, evictions occur all along the sequence
+        for (final AbsoluteDate central : new RandomMode(73892647593018l).generateDates(base, 25 * 3600, 0.025 * 3600)) {
+            Assert.assertEquals(generic.getNeighbors(central).collect(Collectors.toList()),
+                                concurrent.getNeighbors(central).collect(Collectors.toList()));
+            Assert.assertEquals(generic.getGenerateCalls(),  concurrent.getGenerateCalls());
+            Assert.assertEquals(generic.getSlotsEvictions(), concurrent.getSlotsEvictions());
+            Assert.assertEquals(generic.getSlots(),          concurrent.getSlots());
+            Assert.assertEquals(generic.getEarliest(),       concurrent.getEarliest());
+            Assert.assertEquals(generic.getLatest(),         concurrent.getLatest());
+        }
+        Assert.assertTrue(concurrent.getSlotsEvictions() > 100);
+
+    }
+
+    @Test
+    public void testReadersDoNotWaitForGeneration() throws Exception {
+
+        final CountDownLatch generationStarted = new CountDownLatch(1);
+        final CountDownLatch releaseGeneration = new CountDownLatch(1);
+        final Generator regular =
+                new Generator(AbsoluteDate.J2000_EPOCH.shiftedBy(-Constants.JULIAN_CENTURY),
+                              AbsoluteDate.J2000_EPOCH.shiftedBy(+Constants.JULIAN_CENTURY),
+                              3600);
+        final AtomicBoolean blocking = new AtomicBoolean(false);
+        final TimeStampedGenerator<AbsoluteDate> generator =
+                new TimeStampedGenerator<AbsoluteDate>() {
+            public List<AbsoluteDate> generate(AbsoluteDate existingDate, AbsoluteDate date) {
+                if (blocking.get()) {
+                    generationStarted.countDown();
+                    try {
+                        releaseGeneration.await();
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return regular.generate(existingDate, date);
+            }
+        };
+
+        final ConcurrentTimeStampedCache<AbsoluteDate> cache =
+                new ConcurrentTimeStampedCache<AbsoluteDate>(5, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+        final AbsoluteDate t0 = AbsoluteDate.GALILEO_EPOCH;
+        cache.getNeighbors(t0);
+
+        // start a slow generation for a new slot in a separate thread
+        blocking.set(true);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Future<List<AbsoluteDate>> slow =
+                executorService.submit(() -> cache.getNeighbors(t0.shiftedBy(100 * Constants.JULIAN_DAY)).collect(Collectors.toList()));
+        Assert.assertTrue(generationStarted.await(10, TimeUnit.SECONDS));
+
+        // data already cached is available while generation is in progress
+        Assert.assertEquals(5, cache.getNeighbors(t0.shiftedBy(1800.0)).count());
+        Assert.assertEquals(1, cache.getSlots());
+
+        releaseGeneration.countDown();
+        Assert.assertEquals(5, slow.get(10, TimeUnit.SECONDS).size());
+        Assert.assertEquals(2, cache.getSlots());
+        executorService.shutdown();
+
+    }
+
+    @Test
+    public void testFactory() {
+        final TimeStampedCacheFactory previous = OrekitConfiguration.getCacheFactory();
+        try {
+            Assert.assertEquals(TimeStampedCacheFactory.GENERIC, previous);
+            final TimeStampedGenerator<AbsoluteDate> generator =
+                    new Generator(AbsoluteDate.PAST_INFINITY, AbsoluteDate.FUTURE_INFINITY, 10.0);
+            Assert.assertTrue(TimeStampedCacheFactory.GENERIC.create(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                                                                     generator) instanceof GenericTimeStampedCache);
+            OrekitConfiguration.setCacheFactory(TimeStampedCacheFactory.CONCURRENT);
+            final TimeStampedCache<AbsoluteDate> cache =
+                    OrekitConfiguration.getCacheFactory().create(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+            Assert.assertTrue(cache instanceof ConcurrentTimeStampedCache);
+            Assert.assertEquals(2, cache.getNeighborsSize());
+            Assert.assertSame(generator, ((ConcurrentTimeStampedCache<AbsoluteDate>) cache).getGenerator());
+        } finally {
+            OrekitConfiguration.setCacheFactory(previous);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+}
@@ -0,0 +1,149 @@
+/* Copyright 2002-2018 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.analysis.differentiation.DSFactory;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.util.Decimal64Field;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FieldTransform;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.ShiftingTransformProvider;
+import org.orekit.frames.Transform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+
+public class FieldCachesRegistryTest {
+
+    @Test
+    public void testSameParametersShareCache() {
+        final FieldCachesRegistry registry = new FieldCachesRegistry(4);
+        final AtomicInteger counter = new AtomicInteger();
+        final Object c1 = registry.getCache(new DSFactory(3, 1).getDerivativeField(), f -> counter.incrementAndGet());
+        final Object c2 = registry.getCache(new DSFactory(3, 1).getDerivativeField(), f -> counter.incrementAndGet());
+        final Object c3 = registry.getCache(new DSFactory(3, 2).getDerivativeField(), f -> counter.incrementAndGet());
+        final Object c4 = registry.getCache(Decimal64Field.getInstance(), f -> counter.incrementAndGet());
+        Assert.assertSame(c1, c2);
+        Assert.assertNotSame(c1, c3);
+        Assert.assertNotSame(c3, c4);
+        Assert.assertEquals(3, counter.get());
+        Assert.assertEquals(4, registry.getMaxCaches());
+        Assert.assertEquals(3, registry.getCaches());
+        Assert.assertEquals(4, registry.getLookups());
+        Assert.assertEquals(3, registry.getBuilds());
+        Assert.assertEquals(0, registry.getEvictions());
+        registry.clear();
+        Assert.assertEquals(0, registry.getCaches());
+    }
+
+    @Test
+    public void testEviction() {
+        final FieldCachesRegistry registry = new FieldCachesRegistry(2);
+        final Object c1 = registry.getCache(new DSFactory(1, 1).getDerivativeField(), f -> new Object());
+        final Object c2 = registry.getCache(new DSFactory(2, 1).getDerivativeField(), f -> new Object());
+
+        // use the first cache again, so the second one becomes the least recently used
+        Assert.assertSame(c1, registry.getCache(new DSFactory(1, 1).getDerivativeField(), f -> new Object()));
+        registry.getCache(new DSFactory(3, 1).getDerivativeField(), f -> new Object());
+        Assert.assertEquals(2, registry.getCaches());
+        Assert.assertEquals(1, registry.getEvictions());
+        Assert.assertSame(c1, registry.getCache(new DSFactory(1, 1).getDerivativeField(), f -> new Object()));
+        Assert.assertNotSame(c2, registry.getCache(new DSFactory(2, 1).getDerivativeField(), f -> new Object()));
+        Assert.assertEquals(2, registry.getEvictions());
+        Assert.assertEquals(4, registry.getBuilds());
+    }
+
+    @Test
+    public void testWrongSize() {
+        try {
+            new FieldCachesRegistry(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testConcurrentTransforms() throws Exception {
+
+        final ShiftingTransformProvider provider =
+                        (ShiftingTransformProvider) FramesFactory.getTOD(IERSConventions.IERS_2010, true).getTransformProvider();
+        final AbsoluteDate t0 = new AbsoluteDate(2003, 5, 7, 12, 0, 0.0, TimeScalesFactory.getUTC());
+
+        // the provider is shared with other tests, so we only check counters evolution
+        final FieldCachesRegistry registry = provider.getFieldCachesRegistry();
+        registry.clear();
+        final long lookups0 = registry.getLookups();
+        final long builds0  = registry.getBuilds();
+
+        final int nbThreads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            final List<Future<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < nbThreads; ++i) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    // each thread uses its own factory, but they all share the same cache
+                    final DSFactory factory = new DSFactory(2, 1);
+                    double maxError = 0;
+                    for (int k = 0; k < 200; ++k) {
+                        final AbsoluteDate date = t0.shiftedBy(index * 1000.0 + k * 17.0);
+                        final DerivativeStructure dt = factory.variable(0, 0.0);
+                        final FieldTransform<DerivativeStructure> ft =
+                                        provider.getTransform(new FieldAbsoluteDate<>(date, dt));
+                        final Transform t = provider.getTransform(date);
+                        maxError = FastMath.max(maxError,
+                                                Rotation.distance(t.getRotation(), ft.getRotation().toRotation()));
+                    }
+                    return maxError;
+                }));
+            }
+            for (final Future<Double> future : futures) {
+                Assert.assertEquals(0.0, future.get(), 1.0e-12);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(1, registry.getCaches());
+        Assert.assertEquals(1, registry.getBuilds() - builds0);
+        Assert.assertEquals(nbThreads * 200, registry.getLookups() - lookups0);
+
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
@@ -19,28 +19,47 @@ package org.orekit.utils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well1024a;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 import org.orekit.Utils;
 import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.time.AbsoluteDate;
 
 
+@RunWith(Parameterized.class)
 public class GenericTimeStampedCacheTest {
 
+    private final TimeStampedCacheFactory factory;
+
+    public GenericTimeStampedCacheTest(final TimeStampedCacheFactory factory) {
+        this.factory = factory;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> factories() {
+        return Arrays.asList(new Object[][] {
+            { TimeStampedCacheFactory.GENERIC }, { TimeStampedCacheFactory.CONCURRENT }
+        });
+    }
+
     @Test
     public void testSingleCall() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(10, 3600.0, 13);
+        Cache cache = createCache(10, 3600.0, 13);
         List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
         list.add(AbsoluteDate.GALILEO_EPOCH);
         Assert.assertEquals(1, checkDatesSingleThread(list, cache));
@@ -54,11 +73,11 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testPastInfinityRange() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache =
-                new GenericTimeStampedCache<AbsoluteDate>(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                                   new Generator(AbsoluteDate.PAST_INFINITY,
-                                                                 AbsoluteDate.J2000_EPOCH,
-                                                                 10.0));
+        Cache cache =
+                createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            new Generator(AbsoluteDate.PAST_INFINITY,
+                                          AbsoluteDate.J2000_EPOCH,
+                                          10.0));
         List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
         list.add(AbsoluteDate.GALILEO_EPOCH);
         list.add(AbsoluteDate.MODIFIED_JULIAN_EPOCH);
@@ -77,10 +96,10 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testFutureInfinityRange() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache =
-                new GenericTimeStampedCache<AbsoluteDate>(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                                   new Generator(AbsoluteDate.MODIFIED_JULIAN_EPOCH,
-                                                                 AbsoluteDate.FUTURE_INFINITY, 10.0));
+        Cache cache =
+                createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            new Generator(AbsoluteDate.MODIFIED_JULIAN_EPOCH,
+                                          AbsoluteDate.FUTURE_INFINITY, 10.0));
         List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
         list.add(AbsoluteDate.J2000_EPOCH);
         list.add(AbsoluteDate.GALILEO_EPOCH);
@@ -98,11 +117,11 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testInfinityRange() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache =
-                new GenericTimeStampedCache<AbsoluteDate>(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                                   new Generator(AbsoluteDate.PAST_INFINITY,
-                                                                 AbsoluteDate.FUTURE_INFINITY,
-                                                                 10.0));
+        Cache cache =
+                createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            new Generator(AbsoluteDate.PAST_INFINITY,
+                                          AbsoluteDate.FUTURE_INFINITY,
+                                          10.0));
         List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
         list.add(AbsoluteDate.J2000_EPOCH.shiftedBy(+4.6e12));
         list.add(AbsoluteDate.J2000_EPOCH.shiftedBy(-4.6e12));
@@ -115,7 +134,7 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testRegularCalls() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(2, 3600, 13);
+        Cache cache = createCache(2, 3600, 13);
         Assert.assertEquals(2000, testMultipleSingleThread(cache, new SequentialMode(), 2));
         Assert.assertEquals(2000, cache.getGetNeighborsCalls());
         Assert.assertEquals(56, cache.getGenerateCalls());
@@ -124,7 +143,7 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testAlternateCallsGoodConfiguration() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(2, 3600, 13);
+        Cache cache = createCache(2, 3600, 13);
         Assert.assertEquals(2000, testMultipleSingleThread(cache, new AlternateMode(), 2));
         Assert.assertEquals(2000, cache.getGetNeighborsCalls());
         Assert.assertEquals(56, cache.getGenerateCalls());
@@ -133,7 +152,7 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testAlternateCallsBadConfiguration() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(1, 3600, 13);
+        Cache cache = createCache(1, 3600, 13);
         Assert.assertEquals(2000, testMultipleSingleThread(cache, new AlternateMode(), 2));
         Assert.assertEquals(2000, cache.getGetNeighborsCalls());
         Assert.assertEquals(8000, cache.getGenerateCalls());
@@ -142,7 +161,7 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testRandomCallsGoodConfiguration() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(30, 3600, 13);
+        Cache cache = createCache(30, 3600, 13);
         Assert.assertEquals(5000, testMultipleSingleThread(cache, new RandomMode(64394632125212l), 5));
         Assert.assertEquals(5000, cache.getGetNeighborsCalls());
         Assert.assertTrue(cache.getGenerateCalls() < 250);
@@ -151,7 +170,7 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testRandomCallsBadConfiguration() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(3, 3600, 13);
+        Cache cache = createCache(3, 3600, 13);
         Assert.assertEquals(5000, testMultipleSingleThread(cache, new RandomMode(64394632125212l), 5));
         Assert.assertEquals(5000, cache.getGetNeighborsCalls());
         Assert.assertTrue(cache.getGenerateCalls()  > 400);
@@ -160,7 +179,7 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testMultithreadedGoodConfiguration() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(50, 3600, 13);
+        Cache cache = createCache(50, 3600, 13);
         int n = testMultipleMultiThread(cache, new AlternateMode(), 50, 30);
         Assert.assertEquals(n, cache.getGetNeighborsCalls());
         Assert.assertTrue("this test may fail randomly due to multi-threading non-determinism" +
@@ -175,7 +194,7 @@ public class GenericTimeStampedCacheTest {
 
     @Test
     public void testMultithreadedBadConfiguration() throws TimeStampedCacheException {
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(3, 3600, 13);
+        Cache cache = createCache(3, 3600, 13);
         int n = testMultipleMultiThread(cache, new AlternateMode(), 50, 100);
         Assert.assertEquals(n, cache.getGetNeighborsCalls());
         Assert.assertTrue("this test may fail randomly due to multi-threading non-determinism" +
@@ -191,7 +210,7 @@ public class GenericTimeStampedCacheTest {
     @Test
     public void testSmallShift() throws TimeStampedCacheException {
         double hour = 3600;
-        GenericTimeStampedCache<AbsoluteDate> cache = createCache(10, hour, 13);
+        Cache cache = createCache(10, hour, 13);
         Assert.assertEquals(0, cache.getSlots());
         Assert.assertEquals(0, cache.getEntries());
         final AbsoluteDate start = AbsoluteDate.GALILEO_EPOCH;
@@ -247,8 +266,8 @@ public class GenericTimeStampedCacheTest {
                 return new ArrayList<AbsoluteDate>();
             }
         };
-        new GenericTimeStampedCache<AbsoluteDate>(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                           nullGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH);
+        createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                    nullGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH);
     }
 
     @Test(expected=TimeStampedCacheException.class)
@@ -260,8 +279,8 @@ public class GenericTimeStampedCacheTest {
                 return Arrays.asList(AbsoluteDate.J2000_EPOCH);
             }
         };
-        new GenericTimeStampedCache<AbsoluteDate>(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                           nullGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH.shiftedBy(-10));
+        createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                    nullGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH.shiftedBy(-10));
     }
 
     @Test(expected=TimeStampedCacheException.class)
@@ -273,8 +292,8 @@ public class GenericTimeStampedCacheTest {
                 return Arrays.asList(AbsoluteDate.J2000_EPOCH);
             }
         };
-        new GenericTimeStampedCache<AbsoluteDate>(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                           nullGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH.shiftedBy(+10));
+        createCache(2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                    nullGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH.shiftedBy(+10));
     }
 
     @Test(expected=TimeStampedCacheException.class)
@@ -290,8 +309,8 @@ public class GenericTimeStampedCacheTest {
             }
         };
 
-        new GenericTimeStampedCache<AbsoluteDate>(3, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                           reversedGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH);
+        createCache(3, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                    reversedGenerator).getNeighbors(AbsoluteDate.J2000_EPOCH);
 
     }
 
@@ -328,9 +347,9 @@ public class GenericTimeStampedCacheTest {
 
         };
 
-        final GenericTimeStampedCache<AbsoluteDate> cache =
-                new GenericTimeStampedCache<AbsoluteDate>(5, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
-                                                   duplicatingGenerator);
+        final Cache cache =
+                createCache(5, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                            duplicatingGenerator);
 
         final AbsoluteDate start = AbsoluteDate.GALILEO_EPOCH;
         final List<AbsoluteDate> firstSet = cache.getNeighbors(start).collect(Collectors.toList());
@@ -351,7 +370,7 @@ public class GenericTimeStampedCacheTest {
 
     }
 
-    private int testMultipleSingleThread(GenericTimeStampedCache<AbsoluteDate> cache, Mode mode, int slots)
+    private int testMultipleSingleThread(Cache cache, Mode mode, int slots)
         throws TimeStampedCacheException {
         double step = ((Generator) cache.getGenerator()).getStep();
         AbsoluteDate[] base = new AbsoluteDate[slots];
@@ -362,7 +381,7 @@ public class GenericTimeStampedCacheTest {
         return checkDatesSingleThread(mode.generateDates(base, 25 * step, 0.025 * step), cache);
     }
 
-    private int testMultipleMultiThread(GenericTimeStampedCache<AbsoluteDate> cache, Mode mode,
+    private int testMultipleMultiThread(Cache cache, Mode mode,
                                         int slots, int threadPoolSize)
         throws TimeStampedCacheException {
         double step = ((Generator) cache.getGenerator()).getStep();
@@ -374,17 +393,21 @@ public class GenericTimeStampedCacheTest {
         return checkDatesMultiThread(mode.generateDates(base, 25 * step, 0.025 * step), cache, threadPoolSize);
     }
 
-    private GenericTimeStampedCache<AbsoluteDate> createCache(int maxSlots, double step, int neighborsSize) {
+    private Cache createCache(int maxSlots, double step, int neighborsSize) {
         Generator generator =
                 new Generator(AbsoluteDate.J2000_EPOCH.shiftedBy(-Constants.JULIAN_CENTURY),
                               AbsoluteDate.J2000_EPOCH.shiftedBy(+Constants.JULIAN_CENTURY),
                               step);
-        return new GenericTimeStampedCache<AbsoluteDate>(neighborsSize, maxSlots, Constants.JULIAN_YEAR,
-                                                  Constants.JULIAN_DAY, generator);
+        return createCache(neighborsSize, maxSlots, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, generator);
+    }
+
+    private Cache createCache(int neighborsSize, int maxSlots, double maxSpan, double newSlotInterval,
+                              TimeStampedGenerator<AbsoluteDate> generator) {
+        return new Cache(factory.create(neighborsSize, maxSlots, maxSpan, newSlotInterval, generator));
     }
 
     private int checkDatesSingleThread(final List<AbsoluteDate> centralDates,
-                                       final GenericTimeStampedCache<AbsoluteDate> cache)
+                                       final Cache cache)
         throws TimeStampedCacheException {
 
         final int n = cache.getNeighborsSize();
@@ -404,7 +427,7 @@ public class GenericTimeStampedCacheTest {
     }
 
     private int checkDatesMultiThread(final List<AbsoluteDate> centralDates,
-                                      final GenericTimeStampedCache<AbsoluteDate> cache,
+                                      final Cache cache,
                                       final int threadPoolSize)
         throws TimeStampedCacheException {
 
@@ -466,7 +489,7 @@ public class GenericTimeStampedCacheTest {
 
     }
 
-    private static class Generator implements TimeStampedGenerator<AbsoluteDate> {
+    static class Generator implements TimeStampedGenerator<AbsoluteDate> {
 
         private final AbsoluteDate earliest;
         private final AbsoluteDate latest;
@@ -508,7 +531,7 @@ public class GenericTimeStampedCacheTest {
 
     }
 
-    private interface Mode {
+    interface Mode {
         List<AbsoluteDate> generateDates(AbsoluteDate[] base, double duration, double step);
     }
 
@@ -540,7 +563,7 @@ public class GenericTimeStampedCacheTest {
 
     }
 
-    private class RandomMode implements Mode {
+    static class RandomMode implements Mode {
 
         private RandomGenerator random;
 
@@ -560,6 +583,76 @@ public class GenericTimeStampedCacheTest {
 
     }
 
+    /** Access to statistics of both cache implementations. */
+    private static class Cache implements TimeStampedCache<AbsoluteDate> {
+
+        private final GenericTimeStampedCache<AbsoluteDate>    generic;
+        private final ConcurrentTimeStampedCache<AbsoluteDate> concurrent;
+
+        Cache(final TimeStampedCache<AbsoluteDate> cache) {
+            if (cache instanceof GenericTimeStampedCache) {
+                generic    = (GenericTimeStampedCache<AbsoluteDate>) cache;
+                concurrent = null;
+            } else {
+                generic    = null;
+                concurrent = (ConcurrentTimeStampedCache<AbsoluteDate>) cache;
+            }
+        }
+
+        public Stream<AbsoluteDate> getNeighbors(AbsoluteDate central) throws TimeStampedCacheException {
+            return generic != null ? generic.getNeighbors(central) : concurrent.getNeighbors(central);
+        }
+
+        public int getNeighborsSize() {
+            return generic != null ? generic.getNeighborsSize() : concurrent.getNeighborsSize();
+        }
+
+        public AbsoluteDate getEarliest() {
+            return generic != null ? generic.getEarliest() : concurrent.getEarliest();
+        }
+
+        public AbsoluteDate getLatest() {
+            return generic != null ? generic.getLatest() : concurrent.getLatest();
+        }
+
+        TimeStampedGenerator<AbsoluteDate> getGenerator() {
+            return generic != null ? generic.getGenerator() : concurrent.getGenerator();
+        }
+
+        int getMaxSlots() {
+            return generic != null ? generic.getMaxSlots() : concurrent.getMaxSlots();
+        }
+
+        double getMaxSpan() {
+            return generic != null ? generic.getMaxSpan() : concurrent.getMaxSpan();
+        }
+
+        double getNewSlotQuantumGap() {
+            return generic != null ? generic.getNewSlotQuantumGap() : concurrent.getNewSlotQuantumGap();
+        }
+
+        int getGetNeighborsCalls() {
+            return generic != null ? generic.getGetNeighborsCalls() : concurrent.getGetNeighborsCalls();
+        }
+
+        int getGenerateCalls() {
+            return generic != null ? generic.getGenerateCalls() : concurrent.getGenerateCalls();
+        }
+
+        int getSlotsEvictions() {
+            return generic != null ? generic.getSlotsEvictions() : concurrent.getSlotsEvictions();
+        }
+
+        int getSlots() {
+            return generic != null ? generic.getSlots() : concurrent.getSlots();
+        }
+
+        int getEntries() {
+            return generic != null ? generic.getEntries() : concurrent.getEntries();
+        }
+
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");